@@ -0,0 +1,54 @@
+package com.hedera.services.capture;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A top-level transaction accepted by a node, as it was written to a capture log:
+ * the serialized {@code Transaction} and the wall-clock instant (in nanos since the
+ * epoch) at which the node accepted it.
+ */
+public class CapturedTxn {
+	private final long arrivalEpochNanos;
+	private final byte[] signedTxnBytes;
+
+	public CapturedTxn(long arrivalEpochNanos, byte[] signedTxnBytes) {
+		this.arrivalEpochNanos = arrivalEpochNanos;
+		this.signedTxnBytes = signedTxnBytes;
+	}
+
+	public long getArrivalEpochNanos() {
+		return arrivalEpochNanos;
+	}
+
+	public byte[] getSignedTxnBytes() {
+		return signedTxnBytes;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("arrivalEpochNanos", arrivalEpochNanos)
+				.add("numBytes", signedTxnBytes.length)
+				.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package com.hedera.services.capture;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedInputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the {@link CapturedTxn}s in a log written by a {@link CapturedTxnWriter},
+ * in the order they were appended.
+ */
+public class CapturedTxnReader implements Closeable {
+	static final int MAGIC = 0x48434150;
+	static final int VERSION = 1;
+
+	private final InputStream source;
+	private final CodedInputStream in;
+	private long lastArrivalEpochNanos = 0L;
+
+	public CapturedTxnReader(InputStream source) throws IOException {
+		this.source = source;
+		this.in = CodedInputStream.newInstance(source);
+		final var magic = in.readFixed32();
+		if (magic != MAGIC) {
+			throw new IOException(String.format("Not a transaction capture log (magic was 0x%08x)", magic));
+		}
+		final var version = in.readFixed32();
+		if (version != VERSION) {
+			throw new IOException("Unsupported transaction capture log version " + version);
+		}
+	}
+
+	/**
+	 * Returns the next captured transaction in the log, or null if the log is exhausted.
+	 *
+	 * @return the next transaction, if any
+	 * @throws IOException if the log is truncated or otherwise malformed
+	 */
+	public CapturedTxn next() throws IOException {
+		in.resetSizeCounter();
+		if (in.isAtEnd()) {
+			return null;
+		}
+		lastArrivalEpochNanos += in.readSInt64();
+		final var len = in.readUInt32();
+		return new CapturedTxn(lastArrivalEpochNanos, in.readRawBytes(len));
+	}
+
+	@Override
+	public void close() throws IOException {
+		source.close();
+	}
+}
@@ -0,0 +1,78 @@
+package com.hedera.services.capture;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.hedera.services.capture.CapturedTxnReader.MAGIC;
+import static com.hedera.services.capture.CapturedTxnReader.VERSION;
+
+/**
+ * Appends {@link CapturedTxn}s to a capture log. The log begins with a fixed
+ * header of a magic number and a format version, followed by one record per
+ * transaction of,
+ * <ol>
+ *     <li>The zig-zag varint delta (in nanos) of its arrival from the previous arrival.</li>
+ *     <li>The varint length of the serialized {@code Transaction}.</li>
+ *     <li>The serialized {@code Transaction} itself.</li>
+ * </ol>
+ * Arrivals from concurrent gRPC threads may be slightly out of order, hence the
+ * signed deltas. The first delta is from zero, i.e. the absolute arrival time.
+ *
+ * Not thread-safe.
+ */
+public class CapturedTxnWriter implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final OutputStream sink;
+	private final CodedOutputStream out;
+	private long lastArrivalEpochNanos = 0L;
+
+	public CapturedTxnWriter(OutputStream sink) throws IOException {
+		this.sink = new BufferedOutputStream(sink, BUFFER_SIZE);
+		this.out = CodedOutputStream.newInstance(this.sink, BUFFER_SIZE);
+		out.writeFixed32NoTag(MAGIC);
+		out.writeFixed32NoTag(VERSION);
+	}
+
+	public void append(long arrivalEpochNanos, byte[] signedTxnBytes) throws IOException {
+		out.writeSInt64NoTag(arrivalEpochNanos - lastArrivalEpochNanos);
+		out.writeUInt32NoTag(signedTxnBytes.length);
+		out.writeRawBytes(signedTxnBytes);
+		lastArrivalEpochNanos = arrivalEpochNanos;
+	}
+
+	public void flush() throws IOException {
+		out.flush();
+		sink.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		sink.close();
+	}
+}
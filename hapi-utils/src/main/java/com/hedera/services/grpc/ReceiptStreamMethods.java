@@ -0,0 +1,57 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+
+import static io.grpc.MethodDescriptor.generateFullMethodName;
+
+/**
+ * Describes the optional, node-local gRPC service that pushes transaction receipts to
+ * subscribers as soon as they are known, so clients need not poll with
+ * {@code TransactionGetReceipt} queries.
+ *
+ * A client opens a single bidirectional {@value #SUBSCRIBE_METHOD_NAME} call and sends the
+ * {@link TransactionID} of each transaction whose receipt it wants. The node answers each
+ * with a {@link TransactionRecord} that has only its transaction id and receipt set. A receipt
+ * with status {@code UNKNOWN} means the transaction did not reach consensus within the record
+ * cache TTL; one with status {@code BUSY} that the call already had as many pending
+ * subscriptions as the node allows.
+ */
+public final class ReceiptStreamMethods {
+	public static final String SERVICE_NAME = "proto.ReceiptStreamService";
+	public static final String SUBSCRIBE_METHOD_NAME = "subscribe";
+
+	public static final MethodDescriptor<TransactionID, TransactionRecord> SUBSCRIBE_METHOD =
+			MethodDescriptor.<TransactionID, TransactionRecord>newBuilder()
+					.setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+					.setFullMethodName(generateFullMethodName(SERVICE_NAME, SUBSCRIBE_METHOD_NAME))
+					.setRequestMarshaller(ProtoUtils.marshaller(TransactionID.getDefaultInstance()))
+					.setResponseMarshaller(ProtoUtils.marshaller(TransactionRecord.getDefaultInstance()))
+					.build();
+
+	private ReceiptStreamMethods() {
+		throw new IllegalStateException("ReceiptStreamMethods is a utility class. Shouldn't create any instance!");
+	}
+}
@@ -0,0 +1,173 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.WireFormat;
+import com.hederahashgraph.api.proto.java.Timestamp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A message pushed to the subscriber of a {@link TopicStreamMethods#SUBSCRIBE_METHOD} call.
+ *
+ * Encoded on the wire as a protobuf message with the same fields as the mirror node's
+ * {@code ConsensusTopicResponse}; so a client may decode it with that generated class,
+ * <pre>
+ *     Timestamp consensusTimestamp = 1;
+ *     bytes message = 2;
+ *     bytes runningHash = 3;
+ *     uint64 sequenceNumber = 4;
+ *     uint64 runningHashVersion = 5;
+ * </pre>
+ */
+public final class TopicStreamMessage {
+	static final int CONSENSUS_TIMESTAMP_FIELD = 1;
+	static final int MESSAGE_FIELD = 2;
+	static final int RUNNING_HASH_FIELD = 3;
+	static final int SEQUENCE_NUMBER_FIELD = 4;
+	static final int RUNNING_HASH_VERSION_FIELD = 5;
+
+	private final Timestamp consensusTimestamp;
+	private final ByteString message;
+	private final ByteString runningHash;
+	private final long sequenceNumber;
+	private final long runningHashVersion;
+
+	public TopicStreamMessage(
+			Timestamp consensusTimestamp,
+			ByteString message,
+			ByteString runningHash,
+			long sequenceNumber,
+			long runningHashVersion
+	) {
+		this.consensusTimestamp = Objects.requireNonNull(consensusTimestamp);
+		this.message = Objects.requireNonNull(message);
+		this.runningHash = Objects.requireNonNull(runningHash);
+		this.sequenceNumber = sequenceNumber;
+		this.runningHashVersion = runningHashVersion;
+	}
+
+	public Timestamp getConsensusTimestamp() {
+		return consensusTimestamp;
+	}
+
+	public ByteString getMessage() {
+		return message;
+	}
+
+	public ByteString getRunningHash() {
+		return runningHash;
+	}
+
+	public long getSequenceNumber() {
+		return sequenceNumber;
+	}
+
+	public long getRunningHashVersion() {
+		return runningHashVersion;
+	}
+
+	public byte[] toByteArray() {
+		final var baos = new ByteArrayOutputStream(message.size() + runningHash.size() + 48);
+		final var out = CodedOutputStream.newInstance(baos);
+		try {
+			out.writeMessage(CONSENSUS_TIMESTAMP_FIELD, consensusTimestamp);
+			out.writeBytes(MESSAGE_FIELD, message);
+			out.writeBytes(RUNNING_HASH_FIELD, runningHash);
+			out.writeUInt64(SEQUENCE_NUMBER_FIELD, sequenceNumber);
+			out.writeUInt64(RUNNING_HASH_VERSION_FIELD, runningHashVersion);
+			out.flush();
+		} catch (IOException impossible) {
+			/* A ByteArrayOutputStream never throws */
+			throw new IllegalStateException(impossible);
+		}
+		return baos.toByteArray();
+	}
+
+	public static TopicStreamMessage parseFrom(InputStream bytes) throws IOException {
+		final var in = CodedInputStream.newInstance(bytes);
+		var consensusTimestamp = Timestamp.getDefaultInstance();
+		var message = ByteString.EMPTY;
+		var runningHash = ByteString.EMPTY;
+		long sequenceNumber = 0;
+		long runningHashVersion = 0;
+		int tag;
+		while ((tag = in.readTag()) != 0) {
+			switch (WireFormat.getTagFieldNumber(tag)) {
+				case CONSENSUS_TIMESTAMP_FIELD:
+					final var builder = Timestamp.newBuilder();
+					in.readMessage(builder, ExtensionRegistryLite.getEmptyRegistry());
+					consensusTimestamp = builder.build();
+					break;
+				case MESSAGE_FIELD:
+					message = in.readBytes();
+					break;
+				case RUNNING_HASH_FIELD:
+					runningHash = in.readBytes();
+					break;
+				case SEQUENCE_NUMBER_FIELD:
+					sequenceNumber = in.readUInt64();
+					break;
+				case RUNNING_HASH_VERSION_FIELD:
+					runningHashVersion = in.readUInt64();
+					break;
+				default:
+					in.skipField(tag);
+			}
+		}
+		return new TopicStreamMessage(consensusTimestamp, message, runningHash, sequenceNumber, runningHashVersion);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || TopicStreamMessage.class != o.getClass()) {
+			return false;
+		}
+		final var that = (TopicStreamMessage) o;
+		return this.sequenceNumber == that.sequenceNumber
+				&& this.runningHashVersion == that.runningHashVersion
+				&& this.consensusTimestamp.equals(that.consensusTimestamp)
+				&& this.message.equals(that.message)
+				&& this.runningHash.equals(that.runningHash);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(consensusTimestamp, message, runningHash, sequenceNumber, runningHashVersion);
+	}
+
+	@Override
+	public String toString() {
+		return "TopicStreamMessage{sequenceNumber=" + sequenceNumber
+				+ ", consensusTimestamp=" + consensusTimestamp.getSeconds() + "." + consensusTimestamp.getNanos()
+				+ ", message=" + message.size() + " bytes}";
+	}
+}
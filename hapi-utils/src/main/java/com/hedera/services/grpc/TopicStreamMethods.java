@@ -0,0 +1,93 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import static io.grpc.MethodDescriptor.generateFullMethodName;
+
+/**
+ * Describes the optional, node-local gRPC service that pushes the messages submitted to a
+ * consensus topic to subscribers as soon as they reach consensus, without the latency of
+ * a mirror node.
+ *
+ * A client opens a server-streaming {@value #SUBSCRIBE_METHOD_NAME} call with a
+ * {@link TopicStreamQuery}, and receives a {@link TopicStreamMessage} for each message in
+ * sequence number order. The node only buffers a bounded window of recent messages for each
+ * followed topic; a call that asks to resume from a message no longer buffered, or that
+ * falls too far behind, ends with status {@code OUT_OF_RANGE}, after which the client should
+ * catch up from a mirror node.
+ */
+public final class TopicStreamMethods {
+	public static final String SERVICE_NAME = "proto.TopicStreamService";
+	public static final String SUBSCRIBE_METHOD_NAME = "subscribe";
+
+	public static final MethodDescriptor<TopicStreamQuery, TopicStreamMessage> SUBSCRIBE_METHOD =
+			MethodDescriptor.<TopicStreamQuery, TopicStreamMessage>newBuilder()
+					.setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+					.setFullMethodName(generateFullMethodName(SERVICE_NAME, SUBSCRIBE_METHOD_NAME))
+					.setRequestMarshaller(new Marshaller<>(TopicStreamQuery::toByteArray, TopicStreamQuery::parseFrom))
+					.setResponseMarshaller(
+							new Marshaller<>(TopicStreamMessage::toByteArray, TopicStreamMessage::parseFrom))
+					.build();
+
+	private TopicStreamMethods() {
+		throw new IllegalStateException("TopicStreamMethods is a utility class. Shouldn't create any instance!");
+	}
+
+	@FunctionalInterface
+	interface Parser<T> {
+		T parseFrom(InputStream in) throws IOException;
+	}
+
+	static final class Marshaller<T> implements MethodDescriptor.Marshaller<T> {
+		private final Function<T, byte[]> serializer;
+		private final Parser<T> parser;
+
+		Marshaller(Function<T, byte[]> serializer, Parser<T> parser) {
+			this.serializer = serializer;
+			this.parser = parser;
+		}
+
+		@Override
+		public InputStream stream(T value) {
+			return new ByteArrayInputStream(serializer.apply(value));
+		}
+
+		@Override
+		public T parse(InputStream stream) {
+			try {
+				return parser.parseFrom(stream);
+			} catch (IOException e) {
+				throw Status.INTERNAL
+						.withDescription("Invalid protobuf byte sequence")
+						.withCause(e)
+						.asRuntimeException();
+			}
+		}
+	}
+}
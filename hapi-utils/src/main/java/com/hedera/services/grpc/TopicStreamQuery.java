@@ -0,0 +1,125 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.WireFormat;
+import com.hederahashgraph.api.proto.java.TopicID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * The request of a {@link TopicStreamMethods#SUBSCRIBE_METHOD} call; that is, the topic to
+ * follow, and the sequence number of the first message to receive. A start sequence number
+ * of zero asks for only the messages that reach consensus after the subscription.
+ *
+ * Encoded on the wire as a protobuf message with fields
+ * <pre>
+ *     TopicID topicID = 1;
+ *     uint64 startSequenceNumber = 2;
+ * </pre>
+ */
+public final class TopicStreamQuery {
+	static final int TOPIC_ID_FIELD = 1;
+	static final int START_SEQUENCE_NUMBER_FIELD = 2;
+
+	private final TopicID topicID;
+	private final long startSequenceNumber;
+
+	public TopicStreamQuery(TopicID topicID, long startSequenceNumber) {
+		this.topicID = Objects.requireNonNull(topicID);
+		this.startSequenceNumber = startSequenceNumber;
+	}
+
+	public TopicID getTopicID() {
+		return topicID;
+	}
+
+	public long getStartSequenceNumber() {
+		return startSequenceNumber;
+	}
+
+	public byte[] toByteArray() {
+		final var baos = new ByteArrayOutputStream();
+		final var out = CodedOutputStream.newInstance(baos);
+		try {
+			out.writeMessage(TOPIC_ID_FIELD, topicID);
+			if (startSequenceNumber != 0) {
+				out.writeUInt64(START_SEQUENCE_NUMBER_FIELD, startSequenceNumber);
+			}
+			out.flush();
+		} catch (IOException impossible) {
+			/* A ByteArrayOutputStream never throws */
+			throw new IllegalStateException(impossible);
+		}
+		return baos.toByteArray();
+	}
+
+	public static TopicStreamQuery parseFrom(InputStream bytes) throws IOException {
+		final var in = CodedInputStream.newInstance(bytes);
+		var topicId = TopicID.getDefaultInstance();
+		long startSequenceNumber = 0;
+		int tag;
+		while ((tag = in.readTag()) != 0) {
+			switch (WireFormat.getTagFieldNumber(tag)) {
+				case TOPIC_ID_FIELD:
+					final var builder = TopicID.newBuilder();
+					in.readMessage(builder, ExtensionRegistryLite.getEmptyRegistry());
+					topicId = builder.build();
+					break;
+				case START_SEQUENCE_NUMBER_FIELD:
+					startSequenceNumber = in.readUInt64();
+					break;
+				default:
+					in.skipField(tag);
+			}
+		}
+		return new TopicStreamQuery(topicId, startSequenceNumber);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || TopicStreamQuery.class != o.getClass()) {
+			return false;
+		}
+		final var that = (TopicStreamQuery) o;
+		return this.startSequenceNumber == that.startSequenceNumber && this.topicID.equals(that.topicID);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * topicID.hashCode() + Long.hashCode(startSequenceNumber);
+	}
+
+	@Override
+	public String toString() {
+		return "TopicStreamQuery{topicID=" + topicID.getShardNum() + "." + topicID.getRealmNum() + "."
+				+ topicID.getTopicNum() + ", startSequenceNumber=" + startSequenceNumber + "}";
+	}
+}
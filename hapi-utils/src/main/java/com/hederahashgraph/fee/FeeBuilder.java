@@ -33,7 +33,6 @@ import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
 import com.hederahashgraph.exception.InvalidTxBodyException;
 
-import java.math.BigInteger;
 import java.util.List;
 
 /**
@@ -293,12 +292,49 @@ public class FeeBuilder {
    * @return tinyHbars
    */
   public static long getTinybarsFromTinyCents(ExchangeRate exchangeRate, long tinyCentsFee) {
-    BigInteger hbarMultiplier = BigInteger.valueOf(exchangeRate.getHbarEquiv());
-    BigInteger centsDivisor = BigInteger.valueOf(exchangeRate.getCentEquiv());
-    BigInteger feeInBigInt = BigInteger.valueOf(tinyCentsFee);
-    feeInBigInt = feeInBigInt.multiply(hbarMultiplier);
-    feeInBigInt = feeInBigInt.divide(centsDivisor);
-    return feeInBigInt.longValue();
+    return multiplyThenDivide(tinyCentsFee, exchangeRate.getHbarEquiv(), exchangeRate.getCentEquiv());
+  }
+
+  /**
+   * Computes {@code (a * b) / c}, truncating toward zero and keeping the low 64 bits of
+   * the quotient. Results (including division by zero) are identical to
+   * {@code BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValue()},
+   * but no objects are allocated.
+   *
+   * @param a the multiplicand
+   * @param b the multiplier
+   * @param c the divisor
+   *
+   * @return the low 64 bits of the truncated quotient
+   */
+  static long multiplyThenDivide(long a, int b, int c) {
+    if (c == 0) {
+      throw new ArithmeticException("BigInteger divide by zero");
+    }
+    final long lo = a * b;
+    if (Math.multiplyHigh(a, b) == (lo >> 63)) {
+      /* The product fits in a long; and Long.MIN_VALUE / -1 wraps exactly as longValue() would */
+      return lo / c;
+    }
+
+    /* Otherwise divide the 95-bit magnitude of the product, as three 32-bit digits, by |c| < 2^32 */
+    final long magA = (a < 0) ? -a : a;
+    final long magB = Math.abs((long) b);
+    final long magC = Math.abs((long) c);
+    final long loProduct = (magA & 0xFFFFFFFFL) * magB;
+    final long hiProduct = (magA >>> 32) * magB;
+    final long mid = (loProduct >>> 32) + (hiProduct & 0xFFFFFFFFL);
+    final long d0 = loProduct & 0xFFFFFFFFL;
+    final long d1 = mid & 0xFFFFFFFFL;
+    final long d2 = (hiProduct >>> 32) + (mid >>> 32);
+
+    long r = d2 % magC;
+    final long q1 = ((r << 32) | d1) / magC;
+    r = ((r << 32) | d1) % magC;
+    final long q0 = ((r << 32) | d0) / magC;
+    final long quotient = (q1 << 32) + q0;
+
+    return ((a < 0) != (b < 0) != (c < 0)) ? -quotient : quotient;
   }
 
 
@@ -0,0 +1,118 @@
+package com.hedera.services.capture;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CapturedTxnLogTest {
+	private final long firstArrival = 1_627_000_000_123_456_789L;
+
+	@Test
+	void roundTripsIncludingOutOfOrderArrivals() throws IOException {
+		// setup:
+		final var r = new SplittableRandom(666);
+		final var n = 1_000;
+		final var arrivals = new long[n];
+		final var txns = new byte[n][];
+		for (int i = 0; i < n; i++) {
+			arrivals[i] = firstArrival + i * 1_000L + r.nextLong(-500, 500);
+			txns[i] = new byte[r.nextInt(0, 6_000)];
+			r.nextBytes(txns[i]);
+		}
+		final var baos = new ByteArrayOutputStream();
+
+		// given:
+		try (final var writer = new CapturedTxnWriter(baos)) {
+			for (int i = 0; i < n; i++) {
+				writer.append(arrivals[i], txns[i]);
+			}
+		}
+
+		// when:
+		try (final var reader = new CapturedTxnReader(new ByteArrayInputStream(baos.toByteArray()))) {
+			for (int i = 0; i < n; i++) {
+				final var txn = reader.next();
+				// then:
+				assertEquals(arrivals[i], txn.getArrivalEpochNanos());
+				assertArrayEquals(txns[i], txn.getSignedTxnBytes());
+			}
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void recordsAreCompact() throws IOException {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+		final var txn = new byte[100];
+
+		// given:
+		try (final var writer = new CapturedTxnWriter(baos)) {
+			writer.append(firstArrival, txn);
+			writer.append(firstArrival + 50_000L, txn);
+		}
+
+		// expect: 8-byte header, ~9-byte first delta, 3-byte second delta, 1-byte lengths
+		assertTrue(baos.size() <= 8 + (9 + 1 + 100) + (3 + 1 + 100));
+	}
+
+	@Test
+	void rejectsForeignInput() {
+		// expect:
+		assertThrows(IOException.class, () -> new CapturedTxnReader(new ByteArrayInputStream("NOPE1234".getBytes())));
+	}
+
+	@Test
+	void rejectsTruncatedRecord() throws IOException {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+		try (final var writer = new CapturedTxnWriter(baos)) {
+			writer.append(firstArrival, new byte[32]);
+		}
+		final var truncated = Arrays.copyOf(baos.toByteArray(), baos.size() - 1);
+
+		// given:
+		final var reader = new CapturedTxnReader(new ByteArrayInputStream(truncated));
+
+		// expect:
+		assertThrows(IOException.class, reader::next);
+	}
+
+	@Test
+	void toStringWorks() {
+		// expect:
+		assertEquals(
+				"CapturedTxn{arrivalEpochNanos=1, numBytes=3}",
+				new CapturedTxn(1L, new byte[3]).toString());
+	}
+}
@@ -0,0 +1,63 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import io.grpc.MethodDescriptor;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.grpc.ReceiptStreamMethods.SUBSCRIBE_METHOD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReceiptStreamMethodsTest {
+	@Test
+	void subscribeIsBidiStreamingOnReceiptService() {
+		// expect:
+		assertEquals(MethodDescriptor.MethodType.BIDI_STREAMING, SUBSCRIBE_METHOD.getType());
+		assertEquals("proto.ReceiptStreamService/subscribe", SUBSCRIBE_METHOD.getFullMethodName());
+	}
+
+	@Test
+	void marshallersRoundTrip() throws Exception {
+		// given:
+		final var txnId = TransactionID.newBuilder()
+				.setAccountID(AccountID.newBuilder().setAccountNum(2))
+				.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L))
+				.build();
+		final var record = TransactionRecord.newBuilder()
+				.setTransactionID(txnId)
+				.setReceipt(TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.SUCCESS))
+				.build();
+
+		// when:
+		final var parsedId = SUBSCRIBE_METHOD.parseRequest(SUBSCRIBE_METHOD.streamRequest(txnId));
+		final var parsedRecord = SUBSCRIBE_METHOD.parseResponse(SUBSCRIBE_METHOD.streamResponse(record));
+
+		// then:
+		assertEquals(txnId, parsedId);
+		assertEquals(record, parsedRecord);
+	}
+}
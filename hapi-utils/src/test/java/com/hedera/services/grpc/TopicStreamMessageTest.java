@@ -0,0 +1,90 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TopicStreamMessageTest {
+	private final Timestamp consensusTime = Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(890).build();
+	private final ByteString message = ByteString.copyFromUtf8("Hello");
+	private final ByteString runningHash = ByteString.copyFrom(new byte[48]);
+
+	private final TopicStreamMessage subject = new TopicStreamMessage(consensusTime, message, runningHash, 42, 3);
+
+	@Test
+	void roundTrips() throws Exception {
+		// when:
+		final var parsed = TopicStreamMessage.parseFrom(new ByteArrayInputStream(subject.toByteArray()));
+
+		// then:
+		assertEquals(subject, parsed);
+		assertEquals(consensusTime, parsed.getConsensusTimestamp());
+		assertEquals(message, parsed.getMessage());
+		assertEquals(runningHash, parsed.getRunningHash());
+		assertEquals(42, parsed.getSequenceNumber());
+		assertEquals(3, parsed.getRunningHashVersion());
+	}
+
+	@Test
+	void encodesAsProtobufFieldsInOrder() throws Exception {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+		final var out = CodedOutputStream.newInstance(baos);
+
+		// given:
+		out.writeMessage(1, consensusTime);
+		out.writeBytes(2, message);
+		out.writeBytes(3, runningHash);
+		out.writeUInt64(4, 42);
+		out.writeUInt64(5, 3);
+		out.flush();
+
+		// expect:
+		assertEquals(ByteString.copyFrom(baos.toByteArray()), ByteString.copyFrom(subject.toByteArray()));
+	}
+
+	@Test
+	void objectContractMet() {
+		// given:
+		final var same = new TopicStreamMessage(consensusTime, message, runningHash, 42, 3);
+		final var other = new TopicStreamMessage(consensusTime, message, runningHash, 43, 3);
+
+		// expect:
+		assertEquals(subject, subject);
+		assertEquals(subject, same);
+		assertEquals(subject.hashCode(), same.hashCode());
+		assertNotEquals(subject, other);
+		assertNotEquals(subject, null);
+		assertNotEquals(subject, message);
+		assertEquals(
+				"TopicStreamMessage{sequenceNumber=42, consensusTimestamp=1234567.890, message=5 bytes}",
+				subject.toString());
+	}
+}
@@ -0,0 +1,72 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TopicID;
+import io.grpc.MethodDescriptor;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static com.hedera.services.grpc.TopicStreamMethods.SUBSCRIBE_METHOD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopicStreamMethodsTest {
+	@Test
+	void subscribeIsServerStreamingOnTopicService() {
+		// expect:
+		assertEquals(MethodDescriptor.MethodType.SERVER_STREAMING, SUBSCRIBE_METHOD.getType());
+		assertEquals("proto.TopicStreamService/subscribe", SUBSCRIBE_METHOD.getFullMethodName());
+	}
+
+	@Test
+	void marshallersRoundTrip() {
+		// given:
+		final var query = new TopicStreamQuery(TopicID.newBuilder().setTopicNum(1_001).build(), 42L);
+		final var message = new TopicStreamMessage(
+				Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(890).build(),
+				ByteString.copyFromUtf8("Hello"),
+				ByteString.copyFrom(new byte[48]),
+				42L,
+				3L);
+
+		// when:
+		final var parsedQuery = SUBSCRIBE_METHOD.parseRequest(SUBSCRIBE_METHOD.streamRequest(query));
+		final var parsedMessage = SUBSCRIBE_METHOD.parseResponse(SUBSCRIBE_METHOD.streamResponse(message));
+
+		// then:
+		assertEquals(query, parsedQuery);
+		assertEquals(message, parsedMessage);
+	}
+
+	@Test
+	void malformedBytesAreInternalError() {
+		// given:
+		final var garbage = new ByteArrayInputStream(new byte[] { 0x10, (byte) 0xff });
+
+		// expect:
+		assertThrows(StatusRuntimeException.class, () -> SUBSCRIBE_METHOD.parseRequest(garbage));
+	}
+}
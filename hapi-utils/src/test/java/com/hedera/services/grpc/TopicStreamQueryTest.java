@@ -0,0 +1,86 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedOutputStream;
+import com.hederahashgraph.api.proto.java.TopicID;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopicStreamQueryTest {
+	private final TopicID topic = TopicID.newBuilder().setRealmNum(1).setTopicNum(1_001).build();
+
+	@Test
+	void roundTripsWithAndWithoutStart() throws Exception {
+		// given:
+		final var live = new TopicStreamQuery(topic, 0);
+		final var resumed = new TopicStreamQuery(topic, 7);
+
+		// expect:
+		assertEquals(live, TopicStreamQuery.parseFrom(new ByteArrayInputStream(live.toByteArray())));
+		assertEquals(resumed, TopicStreamQuery.parseFrom(new ByteArrayInputStream(resumed.toByteArray())));
+	}
+
+	@Test
+	void skipsUnknownFields() throws Exception {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+		final var out = CodedOutputStream.newInstance(baos);
+
+		// given:
+		out.writeString(9, "future");
+		out.writeMessage(TopicStreamQuery.TOPIC_ID_FIELD, topic);
+		out.writeUInt64(TopicStreamQuery.START_SEQUENCE_NUMBER_FIELD, 3);
+		out.flush();
+
+		// when:
+		final var query = TopicStreamQuery.parseFrom(new ByteArrayInputStream(baos.toByteArray()));
+
+		// then:
+		assertEquals(topic, query.getTopicID());
+		assertEquals(3, query.getStartSequenceNumber());
+	}
+
+	@Test
+	void objectContractMet() {
+		// given:
+		final var one = new TopicStreamQuery(topic, 1);
+		final var two = new TopicStreamQuery(topic, 1);
+		final var three = new TopicStreamQuery(topic, 2);
+
+		// expect:
+		assertEquals(one, one);
+		assertEquals(one, two);
+		assertEquals(one.hashCode(), two.hashCode());
+		assertNotEquals(one, three);
+		assertNotEquals(one, null);
+		assertNotEquals(one, topic);
+		assertEquals("TopicStreamQuery{topicID=0.1.1001, startSequenceNumber=1}", one.toString());
+		// and:
+		assertThrows(NullPointerException.class, () -> new TopicStreamQuery(null, 0));
+	}
+}
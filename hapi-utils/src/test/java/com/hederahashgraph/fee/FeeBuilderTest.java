@@ -0,0 +1,143 @@
+package com.hederahashgraph.fee;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeComponents;
+import com.hederahashgraph.api.proto.java.FeeData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeeBuilderTest {
+	private static final long[] BOUNDARY_LONGS = {
+			0L, 1L, -1L, 2L, -2L, 999L, 1_000L, 100_000_000L,
+			Integer.MAX_VALUE, Integer.MIN_VALUE, 1L << 32, -(1L << 32),
+			(1L << 32) - 1, Long.MAX_VALUE / 30_000, Long.MAX_VALUE / 1_000,
+			Long.MAX_VALUE - 1, Long.MAX_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE
+	};
+	private static final int[] BOUNDARY_INTS = {
+			1, -1, 2, -2, 12, 30_000, 1_000_000, 1 << 30, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE
+	};
+
+	@Test
+	void multiplyThenDivideMatchesBigIntegerOnBoundaries() {
+		for (var a : BOUNDARY_LONGS) {
+			for (var b : BOUNDARY_INTS) {
+				for (var c : BOUNDARY_INTS) {
+					assertEquals(viaBigInteger(a, b, c), FeeBuilder.multiplyThenDivide(a, b, c),
+							() -> String.format("(%d * %d) / %d", a, b, c));
+				}
+			}
+		}
+	}
+
+	@Test
+	void multiplyThenDivideMatchesBigIntegerOnRandomInputs() {
+		// setup:
+		final var r = new Random(45);
+
+		for (int i = 0; i < 1_000_000; i++) {
+			final long a = (i % 4 == 0) ? r.nextLong() : (r.nextLong() >> r.nextInt(64));
+			final int b = (i % 3 == 0) ? r.nextInt() : (r.nextInt() >> r.nextInt(32));
+			final int c = (i % 5 == 0) ? r.nextInt() : (r.nextInt() >> r.nextInt(32));
+			if (c == 0) {
+				continue;
+			}
+
+			// expect:
+			assertEquals(viaBigInteger(a, b, c), FeeBuilder.multiplyThenDivide(a, b, c));
+		}
+	}
+
+	@Test
+	void divisionByZeroStillThrows() {
+		// expect:
+		assertThrows(ArithmeticException.class, () -> FeeBuilder.multiplyThenDivide(1L, 1, 0));
+		assertThrows(ArithmeticException.class, () -> FeeBuilder.multiplyThenDivide(Long.MAX_VALUE, 2, 0));
+	}
+
+	@Test
+	void feeObjectsMatchBigIntegerConversionOfComponentFees() {
+		// setup:
+		final var r = new Random(450);
+
+		for (int i = 0; i < 100_000; i++) {
+			// given:
+			final var prices = randomFeeData(r, true);
+			final var usage = randomFeeData(r, false);
+			final var rate = ExchangeRate.newBuilder()
+					.setHbarEquiv(1 + r.nextInt((i % 2 == 0) ? 100 : Integer.MAX_VALUE))
+					.setCentEquiv(1 + r.nextInt((i % 3 == 0) ? 100 : Integer.MAX_VALUE))
+					.build();
+			final long multiplier = 1 + r.nextInt(10);
+
+			// when:
+			final var actual = FeeBuilder.getFeeObject(prices, usage, rate, multiplier);
+
+			// then:
+			assertEquals(expectedTinybars(prices.getNodedata(), usage.getNodedata(), rate) * multiplier,
+					actual.getNodeFee());
+			assertEquals(expectedTinybars(prices.getNetworkdata(), usage.getNetworkdata(), rate) * multiplier,
+					actual.getNetworkFee());
+			assertEquals(expectedTinybars(prices.getServicedata(), usage.getServicedata(), rate) * multiplier,
+					actual.getServiceFee());
+		}
+	}
+
+	private long expectedTinybars(FeeComponents prices, FeeComponents usage, ExchangeRate rate) {
+		final var tinycents = FeeBuilder.getComponentFeeInTinyCents(prices, usage);
+		return viaBigInteger(tinycents, rate.getHbarEquiv(), rate.getCentEquiv());
+	}
+
+	private FeeData randomFeeData(Random r, boolean isPrices) {
+		return FeeData.newBuilder()
+				.setNodedata(randomComponents(r, isPrices))
+				.setNetworkdata(randomComponents(r, isPrices))
+				.setServicedata(randomComponents(r, isPrices))
+				.build();
+	}
+
+	private FeeComponents randomComponents(Random r, boolean isPrices) {
+		final var bound = isPrices ? 1L << (20 + r.nextInt(40)) : 1L << (1 + r.nextInt(30));
+		final var builder = FeeComponents.newBuilder()
+				.setConstant(1 + r.nextInt(1_000))
+				.setBpt(Math.floorMod(r.nextLong(), bound))
+				.setVpt(Math.floorMod(r.nextLong(), bound))
+				.setRbh(Math.floorMod(r.nextLong(), bound))
+				.setSbh(Math.floorMod(r.nextLong(), bound))
+				.setGas(Math.floorMod(r.nextLong(), bound))
+				.setBpr(Math.floorMod(r.nextLong(), bound))
+				.setSbpr(Math.floorMod(r.nextLong(), bound));
+		if (isPrices) {
+			builder.setMin(Math.floorMod(r.nextLong(), 1_000_000L)).setMax(Long.MAX_VALUE >> r.nextInt(40));
+		}
+		return builder.build();
+	}
+
+	private static long viaBigInteger(long a, int b, int c) {
+		return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValue();
+	}
+}
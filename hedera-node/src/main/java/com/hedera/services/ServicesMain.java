@@ -24,6 +24,7 @@ import com.hedera.services.context.ServicesContext;
 import com.hedera.services.context.properties.Profile;
 import com.hedera.services.state.forensics.FcmDump;
 import com.hedera.services.state.forensics.IssListener;
+import com.hedera.services.state.serdes.DomainSerdes;
 import com.hedera.services.utils.JvmSystemExits;
 import com.hedera.services.utils.SystemExits;
 import com.swirlds.common.NodeId;
@@ -157,6 +158,7 @@ public class ServicesMain implements SwirldMain {
 		log.info("Migrations complete.");
 		validateLedgerState();
 		log.info("Ledger state ok.");
+		log.info("Key interning - {}", DomainSerdes.keyInterner().summary());
 		configurePlatform();
 		log.info("Platform is configured.");
 		registerIssListener();
@@ -198,6 +200,7 @@ public class ServicesMain implements SwirldMain {
 	private void createSystemAccountsIfNeeded() {
 		try {
 			ctx.systemAccountsCreator().ensureSystemAccounts(ctx.backingAccounts(), ctx.addressBook());
+			ctx.floatTracker().initFrom(ctx.accounts());
 			ctx.pause().forMs(SUGGESTED_POST_CREATION_PAUSE_MS);
 		} catch (Exception e) {
 			throw new IllegalStateException("Could not create system accounts!", e);
@@ -31,6 +31,8 @@ import com.hedera.services.state.merkle.MerkleDiskFs;
 import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
+import com.hedera.services.state.merkle.MerkleNftMetadata;
+import com.hedera.services.state.merkle.MerkleNftMetadataDigest;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
 import com.hedera.services.state.merkle.MerkleSchedule;
 import com.hedera.services.state.merkle.MerkleToken;
@@ -41,6 +43,7 @@ import com.hedera.services.state.merkle.MerkleUniqueTokenId;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExchangeRates;
 import com.hedera.services.state.submerkle.SequenceNumber;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.swirlds.blob.BinaryObjectStore;
@@ -87,7 +90,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 	static final int RELEASE_0140_VERSION = 8;
 	static final int RELEASE_0150_VERSION = 9;
 	static final int RELEASE_0160_VERSION = 10;
-	static final int MERKLE_VERSION = RELEASE_0160_VERSION;
+	static final int RELEASE_0170_VERSION = 11;
+	static final int MERKLE_VERSION = RELEASE_0170_VERSION;
 	static final long RUNTIME_CONSTRUCTABLE_ID = 0x8e300b0dfdafbb1aL;
 
 	static final String UNSUPPORTED_VERSION_MSG_TPL = "Argument 'version=%d' is invalid!";
@@ -122,6 +126,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 		static final int NUM_0150_CHILDREN = 10;
 		static final int UNIQUE_TOKENS = 10;
 		static final int NUM_0160_CHILDREN = 11;
+		static final int NFT_METADATA = 11;
+		static final int NUM_0170_CHILDREN = 12;
 	}
 
 	ServicesContext ctx;
@@ -163,6 +169,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 	@Override
 	public int getMinimumChildCount(int version) {
 		switch (version) {
+			case RELEASE_0170_VERSION:
+				return ChildIndices.NUM_0170_CHILDREN;
 			case RELEASE_0160_VERSION:
 				return ChildIndices.NUM_0160_CHILDREN;
 			case RELEASE_0150_VERSION:
@@ -198,6 +206,10 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 		if (uniqueTokens() == null) {
 			setChild(ChildIndices.UNIQUE_TOKENS, new FCMap<>());
 		}
+		if (nftMetadata() == null) {
+			setChild(ChildIndices.NFT_METADATA, new FCMap<>());
+		}
+		new NftMetadataPool(this::nftMetadata).resolveAll(uniqueTokens());
 	}
 
 	/* --- SwirldState --- */
@@ -232,6 +244,7 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 			setChild(ChildIndices.DISK_FS, new MerkleDiskFs());
 			setChild(ChildIndices.SCHEDULE_TXS, new FCMap<>());
 			setChild(ChildIndices.UNIQUE_TOKENS, new FCMap<MerkleUniqueTokenId, MerkleUniqueToken>());
+			setChild(ChildIndices.NFT_METADATA, new FCMap<MerkleNftMetadataDigest, MerkleNftMetadata>());
 
 			/* Initialize the running hash leaf at genesis to an empty hash. */
 			final var firstRunningHash = new RunningHash();
@@ -252,6 +265,10 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 					log.warn("Legacy diskFs directory not migrated, was it missing?", expectedNonFatal);
 				}
 			}
+			if (networkCtx().getStateVersion() < RELEASE_0170_VERSION) {
+				final var numPooled = new NftMetadataPool(this::nftMetadata).poolInlineMetadata(uniqueTokens());
+				log.info("Moved the metadata of {} unique tokens to the NFT metadata pool", numPooled);
+			}
 			if (!skipDiskFsHashCheck) {
 				restoredDiskFs.checkHashesAgainstDiskContents();
 			}
@@ -275,6 +292,7 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 		ctx.update(this);
 		ctx.rebuildBackingStoresIfPresent();
 		ctx.rebuildStoreViewsIfPresent();
+		ctx.reseedFloatTrackerIfPresent();
 		uniqueTokenAssociations = new FCOneToManyRelation<>();
 		uniqueOwnershipAssociations = new FCOneToManyRelation<>();
 		rebuildUniqueTokenViews(uniqueTokens(), uniqueTokenAssociations, uniqueOwnershipAssociations);
@@ -352,7 +370,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 				diskFs().copy(),
 				scheduleTxs().copy(),
 				runningHashLeaf().copy(),
-				uniqueTokens().copy()
+				uniqueTokens().copy(),
+				nftMetadata().copy()
 		), mutableUniqTokenAssocsIfInit, mutableOwnerAssocsIfInit, this);
 	}
 
@@ -382,7 +401,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 						"  AddressBook            :: %s\n" +
 						"  RecordsRunningHashLeaf :: %s\n" +
 						"    ↪ Running hash       :: %s\n" +
-						"  UniqueTokens           :: %s\n",
+						"  UniqueTokens           :: %s\n" +
+						"  NftMetadata            :: %s\n",
 				getHash(),
 				accounts().getHash(),
 				storage().getHash(),
@@ -395,7 +415,8 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 				addressBook().getHash(),
 				runningHashLeaf().getHash(),
 				runningHashLeaf().getRunningHash().getHash(),
-				uniqueTokens().getHash()));
+				uniqueTokens().getHash(),
+				nftMetadata().getHash()));
 	}
 
 	public FCMap<MerkleEntityId, MerkleAccount> accounts() {
@@ -442,6 +463,10 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 		return getChild(ChildIndices.UNIQUE_TOKENS);
 	}
 
+	public FCMap<MerkleNftMetadataDigest, MerkleNftMetadata> nftMetadata() {
+		return getChild(ChildIndices.NFT_METADATA);
+	}
+
 	public FCOneToManyRelation<EntityId, MerkleUniqueTokenId> uniqueTokenAssociations() {
 		return uniqueTokenAssociations;
 	}
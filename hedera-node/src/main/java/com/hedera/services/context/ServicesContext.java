@@ -37,11 +37,13 @@ import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.context.properties.SemanticVersions;
 import com.hedera.services.context.properties.StandardizedPropertySources;
+import com.hedera.services.contracts.execution.IsolatedLocalCalls;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
 import com.hedera.services.contracts.execution.SoliditySigsVerifier;
 import com.hedera.services.contracts.execution.TxnAwareSoliditySigsVerifier;
 import com.hedera.services.contracts.persistence.BlobStoragePersistence;
 import com.hedera.services.contracts.sources.BlobStorageSource;
+import com.hedera.services.contracts.sources.BytecodeCache;
 import com.hedera.services.contracts.sources.LedgerAccountsSource;
 import com.hedera.services.fees.AwareHbarCentExchange;
 import com.hedera.services.fees.FeeCalculator;
@@ -121,14 +123,18 @@ import com.hedera.services.files.interceptors.ConfigListUtils;
 import com.hedera.services.files.interceptors.FeeSchedulesManager;
 import com.hedera.services.files.interceptors.ThrottleDefsManager;
 import com.hedera.services.files.interceptors.TxnAwareRatesManager;
+import com.hedera.services.files.interceptors.UpdateArchiveStager;
 import com.hedera.services.files.interceptors.ValidatingCallbackInterceptor;
 import com.hedera.services.files.store.FcBlobsBytesStore;
+import com.hedera.services.files.store.OverlayBytesStore;
 import com.hedera.services.files.sysfiles.ConfigCallbacks;
 import com.hedera.services.files.sysfiles.CurrencyCallbacks;
 import com.hedera.services.files.sysfiles.ThrottlesCallback;
 import com.hedera.services.grpc.ConfigDrivenNettyFactory;
 import com.hedera.services.grpc.GrpcServerManager;
 import com.hedera.services.grpc.NettyGrpcServerManager;
+import com.hedera.services.grpc.ReceiptStreamService;
+import com.hedera.services.grpc.TopicStreamService;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.ContractController;
 import com.hedera.services.grpc.controllers.CryptoController;
@@ -202,6 +208,8 @@ import com.hedera.services.queries.token.GetTokenNftInfosAnswer;
 import com.hedera.services.queries.token.TokenAnswers;
 import com.hedera.services.queries.validation.QueryFeeCheck;
 import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.records.GrpcRecordCache;
+import com.hedera.services.records.ReceiptWaiters;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.records.RecordCacheFactory;
 import com.hedera.services.records.TransactionRecordService;
@@ -236,6 +244,8 @@ import com.hedera.services.state.merkle.MerkleDiskFs;
 import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
+import com.hedera.services.state.merkle.MerkleNftMetadata;
+import com.hedera.services.state.merkle.MerkleNftMetadataDigest;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
 import com.hedera.services.state.merkle.MerkleSchedule;
 import com.hedera.services.state.merkle.MerkleToken;
@@ -243,12 +253,14 @@ import com.hedera.services.state.merkle.MerkleTokenRelStatus;
 import com.hedera.services.state.merkle.MerkleTopic;
 import com.hedera.services.state.merkle.MerkleUniqueToken;
 import com.hedera.services.state.merkle.MerkleUniqueTokenId;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.hedera.services.state.migration.StateMigrations;
 import com.hedera.services.state.migration.StdStateMigrations;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExchangeRates;
 import com.hedera.services.state.submerkle.SequenceNumber;
 import com.hedera.services.state.validation.BasedLedgerValidator;
+import com.hedera.services.state.validation.HbarFloatTracker;
 import com.hedera.services.state.validation.LedgerValidator;
 import com.hedera.services.stats.CounterFactory;
 import com.hedera.services.stats.HapiOpCounters;
@@ -264,12 +276,14 @@ import com.hedera.services.store.models.NftId;
 import com.hedera.services.store.schedule.HederaScheduleStore;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.store.tokens.HederaTokenStore;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.stream.NonBlockingHandoff;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.throttling.DeterministicThrottling;
 import com.hedera.services.throttling.FunctionalityThrottling;
 import com.hedera.services.throttling.HapiThrottling;
+import com.hedera.services.throttling.PayerFairShareAdmission;
 import com.hedera.services.throttling.TransactionThrottling;
 import com.hedera.services.throttling.TxnAwareHandleThrottling;
 import com.hedera.services.txns.ProcessLogic;
@@ -280,6 +294,7 @@ import com.hedera.services.txns.TransitionRunner;
 import com.hedera.services.txns.consensus.SubmitMessageTransitionLogic;
 import com.hedera.services.txns.consensus.TopicCreateTransitionLogic;
 import com.hedera.services.txns.consensus.TopicDeleteTransitionLogic;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
 import com.hedera.services.txns.consensus.TopicUpdateTransitionLogic;
 import com.hedera.services.txns.contract.ContractCallTransitionLogic;
 import com.hedera.services.txns.contract.ContractCreateTransitionLogic;
@@ -318,6 +333,7 @@ import com.hedera.services.txns.submission.StructuralPrecheck;
 import com.hedera.services.txns.submission.SyntaxPrecheck;
 import com.hedera.services.txns.submission.SystemPrecheck;
 import com.hedera.services.txns.submission.TransactionPrecheck;
+import com.hedera.services.txns.submission.SubmissionCapture;
 import com.hedera.services.txns.submission.TxnResponseHelper;
 import com.hedera.services.txns.token.TokenAssociateTransitionLogic;
 import com.hedera.services.txns.token.TokenBurnTransitionLogic;
@@ -365,6 +381,7 @@ import com.swirlds.common.crypto.ImmutableHash;
 import com.swirlds.common.crypto.RunningHash;
 import com.swirlds.fchashmap.FCOneToManyRelation;
 import com.swirlds.fcmap.FCMap;
+import io.grpc.ServerServiceDefinition;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -378,7 +395,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -481,6 +498,11 @@ public class ServicesContext {
 	private FileAnswers fileAnswers;
 	private MetaAnswers metaAnswers;
 	private RecordCache recordCache;
+	private ReceiptWaiters receiptWaiters;
+	private GrpcRecordCache grpcRecordCache;
+	private ReceiptStreamService receiptStreams;
+	private TopicMessageBuffers topicBuffers;
+	private TopicStreamService topicStreams;
 	private BackingNfts backingNfts;
 	private AccountStore accountStore;
 	private TokenAnswers tokenAnswers;
@@ -495,11 +517,14 @@ public class ServicesContext {
 	private FeeExemptions exemptions;
 	private EntityNumbers entityNums;
 	private FreezeHandler freeze;
+	private UpdateArchiveStager updateArchiveStager;
 	private CryptoAnswers cryptoAnswers;
 	private ScheduleStore scheduleStore;
 	private SyntaxPrecheck syntaxPrecheck;
 	private AccountNumbers accountNums;
 	private SubmissionFlow submissionFlow;
+	private PayerFairShareAdmission payerAdmission;
+	private SubmissionCapture submissionCapture;
 	private PropertySource properties;
 	private EntityIdSource ids;
 	private FileController fileGrpc;
@@ -510,12 +535,14 @@ public class ServicesContext {
 	private SwirldDualState dualState;
 	private OptionValidator validator;
 	private LedgerValidator ledgerValidator;
+	private HbarFloatTracker floatTracker;
 	private BackingAccounts backingAccounts;
 	private TokenController tokenGrpc;
 	private MiscRunningAvgs runningAvgs;
 	private ScheduleAnswers scheduleAnswers;
 	private InvariantChecks invariantChecks;
 	private TypedTokenStore typedTokenStore;
+	private NftMetadataPool nftMetadataPool;
 	private MiscSpeedometers speedometers;
 	private ScheduleExecutor scheduleExecutor;
 	private ServicesNodeType nodeType;
@@ -539,6 +566,7 @@ public class ServicesContext {
 	private FeeChargingPolicy txnChargingPolicy;
 	private TxnResponseHelper txnResponseHelper;
 	private BlobStorageSource bytecodeDb;
+	private BytecodeCache bytecodeCache;
 	private HapiOpPermissions hapiOpPermissions;
 	private EntityAutoRenewal entityAutoRenewal;
 	private TransactionContext txnCtx;
@@ -558,7 +586,7 @@ public class ServicesContext {
 	private RecordStreamManager recordStreamManager;
 	private ThrottleDefsManager throttleDefsManager;
 	private QueryHeaderValidity queryHeaderValidity;
-	private Map<String, byte[]> blobStore;
+	private Map<BlobKey, byte[]> blobStore;
 	private Map<EntityId, Long> entityExpiries;
 	private TransactionPrecheck transactionPrecheck;
 	private FeeMultiplierSource feeMultiplierSource;
@@ -591,6 +619,7 @@ public class ServicesContext {
 	private ValidatingCallbackInterceptor apiPermissionsReloading;
 	private ValidatingCallbackInterceptor applicationPropertiesReloading;
 	private Supplier<ServicesRepositoryRoot> newPureRepo;
+	private IsolatedLocalCalls localCalls;
 	private Map<TransactionID, TxnIdRecentHistory> txnHistories;
 	private StateChildren workingState = new StateChildren();
 	private AtomicReference<StateChildren> queryableState = new AtomicReference<>(new StateChildren());
@@ -696,6 +725,12 @@ public class ServicesContext {
 		}
 	}
 
+	public void reseedFloatTrackerIfPresent() {
+		if (floatTracker != null) {
+			floatTracker.initFrom(accounts());
+		}
+	}
+
 	public void rebuildStoreViewsIfPresent() {
 		if (scheduleStore != null) {
 			scheduleStore.rebuildViews();
@@ -707,7 +742,7 @@ public class ServicesContext {
 
 	public NonBlockingHandoff nonBlockingHandoff() {
 		if (nonBlockingHandoff == null) {
-			nonBlockingHandoff = new NonBlockingHandoff(recordStreamManager(), nodeLocalProperties());
+			nonBlockingHandoff = new NonBlockingHandoff(recordStreamManager(), topicBuffers(), nodeLocalProperties());
 		}
 		return nonBlockingHandoff;
 	}
@@ -860,9 +895,20 @@ public class ServicesContext {
 		return platformStatus;
 	}
 
+	public HbarFloatTracker floatTracker() {
+		if (floatTracker == null) {
+			floatTracker = new HbarFloatTracker();
+		}
+		return floatTracker;
+	}
+
 	public LedgerValidator ledgerValidator() {
 		if (ledgerValidator == null) {
-			ledgerValidator = new BasedLedgerValidator(hederaNums(), properties(), globalDynamicProperties());
+			ledgerValidator = new BasedLedgerValidator(
+					hederaNums(),
+					properties(),
+					globalDynamicProperties(),
+					floatTracker());
 		}
 		return ledgerValidator;
 	}
@@ -902,7 +948,7 @@ public class ServicesContext {
 		return issEventInfo;
 	}
 
-	public Map<String, byte[]> blobStore() {
+	public Map<BlobKey, byte[]> blobStore() {
 		if (blobStore == null) {
 			blobStore = new FcBlobsBytesStore(MerkleOptionalBlob::new, this::storage);
 		}
@@ -982,11 +1028,34 @@ public class ServicesContext {
 
 	public SubmissionFlow submissionFlow() {
 		if (submissionFlow == null) {
-			submissionFlow = new BasicSubmissionFlow(nodeType(), transactionPrecheck(), submissionManager());
+			submissionFlow = new BasicSubmissionFlow(
+					nodeType(),
+					transactionPrecheck(),
+					submissionManager(),
+					payerAdmission());
 		}
 		return submissionFlow;
 	}
 
+	public SubmissionCapture submissionCapture() {
+		if (submissionCapture == null) {
+			submissionCapture = new SubmissionCapture(nodeLocalProperties());
+		}
+		return submissionCapture;
+	}
+
+	public PayerFairShareAdmission payerAdmission() {
+		if (payerAdmission == null) {
+			payerAdmission = new PayerFairShareAdmission(
+					nodeLocalProperties(),
+					speedometers(),
+					runningAvgs(),
+					handleThrottling(),
+					() -> addressBook().getSize());
+		}
+		return payerAdmission;
+	}
+
 	public QueryResponseHelper queryResponseHelper() {
 		if (queryResponseHelper == null) {
 			queryResponseHelper = new QueryResponseHelper(answerFlow(), opCounters());
@@ -1011,7 +1080,7 @@ public class ServicesContext {
 					new GetContractInfoAnswer(validator()),
 					new GetBySolidityIdAnswer(),
 					new GetContractRecordsAnswer(validator()),
-					new ContractCallLocalAnswer(contracts()::contractCallLocal, validator())
+					new ContractCallLocalAnswer(localCalls()::perform, validator())
 			);
 		}
 		return contractAnswers;
@@ -1050,11 +1119,19 @@ public class ServicesContext {
 					this::uniqueOwnershipAssociations,
 					this::uniqueTokenAssociations,
 					this::tokenAssociations,
+					nftMetadataPool(),
 					(BackingTokenRels) backingTokenRels());
 		}
 		return typedTokenStore;
 	}
 
+	public NftMetadataPool nftMetadataPool() {
+		if (nftMetadataPool == null) {
+			nftMetadataPool = new NftMetadataPool(this::nftMetadata);
+		}
+		return nftMetadataPool;
+	}
+
 	/**
 	 * Returns the singleton {@link AccountStore} used in {@link ServicesState#handleTransaction(long, boolean, Instant,
 	 * Instant, SwirldTransaction, SwirldDualState)} to load, save, and create accounts from the Swirlds application
@@ -1124,7 +1201,7 @@ public class ServicesContext {
 
 	public AnswerFunctions answerFunctions() {
 		if (answerFunctions == null) {
-			answerFunctions = new AnswerFunctions();
+			answerFunctions = new AnswerFunctions(grpcRecordCache());
 		}
 		return answerFunctions;
 	}
@@ -1168,7 +1245,7 @@ public class ServicesContext {
 							new GetContractInfoResourceUsage(),
 							new GetContractRecordsResourceUsage(contractFees),
 							new ContractCallLocalResourceUsage(
-									contracts()::contractCallLocal, contractFees, globalDynamicProperties()),
+									localCalls()::perform, contractFees, globalDynamicProperties()),
 							/* Token */
 							new GetTokenInfoResourceUsage(),
 							/* Schedule */
@@ -1380,6 +1457,7 @@ public class ServicesContext {
 			hfs.register(apiPermissionsReloading());
 			hfs.register(applicationPropertiesReloading());
 			hfs.register(throttleDefsManager());
+			hfs.register(updateArchiveStager());
 		}
 		return hfs;
 	}
@@ -1500,7 +1578,8 @@ public class ServicesContext {
 						List.of(new TokenUpdateTransitionLogic(
 								validator(), tokenStore(), ledger(), txnCtx(), HederaTokenStore::affectsExpiryAtMost))),
 				entry(TokenFeeScheduleUpdate,
-						List.of(new TokenFeeScheduleUpdateTransitionLogic(tokenStore(), txnCtx()))),
+						List.of(new TokenFeeScheduleUpdateTransitionLogic(
+								tokenStore(), txnCtx(), customFeeSchedules()))),
 				entry(TokenFreezeAccount,
 						List.of(new TokenFreezeTransitionLogic(tokenStore(), ledger(), txnCtx()))),
 				entry(TokenUnfreezeAccount,
@@ -1581,11 +1660,60 @@ public class ServicesContext {
 			recordCache = new RecordCache(
 					this,
 					new RecordCacheFactory(properties()).getRecordCache(),
-					txnHistories());
+					txnHistories(),
+					receiptWaiters(),
+					grpcRecordCache());
 		}
 		return recordCache;
 	}
 
+	public GrpcRecordCache grpcRecordCache() {
+		if (grpcRecordCache == null) {
+			grpcRecordCache = new GrpcRecordCache();
+		}
+		return grpcRecordCache;
+	}
+
+	public ReceiptWaiters receiptWaiters() {
+		if (receiptWaiters == null) {
+			receiptWaiters = new ReceiptWaiters();
+		}
+		return receiptWaiters;
+	}
+
+	public ReceiptStreamService receiptStreams() {
+		if (receiptStreams == null) {
+			receiptStreams = new ReceiptStreamService(
+					recordCache(),
+					receiptWaiters(),
+					speedometers(),
+					runningAvgs(),
+					nodeLocalProperties(),
+					globalDynamicProperties());
+		}
+		return receiptStreams;
+	}
+
+	public TopicMessageBuffers topicBuffers() {
+		if (topicBuffers == null) {
+			topicBuffers = new TopicMessageBuffers(nodeLocalProperties(), globalDynamicProperties());
+		}
+		return topicBuffers;
+	}
+
+	public TopicStreamService topicStreams() {
+		if (topicStreams == null) {
+			topicStreams = new TopicStreamService(
+					topicBuffers(),
+					stateViews(),
+					validator(),
+					speedometers(),
+					runningAvgs(),
+					nodeLocalProperties());
+		}
+		return topicStreams;
+	}
+
 	public CharacteristicsFactory characteristics() {
 		if (characteristics == null) {
 			characteristics = new CharacteristicsFactory(hfs());
@@ -1691,6 +1819,7 @@ public class ServicesContext {
 							MerkleAccount::new,
 							backingAccounts(),
 							new ChangeSummaryManager<>());
+			accountsLedger.setCommitObserver(floatTracker());
 			ledger = new HederaLedger(
 					tokenStore(),
 					ids(),
@@ -1766,7 +1895,7 @@ public class ServicesContext {
 
 	public FreezeHandler freeze() {
 		if (freeze == null) {
-			freeze = new FreezeHandler(hfs(), platform(), exchange(), this::getDualState);
+			freeze = new FreezeHandler(hfs(), platform(), exchange(), this::getDualState, updateArchiveStager());
 		}
 		return freeze;
 	}
@@ -1784,6 +1913,13 @@ public class ServicesContext {
 		}
 	}
 
+	public UpdateArchiveStager updateArchiveStager() {
+		if (updateArchiveStager == null) {
+			updateArchiveStager = new UpdateArchiveStager(fileNums(), this::getCurrentSpecialFileSystem);
+		}
+		return updateArchiveStager;
+	}
+
 	public NetworkCtxManager networkCtxManager() {
 		if (networkCtxManager == null) {
 			networkCtxManager = new NetworkCtxManager(
@@ -1929,7 +2065,11 @@ public class ServicesContext {
 
 	public PlatformSubmissionManager submissionManager() {
 		if (submissionManager == null) {
-			submissionManager = new PlatformSubmissionManager(platform(), recordCache(), speedometers());
+			submissionManager = new PlatformSubmissionManager(
+					platform(),
+					recordCache(),
+					speedometers(),
+					submissionCapture());
 		}
 		return submissionManager;
 	}
@@ -1969,11 +2109,22 @@ public class ServicesContext {
 							tokenGrpc(),
 							scheduleGrpc()),
 					new ConfigDrivenNettyFactory(nodeLocalProperties()),
-					Collections.emptyList());
+					optionalServiceDefinitions());
 		}
 		return grpc;
 	}
 
+	private List<ServerServiceDefinition> optionalServiceDefinitions() {
+		final List<ServerServiceDefinition> definitions = new ArrayList<>();
+		if (nodeLocalProperties().isReceiptStreamEnabled()) {
+			definitions.add(receiptStreams().serviceDefinition());
+		}
+		if (nodeLocalProperties().isTopicStreamEnabled()) {
+			definitions.add(topicStreams().serviceDefinition());
+		}
+		return definitions;
+	}
+
 	public PureTransferSemanticChecks transferSemanticChecks() {
 		if (transferSemanticChecks == null) {
 			transferSemanticChecks = new PureTransferSemanticChecks();
@@ -1994,7 +2145,8 @@ public class ServicesContext {
 					solidityLifecycle(),
 					soliditySigsVerifier(),
 					entityExpiries(),
-					globalDynamicProperties());
+					globalDynamicProperties(),
+					bytecodeCache());
 		}
 		return contracts;
 	}
@@ -2051,7 +2203,7 @@ public class ServicesContext {
 
 	public ServicesRepositoryRoot repository() {
 		if (repository == null) {
-			repository = new ServicesRepositoryRoot(accountSource(), bytecodeDb());
+			repository = new ServicesRepositoryRoot(accountSource(), bytecodeCache().cachingView(bytecodeDb()));
 			repository.setStoragePersistence(storagePersistence());
 		}
 		return repository;
@@ -2074,7 +2226,9 @@ public class ServicesContext {
 					pureDelegate);
 			Source<byte[], AccountState> pureAccountSource = new LedgerAccountsSource(pureLedger);
 			newPureRepo = () -> {
-				var pureRepository = new ServicesRepositoryRoot(pureAccountSource, bytecodeDb());
+				var pureRepository = new ServicesRepositoryRoot(
+						pureAccountSource,
+						bytecodeCache().cachingView(bytecodeDb()));
 				pureRepository.setStoragePersistence(storagePersistence());
 				return pureRepository;
 			};
@@ -2082,6 +2236,47 @@ public class ServicesContext {
 		return newPureRepo;
 	}
 
+	public IsolatedLocalCalls localCalls() {
+		if (localCalls == null) {
+			localCalls = new IsolatedLocalCalls(
+					nodeLocalProperties(),
+					globalDynamicProperties(),
+					contracts(),
+					queryableState::get,
+					this::newSnapshotRepo);
+		}
+		return localCalls;
+	}
+
+	/**
+	 * Returns a new repository for a single local call that reads from the given
+	 * (immutable) state children, with a private ledger and storage overlay for writes.
+	 *
+	 * @param snapshot the state children to read from
+	 * @return a repository isolated from all other state
+	 */
+	ServicesRepositoryRoot newSnapshotRepo(StateChildren snapshot) {
+		TransactionalLedger<AccountID, AccountProperty, MerkleAccount> snapshotDelegate = new TransactionalLedger<>(
+				AccountProperty.class,
+				MerkleAccount::new,
+				new PureBackingAccounts(snapshot::getAccounts),
+				new ChangeSummaryManager<>());
+		HederaLedger snapshotLedger = new HederaLedger(
+				NOOP_TOKEN_STORE,
+				NOOP_ID_SOURCE,
+				NOOP_EXPIRING_CREATIONS,
+				validator(),
+				NOOP_RECORDS_HISTORIAN,
+				globalDynamicProperties(),
+				snapshotDelegate);
+		var blobs = new OverlayBytesStore(new FcBlobsBytesStore(MerkleOptionalBlob::new, snapshot::getStorage));
+		var snapshotRepository = new ServicesRepositoryRoot(
+				new LedgerAccountsSource(snapshotLedger),
+				bytecodeCache().cachingView(new BlobStorageSource(bytecodeMapFrom(blobs))));
+		snapshotRepository.setStoragePersistence(new BlobStoragePersistence(storageMapFrom(blobs)));
+		return snapshotRepository;
+	}
+
 	public ConsensusStatusCounts statusCounts() {
 		if (statusCounts == null) {
 			statusCounts = new ConsensusStatusCounts(new ObjectMapper());
@@ -2103,6 +2298,13 @@ public class ServicesContext {
 		return bytecodeDb;
 	}
 
+	public BytecodeCache bytecodeCache() {
+		if (bytecodeCache == null) {
+			bytecodeCache = new BytecodeCache(nodeLocalProperties().bytecodeCacheMaxBytes(), runningAvgs());
+		}
+		return bytecodeCache;
+	}
+
 	public SyntaxPrecheck syntaxPrecheck() {
 		if (syntaxPrecheck == null) {
 			syntaxPrecheck = new SyntaxPrecheck(recordCache(), validator(), globalDynamicProperties());
@@ -2298,6 +2500,10 @@ public class ServicesContext {
 		return state.uniqueTokens();
 	}
 
+	public FCMap<MerkleNftMetadataDigest, MerkleNftMetadata> nftMetadata() {
+		return state.nftMetadata();
+	}
+
 	public FCOneToManyRelation<EntityId, MerkleUniqueTokenId> uniqueTokenAssociations() {
 		return state.uniqueTokenAssociations();
 	}
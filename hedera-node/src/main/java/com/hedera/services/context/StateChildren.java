@@ -82,6 +82,16 @@ public class StateChildren {
 	/** State of disk fs */
 	private MerkleDiskFs diskFs;
 
+	/**
+	 * Indicates whether these children have been populated from a state; the
+	 * queryable children, for example, are empty until the first signed state.
+	 *
+	 * @return whether the accounts map has been set
+	 */
+	public boolean isInitialized() {
+		return accounts != null;
+	}
+
 	public FCMap<MerkleEntityId, MerkleAccount> getAccounts() {
 		Objects.requireNonNull(accounts, "A state with null accounts map is never valid");
 		return accounts;
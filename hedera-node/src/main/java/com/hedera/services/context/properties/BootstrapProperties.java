@@ -234,10 +234,25 @@ public class BootstrapProperties implements PropertySource {
 	);
 
 	static final Set<String> NODE_PROPS = Set.of(
+			"admission.payerFairShare.isEnabled",
+			"admission.payerFairShare.maxSharePercent",
+			"admission.payerFairShare.minTps",
+			"contracts.bytecodeCache.maxBytes",
+			"contracts.localCall.isolation.isEnabled",
+			"contracts.localCall.isolation.maxGas",
+			"contracts.localCall.isolation.queueCapacity",
+			"contracts.localCall.isolation.threads",
+			"contracts.localCall.isolation.timeoutMs",
 			"dev.onlyDefaultNodeListens",
 			"dev.defaultListeningNodeAccount",
 			"grpc.port",
+			"grpc.receiptStream.enabled",
+			"grpc.receiptStream.maxSubscriptionsPerConnection",
 			"grpc.tlsPort",
+			"grpc.topicStream.bufferBytesPerTopic",
+			"grpc.topicStream.enabled",
+			"grpc.topicStream.maxBufferedTopics",
+			"grpc.topicStream.maxSubscribers",
 			"hedera.accountsExportPath",
 			"hedera.exportAccountsOnStartup",
 			"hedera.profiles.active",
@@ -245,7 +260,11 @@ public class BootstrapProperties implements PropertySource {
 			"hedera.recordStream.logDir",
 			"hedera.recordStream.logPeriod",
 			"hedera.recordStream.queueCapacity",
+			"hedera.txnCapture.isEnabled",
+			"hedera.txnCapture.logPath",
+			"hedera.txnCapture.queueCapacity",
 			"iss.dumpFcms",
+			"iss.dumpFcmsAsRows",
 			"netty.mode",
 			"netty.prod.flowControlWindow",
 			"netty.prod.maxConcurrentCalls",
@@ -284,10 +303,19 @@ public class BootstrapProperties implements PropertySource {
 			entry("accounts.systemDeleteAdmin", AS_LONG),
 			entry("accounts.systemUndeleteAdmin", AS_LONG),
 			entry("accounts.treasury", AS_LONG),
+			entry("admission.payerFairShare.isEnabled", AS_BOOLEAN),
+			entry("admission.payerFairShare.maxSharePercent", AS_INT),
+			entry("admission.payerFairShare.minTps", AS_INT),
 			entry("balances.exportEnabled", AS_BOOLEAN),
 			entry("balances.exportPeriodSecs", AS_INT),
 			entry("balances.nodeBalanceWarningThreshold", AS_LONG),
 			entry("cache.records.ttl", AS_INT),
+			entry("contracts.bytecodeCache.maxBytes", AS_LONG),
+			entry("contracts.localCall.isolation.isEnabled", AS_BOOLEAN),
+			entry("contracts.localCall.isolation.maxGas", AS_LONG),
+			entry("contracts.localCall.isolation.queueCapacity", AS_INT),
+			entry("contracts.localCall.isolation.threads", AS_INT),
+			entry("contracts.localCall.isolation.timeoutMs", AS_LONG),
 			entry("dev.onlyDefaultNodeListens", AS_BOOLEAN),
 			entry("balances.exportTokenBalances", AS_BOOLEAN),
 			entry("entities.maxLifetime", AS_LONG),
@@ -300,7 +328,13 @@ public class BootstrapProperties implements PropertySource {
 			entry("files.nodeDetails", AS_LONG),
 			entry("files.throttleDefinitions", AS_LONG),
 			entry("grpc.port", AS_INT),
+			entry("grpc.receiptStream.enabled", AS_BOOLEAN),
+			entry("grpc.receiptStream.maxSubscriptionsPerConnection", AS_INT),
 			entry("grpc.tlsPort", AS_INT),
+			entry("grpc.topicStream.bufferBytesPerTopic", AS_INT),
+			entry("grpc.topicStream.enabled", AS_BOOLEAN),
+			entry("grpc.topicStream.maxBufferedTopics", AS_INT),
+			entry("grpc.topicStream.maxSubscribers", AS_INT),
 			entry("hedera.exportAccountsOnStartup", AS_BOOLEAN),
 			entry("hedera.numReservedSystemEntities", AS_LONG),
 			entry("hedera.profiles.active", AS_PROFILE),
@@ -308,6 +342,8 @@ public class BootstrapProperties implements PropertySource {
 			entry("hedera.recordStream.logPeriod", AS_LONG),
 			entry("hedera.recordStream.isEnabled", AS_BOOLEAN),
 			entry("hedera.recordStream.queueCapacity", AS_INT),
+			entry("hedera.txnCapture.isEnabled", AS_BOOLEAN),
+			entry("hedera.txnCapture.queueCapacity", AS_INT),
 			entry("hedera.shard", AS_LONG),
 			entry("hedera.transaction.maxMemoUtf8Bytes", AS_INT),
 			entry("hedera.transaction.maxValidDuration", AS_LONG),
@@ -347,6 +383,7 @@ public class BootstrapProperties implements PropertySource {
 			entry("ledger.totalTinyBarFloat", AS_LONG),
 			entry("ledger.schedule.txExpiryTimeSecs", AS_INT),
 			entry("iss.dumpFcms", AS_BOOLEAN),
+			entry("iss.dumpFcmsAsRows", AS_BOOLEAN),
 			entry("netty.prod.flowControlWindow", AS_INT),
 			entry("netty.prod.maxConcurrentCalls", AS_INT),
 			entry("netty.prod.maxConnectionAge", AS_LONG),
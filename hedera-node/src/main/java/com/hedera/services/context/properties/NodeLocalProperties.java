@@ -53,6 +53,25 @@ public class NodeLocalProperties {
 	private int nettyStartRetries;
 	private long nettyStartRetryIntervalMs;
 	private boolean dumpFcmsOnIss;
+	private boolean dumpFcmsAsRows;
+	private boolean payerFairShareEnabled;
+	private int payerFairShareMaxSharePercent;
+	private int payerFairShareMinTps;
+	private boolean txnCaptureEnabled;
+	private String txnCaptureLogPath;
+	private int txnCaptureQueueCapacity;
+	private boolean localCallIsolationEnabled;
+	private long localCallIsolationMaxGas;
+	private int localCallIsolationQueueCapacity;
+	private int localCallIsolationThreads;
+	private long localCallIsolationTimeoutMs;
+	private long bytecodeCacheMaxBytes;
+	private boolean receiptStreamEnabled;
+	private int receiptStreamMaxSubscriptions;
+	private boolean topicStreamEnabled;
+	private int topicStreamBufferBytesPerTopic;
+	private int topicStreamMaxBufferedTopics;
+	private int topicStreamMaxSubscribers;
 
 	public NodeLocalProperties(PropertySource properties) {
 		this.properties = properties;
@@ -91,6 +110,25 @@ public class NodeLocalProperties {
 		nettyStartRetries = properties.getIntProperty("netty.startRetries");
 		nettyStartRetryIntervalMs = properties.getLongProperty("netty.startRetryIntervalMs");
 		dumpFcmsOnIss = properties.getBooleanProperty("iss.dumpFcms");
+		dumpFcmsAsRows = properties.getBooleanProperty("iss.dumpFcmsAsRows");
+		payerFairShareEnabled = properties.getBooleanProperty("admission.payerFairShare.isEnabled");
+		payerFairShareMaxSharePercent = properties.getIntProperty("admission.payerFairShare.maxSharePercent");
+		payerFairShareMinTps = properties.getIntProperty("admission.payerFairShare.minTps");
+		txnCaptureEnabled = properties.getBooleanProperty("hedera.txnCapture.isEnabled");
+		txnCaptureLogPath = properties.getStringProperty("hedera.txnCapture.logPath");
+		txnCaptureQueueCapacity = properties.getIntProperty("hedera.txnCapture.queueCapacity");
+		localCallIsolationEnabled = properties.getBooleanProperty("contracts.localCall.isolation.isEnabled");
+		localCallIsolationMaxGas = properties.getLongProperty("contracts.localCall.isolation.maxGas");
+		localCallIsolationQueueCapacity = properties.getIntProperty("contracts.localCall.isolation.queueCapacity");
+		localCallIsolationThreads = properties.getIntProperty("contracts.localCall.isolation.threads");
+		localCallIsolationTimeoutMs = properties.getLongProperty("contracts.localCall.isolation.timeoutMs");
+		bytecodeCacheMaxBytes = properties.getLongProperty("contracts.bytecodeCache.maxBytes");
+		receiptStreamEnabled = properties.getBooleanProperty("grpc.receiptStream.enabled");
+		receiptStreamMaxSubscriptions = properties.getIntProperty("grpc.receiptStream.maxSubscriptionsPerConnection");
+		topicStreamEnabled = properties.getBooleanProperty("grpc.topicStream.enabled");
+		topicStreamBufferBytesPerTopic = properties.getIntProperty("grpc.topicStream.bufferBytesPerTopic");
+		topicStreamMaxBufferedTopics = properties.getIntProperty("grpc.topicStream.maxBufferedTopics");
+		topicStreamMaxSubscribers = properties.getIntProperty("grpc.topicStream.maxSubscribers");
 	}
 
 	public int port() {
@@ -212,4 +250,80 @@ public class NodeLocalProperties {
 	public boolean shouldDumpFcmsOnIss() {
 		return dumpFcmsOnIss;
 	}
+
+	public boolean shouldDumpFcmsAsRows() {
+		return dumpFcmsAsRows;
+	}
+
+	public boolean isPayerFairShareEnabled() {
+		return payerFairShareEnabled;
+	}
+
+	public int payerFairShareMaxSharePercent() {
+		return payerFairShareMaxSharePercent;
+	}
+
+	public int payerFairShareMinTps() {
+		return payerFairShareMinTps;
+	}
+
+	public boolean isTxnCaptureEnabled() {
+		return txnCaptureEnabled;
+	}
+
+	public String txnCaptureLogPath() {
+		return txnCaptureLogPath;
+	}
+
+	public int txnCaptureQueueCapacity() {
+		return txnCaptureQueueCapacity;
+	}
+
+	public boolean isLocalCallIsolationEnabled() {
+		return localCallIsolationEnabled;
+	}
+
+	public long localCallIsolationMaxGas() {
+		return localCallIsolationMaxGas;
+	}
+
+	public int localCallIsolationQueueCapacity() {
+		return localCallIsolationQueueCapacity;
+	}
+
+	public int localCallIsolationThreads() {
+		return localCallIsolationThreads;
+	}
+
+	public long localCallIsolationTimeoutMs() {
+		return localCallIsolationTimeoutMs;
+	}
+
+	public long bytecodeCacheMaxBytes() {
+		return bytecodeCacheMaxBytes;
+	}
+
+	public boolean isReceiptStreamEnabled() {
+		return receiptStreamEnabled;
+	}
+
+	public int receiptStreamMaxSubscriptions() {
+		return receiptStreamMaxSubscriptions;
+	}
+
+	public boolean isTopicStreamEnabled() {
+		return topicStreamEnabled;
+	}
+
+	public int topicStreamBufferBytesPerTopic() {
+		return topicStreamBufferBytesPerTopic;
+	}
+
+	public int topicStreamMaxBufferedTopics() {
+		return topicStreamMaxBufferedTopics;
+	}
+
+	public int topicStreamMaxSubscribers() {
+		return topicStreamMaxSubscribers;
+	}
 }
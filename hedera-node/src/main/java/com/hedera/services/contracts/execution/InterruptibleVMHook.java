@@ -0,0 +1,48 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.ethereum.vm.OpCode;
+import org.ethereum.vm.hook.VMHook;
+import org.ethereum.vm.program.Program;
+
+/**
+ * A {@link VMHook} that halts a program before its next opcode once the executing
+ * thread has been interrupted. The interpreter itself never checks the interrupt flag,
+ * so without this hook a local call cancelled by {@link IsolatedLocalCalls} would keep
+ * its worker busy until its gas ran out.
+ *
+ * Since the VM of a nested message call inherits the hook of its parent program, every
+ * frame of the call halts in turn.
+ */
+public class InterruptibleVMHook implements VMHook {
+	public static final VMHook INTERRUPTIBLE_VM_HOOK = new InterruptibleVMHook();
+
+	InterruptibleVMHook() {
+	}
+
+	@Override
+	public void step(Program program, OpCode opCode) {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new Program.BytecodeExecutionException("Execution interrupted before " + opCode);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.legacy.handler.SmartContractRequestHandler;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.builder.RequestBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ethereum.db.ServicesRepositoryRoot;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
+
+/**
+ * Performs {@code ContractCallLocal} queries. When
+ * {@code contracts.localCall.isolation.isEnabled=true}, each call runs on a dedicated,
+ * bounded pool against a repository built over the latest signed state, with its own
+ * ledger and storage overlay; so local calls neither contend with each other nor observe
+ * uncommitted changes from the handle thread. Each isolated call is limited to
+ * {@code contracts.localCall.isolation.maxGas} gas and {@code contracts.localCall.isolation.timeoutMs}
+ * of wall-clock time; a call that cannot be queued or does not finish in time is answered
+ * with {@code BUSY}, and a call that does not finish in time is also cancelled by interrupting
+ * its worker thread, which the {@link InterruptibleVMHook} turns into a halt of the running
+ * program at its next opcode.
+ *
+ * Until the first signed state is available, or if isolation is disabled, calls are
+ * delegated to the legacy path over the working state.
+ */
+public class IsolatedLocalCalls {
+	private static final Logger log = LogManager.getLogger(IsolatedLocalCalls.class);
+
+	private final boolean isEnabled;
+	private final long maxGas;
+	private final long timeoutMs;
+	private final SmartContractRequestHandler contracts;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final Supplier<StateChildren> queryableState;
+	private final Function<StateChildren, ServicesRepositoryRoot> snapshotRepos;
+
+	private ExecutorService pool;
+
+	public IsolatedLocalCalls(
+			NodeLocalProperties properties,
+			GlobalDynamicProperties dynamicProperties,
+			SmartContractRequestHandler contracts,
+			Supplier<StateChildren> queryableState,
+			Function<StateChildren, ServicesRepositoryRoot> snapshotRepos
+	) {
+		this.contracts = contracts;
+		this.dynamicProperties = dynamicProperties;
+		this.queryableState = queryableState;
+		this.snapshotRepos = snapshotRepos;
+
+		this.isEnabled = properties.isLocalCallIsolationEnabled();
+		this.maxGas = properties.localCallIsolationMaxGas();
+		this.timeoutMs = properties.localCallIsolationTimeoutMs();
+		if (isEnabled) {
+			final var numThreads = properties.localCallIsolationThreads();
+			pool = new ThreadPoolExecutor(
+					numThreads, numThreads,
+					0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(properties.localCallIsolationQueueCapacity()),
+					runnable -> {
+						final var thread = new Thread(runnable, "isolatedLocalCall");
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+	}
+
+	public ContractCallLocalResponse perform(ContractCallLocalQuery op, long now) throws Exception {
+		final var snapshot = queryableState.get();
+		if (!isEnabled || !snapshot.isInitialized()) {
+			return contracts.contractCallLocal(op, now);
+		}
+
+		final var effectiveMaxGas = Math.min(maxGas, dynamicProperties.maxGas());
+		final var call = new FutureTask<ContractCallLocalResponse>(() -> contracts.contractCallLocal(
+				op,
+				now,
+				snapshotRepos.apply(snapshot),
+				snapshot.getAccounts(),
+				effectiveMaxGas));
+		try {
+			pool.execute(call);
+		} catch (RejectedExecutionException saturated) {
+			return busy();
+		}
+		try {
+			return call.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException slow) {
+			call.cancel(true);
+			log.warn("Local call to {} did not finish within {}ms", op.getContractID(), timeoutMs);
+			return busy();
+		} catch (ExecutionException e) {
+			final var cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
+		}
+	}
+
+	private ContractCallLocalResponse busy() {
+		return ContractCallLocalResponse.newBuilder()
+				.setHeader(RequestBuilder.getResponseHeader(BUSY, 0L, ANSWER_ONLY, ByteString.EMPTY))
+				.build();
+	}
+
+	ExecutorService getPool() {
+		return pool;
+	}
+}
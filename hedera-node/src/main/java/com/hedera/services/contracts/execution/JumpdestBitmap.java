@@ -0,0 +1,89 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.ethereum.util.RLP;
+import org.ethereum.vm.program.ProgramPrecompile;
+
+import java.util.BitSet;
+
+/**
+ * The result of a contract's jump-destination analysis, kept as a bitmap over the
+ * code offsets instead of the boxed {@code Set<Integer>} used by ethereumj's
+ * {@link ProgramPrecompile}. Offsets inside the immediate data of a {@code PUSHn}
+ * are never valid destinations, exactly as in {@link ProgramPrecompile#compile(byte[])}.
+ *
+ * Instances are immutable once constructed, so they may be shared by all programs
+ * that run the same code.
+ */
+public final class JumpdestBitmap extends ProgramPrecompile {
+	static final int JUMPDEST = 0x5b;
+	static final int PUSH1 = 0x60;
+	static final int PUSH32 = 0x7f;
+
+	/* The only serialization version understood by ProgramPrecompile.deserialize() */
+	static final int SERIALIZATION_VERSION = 1;
+
+	private final BitSet jumpdests;
+
+	private JumpdestBitmap(BitSet jumpdests) {
+		this.jumpdests = jumpdests;
+	}
+
+	public static JumpdestBitmap analyze(byte[] code) {
+		final var jumpdests = new BitSet(code.length);
+		for (int i = 0; i < code.length; i++) {
+			final int op = code[i] & 0xff;
+			if (op == JUMPDEST) {
+				jumpdests.set(i);
+			} else if (op >= PUSH1 && op <= PUSH32) {
+				i += op - PUSH1 + 1;
+			}
+		}
+		return new JumpdestBitmap(jumpdests);
+	}
+
+	@Override
+	public boolean hasJumpDest(int pc) {
+		return pc >= 0 && jumpdests.get(pc);
+	}
+
+	/**
+	 * Serializes the analysis in the same RLP format as {@link ProgramPrecompile#serialize()};
+	 * so {@link ProgramPrecompile#deserialize(byte[])} reads it back as an equivalent analysis.
+	 *
+	 * @return the serialized analysis
+	 */
+	@Override
+	public byte[] serialize() {
+		final var items = new byte[1 + jumpdests.cardinality()][];
+		int i = 0;
+		items[i++] = RLP.encodeInt(SERIALIZATION_VERSION);
+		for (int pc = jumpdests.nextSetBit(0); pc >= 0; pc = jumpdests.nextSetBit(pc + 1)) {
+			items[i++] = RLP.encodeInt(pc);
+		}
+		return RLP.encodeList(items);
+	}
+
+	int numJumpdests() {
+		return jumpdests.cardinality();
+	}
+}
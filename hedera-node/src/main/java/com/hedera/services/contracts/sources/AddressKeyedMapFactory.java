@@ -21,64 +21,55 @@ package com.hedera.services.contracts.sources;
  */
 
 import com.hedera.services.files.store.BytesStoreAdapter;
+import com.hedera.services.state.merkle.internals.BlobKey;
+import com.hedera.services.state.merkle.internals.BlobKey.BlobType;
 
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_BYTECODE;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_STORAGE;
 import static com.hedera.services.utils.EntityIdUtils.accountParsedFromSolidityAddress;
 import static com.hedera.services.utils.EntityIdUtils.asSolidityAddress;
-import static java.lang.Long.parseLong;
 
 public class AddressKeyedMapFactory {
-	static final String LEGACY_BYTECODE_PATH_TEMPLATE = "/%d/s%d";
-	static final Pattern LEGACY_BYTECODE_PATH_PATTERN = Pattern.compile("/(\\d+)/s(\\d+)");
-	static final String LEGACY_STORAGE_PATH_TEMPLATE = "/%d/d%d";
-	static final Pattern LEGACY_STORAGE_PATH_PATTERN = Pattern.compile("/(\\d+)/d(\\d+)");
-
-	public static Map<byte[], byte[]> bytecodeMapFrom(Map<String, byte[]> store) {
+	public static Map<byte[], byte[]> bytecodeMapFrom(Map<BlobKey, byte[]> store) {
 		var storageMap = new BytesStoreAdapter<>(
 				byte[].class,
 				Function.identity(),
 				Function.identity(),
-				toAddressMapping(LEGACY_BYTECODE_PATH_PATTERN),
-				toKeyMapping(LEGACY_BYTECODE_PATH_TEMPLATE),
+				toAddressMapping(),
+				toKeyMapping(CONTRACT_BYTECODE),
 				store);
-		storageMap.setDelegateEntryFilter(toRelevancyPredicate(LEGACY_BYTECODE_PATH_PATTERN));
+		storageMap.setDelegateEntryFilter(toRelevancyPredicate(CONTRACT_BYTECODE));
 		return storageMap;
 	}
 
-	public static Map<byte[], byte[]> storageMapFrom(Map<String, byte[]> store) {
+	public static Map<byte[], byte[]> storageMapFrom(Map<BlobKey, byte[]> store) {
 		var storageMap = new BytesStoreAdapter<>(
 				byte[].class,
 				Function.identity(),
 				Function.identity(),
-				toAddressMapping(LEGACY_STORAGE_PATH_PATTERN),
-				toKeyMapping(LEGACY_STORAGE_PATH_TEMPLATE),
+				toAddressMapping(),
+				toKeyMapping(CONTRACT_STORAGE),
 				store);
-		storageMap.setDelegateEntryFilter(toRelevancyPredicate(LEGACY_STORAGE_PATH_PATTERN));
+		storageMap.setDelegateEntryFilter(toRelevancyPredicate(CONTRACT_STORAGE));
 		return storageMap;
 	}
 
-	static Predicate<String> toRelevancyPredicate(final Pattern legacyPathPattern) {
-		return key -> legacyPathPattern.matcher(key).matches();
+	static Predicate<BlobKey> toRelevancyPredicate(final BlobType type) {
+		return key -> key.getType() == type;
 	}
 
-	static Function<byte[], String> toKeyMapping(final String legacyPathTemplate) {
+	static Function<byte[], BlobKey> toKeyMapping(final BlobType type) {
 		return address -> {
 			var id = accountParsedFromSolidityAddress(address);
-			return String.format(legacyPathTemplate, id.getRealmNum(), id.getAccountNum());
+			return new BlobKey(type, id.getRealmNum(), id.getAccountNum());
 		};
 	}
 
-	static Function<String, byte[]> toAddressMapping(final Pattern legacyPathPattern) {
-		return key -> {
-			var matcher = legacyPathPattern.matcher(key);
-			var flag = matcher.matches();
-			assert flag;
-
-			return asSolidityAddress(0, parseLong(matcher.group(1)), parseLong(matcher.group(2)));
-		};
+	static Function<BlobKey, byte[]> toAddressMapping() {
+		return key -> asSolidityAddress(0, key.getRealm(), key.getEntityNum());
 	}
 }
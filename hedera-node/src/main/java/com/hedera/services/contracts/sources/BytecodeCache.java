@@ -0,0 +1,257 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.contracts.execution.JumpdestBitmap;
+import com.hedera.services.stats.MiscRunningAvgs;
+import org.ethereum.config.CommonConfig;
+import org.ethereum.datasource.Source;
+import org.ethereum.vm.program.ProgramPrecompile;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.ethereum.crypto.HashUtil.sha3;
+
+/**
+ * A bounded, size-aware LRU cache of contract bytecode and its jump-destination
+ * analysis, shared by consensus calls and {@code ContractCallLocal} queries.
+ *
+ * Contracts are looked up by address, but code is stored once per keccak-256 code
+ * hash; so many contracts with identical bytecode share both the bytes and the
+ * {@link JumpdestBitmap}. The code at an address never changes once written, so
+ * the only invalidations needed are on writes through {@link #cachingView(Source)}
+ * and when a contract is deleted or system-deleted.
+ *
+ * The cache keeps its own copy of all code it holds, and returns a fresh copy on every hit;
+ * so callers may do as they like with the arrays they get, without corrupting the cache.
+ */
+public class BytecodeCache {
+	private final long maxBytes;
+	private final MiscRunningAvgs runningAvgs;
+	private final LinkedHashMap<ByteString, CachedCode> byAddress = new LinkedHashMap<>(64, 0.75f, true);
+	private final Map<ByteString, CachedCode> byCodeHash = new HashMap<>();
+	private final CommonConfig analysisConfig = new CommonConfig() {
+		@Override
+		public Source<byte[], ProgramPrecompile> precompileSource() {
+			return analyses;
+		}
+	};
+	private final Source<byte[], ProgramPrecompile> analyses = new AnalysisSource();
+
+	private long hits;
+	private long misses;
+	private long bytesCached;
+
+	public BytecodeCache(long maxBytes, MiscRunningAvgs runningAvgs) {
+		this.maxBytes = maxBytes;
+		this.runningAvgs = runningAvgs;
+	}
+
+	/**
+	 * Returns a view of the given bytecode source that serves reads from this cache
+	 * and invalidates any cached code for an address written or deleted through it.
+	 *
+	 * @param backing the bytecode source to read from on a miss
+	 * @return a caching view of the source
+	 */
+	public Source<byte[], byte[]> cachingView(Source<byte[], byte[]> backing) {
+		return new CachingSource(backing);
+	}
+
+	/**
+	 * Returns an ethereumj configuration whose precompile source answers with the
+	 * cached analysis of any code in this cache; programs running code not in the
+	 * cache analyze it themselves, as before.
+	 *
+	 * @return the configuration to give each {@code Program}
+	 */
+	public CommonConfig analysisConfig() {
+		return analysisConfig;
+	}
+
+	public byte[] getCode(byte[] address, Function<byte[], byte[]> loader) {
+		if (maxBytes <= 0) {
+			return loader.apply(address);
+		}
+		final var key = ByteString.copyFrom(address);
+		final var cached = lookup(key);
+		runningAvgs.recordBytecodeCacheLookup(cached != null);
+		if (cached != null) {
+			return cached.code.clone();
+		}
+
+		final var code = loader.apply(address);
+		if (code == null || code.length == 0 || code.length > maxBytes) {
+			return code;
+		}
+		final var codeHash = ByteString.copyFrom(sha3(code));
+		synchronized (this) {
+			if (!byAddress.containsKey(key)) {
+				var shared = byCodeHash.get(codeHash);
+				if (shared == null) {
+					shared = new CachedCode(code.clone(), codeHash);
+					byCodeHash.put(codeHash, shared);
+					bytesCached += code.length;
+				}
+				shared.refs++;
+				byAddress.put(key, shared);
+				evictToFit();
+			}
+			runningAvgs.recordBytecodeCacheBytes(bytesCached);
+		}
+		return code;
+	}
+
+	private synchronized CachedCode lookup(ByteString key) {
+		final var cached = byAddress.get(key);
+		if (cached != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return cached;
+	}
+
+	public synchronized void invalidate(byte[] address) {
+		final var cached = byAddress.remove(ByteString.copyFrom(address));
+		if (cached != null) {
+			release(cached);
+			runningAvgs.recordBytecodeCacheBytes(bytesCached);
+		}
+	}
+
+	public synchronized long bytesCached() {
+		return bytesCached;
+	}
+
+	public synchronized double hitRatio() {
+		final var lookups = hits + misses;
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+
+	synchronized int numAddresses() {
+		return byAddress.size();
+	}
+
+	synchronized int numDistinctCodes() {
+		return byCodeHash.size();
+	}
+
+	private void evictToFit() {
+		final var iter = byAddress.values().iterator();
+		while (bytesCached > maxBytes && iter.hasNext()) {
+			final var eldest = iter.next();
+			iter.remove();
+			release(eldest);
+		}
+	}
+
+	private void release(CachedCode cached) {
+		if (--cached.refs == 0) {
+			byCodeHash.remove(cached.codeHash);
+			bytesCached -= cached.code.length;
+		}
+	}
+
+	private synchronized ProgramPrecompile analysisOf(byte[] address) {
+		final var cached = byAddress.get(ByteString.copyFrom(address));
+		if (cached == null) {
+			return null;
+		}
+		if (cached.analysis == null) {
+			cached.analysis = JumpdestBitmap.analyze(cached.code);
+		}
+		return cached.analysis;
+	}
+
+	private static final class CachedCode {
+		private final byte[] code;
+		private final ByteString codeHash;
+		private JumpdestBitmap analysis;
+		private int refs;
+
+		private CachedCode(byte[] code, ByteString codeHash) {
+			this.code = code;
+			this.codeHash = codeHash;
+		}
+	}
+
+	private final class CachingSource implements Source<byte[], byte[]> {
+		private final Source<byte[], byte[]> backing;
+
+		private CachingSource(Source<byte[], byte[]> backing) {
+			this.backing = backing;
+		}
+
+		@Override
+		public void put(byte[] address, byte[] code) {
+			invalidate(address);
+			backing.put(address, code);
+		}
+
+		@Override
+		public byte[] get(byte[] address) {
+			return getCode(address, backing::get);
+		}
+
+		@Override
+		public void delete(byte[] address) {
+			invalidate(address);
+			backing.delete(address);
+		}
+
+		@Override
+		public boolean flush() {
+			return backing.flush();
+		}
+	}
+
+	/**
+	 * In this fork of ethereumj, {@code Repository.getCodeHash(address)} simply returns
+	 * the address; so this source is keyed by address, and resolves the analysis that
+	 * is shared by all addresses with the same code.
+	 */
+	private final class AnalysisSource implements Source<byte[], ProgramPrecompile> {
+		@Override
+		public void put(byte[] address, ProgramPrecompile analysis) {
+			/* Only analyses of cached code are kept, and those are computed on demand. */
+		}
+
+		@Override
+		public ProgramPrecompile get(byte[] address) {
+			return analysisOf(address);
+		}
+
+		@Override
+		public void delete(byte[] address) {
+			/* No-op; invalidated along with the code. */
+		}
+
+		@Override
+		public boolean flush() {
+			return false;
+		}
+	}
+}
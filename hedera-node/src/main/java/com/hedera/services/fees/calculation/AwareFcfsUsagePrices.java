@@ -31,7 +31,6 @@ import com.hederahashgraph.api.proto.java.FeeSchedule;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.SubType;
 import com.hederahashgraph.api.proto.java.Timestamp;
-import com.hederahashgraph.api.proto.java.TimestampSeconds;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,6 +42,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.hedera.services.fees.calculation.UsagePriceTable.EMPTY_TABLE;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenAccountWipe;
@@ -84,11 +84,7 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 
 	CurrentAndNextFeeSchedule feeSchedules;
 
-	private Timestamp currFunctionUsagePricesExpiry;
-	private Timestamp nextFunctionUsagePricesExpiry;
-
-	private EnumMap<HederaFunctionality, Map<SubType, FeeData>> currFunctionUsagePrices;
-	private EnumMap<HederaFunctionality, Map<SubType, FeeData>> nextFunctionUsagePrices;
+	private volatile ActiveSchedules activeSchedules;
 
 	public AwareFcfsUsagePrices(HederaFs hfs, FileNumbers fileNumbers, TransactionContext txnCtx) {
 		this.hfs = hfs;
@@ -140,7 +136,7 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 	@Override
 	public Map<SubType, FeeData> pricesGiven(HederaFunctionality function, Timestamp at) {
 		try {
-			Map<HederaFunctionality, Map<SubType, FeeData>> functionUsagePrices = applicableUsagePrices(at);
+			Map<HederaFunctionality, Map<SubType, FeeData>> functionUsagePrices = activeSchedules.usagePricesAt(at);
 			Map<SubType, FeeData> usagePrices = functionUsagePrices.get(function);
 			Objects.requireNonNull(usagePrices);
 			return usagePrices;
@@ -158,41 +154,41 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 	}
 
 	@Override
-	public Triple<Map<SubType, FeeData>, Instant, Map<SubType, FeeData>> activePricingSequence(
-			HederaFunctionality function) {
-		return Triple.of(
-				currFunctionUsagePrices.get(function),
-				Instant.ofEpochSecond(
-						currFunctionUsagePricesExpiry.getSeconds(),
-						currFunctionUsagePricesExpiry.getNanos()),
-				nextFunctionUsagePrices.get(function));
+	public UsagePriceTable activePriceTable() {
+		try {
+			return priceTableGiven(txnCtx.accessor().getTxnId().getTransactionValidStart());
+		} catch (Exception ignore) {
+			/* The caller falls back to activePrices(), which logs the problem */
+			return EMPTY_TABLE;
+		}
 	}
 
-	private Map<HederaFunctionality, Map<SubType, FeeData>> applicableUsagePrices(Timestamp at) {
-		if (onlyNextScheduleApplies(at)) {
-			return nextFunctionUsagePrices;
-		} else {
-			return currFunctionUsagePrices;
-		}
+	@Override
+	public UsagePriceTable priceTableGiven(Timestamp at) {
+		final var schedules = activeSchedules;
+		return (schedules == null) ? EMPTY_TABLE : schedules.priceTableAt(at);
 	}
 
-	private boolean onlyNextScheduleApplies(Timestamp at) {
-		return at.getSeconds() >= currFunctionUsagePricesExpiry.getSeconds() &&
-				at.getSeconds() < nextFunctionUsagePricesExpiry.getSeconds();
+	@Override
+	public Triple<Map<SubType, FeeData>, Instant, Map<SubType, FeeData>> activePricingSequence(
+			HederaFunctionality function) {
+		final var schedules = activeSchedules;
+		return Triple.of(
+				schedules.currUsagePrices.get(function),
+				Instant.ofEpochSecond(schedules.currExpirySecs),
+				schedules.nextUsagePrices.get(function));
 	}
 
 	public void setFeeSchedules(CurrentAndNextFeeSchedule feeSchedules) {
 		this.feeSchedules = feeSchedules;
 
-		currFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getCurrentFeeSchedule());
-		currFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getCurrentFeeSchedule().getExpiryTime());
-
-		nextFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
-		nextFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getNextFeeSchedule().getExpiryTime());
-	}
-
-	private Timestamp asTimestamp(TimestampSeconds ts) {
-		return Timestamp.newBuilder().setSeconds(ts.getSeconds()).build();
+		final var currSchedule = feeSchedules.getCurrentFeeSchedule();
+		final var nextSchedule = feeSchedules.getNextFeeSchedule();
+		final var currUsagePrices = functionUsagePricesFrom(currSchedule);
+		final var nextUsagePrices = functionUsagePricesFrom(nextSchedule);
+		activeSchedules = new ActiveSchedules(
+				currUsagePrices, UsagePriceTable.from(currUsagePrices), currSchedule.getExpiryTime().getSeconds(),
+				nextUsagePrices, UsagePriceTable.from(nextUsagePrices), nextSchedule.getExpiryTime().getSeconds());
 	}
 
 	EnumMap<HederaFunctionality, Map<SubType, FeeData>> functionUsagePricesFrom(FeeSchedule feeSchedule) {
@@ -228,4 +224,43 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 		}
 		return feeScheduleMap;
 	}
+
+	/* Everything derived from a CurrentAndNextFeeSchedule, published in one volatile write so
+	that concurrent readers never mix the prices, tables, or expiries of two different files */
+	private static final class ActiveSchedules {
+		private final EnumMap<HederaFunctionality, Map<SubType, FeeData>> currUsagePrices;
+		private final EnumMap<HederaFunctionality, Map<SubType, FeeData>> nextUsagePrices;
+		private final UsagePriceTable currPriceTable;
+		private final UsagePriceTable nextPriceTable;
+		private final long currExpirySecs;
+		private final long nextExpirySecs;
+
+		private ActiveSchedules(
+				EnumMap<HederaFunctionality, Map<SubType, FeeData>> currUsagePrices,
+				UsagePriceTable currPriceTable,
+				long currExpirySecs,
+				EnumMap<HederaFunctionality, Map<SubType, FeeData>> nextUsagePrices,
+				UsagePriceTable nextPriceTable,
+				long nextExpirySecs
+		) {
+			this.currUsagePrices = currUsagePrices;
+			this.currPriceTable = currPriceTable;
+			this.currExpirySecs = currExpirySecs;
+			this.nextUsagePrices = nextUsagePrices;
+			this.nextPriceTable = nextPriceTable;
+			this.nextExpirySecs = nextExpirySecs;
+		}
+
+		private Map<HederaFunctionality, Map<SubType, FeeData>> usagePricesAt(Timestamp at) {
+			return onlyNextScheduleApplies(at.getSeconds()) ? nextUsagePrices : currUsagePrices;
+		}
+
+		private UsagePriceTable priceTableAt(Timestamp at) {
+			return onlyNextScheduleApplies(at.getSeconds()) ? nextPriceTable : currPriceTable;
+		}
+
+		private boolean onlyNextScheduleApplies(long secs) {
+			return secs >= currExpirySecs && secs < nextExpirySecs;
+		}
+	}
 }
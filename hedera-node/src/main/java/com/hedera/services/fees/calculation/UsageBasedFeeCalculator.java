@@ -145,14 +145,21 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 
 	@Override
 	public FeeObject computeFee(TxnAccessor accessor, JKey payerKey, StateView view) {
-		return feeGiven(accessor, payerKey, view, usagePrices.activePrices(), exchange.activeRate(), true);
+		return feeGiven(
+				accessor,
+				payerKey,
+				view,
+				usagePrices.activePrices(),
+				usagePrices.activePriceTable(),
+				exchange.activeRate(),
+				true);
 	}
 
 	@Override
 	public FeeObject estimateFee(TxnAccessor accessor, JKey payerKey, StateView view, Timestamp at) {
 		Map<SubType, FeeData> prices = uncheckedPricesGiven(accessor, at);
 
-		return feeGiven(accessor, payerKey, view, prices, exchange.rate(at), false);
+		return feeGiven(accessor, payerKey, view, prices, usagePrices.priceTableGiven(at), exchange.rate(at), false);
 	}
 
 	@Override
@@ -217,6 +224,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 			JKey payerKey,
 			StateView view,
 			Map<SubType, FeeData> prices,
+			UsagePriceTable priceTable,
 			ExchangeRate rate,
 			boolean inHandle
 	) {
@@ -231,8 +239,14 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 			var usageEstimator = getTxnUsageEstimator(accessor);
 			try {
 				final var usage = usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
-				final var applicablePrices = prices.get(usage.getSubType());
-				return getFeeObject(applicablePrices, usage, rate, feeMultiplierSource.currentMultiplier());
+				final var subType = usage.getSubType();
+				final var multiplier = feeMultiplierSource.currentMultiplier();
+				if (priceTable.hasPricesFor(function, subType)) {
+					return priceTable.fees(function, subType, usage, rate, multiplier);
+				}
+				/* Only the default prices, or no prices at all, are available */
+				final var applicablePrices = prices.get(subType);
+				return getFeeObject(applicablePrices, usage, rate, multiplier);
 			} catch (InvalidTxBodyException e) {
 				log.warn(
 						"Argument accessor={} malformed for implied estimator {}!",
@@ -0,0 +1,183 @@
+package com.hedera.services.fees.calculation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeComponents;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.fee.FeeObject;
+
+import java.util.Map;
+
+import static com.hederahashgraph.fee.FeeBuilder.FEE_DIVISOR_FACTOR;
+import static com.hederahashgraph.fee.FeeBuilder.getTinybarsFromTinyCents;
+
+/**
+ * An immutable, dense copy of the resource prices in one fee schedule, laid out as a single
+ * {@code long[]} indexed by (functionality ordinal, sub-type ordinal, component, resource).
+ *
+ * Pricing a usage vector against the table gives exactly the same {@link FeeObject} as
+ * {@link com.hederahashgraph.fee.FeeBuilder#getFeeObject(FeeData, FeeData, ExchangeRate, long)}
+ * given the corresponding {@link FeeData} prices, but without map lookups or protobuf
+ * getters on the price side, and without allocating anything but the result.
+ */
+public final class UsagePriceTable {
+	private static final HederaFunctionality[] FUNCTIONS = HederaFunctionality.values();
+	private static final SubType[] SUB_TYPES = SubType.values();
+
+	static final int NODE = 0;
+	static final int NETWORK = 1;
+	static final int SERVICE = 2;
+	static final int NUM_COMPONENTS = 3;
+
+	static final int CONSTANT = 0;
+	static final int BPT = 1;
+	static final int VPT = 2;
+	static final int RBH = 3;
+	static final int SBH = 4;
+	static final int GAS = 5;
+	static final int TV = 6;
+	static final int BPR = 7;
+	static final int SBPR = 8;
+	static final int MIN = 9;
+	static final int MAX = 10;
+	static final int NUM_RESOURCES = 11;
+
+	private static final int ROW_LEN = NUM_COMPONENTS * NUM_RESOURCES;
+
+	public static final UsagePriceTable EMPTY_TABLE = new UsagePriceTable(new long[0], new boolean[0]);
+
+	private final long[] prices;
+	private final boolean[] priced;
+
+	private UsagePriceTable(long[] prices, boolean[] priced) {
+		this.prices = prices;
+		this.priced = priced;
+	}
+
+	/**
+	 * Compiles the given prices (in the form returned by {@link UsagePricesProvider#pricesGiven})
+	 * into a table.
+	 *
+	 * @param functionUsagePrices the prices of each functionality and sub-type
+	 * @return the compiled table
+	 */
+	public static UsagePriceTable from(Map<HederaFunctionality, Map<SubType, FeeData>> functionUsagePrices) {
+		final var numRows = FUNCTIONS.length * SUB_TYPES.length;
+		final var prices = new long[numRows * ROW_LEN];
+		final var priced = new boolean[numRows];
+		for (var functionPrices : functionUsagePrices.entrySet()) {
+			final var function = functionPrices.getKey();
+			for (var typedPrices : functionPrices.getValue().entrySet()) {
+				final var row = rowOf(function, typedPrices.getKey());
+				final var feeData = typedPrices.getValue();
+				final var at = row * ROW_LEN;
+				compile(feeData.getNodedata(), prices, at + NODE * NUM_RESOURCES);
+				compile(feeData.getNetworkdata(), prices, at + NETWORK * NUM_RESOURCES);
+				compile(feeData.getServicedata(), prices, at + SERVICE * NUM_RESOURCES);
+				priced[row] = true;
+			}
+		}
+		return new UsagePriceTable(prices, priced);
+	}
+
+	public boolean hasPricesFor(HederaFunctionality function, SubType subType) {
+		final var row = rowOf(function, subType);
+		return row < priced.length && priced[row];
+	}
+
+	/**
+	 * Returns the fees for the given usage of the given functionality and sub-type, which
+	 * <b>must</b> have prices in this table.
+	 *
+	 * @param function the functionality used
+	 * @param subType the sub-type of the functionality used
+	 * @param usage the resources used
+	 * @param rate the exchange rate to convert tinycents to tinybars
+	 * @param multiplier the congestion pricing multiplier
+	 * @return the fees in tinybars
+	 * @throws IllegalArgumentException if there are no prices for the functionality and sub-type
+	 */
+	public FeeObject fees(
+			HederaFunctionality function,
+			SubType subType,
+			FeeData usage,
+			ExchangeRate rate,
+			long multiplier
+	) {
+		if (!hasPricesFor(function, subType)) {
+			throw new IllegalArgumentException("No prices for " + function + " (" + subType + ")");
+		}
+		final var at = rowOf(function, subType) * ROW_LEN;
+		final var networkFee = componentFeeInTinyCents(at + NETWORK * NUM_RESOURCES, usage.getNetworkdata());
+		final var nodeFee = componentFeeInTinyCents(at + NODE * NUM_RESOURCES, usage.getNodedata());
+		final var serviceFee = componentFeeInTinyCents(at + SERVICE * NUM_RESOURCES, usage.getServicedata());
+		return new FeeObject(
+				getTinybarsFromTinyCents(rate, nodeFee) * multiplier,
+				getTinybarsFromTinyCents(rate, networkFee) * multiplier,
+				getTinybarsFromTinyCents(rate, serviceFee) * multiplier);
+	}
+
+	/* Mirrors FeeBuilder.getComponentFeeInTinyCents(), including its overflow and rounding behavior */
+	private long componentFeeInTinyCents(int at, FeeComponents usage) {
+		final var p = prices;
+		final long total = p[at + CONSTANT] * usage.getConstant()
+				+ (p[at + BPT] * usage.getBpt()
+				+ p[at + VPT] * usage.getVpt()
+				+ p[at + RBH] * usage.getRbh()
+				+ p[at + SBH] * usage.getSbh()
+				+ p[at + GAS] * usage.getGas()
+				+ Math.round((float) (p[at + TV] * usage.getTv()) / 1000)
+				+ p[at + BPR] * usage.getBpr()
+				+ p[at + SBPR] * usage.getSbpr());
+		long clamped = total;
+		if (total < p[at + MIN]) {
+			clamped = p[at + MIN];
+		} else if (total > p[at + MAX]) {
+			clamped = p[at + MAX];
+		}
+		return Math.max(clamped > 0 ? 1 : 0, clamped / FEE_DIVISOR_FACTOR);
+	}
+
+	long priceOf(HederaFunctionality function, SubType subType, int component, int resource) {
+		return prices[rowOf(function, subType) * ROW_LEN + component * NUM_RESOURCES + resource];
+	}
+
+	private static int rowOf(HederaFunctionality function, SubType subType) {
+		return function.ordinal() * SUB_TYPES.length + subType.ordinal();
+	}
+
+	private static void compile(FeeComponents components, long[] prices, int at) {
+		prices[at + CONSTANT] = components.getConstant();
+		prices[at + BPT] = components.getBpt();
+		prices[at + VPT] = components.getVpt();
+		prices[at + RBH] = components.getRbh();
+		prices[at + SBH] = components.getSbh();
+		prices[at + GAS] = components.getGas();
+		prices[at + TV] = components.getTv();
+		prices[at + BPR] = components.getBpr();
+		prices[at + SBPR] = components.getSbpr();
+		prices[at + MIN] = components.getMin();
+		prices[at + MAX] = components.getMax();
+	}
+}
@@ -86,6 +86,24 @@ public interface UsagePricesProvider {
 	 */
 	FeeData defaultPricesGiven(HederaFunctionality function, Timestamp at);
 
+	/**
+	 * Returns the compiled table of the prices that apply to the active transaction; that is,
+	 * the table with the same prices as the schedule used by {@link #activePrices()}.
+	 *
+	 * @return the price table for the active transaction
+	 */
+	UsagePriceTable activePriceTable();
+
+	/**
+	 * Returns the compiled table of the prices that are likely to apply to
+	 * operations at the given time; that is, the table with the same prices as
+	 * the schedule used by {@link #pricesGiven(HederaFunctionality, Timestamp)}.
+	 *
+	 * @param at the expected consensus time for an operation
+	 * @return the estimated price table
+	 */
+	UsagePriceTable priceTableGiven(Timestamp at);
+
 	/**
 	 * Returns a triple whose middle value is a "rollover consensus time"
 	 * before which the leftmost {@code FeeData} prices apply to the given
@@ -21,45 +21,41 @@ package com.hedera.services.files;
  */
 
 import com.hedera.services.files.store.BytesStoreAdapter;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.hederahashgraph.api.proto.java.FileID;
 
 import java.util.Map;
 import java.util.function.Function;
-import java.util.regex.Pattern;
+
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_DATA;
 
 public class DataMapFactory {
-	private static final String LEGACY_PATH_TEMPLATE = "/%d/f%d";
-	private static final Pattern LEGACY_PATH_PATTERN = Pattern.compile("/(\\d+)/f(\\d+)");
-	private static final int REALM_INDEX = 1;
-	private static final int ACCOUNT_INDEX = 2;
 
 	DataMapFactory() {
 		throw new IllegalStateException();
 	}
 
-	public static Map<FileID, byte[]> dataMapFrom(Map<String, byte[]> store) {
-		return new BytesStoreAdapter<>(
+	public static Map<FileID, byte[]> dataMapFrom(Map<BlobKey, byte[]> store) {
+		var dataMap = new BytesStoreAdapter<>(
 				FileID.class,
 				Function.identity(),
 				Function.identity(),
 				DataMapFactory::toFid,
-				DataMapFactory::toKeyString,
+				DataMapFactory::toKey,
 				store);
+		dataMap.setDelegateEntryFilter(key -> key.getType() == FILE_DATA);
+		return dataMap;
 	}
 
-	static FileID toFid(String key) {
-		var matcher = LEGACY_PATH_PATTERN.matcher(key);
-		var flag = matcher.matches();
-		assert flag;
-
+	static FileID toFid(BlobKey key) {
 		return FileID.newBuilder()
 				.setShardNum(0)
-				.setRealmNum(Long.parseLong(matcher.group(REALM_INDEX)))
-				.setFileNum(Long.parseLong(matcher.group(ACCOUNT_INDEX)))
+				.setRealmNum(key.getRealm())
+				.setFileNum(key.getEntityNum())
 				.build();
 	}
 
-	static String toKeyString(FileID fid) {
-		return String.format(LEGACY_PATH_TEMPLATE, fid.getRealmNum(), fid.getFileNum());
+	static BlobKey toKey(FileID fid) {
+		return new BlobKey(FILE_DATA, fid.getRealmNum(), fid.getFileNum());
 	}
 }
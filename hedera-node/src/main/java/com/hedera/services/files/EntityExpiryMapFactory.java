@@ -22,47 +22,40 @@ package com.hedera.services.files;
 
 import com.google.common.primitives.Longs;
 import com.hedera.services.files.store.BytesStoreAdapter;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.hedera.services.state.submerkle.EntityId;
 
 import java.util.Map;
-import java.util.regex.Pattern;
+
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.SYSTEM_DELETED_ENTITY_EXPIRY;
 
 public final class EntityExpiryMapFactory {
-	private static final String LEGACY_PATH_TEMPLATE = "/%d/e%d";
-	private static final Pattern LEGACY_PATH_PATTERN = Pattern.compile("/(\\d+)/e(\\d+)");
-	private static final int REALM_INDEX = 1;
-	private static final int NUM_INDEX = 2;
 
 	EntityExpiryMapFactory() {
 		throw new IllegalStateException();
 	}
 
-	public static Map<EntityId, Long> entityExpiryMapFrom(Map<String, byte[]> store) {
-		return new BytesStoreAdapter<>(
+	public static Map<EntityId, Long> entityExpiryMapFrom(Map<BlobKey, byte[]> store) {
+		var expiryMap = new BytesStoreAdapter<>(
 				EntityId.class,
 				EntityExpiryMapFactory::toLong,
 				Longs::toByteArray,
 				EntityExpiryMapFactory::toEid,
-				EntityExpiryMapFactory::toKeyString,
+				EntityExpiryMapFactory::toKey,
 				store);
+		expiryMap.setDelegateEntryFilter(key -> key.getType() == SYSTEM_DELETED_ENTITY_EXPIRY);
+		return expiryMap;
 	}
 
-	static EntityId toEid(String key) {
-		var matcher = LEGACY_PATH_PATTERN.matcher(key);
-		var flag = matcher.matches();
-		assert flag;
-
-		return new EntityId(
-				0,
-				Long.parseLong(matcher.group(REALM_INDEX)),
-				Long.parseLong(matcher.group(NUM_INDEX)));
+	static EntityId toEid(BlobKey key) {
+		return new EntityId(0, key.getRealm(), key.getEntityNum());
 	}
 
 	static Long toLong(byte[] bytes) {
 		return (bytes == null) ? null : Longs.fromByteArray(bytes);
 	}
 
-	static String toKeyString(EntityId id) {
-		return String.format(LEGACY_PATH_TEMPLATE, id.realm(), id.num());
+	static BlobKey toKey(EntityId id) {
+		return new BlobKey(SYSTEM_DELETED_ENTITY_EXPIRY, id.realm(), id.num());
 	}
 }
@@ -55,6 +55,17 @@ public interface FileUpdateInterceptor {
 	 */
 	void postUpdate(FileID id, byte[] contents);
 
+	/**
+	 * Performs any post-processing for the given completed append; called just before
+	 * {@link FileUpdateInterceptor#postUpdate(FileID, byte[])} with the file's full new contents.
+	 *
+	 * @param id the file that was appended to
+	 * @param moreContents the bytes appended to the file
+	 */
+	default void postAppend(FileID id, byte[] moreContents) {
+		/* No-op by default, since most interceptors only care about the complete contents */
+	}
+
 	/**
 	 * Returns an {@link Entry} mapping this interceptor's assessment of the
 	 * candidate delete to a flag indicating whether the delete should occur.
@@ -21,51 +21,46 @@ package com.hedera.services.files;
  */
 
 import com.hedera.services.files.store.BytesStoreAdapter;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.hederahashgraph.api.proto.java.FileID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import com.swirlds.common.CommonUtils;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_METADATA;
+
 public class MetadataMapFactory {
 	private static final Logger log = LogManager.getLogger(MetadataMapFactory.class);
 
-	private static final String LEGACY_PATH_TEMPLATE = "/%d/k%d";
-	private static final Pattern LEGACY_PATH_PATTERN = Pattern.compile("/(\\d+)/k(\\d+)");
-	private static final int REALM_INDEX = 1;
-	private static final int ACCOUNT_INDEX = 2;
-
 	MetadataMapFactory(){
 		throw new IllegalStateException();
 	}
 
-	public static Map<FileID, HFileMeta> metaMapFrom(Map<String, byte[]> store) {
-		return new BytesStoreAdapter<>(
+	public static Map<FileID, HFileMeta> metaMapFrom(Map<BlobKey, byte[]> store) {
+		var metaMap = new BytesStoreAdapter<>(
 				FileID.class,
 				MetadataMapFactory::toAttr,
 				MetadataMapFactory::toValueBytes,
 				MetadataMapFactory::toFid,
-				MetadataMapFactory::toKeyString,
+				MetadataMapFactory::toKey,
 				store);
+		metaMap.setDelegateEntryFilter(key -> key.getType() == FILE_METADATA);
+		return metaMap;
 	}
 
-	static FileID toFid(String key) {
-		var matcher = LEGACY_PATH_PATTERN.matcher(key);
-		var flag = matcher.matches();
-		assert flag;
-
+	static FileID toFid(BlobKey key) {
 		return FileID.newBuilder()
 				.setShardNum(0)
-				.setRealmNum(Long.parseLong(matcher.group(REALM_INDEX)))
-				.setFileNum(Long.parseLong(matcher.group(ACCOUNT_INDEX)))
+				.setRealmNum(key.getRealm())
+				.setFileNum(key.getEntityNum())
 				.build();
 	}
 
-	static String toKeyString(FileID fid) {
-		return String.format(LEGACY_PATH_TEMPLATE, fid.getRealmNum(), fid.getFileNum());
+	static BlobKey toKey(FileID fid) {
+		return new BlobKey(FILE_METADATA, fid.getRealmNum(), fid.getFileNum());
 	}
 
 	static HFileMeta toAttr(byte[] bytes) {
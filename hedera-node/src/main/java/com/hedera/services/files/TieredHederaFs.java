@@ -173,7 +173,7 @@ public class TieredHederaFs implements HederaFs {
 			assertWithinSizeLimits(newContents);
 		}
 
-		return uncheckedUpdate(id, newContents);
+		return uncheckedUpdate(id, newContents, null);
 	}
 
 	@Override
@@ -200,7 +200,7 @@ public class TieredHederaFs implements HederaFs {
 			assertWithinSizeLimits(newContents);
 		}
 
-		return uncheckedUpdate(id, newContents);
+		return uncheckedUpdate(id, newContents, moreContents);
 	}
 
 	@Override
@@ -270,7 +270,7 @@ public class TieredHederaFs implements HederaFs {
 		return new SimpleUpdateResult(verdict.getValue(), false, verdict.getKey());
 	}
 
-	private UpdateResult uncheckedUpdate(FileID id, byte[] newContents) {
+	private UpdateResult uncheckedUpdate(FileID id, byte[] newContents, byte[] appendedContents) {
 		var verdict = judge(id, (interceptor, ignore) -> interceptor.preUpdate(id, newContents));
 
 		if (verdict.getValue()) {
@@ -279,7 +279,12 @@ public class TieredHederaFs implements HederaFs {
 			} else {
 				data.put(id, newContents);
 			}
-			interceptorsFor(id).forEach(interceptor -> interceptor.postUpdate(id, newContents));
+			for (var interceptor : interceptorsFor(id)) {
+				if (appendedContents != null) {
+					interceptor.postAppend(id, appendedContents);
+				}
+				interceptor.postUpdate(id, newContents);
+			}
 		}
 		return new SimpleUpdateResult(false, verdict.getValue(), verdict.getKey());
 	}
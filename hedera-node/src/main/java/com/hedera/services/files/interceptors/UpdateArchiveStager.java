@@ -0,0 +1,330 @@
+package com.hedera.services.files.interceptors;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.config.FileNumbers;
+import com.hedera.services.files.FileUpdateInterceptor;
+import com.hedera.services.files.HFileMeta;
+import com.hedera.services.state.merkle.MerkleDiskFs;
+import com.hedera.services.utils.UnzipUtility;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static com.swirlds.common.CommonUtils.hex;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Prepares the software update archive in the update file (0.0.150) before a freeze starts,
+ * so that at freeze time only an atomic directory swap and the update script remain.
+ *
+ * As an interceptor, keeps a running SHA-384 digest of the update file that each append
+ * extends by just the appended bytes. When a freeze names the update file with a hash that
+ * matches, {@link UpdateArchiveStager#stage(FileID, byte[])} streams the archive from disk
+ * into a staging directory on a background thread. It re-hashes the bytes it actually
+ * extracted, and rejects entries that would land outside the staging directory. Any later
+ * change to the update file discards the staged archive.
+ */
+public class UpdateArchiveStager implements FileUpdateInterceptor {
+	private static final Logger log = LogManager.getLogger(UpdateArchiveStager.class);
+	private static final int APPLICABLE_PRIORITY = 0;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	public static final String STAGING_DIR = "./temp-staging";
+
+	/* Staging that is still unfinished after this long is presumed stuck; since the freeze then
+	falls back to extracting the archive itself, there is no point blocking the handle thread longer */
+	static final long MAX_STAGING_WAIT_MS = 5_000L;
+
+	static final Map.Entry<ResponseCodeEnum, Boolean> YES_VERDICT =
+			new AbstractMap.SimpleImmutableEntry<>(SUCCESS, true);
+
+	private final long fileNum;
+	private final long maxStagingWaitMs;
+	private final Path stagingDir;
+	private final ExecutorService stagingExecutor;
+	private final Supplier<MerkleDiskFs> diskFs;
+
+	/* Incremented on every change to the update file, so stale staging work can be recognized */
+	private final AtomicLong generation = new AtomicLong();
+
+	/* Only used from the handle thread; null until the update file's contents are seen in full */
+	private MessageDigest runningDigest;
+	private boolean appendInProgress;
+
+	private volatile Staging staging;
+
+	public UpdateArchiveStager(FileNumbers fileNums, Supplier<MerkleDiskFs> diskFs) {
+		this(fileNums, diskFs, Paths.get(STAGING_DIR), Executors.newSingleThreadExecutor(r -> {
+			final var thread = new Thread(r, "update-archive-staging");
+			thread.setDaemon(true);
+			return thread;
+		}), MAX_STAGING_WAIT_MS);
+	}
+
+	UpdateArchiveStager(
+			FileNumbers fileNums,
+			Supplier<MerkleDiskFs> diskFs,
+			Path stagingDir,
+			ExecutorService stagingExecutor,
+			long maxStagingWaitMs
+	) {
+		this.diskFs = diskFs;
+		this.stagingDir = stagingDir;
+		this.stagingExecutor = stagingExecutor;
+		this.maxStagingWaitMs = maxStagingWaitMs;
+
+		fileNum = fileNums.softwareUpdateZip();
+	}
+
+	/**
+	 * Starts staging the archive in the given file in the background, unless the running
+	 * digest of the file already shows it cannot have the expected hash.
+	 *
+	 * @param fid the update file named by a freeze
+	 * @param expectedHash the SHA-384 hash the freeze expects the file to have
+	 */
+	public void stage(FileID fid, byte[] expectedHash) {
+		if (priorityForCandidate(fid).isEmpty() || !diskFs.get().contains(fid)) {
+			log.info("Not staging {}, it is not the on-disk software update file", fid);
+			return;
+		}
+		if (runningDigest != null) {
+			final var currentHash = currentHash();
+			if (!Arrays.equals(currentHash, expectedHash)) {
+				log.warn("Not staging update file, hash {} does not match expected {}",
+						hex(currentHash), hex(expectedHash));
+				return;
+			}
+		}
+		final var stagingGeneration = generation.get();
+		final var current = staging;
+		if (current != null && current.isFor(fid, expectedHash, stagingGeneration)) {
+			return;
+		}
+		final var expected = expectedHash.clone();
+		log.info("Staging update file {} in {}", fid, stagingDir);
+		staging = new Staging(fid, expected, stagingGeneration, stagingExecutor.submit(
+				() -> stageFrom(fid, expected, stagingGeneration)));
+	}
+
+	/**
+	 * Waits (for a bounded time) for any staging of the given file with the given hash to
+	 * finish and, if it succeeded and the file has not changed since, atomically moves the
+	 * staged directory to the target location (first moving aside anything already there).
+	 * Staging that does not finish in time is cancelled (it stops before its next entry or
+	 * buffer copy), and the caller should fall back to extracting the archive itself.
+	 *
+	 * @param fid the update file
+	 * @param expectedHash the expected SHA-384 hash of the update file
+	 * @param target the directory the update assets should be in
+	 * @return whether the target now contains the staged update assets
+	 */
+	public boolean promoteStagedTo(FileID fid, byte[] expectedHash, Path target) {
+		final var current = staging;
+		staging = null;
+		if (current == null || !current.isFor(fid, expectedHash, generation.get())) {
+			return false;
+		}
+		try {
+			if (!current.result.get(maxStagingWaitMs, MILLISECONDS) || current.generation != generation.get()) {
+				return false;
+			}
+			Path retired = null;
+			if (Files.exists(target)) {
+				retired = target.resolveSibling(target.getFileName() + "-retired-" + System.nanoTime());
+				Files.move(target, retired, ATOMIC_MOVE);
+			}
+			Files.move(stagingDir, target, ATOMIC_MOVE);
+			if (retired != null) {
+				final var toDelete = retired;
+				stagingExecutor.execute(() -> FileUtils.deleteQuietly(toDelete.toFile()));
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (TimeoutException e) {
+			log.warn("Staging of update file {} did not finish within {}ms, cancelling it", fid, maxStagingWaitMs);
+			current.result.cancel(true);
+		} catch (ExecutionException | IOException e) {
+			log.error("Could not promote staged update assets from {} to {}", stagingDir, target, e);
+		}
+		return false;
+	}
+
+	@Override
+	public OptionalInt priorityForCandidate(FileID id) {
+		return (id.getFileNum() == fileNum) ? OptionalInt.of(APPLICABLE_PRIORITY) : OptionalInt.empty();
+	}
+
+	@Override
+	public Map.Entry<ResponseCodeEnum, Boolean> preUpdate(FileID id, byte[] newContents) {
+		return YES_VERDICT;
+	}
+
+	@Override
+	public void postAppend(FileID id, byte[] moreContents) {
+		if (priorityForCandidate(id).isPresent() && runningDigest != null) {
+			runningDigest.update(moreContents);
+			appendInProgress = true;
+		}
+	}
+
+	@Override
+	public void postUpdate(FileID id, byte[] contents) {
+		if (priorityForCandidate(id).isEmpty()) {
+			return;
+		}
+		if (appendInProgress) {
+			appendInProgress = false;
+		} else {
+			runningDigest = newSha384Digest();
+			runningDigest.update(contents);
+		}
+		generation.incrementAndGet();
+	}
+
+	@Override
+	public Map.Entry<ResponseCodeEnum, Boolean> preDelete(FileID id) {
+		if (priorityForCandidate(id).isPresent()) {
+			runningDigest = null;
+			generation.incrementAndGet();
+		}
+		return YES_VERDICT;
+	}
+
+	@Override
+	public Map.Entry<ResponseCodeEnum, Boolean> preAttrChange(FileID id, HFileMeta newAttr) {
+		return YES_VERDICT;
+	}
+
+	byte[] currentHash() {
+		try {
+			return ((MessageDigest) runningDigest.clone()).digest();
+		} catch (CloneNotSupportedException impossible) {
+			/* The SHA-384 digests of the default providers are all cloneable */
+			throw new IllegalStateException(impossible);
+		}
+	}
+
+	private boolean stageFrom(FileID fid, byte[] expectedHash, long stagingGeneration) {
+		final var digest = newSha384Digest();
+		try {
+			FileUtils.deleteDirectory(stagingDir.toFile());
+			try (var in = new DigestInputStream(
+					new BufferedInputStream(diskFs.get().contentsStreamOf(fid), BUFFER_SIZE), digest)) {
+				UnzipUtility.unzip(in, stagingDir.toString());
+				drain(in);
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			if (Thread.currentThread().isInterrupted()) {
+				log.info("Staging of update file {} was cancelled, discarding staged assets", fid);
+			} else {
+				log.error("Could not stage update file {}, will retry at freeze time", fid, e);
+			}
+			FileUtils.deleteQuietly(stagingDir.toFile());
+			return false;
+		}
+		if (Thread.currentThread().isInterrupted()) {
+			log.info("Staging of update file {} was cancelled, discarding staged assets", fid);
+			FileUtils.deleteQuietly(stagingDir.toFile());
+			return false;
+		}
+		final var stagedHash = digest.digest();
+		if (!Arrays.equals(expectedHash, stagedHash)) {
+			log.error("Staged update file hash {} does not match expected {}, discarding it",
+					hex(stagedHash), hex(expectedHash));
+			FileUtils.deleteQuietly(stagingDir.toFile());
+			return false;
+		}
+		if (stagingGeneration != generation.get()) {
+			log.info("Update file changed while staging, discarding staged assets");
+			FileUtils.deleteQuietly(stagingDir.toFile());
+			return false;
+		}
+		log.info("Staged update file {} in {}", fid, stagingDir);
+		return true;
+	}
+
+	private static void drain(InputStream in) throws IOException {
+		final var buffer = new byte[BUFFER_SIZE];
+		/* Only reading to complete the digest */
+		while (in.read(buffer) != -1) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedIOException("Staging was cancelled");
+			}
+		}
+	}
+
+	private static MessageDigest newSha384Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+	}
+
+	private static final class Staging {
+		private final FileID fid;
+		private final byte[] expectedHash;
+		private final long generation;
+		private final Future<Boolean> result;
+
+		private Staging(FileID fid, byte[] expectedHash, long generation, Future<Boolean> result) {
+			this.fid = fid;
+			this.expectedHash = expectedHash;
+			this.generation = generation;
+			this.result = result;
+		}
+
+		private boolean isFor(FileID fid, byte[] expectedHash, long generation) {
+			return this.fid.equals(fid)
+					&& Arrays.equals(this.expectedHash, expectedHash)
+					&& this.generation == generation;
+		}
+	}
+}
@@ -20,6 +20,8 @@ package com.hedera.services.files.store;
  * ‍
  */
 
+import com.hedera.services.state.merkle.internals.BlobKey;
+
 import java.util.AbstractMap;
 import java.util.Map;
 import java.util.Optional;
@@ -31,21 +33,21 @@ import static java.util.stream.Collectors.toSet;
 
 public class BytesStoreAdapter<K, V> extends AbstractMap<K, V> {
 	private final Class<K> kType;
-	private final Function<String, K> toK;
-	private final Function<K, String> fromK;
+	private final Function<BlobKey, K> toK;
+	private final Function<K, BlobKey> fromK;
 	private final Function<byte[], V> toV;
 	private final Function<V, byte[]> fromV;
-	private final Map<String, byte[]> delegate;
+	private final Map<BlobKey, byte[]> delegate;
 
-	private Optional<Predicate<String>> delegateEntryFilter = Optional.empty();
+	private Optional<Predicate<BlobKey>> delegateEntryFilter = Optional.empty();
 
 	public BytesStoreAdapter(
 			Class<K> kType,
 			Function<byte[], V> toV,
 			Function<V, byte[]> fromV,
-			Function<String, K> toK,
-			Function<K, String> fromK,
-			Map<String, byte[]> delegate
+			Function<BlobKey, K> toK,
+			Function<K, BlobKey> fromK,
+			Map<BlobKey, byte[]> delegate
 	) {
 		this.toK = toK;
 		this.toV = toV;
@@ -55,7 +57,7 @@ public class BytesStoreAdapter<K, V> extends AbstractMap<K, V> {
 		this.delegate = delegate;
 	}
 
-	public void setDelegateEntryFilter(Predicate<String> filter) {
+	public void setDelegateEntryFilter(Predicate<BlobKey> filter) {
 		delegateEntryFilter = Optional.of(filter);
 	}
 
@@ -22,6 +22,7 @@ package com.hedera.services.files.store;
 
 import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.swirlds.fcmap.FCMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,7 +35,13 @@ import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toSet;
 
-public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
+/**
+ * A {@code Map} view of the storage map keyed by {@link BlobKey}. Entries whose
+ * {@link MerkleBlobMeta} has no typed key (that is, whose path was not of the legacy
+ * form when it was migrated) are not reachable through this view, and are omitted
+ * from its entry set.
+ */
+public class FcBlobsBytesStore extends AbstractMap<BlobKey, byte[]> {
 	private static final Logger log = LogManager.getLogger(FcBlobsBytesStore.class);
 
 	private final Function<byte[], MerkleOptionalBlob> blobFactory;
@@ -49,7 +56,7 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	}
 
 	private MerkleBlobMeta at(Object key) {
-		return new MerkleBlobMeta((String) key);
+		return new MerkleBlobMeta((BlobKey) key);
 	}
 
 	@Override
@@ -86,7 +93,7 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	 * @return {@code null}
 	 */
 	@Override
-	public byte[] put(String path, byte[] value) {
+	public byte[] put(BlobKey path, byte[] value) {
 		var meta = at(path);
 		if (pathedBlobs.get().containsKey(meta)) {
 			var blob = pathedBlobs.get().getForModify(meta);
@@ -99,7 +106,7 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 			if (log.isDebugEnabled()) {
 				log.debug("Putting {} new bytes (hash = {}) @ '{}'", value.length, blob.getHash(), path);
 			}
-			pathedBlobs.get().put(at(path), blob);
+			pathedBlobs.get().put(meta, blob);
 		}
 		return null;
 	}
@@ -127,10 +134,11 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	}
 
 	@Override
-	public Set<Entry<String, byte[]>> entrySet() {
+	public Set<Entry<BlobKey, byte[]>> entrySet() {
 		return pathedBlobs.get().entrySet()
 				.stream()
-				.map(entry -> new SimpleEntry<>(entry.getKey().getPath(), entry.getValue().getData()))
+				.filter(entry -> entry.getKey().getKey() != null)
+				.map(entry -> new SimpleEntry<>(entry.getKey().getKey(), entry.getValue().getData()))
 				.collect(toSet());
 	}
 }
@@ -0,0 +1,101 @@
+package com.hedera.services.files.store;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.internals.BlobKey;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bytes store that reads through to a base store, but keeps all of its own writes
+ * and removals in a private overlay; so the base store (for example, one backed by an
+ * immutable signed state) is never modified.
+ */
+public class OverlayBytesStore extends AbstractMap<BlobKey, byte[]> {
+	private static final byte[] REMOVED = new byte[0];
+
+	private final Map<BlobKey, byte[]> base;
+	private final Map<BlobKey, byte[]> overlay = new HashMap<>();
+
+	public OverlayBytesStore(Map<BlobKey, byte[]> base) {
+		this.base = base;
+	}
+
+	@Override
+	public byte[] get(Object path) {
+		final var written = overlay.get(path);
+		if (written != null) {
+			return (written == REMOVED) ? null : written;
+		}
+		return base.get(path);
+	}
+
+	@Override
+	public boolean containsKey(Object path) {
+		final var written = overlay.get(path);
+		if (written != null) {
+			return written != REMOVED;
+		}
+		return base.containsKey(path);
+	}
+
+	@Override
+	public byte[] put(BlobKey path, byte[] value) {
+		final var prior = get(path);
+		overlay.put(path, value);
+		return prior;
+	}
+
+	@Override
+	public byte[] remove(Object path) {
+		final var prior = get(path);
+		overlay.put((BlobKey) path, REMOVED);
+		return prior;
+	}
+
+	@Override
+	public void clear() {
+		overlay.clear();
+		for (var path : base.keySet()) {
+			overlay.put(path, REMOVED);
+		}
+	}
+
+	@Override
+	public Set<Entry<BlobKey, byte[]>> entrySet() {
+		final Set<Entry<BlobKey, byte[]>> entries = new HashSet<>();
+		for (var entry : base.entrySet()) {
+			if (!overlay.containsKey(entry.getKey())) {
+				entries.add(entry);
+			}
+		}
+		for (var entry : overlay.entrySet()) {
+			if (entry.getValue() != REMOVED) {
+				entries.add(new SimpleEntry<>(entry.getKey(), entry.getValue()));
+			}
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,390 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.legacy.core.jproto.TxnReceipt;
+import com.hedera.services.records.ReceiptWaiters;
+import com.hedera.services.records.RecordCache;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hedera.services.grpc.ReceiptStreamMethods.SERVICE_NAME;
+import static com.hedera.services.grpc.ReceiptStreamMethods.SUBSCRIBE_METHOD;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Implements the node-local receipt stream described by {@link ReceiptStreamMethods}, as an
+ * alternative to polling for receipts with {@code TransactionGetReceipt} queries.
+ *
+ * Each subscription registers a {@link ReceiptWaiters.Waiter} for its transaction id; which is
+ * notified by the {@link RecordCache} as soon as the priority receipt for that id is known. If
+ * the receipt is already known when the subscription arrives, it is pushed immediately; and
+ * if it is still not known after the record cache TTL, the subscriber gets an {@code UNKNOWN}
+ * receipt instead.
+ *
+ * Since waiters are notified on the thread handling transactions, a notification only offers
+ * the receipt to a bounded per-call outbox. A separate push thread drains each outbox while
+ * its call is ready for more messages, per gRPC flow control; and a subscriber so slow that
+ * its outbox fills up is cancelled with {@code RESOURCE_EXHAUSTED}. The limit on pending
+ * subscriptions applies per client connection (that is, per remote address), so it cannot
+ * be evaded by opening more calls on the same connection.
+ */
+public class ReceiptStreamService {
+	private static final Logger log = LogManager.getLogger(ReceiptStreamService.class);
+
+	static final TransactionReceipt BUSY_RECEIPT = TransactionReceipt.newBuilder().setStatus(BUSY).build();
+	static final TransactionReceipt UNKNOWN_RECEIPT = TransactionReceipt.newBuilder().setStatus(UNKNOWN).build();
+
+	static final Context.Key<Object> CONNECTION_KEY = Context.key("receiptStreamConnection");
+
+	private final Executor pushes;
+	private final RecordCache recordCache;
+	private final MiscRunningAvgs runningAvgs;
+	private final ReceiptWaiters receiptWaiters;
+	private final MiscSpeedometers speedometers;
+	private final NodeLocalProperties nodeLocalProperties;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final ScheduledExecutorService expiries;
+	private final Map<Object, Integer> pendingPerConnection = new ConcurrentHashMap<>();
+
+	public ReceiptStreamService(
+			RecordCache recordCache,
+			ReceiptWaiters receiptWaiters,
+			MiscSpeedometers speedometers,
+			MiscRunningAvgs runningAvgs,
+			NodeLocalProperties nodeLocalProperties,
+			GlobalDynamicProperties dynamicProperties
+	) {
+		this(recordCache, receiptWaiters, speedometers, runningAvgs, nodeLocalProperties, dynamicProperties,
+				Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "receipt-stream-expiries")),
+				Executors.newSingleThreadExecutor(r -> daemon(r, "receipt-stream-pushes")));
+	}
+
+	ReceiptStreamService(
+			RecordCache recordCache,
+			ReceiptWaiters receiptWaiters,
+			MiscSpeedometers speedometers,
+			MiscRunningAvgs runningAvgs,
+			NodeLocalProperties nodeLocalProperties,
+			GlobalDynamicProperties dynamicProperties,
+			ScheduledExecutorService expiries,
+			Executor pushes
+	) {
+		this.pushes = pushes;
+		this.expiries = expiries;
+		this.recordCache = recordCache;
+		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
+		this.receiptWaiters = receiptWaiters;
+		this.dynamicProperties = dynamicProperties;
+		this.nodeLocalProperties = nodeLocalProperties;
+	}
+
+	public ServerServiceDefinition serviceDefinition() {
+		final var definition = ServerServiceDefinition.builder(SERVICE_NAME)
+				.addMethod(SUBSCRIBE_METHOD, ServerCalls.asyncBidiStreamingCall(this::subscribe))
+				.build();
+		return ServerInterceptors.intercept(definition, new ConnectionInterceptor());
+	}
+
+	StreamObserver<TransactionID> subscribe(StreamObserver<TransactionRecord> responses) {
+		final var connection = CONNECTION_KEY.get();
+		final var subscriptions = new Subscriptions(responses, connection);
+		if (responses instanceof ServerCallStreamObserver) {
+			final var serverResponses = (ServerCallStreamObserver<TransactionRecord>) responses;
+			serverResponses.setOnCancelHandler(subscriptions::close);
+			serverResponses.setOnReadyHandler(subscriptions::scheduleDrain);
+		}
+		return subscriptions;
+	}
+
+	int numPendingFor(Object connection) {
+		return pendingPerConnection.getOrDefault(connection, 0);
+	}
+
+	private boolean tryAcquire(Object connection) {
+		final var limit = nodeLocalProperties.receiptStreamMaxSubscriptions();
+		final var acquired = new AtomicBoolean();
+		pendingPerConnection.compute(connection, (ignore, n) -> {
+			final int current = (n == null) ? 0 : n;
+			if (current >= limit) {
+				return n;
+			}
+			acquired.set(true);
+			return current + 1;
+		});
+		return acquired.get();
+	}
+
+	private void release(Object connection) {
+		pendingPerConnection.computeIfPresent(connection, (ignore, n) -> (n == 1) ? null : n - 1);
+	}
+
+	/**
+	 * Puts the remote address of each call in its {@link Context}, so calls sharing a
+	 * connection can share a subscription limit.
+	 */
+	static class ConnectionInterceptor implements ServerInterceptor {
+		@Override
+		public <I, O> ServerCall.Listener<I> interceptCall(
+				ServerCall<I, O> call,
+				Metadata headers,
+				ServerCallHandler<I, O> next
+		) {
+			final var remoteAddress = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+			if (remoteAddress == null) {
+				return next.startCall(call, headers);
+			}
+			return Contexts.interceptCall(
+					Context.current().withValue(CONNECTION_KEY, remoteAddress), call, headers, next);
+		}
+	}
+
+	/**
+	 * The pending subscriptions of a single call. Its response observer is only used by the
+	 * drain task, of which at most one is ever running, since gRPC observers are not thread-safe.
+	 */
+	class Subscriptions implements StreamObserver<TransactionID>, ReceiptWaiters.Waiter {
+		private final Object connection;
+		private final Queue<Push> outbox;
+		private final AtomicBoolean isDraining = new AtomicBoolean();
+		private final Set<TransactionID> pending = ConcurrentHashMap.newKeySet();
+		private final StreamObserver<TransactionRecord> responses;
+
+		private volatile boolean closed = false;
+		private volatile boolean tooSlow = false;
+		private volatile boolean clientDone = false;
+		private boolean terminated = false;
+
+		Subscriptions(StreamObserver<TransactionRecord> responses, Object connection) {
+			this.responses = responses;
+			this.connection = (connection == null) ? this : connection;
+			this.outbox = new ArrayBlockingQueue<>(Math.max(1, nodeLocalProperties.receiptStreamMaxSubscriptions()));
+		}
+
+		@Override
+		public void onNext(TransactionID txnId) {
+			if (closed || pending.contains(txnId)) {
+				return;
+			}
+			if (!tryAcquire(connection)) {
+				speedometers.cycleReceiptSubscriptionRejections();
+				offer(new Push(txnId, BUSY_RECEIPT));
+				return;
+			}
+			pending.add(txnId);
+			/* Register before checking the cache, so a receipt observed in between is not missed */
+			receiptWaiters.register(txnId, this);
+			runningAvgs.recordPendingReceiptSubscriptions(receiptWaiters.numWaiting());
+			final var known = recordCache.getPriorityReceipt(txnId);
+			if (known != null && !UNKNOWN.name().equals(known.getStatus())) {
+				receiptAvailable(txnId, known);
+			} else {
+				expiries.schedule(() -> expire(txnId), dynamicProperties.cacheRecordsTtl(), SECONDS);
+			}
+		}
+
+		@Override
+		public void receiptAvailable(TransactionID txnId, TxnReceipt receipt) {
+			if (forget(txnId)) {
+				speedometers.cycleReceiptsPushed();
+				offer(new Push(txnId, receipt));
+			}
+		}
+
+		void expire(TransactionID txnId) {
+			if (forget(txnId)) {
+				offer(new Push(txnId, UNKNOWN_RECEIPT));
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			close();
+		}
+
+		@Override
+		public void onCompleted() {
+			clientDone = true;
+			scheduleDrain();
+		}
+
+		void close() {
+			closed = true;
+			for (var txnId : pending) {
+				forget(txnId);
+			}
+			outbox.clear();
+		}
+
+		void scheduleDrain() {
+			if (isDraining.compareAndSet(false, true)) {
+				try {
+					pushes.execute(this::drain);
+				} catch (RejectedExecutionException ignore) {
+					isDraining.set(false);
+				}
+			}
+		}
+
+		private boolean forget(TransactionID txnId) {
+			if (pending.remove(txnId)) {
+				receiptWaiters.deregister(txnId, this);
+				release(connection);
+				return true;
+			}
+			return false;
+		}
+
+		private void offer(Push push) {
+			if (closed) {
+				return;
+			}
+			if (!outbox.offer(push)) {
+				log.debug("Cancelling receipt stream whose client is not keeping up");
+				tooSlow = true;
+				close();
+			}
+			scheduleDrain();
+		}
+
+		private void drain() {
+			try {
+				if (!terminated) {
+					pushReadyReceipts();
+				}
+			} finally {
+				isDraining.set(false);
+			}
+			if (!terminated && hasWorkReady()) {
+				scheduleDrain();
+			}
+		}
+
+		private boolean hasWorkReady() {
+			if (tooSlow) {
+				return true;
+			}
+			if (closed) {
+				return false;
+			}
+			return outbox.isEmpty() ? (clientDone && pending.isEmpty()) : isReady();
+		}
+
+		private void pushReadyReceipts() {
+			try {
+				if (tooSlow) {
+					terminated = true;
+					responses.onError(Status.RESOURCE_EXHAUSTED
+							.withDescription("Receipt stream client is not keeping up")
+							.asRuntimeException());
+					return;
+				}
+				Push next;
+				while (!closed && isReady() && (next = outbox.poll()) != null) {
+					responses.onNext(next.asRecord());
+				}
+				if (!closed && clientDone && pending.isEmpty() && outbox.isEmpty()) {
+					terminated = true;
+					closed = true;
+					responses.onCompleted();
+				}
+			} catch (RuntimeException e) {
+				log.debug("Closing receipt stream after failed push", e);
+				terminated = true;
+				close();
+			}
+		}
+
+		private boolean isReady() {
+			return !(responses instanceof ServerCallStreamObserver)
+					|| ((ServerCallStreamObserver<TransactionRecord>) responses).isReady();
+		}
+
+		int numPending() {
+			return pending.size();
+		}
+	}
+
+	private static class Push {
+		private final TransactionID txnId;
+		private final TxnReceipt receipt;
+		private final TransactionReceipt grpcReceipt;
+
+		Push(TransactionID txnId, TxnReceipt receipt) {
+			this.txnId = txnId;
+			this.receipt = receipt;
+			this.grpcReceipt = null;
+		}
+
+		Push(TransactionID txnId, TransactionReceipt grpcReceipt) {
+			this.txnId = txnId;
+			this.receipt = null;
+			this.grpcReceipt = grpcReceipt;
+		}
+
+		TransactionRecord asRecord() {
+			return TransactionRecord.newBuilder()
+					.setTransactionID(txnId)
+					.setReceipt((grpcReceipt != null) ? grpcReceipt : TxnReceipt.convert(receipt))
+					.build();
+		}
+	}
+
+	private static Thread daemon(Runnable runnable, String name) {
+		final var thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,267 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
+import com.hedera.services.txns.consensus.TopicMessageRing;
+import com.hedera.services.txns.validation.OptionValidator;
+import com.hederahashgraph.api.proto.java.TopicID;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.hedera.services.grpc.TopicStreamMethods.SERVICE_NAME;
+import static com.hedera.services.grpc.TopicStreamMethods.SUBSCRIBE_METHOD;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+
+/**
+ * Implements the node-local topic stream described by {@link TopicStreamMethods}, so HCS
+ * clients can follow a topic without the latency of a mirror node.
+ *
+ * Each subscription follows its topic's {@link TopicMessageRing} in the
+ * {@link TopicMessageBuffers}, which tells it whenever a committed message is appended.
+ * Pushes then happen on a separate thread, and only while gRPC reports the call is ready for
+ * more; so a slow consumer never blocks the node, it just falls behind. Once it falls so far
+ * behind that its next message has left the ring, its call ends with {@code OUT_OF_RANGE}.
+ */
+public class TopicStreamService {
+	private static final Logger log = LogManager.getLogger(TopicStreamService.class);
+
+	/* Real sequence numbers start at 1, so this means "whichever message is appended first" */
+	static final long FIRST_APPENDED = 0;
+
+	private final Executor pushes;
+	private final OptionValidator validator;
+	private final MiscRunningAvgs runningAvgs;
+	private final MiscSpeedometers speedometers;
+	private final TopicMessageBuffers topicBuffers;
+	private final Supplier<StateView> stateViews;
+	private final NodeLocalProperties nodeLocalProperties;
+	private final AtomicInteger numSubscribers = new AtomicInteger();
+
+	public TopicStreamService(
+			TopicMessageBuffers topicBuffers,
+			Supplier<StateView> stateViews,
+			OptionValidator validator,
+			MiscSpeedometers speedometers,
+			MiscRunningAvgs runningAvgs,
+			NodeLocalProperties nodeLocalProperties
+	) {
+		this(topicBuffers, stateViews, validator, speedometers, runningAvgs, nodeLocalProperties,
+				Executors.newSingleThreadExecutor(r -> {
+					final var thread = new Thread(r, "topic-stream-pushes");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	TopicStreamService(
+			TopicMessageBuffers topicBuffers,
+			Supplier<StateView> stateViews,
+			OptionValidator validator,
+			MiscSpeedometers speedometers,
+			MiscRunningAvgs runningAvgs,
+			NodeLocalProperties nodeLocalProperties,
+			Executor pushes
+	) {
+		this.pushes = pushes;
+		this.validator = validator;
+		this.stateViews = stateViews;
+		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
+		this.topicBuffers = topicBuffers;
+		this.nodeLocalProperties = nodeLocalProperties;
+	}
+
+	public ServerServiceDefinition serviceDefinition() {
+		return ServerServiceDefinition.builder(SERVICE_NAME)
+				.addMethod(SUBSCRIBE_METHOD, ServerCalls.asyncServerStreamingCall(this::subscribe))
+				.build();
+	}
+
+	void subscribe(TopicStreamQuery query, StreamObserver<TopicStreamMessage> responses) {
+		final var topic = query.getTopicID();
+		final var topicStatus = validator.queryableTopicStatus(topic, stateViews.get().topics());
+		if (topicStatus != OK) {
+			responses.onError(Status.NOT_FOUND.withDescription(topicStatus.name()).asRuntimeException());
+			return;
+		}
+		if (numSubscribers.incrementAndGet() > nodeLocalProperties.topicStreamMaxSubscribers()) {
+			numSubscribers.decrementAndGet();
+			responses.onError(Status.RESOURCE_EXHAUSTED
+					.withDescription("Node is at its limit of topic stream subscribers")
+					.asRuntimeException());
+			return;
+		}
+		final var subscription = new Subscription(topic, responses);
+		final var ring = topicBuffers.watch(topic, subscription);
+		if (ring == null) {
+			numSubscribers.decrementAndGet();
+			responses.onError(Status.RESOURCE_EXHAUSTED
+					.withDescription("Node is at its limit of buffered topics")
+					.asRuntimeException());
+			return;
+		}
+		runningAvgs.recordTopicStreamSubscribers(numSubscribers.get());
+		subscription.start(ring, query.getStartSequenceNumber());
+	}
+
+	int numSubscribers() {
+		return numSubscribers.get();
+	}
+
+	/**
+	 * A single subscriber's position in its topic's ring. Its response observer is only used by
+	 * one push at a time, since {@link Subscription#messagesAvailable()} never schedules a push
+	 * while another is still pending.
+	 */
+	class Subscription implements TopicMessageBuffers.Listener {
+		private final TopicID topic;
+		private final AtomicBoolean closed = new AtomicBoolean(false);
+		private final AtomicInteger pendingPushes = new AtomicInteger();
+		private final StreamObserver<TopicStreamMessage> responses;
+
+		private long nextSeqNo;
+		private TopicMessageRing ring;
+		private volatile boolean started = false;
+
+		Subscription(TopicID topic, StreamObserver<TopicStreamMessage> responses) {
+			this.topic = topic;
+			this.responses = responses;
+		}
+
+		void start(TopicMessageRing ring, long startSeqNo) {
+			this.ring = ring;
+			if (startSeqNo > 0) {
+				nextSeqNo = startSeqNo;
+			} else {
+				final var lastSeqNo = ring.lastSeqNo();
+				nextSeqNo = (lastSeqNo == 0) ? FIRST_APPENDED : lastSeqNo + 1;
+			}
+			if (responses instanceof ServerCallStreamObserver) {
+				final var serverResponses = (ServerCallStreamObserver<TopicStreamMessage>) responses;
+				serverResponses.setOnCancelHandler(this::close);
+				serverResponses.setOnReadyHandler(this::messagesAvailable);
+			}
+			started = true;
+			messagesAvailable();
+		}
+
+		@Override
+		public void messagesAvailable() {
+			if (pendingPushes.getAndIncrement() == 0) {
+				pushes.execute(this::pushAll);
+			}
+		}
+
+		void pushAll() {
+			int missed = 1;
+			do {
+				pushAvailable();
+				missed = pendingPushes.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void pushAvailable() {
+			if (!started || closed.get()) {
+				return;
+			}
+			while (isReady()) {
+				if (nextSeqNo == FIRST_APPENDED) {
+					final var firstAppended = ring.firstAppendedSeqNo();
+					if (firstAppended == 0) {
+						break;
+					}
+					nextSeqNo = firstAppended;
+				}
+				final var message = ring.read(nextSeqNo);
+				if (message == null) {
+					if (nextSeqNo < ring.firstSeqNo()) {
+						speedometers.cycleTopicSubscriptionsDropped();
+						fail(Status.OUT_OF_RANGE.withDescription(
+								"Message " + nextSeqNo + " is no longer buffered; resume from a mirror node"));
+					}
+					break;
+				}
+				try {
+					responses.onNext(message);
+				} catch (RuntimeException e) {
+					log.debug("Closing topic stream after failed push", e);
+					close();
+					return;
+				}
+				speedometers.cycleTopicMessagesPushed();
+				nextSeqNo++;
+			}
+			if (!closed.get()) {
+				runningAvgs.recordTopicStreamSubscriberLag(lag());
+			}
+		}
+
+		private long lag() {
+			if (nextSeqNo == FIRST_APPENDED) {
+				final var firstAppended = ring.firstAppendedSeqNo();
+				return (firstAppended == 0) ? 0 : ring.lastSeqNo() - firstAppended + 1;
+			}
+			return Math.max(0, ring.lastSeqNo() - nextSeqNo + 1);
+		}
+
+		private boolean isReady() {
+			if (responses instanceof ServerCallStreamObserver) {
+				return ((ServerCallStreamObserver<TopicStreamMessage>) responses).isReady();
+			}
+			return true;
+		}
+
+		private void fail(Status status) {
+			if (close()) {
+				responses.onError(status.asRuntimeException());
+			}
+		}
+
+		boolean close() {
+			if (!closed.compareAndSet(false, true)) {
+				return false;
+			}
+			topicBuffers.unwatch(topic, this);
+			runningAvgs.recordTopicStreamSubscribers(numSubscribers.decrementAndGet());
+			return true;
+		}
+
+		long nextSeqNo() {
+			return nextSeqNo;
+		}
+	}
+}
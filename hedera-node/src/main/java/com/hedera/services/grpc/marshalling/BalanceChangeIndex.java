@@ -0,0 +1,129 @@
+package com.hedera.services.grpc.marshalling;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ledger.BalanceChange;
+import com.hedera.services.store.models.Id;
+
+/**
+ * An open-addressing index from an (account, denomination) pair to the fungible
+ * {@link BalanceChange} for that pair, where the denomination of an hbar change is
+ * {@link Id#MISSING_ID}. Slots are found by linear probing from a hash of the primitive
+ * id fields, so neither lookups nor insertions allocate a composite key.
+ */
+final class BalanceChangeIndex {
+	private static final int MIN_CAPACITY = 16;
+
+	private BalanceChange[] slots;
+	private int size = 0;
+
+	BalanceChangeIndex(int expectedSize) {
+		var capacity = MIN_CAPACITY;
+		while (capacity < 2 * expectedSize) {
+			capacity <<= 1;
+		}
+		slots = new BalanceChange[capacity];
+	}
+
+	/**
+	 * Indexes the given change under its account and denomination, returning the
+	 * change it replaced (if any).
+	 *
+	 * @param change the fungible or hbar change to index
+	 * @return the previously indexed change for the same pair, or null
+	 */
+	BalanceChange put(BalanceChange change) {
+		final var account = change.getAccount();
+		final var denom = denomOf(change);
+		final var mask = slots.length - 1;
+		var i = slotFor(account, denom, mask);
+		BalanceChange extant;
+		while ((extant = slots[i]) != null) {
+			if (matches(extant, account, denom)) {
+				slots[i] = change;
+				return extant;
+			}
+			i = (i + 1) & mask;
+		}
+		slots[i] = change;
+		if (++size > (slots.length >>> 1)) {
+			grow();
+		}
+		return null;
+	}
+
+	BalanceChange get(Id account, Id denom) {
+		final var mask = slots.length - 1;
+		var i = slotFor(account, denom, mask);
+		BalanceChange extant;
+		while ((extant = slots[i]) != null) {
+			if (matches(extant, account, denom)) {
+				return extant;
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int capacity() {
+		return slots.length;
+	}
+
+	private void grow() {
+		final var oldSlots = slots;
+		slots = new BalanceChange[oldSlots.length << 1];
+		final var mask = slots.length - 1;
+		for (var change : oldSlots) {
+			if (change != null) {
+				var i = slotFor(change.getAccount(), denomOf(change), mask);
+				while (slots[i] != null) {
+					i = (i + 1) & mask;
+				}
+				slots[i] = change;
+			}
+		}
+	}
+
+	private static Id denomOf(BalanceChange change) {
+		return change.isForHbar() ? Id.MISSING_ID : change.getToken();
+	}
+
+	private static boolean matches(BalanceChange change, Id account, Id denom) {
+		return sameId(change.getAccount(), account) && sameId(denomOf(change), denom);
+	}
+
+	private static boolean sameId(Id a, Id b) {
+		return a.getNum() == b.getNum() && a.getRealm() == b.getRealm() && a.getShard() == b.getShard();
+	}
+
+	private static int slotFor(Id account, Id denom, int mask) {
+		var h = account.getNum() * 0x9E3779B97F4A7C15L;
+		h = (h ^ denom.getNum()) * 0xC2B2AE3D27D4EB4FL;
+		h ^= (account.getShard() * 31 + account.getRealm()) * 0x165667B19E3779F9L;
+		h ^= (denom.getShard() * 31 + denom.getRealm()) * 0x27D4EB2F165667C5L;
+		h ^= h >>> 29;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
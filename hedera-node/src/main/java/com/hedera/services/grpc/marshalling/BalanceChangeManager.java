@@ -22,16 +22,13 @@ package com.hedera.services.grpc.marshalling;
 
 import com.hedera.services.ledger.BalanceChange;
 import com.hedera.services.store.models.Id;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class BalanceChangeManager {
 	private final List<BalanceChange> changesSoFar;
-	private final Map<Pair<Id, Id>, BalanceChange> indexedChanges = new HashMap<>();
+	private final BalanceChangeIndex indexedChanges;
 
 	private int nextCandidateChange;
 	private int levelNo = 0;
@@ -45,6 +42,7 @@ public class BalanceChangeManager {
 	public BalanceChangeManager(List<BalanceChange> changesSoFar, int numHbar) {
 		nextCandidateChange = numHbar;
 		this.changesSoFar = changesSoFar;
+		indexedChanges = new BalanceChangeIndex(changesSoFar.size());
 		changesSoFar.forEach(this::index);
 		levelEnd = changesSoFar.size();
 	}
@@ -91,7 +89,7 @@ public class BalanceChangeManager {
 	}
 
 	public BalanceChange changeFor(Id account, Id denom) {
-		return indexedChanges.get(Pair.of(account, denom));
+		return indexedChanges.get(account, denom);
 	}
 
 	public int getLevelNo() {
@@ -112,12 +110,9 @@ public class BalanceChangeManager {
 
 	private void index(BalanceChange change) {
 		if (!change.isForNft()) {
-			if (change.isForHbar()) {
-				if (indexedChanges.put(Pair.of(change.getAccount(), Id.MISSING_ID), change) != null) {
-					throw new IllegalArgumentException("Duplicate balance change :: " + change);
-				}
-			} else {
-				indexedChanges.put(Pair.of(change.getAccount(), change.getToken()), change);
+			final var replaced = indexedChanges.put(change);
+			if (replaced != null && change.isForHbar()) {
+				throw new IllegalArgumentException("Duplicate balance change :: " + change);
 			}
 		}
 	}
@@ -23,6 +23,7 @@ package com.hedera.services.grpc.marshalling;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.FcCustomFee;
 import com.hedera.services.store.models.Id;
+import com.hedera.services.txns.customfees.CustomFeePlan;
 import com.hedera.services.txns.customfees.CustomFeeSchedules;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -31,26 +32,23 @@ import java.util.List;
 
 public class CustomSchedulesManager {
 	private final CustomFeeSchedules customFeeSchedules;
+	private final List<CustomFeePlan> allManagedPlans = new ArrayList<>();
 	private final List<Pair<Id, List<FcCustomFee>>> allManagedSchedules = new ArrayList<>();
 
 	public CustomSchedulesManager(CustomFeeSchedules customFeeSchedules) {
 		this.customFeeSchedules = customFeeSchedules;
 	}
 
-	public List<FcCustomFee> managedSchedulesFor(EntityId token) {
-		List<FcCustomFee> extantSchedule = null;
-		if (!allManagedSchedules.isEmpty()) {
-			for (var schedule : allManagedSchedules) {
-				if (token.matches(schedule.getKey())) {
-					extantSchedule = schedule.getRight();
-				}
+	public CustomFeePlan managedPlanFor(EntityId token) {
+		for (int i = 0, n = allManagedSchedules.size(); i < n; i++) {
+			if (token.matches(allManagedSchedules.get(i).getKey())) {
+				return allManagedPlans.get(i);
 			}
 		}
-		if (extantSchedule == null) {
-			extantSchedule = customFeeSchedules.lookupScheduleFor(token);
-			allManagedSchedules.add(Pair.of(token.asId(), extantSchedule));
-		}
-		return extantSchedule;
+		final var plan = customFeeSchedules.lookupPlanFor(token);
+		allManagedSchedules.add(Pair.of(token.asId(), plan.getSchedule()));
+		allManagedPlans.add(plan);
+		return plan;
 	}
 
 	public List<Pair<Id, List<FcCustomFee>>> schedulesUsed() {
@@ -26,7 +26,6 @@ import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 
 import java.util.List;
 
-import static com.hedera.services.state.submerkle.FcCustomFee.FeeType.FIXED_FEE;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CUSTOM_FEE_CHARGING_EXCEEDED_MAX_ACCOUNT_AMOUNTS;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CUSTOM_FEE_CHARGING_EXCEEDED_MAX_RECURSION_DEPTH;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
@@ -56,31 +55,26 @@ public class FeeAssessor {
 		if (balanceChangeManager.getLevelNo() > props.getMaxNestedCustomFees()) {
 			return CUSTOM_FEE_CHARGING_EXCEEDED_MAX_RECURSION_DEPTH;
 		}
-		final var fees = customSchedulesManager.managedSchedulesFor(change.getToken().asEntityId());
-		if (fees.isEmpty()) {
+		final var plan = customSchedulesManager.managedPlanFor(change.getToken().asEntityId());
+		if (plan.hasNoFees()) {
 			return OK;
 		}
-		var numFractionalFees = 0;
 		final var payer = change.getAccount();
 		final var maxBalanceChanges = props.getMaxXferBalanceChanges();
-		for (var fee : fees) {
-			if (fee.getFeeType() == FIXED_FEE) {
-				final var fixedSpec = fee.getFixedFeeSpec();
-				if (fixedSpec.getTokenDenomination() == null) {
-					hbarFeeAssessor.assess(payer, fee, balanceChangeManager, accumulator);
-				} else {
-					htsFeeAssessor.assess(payer, fee, balanceChangeManager, accumulator);
-				}
-				if (balanceChangeManager.numChangesSoFar() > maxBalanceChanges) {
-					return CUSTOM_FEE_CHARGING_EXCEEDED_MAX_ACCOUNT_AMOUNTS;
-				}
+		for (var fee : plan.getFixedFees()) {
+			if (fee.getFixedFeeSpec().getTokenDenomination() == null) {
+				hbarFeeAssessor.assess(payer, fee, balanceChangeManager, accumulator);
 			} else {
-				numFractionalFees++;
+				htsFeeAssessor.assess(payer, fee, balanceChangeManager, accumulator);
+			}
+			if (balanceChangeManager.numChangesSoFar() > maxBalanceChanges) {
+				return CUSTOM_FEE_CHARGING_EXCEEDED_MAX_ACCOUNT_AMOUNTS;
 			}
 		}
-		if (numFractionalFees > 0) {
+		final var fractionalFees = plan.getFractionalFees();
+		if (!fractionalFees.isEmpty()) {
 			final var fractionalValidity =
-					fractionalFeeAssessor.assessAllFractional(change, fees, balanceChangeManager, accumulator);
+					fractionalFeeAssessor.assessAllFractional(change, fractionalFees, balanceChangeManager, accumulator);
 			if (fractionalValidity != OK) {
 				return fractionalValidity;
 			}
@@ -0,0 +1,231 @@
+package com.hedera.services.keys;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.legacy.core.jproto.JThresholdKey;
+import com.swirlds.common.crypto.TransactionSignature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+
+/**
+ * A Hedera key tree flattened once into a post-order program, so that testing its
+ * activation needs neither recursion nor any allocation; with exactly the semantics of
+ * {@link HederaKeyActivation#isActive(JKey, Function, BiPredicate, KeyActivationCharacteristics)}.
+ *
+ * Each node of the tree becomes a pair of ints in the program. A simple key is the pair
+ * {@code (LEAF, i)}, where {@code i} is the index of the key in DFS order; a list or
+ * threshold key with {@code n} children is the pair {@code (n, m)}, where {@code m} is the
+ * number of active children it needs under the default characteristics. Evaluation first
+ * records in a bitmap which leaves are verified, then runs the program over a stack of
+ * 0/1 values. As in {@code HederaKeyActivation}, only the needed count of the root can
+ * depend on the given characteristics, so it is the only one computed per evaluation.
+ *
+ * A compiled program is immutable and cached on its {@link JKey}, which must therefore
+ * not be structurally mutated once its activation has been tested.
+ */
+public final class CompiledKeyActivation {
+	static final int LEAF = -1;
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	private final JKey root;
+	private final JKey[] leaves;
+	private final int[] program;
+	private final int maxStackDepth;
+
+	private CompiledKeyActivation(JKey root, JKey[] leaves, int[] program, int maxStackDepth) {
+		this.root = root;
+		this.leaves = leaves;
+		this.program = program;
+		this.maxStackDepth = maxStackDepth;
+	}
+
+	/**
+	 * Returns the compiled program for the given key, compiling and caching it on first use.
+	 *
+	 * @param key the key of interest
+	 * @return its compiled activation program
+	 */
+	public static CompiledKeyActivation compiledFor(JKey key) {
+		var compiled = key.getCompiledActivation();
+		if (compiled == null) {
+			compiled = compile(key);
+			key.setCompiledActivation(compiled);
+		}
+		return compiled;
+	}
+
+	static CompiledKeyActivation compile(JKey key) {
+		final List<JKey> leaves = new ArrayList<>();
+		final var program = new int[2 * sizeOf(key)];
+		final int[] depths = { 0, 0 };
+		emit(key, leaves, program, 0, depths);
+		return new CompiledKeyActivation(key, leaves.toArray(new JKey[0]), program, depths[1]);
+	}
+
+	/**
+	 * Tests whether the compiled key is active, using the given platform signatures and
+	 * predicate to decide which of its simple keys are verified. The predicate is applied
+	 * to every simple key, in DFS order, exactly as by the recursive evaluator.
+	 *
+	 * @param sigsFn the source of platform signatures for the simple keys
+	 * @param tests the logic deciding if a simple key is activated by a given platform sig
+	 * @param characteristics the activation characteristics of the top-level key
+	 * @return whether the key is active
+	 */
+	public boolean isActive(
+			Function<byte[], TransactionSignature> sigsFn,
+			BiPredicate<JKey, TransactionSignature> tests,
+			KeyActivationCharacteristics characteristics
+	) {
+		final var scratch = SCRATCH.get();
+		final var verified = scratch.verifiedFor(leaves.length);
+		for (int i = 0; i < leaves.length; i++) {
+			final var leaf = leaves[i];
+			if (tests.test(leaf, sigsFn.apply(leaf.getEd25519()))) {
+				verified[i >>> 6] |= 1L << i;
+			}
+		}
+		return evaluate(verified, characteristics, scratch.stackFor(maxStackDepth));
+	}
+
+	/**
+	 * Tests whether the compiled key is active given a bitmap whose bit {@code i} is set
+	 * exactly when the simple key at DFS index {@code i} is verified.
+	 *
+	 * @param verified the bitmap of verified simple keys
+	 * @param characteristics the activation characteristics of the top-level key
+	 * @return whether the key is active
+	 */
+	public boolean isActive(long[] verified, KeyActivationCharacteristics characteristics) {
+		return evaluate(verified, characteristics, SCRATCH.get().stackFor(maxStackDepth));
+	}
+
+	public int numLeaves() {
+		return leaves.length;
+	}
+
+	int[] program() {
+		return program;
+	}
+
+	private boolean evaluate(long[] verified, KeyActivationCharacteristics characteristics, int[] stack) {
+		final int last = program.length - 2;
+		int sp = 0;
+		for (int pc = 0; pc <= last; pc += 2) {
+			final int arity = program[pc];
+			if (arity == LEAF) {
+				final int i = program[pc + 1];
+				stack[sp++] = (int) (verified[i >>> 6] >>> i) & 1;
+			} else {
+				final int needed = (pc == last) ? rootNeeded(characteristics) : program[pc + 1];
+				int n = 0;
+				for (int k = 0; k < arity; k++) {
+					n += stack[--sp];
+				}
+				stack[sp++] = (n >= needed) ? 1 : 0;
+			}
+		}
+		return stack[0] == 1;
+	}
+
+	private int rootNeeded(KeyActivationCharacteristics characteristics) {
+		return (characteristics == DEFAULT_ACTIVATION_CHARACTERISTICS)
+				? program[program.length - 1]
+				: neededFor(root, characteristics);
+	}
+
+	/* Appends the post-order program for the key at the given position, tracking the current and max stack depth */
+	private static int emit(JKey key, List<JKey> leaves, int[] program, int pc, int[] depths) {
+		if (isSimple(key)) {
+			program[pc] = LEAF;
+			program[pc + 1] = leaves.size();
+			leaves.add(key);
+		} else {
+			final var children = childrenOf(key);
+			for (var child : children) {
+				pc = emit(child, leaves, program, pc, depths);
+			}
+			depths[0] -= children.size();
+			program[pc] = children.size();
+			program[pc + 1] = neededFor(key, DEFAULT_ACTIVATION_CHARACTERISTICS);
+		}
+		depths[1] = Math.max(depths[1], ++depths[0]);
+		return pc + 2;
+	}
+
+	private static int sizeOf(JKey key) {
+		if (isSimple(key)) {
+			return 1;
+		}
+		int n = 1;
+		for (var child : childrenOf(key)) {
+			n += sizeOf(child);
+		}
+		return n;
+	}
+
+	private static boolean isSimple(JKey key) {
+		return !key.hasKeyList() && !key.hasThresholdKey();
+	}
+
+	private static List<JKey> childrenOf(JKey key) {
+		return key.hasKeyList()
+				? key.getKeyList().getKeysList()
+				: key.getThresholdKey().getKeys().getKeysList();
+	}
+
+	private static int neededFor(JKey key, KeyActivationCharacteristics characteristics) {
+		return key.hasKeyList()
+				? characteristics.sigsNeededForList((JKeyList) key)
+				: characteristics.sigsNeededForThreshold((JThresholdKey) key);
+	}
+
+	private static final class Scratch {
+		private long[] verified = new long[1];
+		private int[] stack = new int[16];
+
+		long[] verifiedFor(int numLeaves) {
+			final int words = (numLeaves + 63) >>> 6;
+			if (verified.length < words) {
+				verified = new long[words];
+			} else {
+				Arrays.fill(verified, 0, words, 0L);
+			}
+			return verified;
+		}
+
+		int[] stackFor(int depth) {
+			if (stack.length < depth) {
+				stack = new int[depth];
+			}
+			return stack;
+		}
+	}
+}
@@ -21,8 +21,6 @@ package com.hedera.services.keys;
  */
 
 import com.hedera.services.legacy.core.jproto.JKey;
-import com.hedera.services.legacy.core.jproto.JKeyList;
-import com.hedera.services.legacy.core.jproto.JThresholdKey;
 import com.hedera.services.utils.TxnAccessor;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
@@ -94,29 +92,26 @@ public class HederaKeyActivation {
 		return isActive(key, sigsFn, tests, DEFAULT_ACTIVATION_CHARACTERISTICS);
 	}
 
+	/**
+	 * Tests whether a Hedera key's top-level signature is activated by a given set of
+	 * platform signatures, with the given characteristics deciding how many children
+	 * the top-level key needs to be active (nested keys always use the default ones).
+	 *
+	 * The key is evaluated by its {@link CompiledKeyActivation}, compiled on first use.
+	 *
+	 * @param key the top-level Hedera key to test for activation.
+	 * @param sigsFn the source of platform signatures for the simple keys in the Hedera key.
+	 * @param tests the logic deciding if a given simple key is activated by a given platform sig.
+	 * @param characteristics the activation characteristics of the top-level key.
+	 * @return whether the Hedera key is active.
+	 */
 	public static boolean isActive(
 			JKey key,
 			Function<byte[], TransactionSignature> sigsFn,
 			BiPredicate<JKey, TransactionSignature> tests,
 			KeyActivationCharacteristics characteristics
 	) {
-		if (!key.hasKeyList() && !key.hasThresholdKey()) {
-			return tests.test(key, sigsFn.apply(key.getEd25519()));
-		} else {
-			final List<JKey> children = key.hasKeyList()
-					? key.getKeyList().getKeysList()
-					: key.getThresholdKey().getKeys().getKeysList();
-			final int m = key.hasKeyList()
-					? characteristics.sigsNeededForList((JKeyList)key)
-					: characteristics.sigsNeededForThreshold((JThresholdKey)key);
-			var n = 0;
-			for (var child : children) {
-				if (isActive(child, sigsFn, tests)) {
-					n++;
-				}
-			}
-			return n >= m;
-		}
+		return CompiledKeyActivation.compiledFor(key).isActive(sigsFn, tests, characteristics);
 	}
 
 	/**
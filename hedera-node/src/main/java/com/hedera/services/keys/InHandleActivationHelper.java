@@ -22,11 +22,15 @@ package com.hedera.services.keys;
 
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.utils.TxnAccessor;
+import com.hederahashgraph.api.proto.java.ScheduleID;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.crypto.TransactionSignature;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -49,6 +53,8 @@ public class InHandleActivationHelper {
 	private static final TxnAccessor NO_LAST_ACCESSOR = null;
 	private static final Function<byte[], TransactionSignature> NO_LAST_SIGS_FN = null;
 
+	static final int MAX_TRACKED_SCHEDULES = 1_024;
+
 	static Activation activation = HederaKeyActivation::isActive;
 
 	private final CharacteristicsFactory characteristics;
@@ -58,6 +64,14 @@ public class InHandleActivationHelper {
 	private TxnAccessor accessor = NO_LAST_ACCESSOR;
 	private Function<byte[], TransactionSignature> sigsFn = NO_LAST_SIGS_FN;
 
+	private final Map<ScheduleID, KeyActivationTracker> scheduleTrackers =
+			new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ScheduleID, KeyActivationTracker> eldest) {
+					return size() > MAX_TRACKED_SCHEDULES;
+				}
+			};
+
 	public InHandleActivationHelper(CharacteristicsFactory characteristics, Supplier<TxnAccessor> accessorSource) {
 		this.characteristics = characteristics;
 		this.accessorSource = accessorSource;
@@ -94,6 +108,43 @@ public class InHandleActivationHelper {
 		return arePartiesActive(true, scheduledTxn, tests);
 	}
 
+	/**
+	 * Returns true if the given signatories of a schedule suffice to meet the signing
+	 * requirements of all Hedera keys prerequisite to the schedule referenced by the
+	 * active transaction; that is, the same answer as {@link #areScheduledPartiesActive(TransactionBody,
+	 * BiPredicate)} with a test that accepts exactly the signatories.
+	 *
+	 * Since a schedule's signatories only grow, the answer is computed by a
+	 * {@link KeyActivationTracker} kept for each recently signed schedule, which only
+	 * witnesses the signatories added since the schedule was last checked. The tracker
+	 * is recognized by the structure of the prerequisite keys, since these are duplicated
+	 * afresh for each signing; it is rebuilt whenever those keys change, or the signatories
+	 * no longer extend those it has witnessed (for example, after a reconnect).
+	 *
+	 * @param id the id of the schedule
+	 * @param scheduledTxn the scheduled transaction
+	 * @param signatories the Ed25519 keys that have signed the schedule, in the order witnessed
+	 * @return whether or not the signatories are sufficient for the schedule
+	 */
+	public boolean areScheduledPartiesActive(ScheduleID id, TransactionBody scheduledTxn, List<byte[]> signatories) {
+		ensureUpToDate();
+		var scheduledParties = new ArrayList<JKey>();
+		for (JKey req : otherParties) {
+			if (req.isForScheduledTxn()) {
+				scheduledParties.add(req);
+			}
+		}
+		var activeCharacter = characteristics.inferredFor(scheduledTxn);
+
+		var tracker = scheduleTrackers.get(id);
+		if (tracker == null || !tracker.isFor(scheduledParties, activeCharacter) || !tracker.catchUp(signatories)) {
+			tracker = new KeyActivationTracker(scheduledParties, activeCharacter);
+			tracker.catchUp(signatories);
+			scheduleTrackers.put(id, tracker);
+		}
+		return tracker.isActive();
+	}
+
 	/**
 	 * Permits a visitor to traverse the Ed25519 keys, and their expanded signatures,
 	 * that constitute the Hedera keys prerequisite to the schedule referenced by
@@ -136,6 +187,10 @@ public class InHandleActivationHelper {
 		return true;
 	}
 
+	KeyActivationTracker trackerFor(ScheduleID id) {
+		return scheduleTrackers.get(id);
+	}
+
 	private void ensureUpToDate() {
 		var current = accessorSource.get();
 		if (accessor != current) {
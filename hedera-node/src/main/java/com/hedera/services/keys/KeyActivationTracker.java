@@ -0,0 +1,269 @@
+package com.hedera.services.keys;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.legacy.core.jproto.JThresholdKey;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
+import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+
+/**
+ * Incrementally tracks whether a list of Hedera keys is active as Ed25519 keys are
+ * witnessed to have signed, with the same semantics as
+ * {@link HederaKeyActivation#isActive(JKey, java.util.function.Function, java.util.function.BiPredicate,
+ * KeyActivationCharacteristics)} applied to each key with a test that is true exactly
+ * for the witnessed keys.
+ *
+ * The key trees are flattened in pre-order, with a counter of active children and the
+ * number of children needed for each list or threshold node; so witnessing a new key
+ * costs time proportional to the depth of each of its occurrences, rather than a full
+ * re-evaluation of every tree. As in {@code HederaKeyActivation}, the given
+ * characteristics only apply to the top-level keys, with the default characteristics
+ * used for all nested keys. Simple keys that are not Ed25519 can never be witnessed.
+ *
+ * A tracker is purely derived state; it can always be rebuilt from the original
+ * keys and the sequence of witnessed keys. It is <b>not</b> thread-safe.
+ */
+public final class KeyActivationTracker {
+	private static final int TOP_LEVEL = -1;
+	private static final int SIMPLE = -1;
+
+	private final int numTopLevel;
+	private final JKey[] topLevelKeys;
+	private final int[] topLevelNodes;
+	private final int[] parents;
+	private final int[] arities;
+	private final int[] needed;
+	private final int[] activeChildren;
+	private final boolean[] active;
+	private final byte[][] ed25519s;
+	private final Map<ByteString, int[]> occurrences = new HashMap<>();
+
+	private int numNodes;
+	private int numActiveTopLevel;
+	private int numWitnessed;
+	private byte[] lastWitnessed;
+
+	public KeyActivationTracker(List<JKey> keys, KeyActivationCharacteristics characteristics) {
+		numTopLevel = keys.size();
+		int n = 0;
+		for (var key : keys) {
+			n += sizeOf(key);
+		}
+		parents = new int[n];
+		arities = new int[n];
+		needed = new int[n];
+		activeChildren = new int[n];
+		active = new boolean[n];
+		ed25519s = new byte[n][];
+
+		topLevelKeys = keys.toArray(new JKey[0]);
+		topLevelNodes = new int[numTopLevel];
+		for (int k = 0; k < numTopLevel; k++) {
+			topLevelNodes[k] = numNodes;
+			flatten(topLevelKeys[k], TOP_LEVEL, characteristics);
+		}
+		/* Visit children before their parents, to activate any lists or thresholds needing no signatures */
+		for (int i = n - 1; i >= 0; i--) {
+			if (arities[i] != SIMPLE && !active[i] && activeChildren[i] >= needed[i]) {
+				activate(i);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether this tracker was built for top-level keys with the same structure
+	 * as the given keys; that is, the same Ed25519 keys at the same positions, and the same
+	 * number of children needed at each list or threshold. Other simple keys can never be
+	 * witnessed, so any one of them matches any other.
+	 *
+	 * Keys are compared structurally because the prerequisite keys of a schedule are fresh
+	 * duplicates on every signing. The check walks the flattened trees already held by the
+	 * tracker, so it costs time proportional to the size of the keys, but nothing for the
+	 * signatories already witnessed; and an identical top-level key is not walked at all.
+	 *
+	 * @param keys the keys to compare to
+	 * @param characteristics the activation characteristics of the top-level keys
+	 * @return whether this tracker tracks the given keys
+	 */
+	public boolean isFor(List<JKey> keys, KeyActivationCharacteristics characteristics) {
+		if (keys.size() != numTopLevel) {
+			return false;
+		}
+		for (int k = 0; k < numTopLevel; k++) {
+			final var key = keys.get(k);
+			final int i = topLevelNodes[k];
+			if (key == topLevelKeys[k]) {
+				if (arities[i] != SIMPLE && needed[i] != neededFor(key, characteristics)) {
+					return false;
+				}
+			} else {
+				final int end = (k + 1 < numTopLevel) ? topLevelNodes[k + 1] : numNodes;
+				if (matchedThrough(i, end, key, characteristics) != end) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records that the given Ed25519 key has signed, activating each of its occurrences
+	 * and any lists or thresholds that become active as a result.
+	 *
+	 * @param ed25519 the witnessed key
+	 */
+	public void witness(byte[] ed25519) {
+		numWitnessed++;
+		lastWitnessed = ed25519;
+		final var indices = occurrences.get(unsafeWrap(ed25519));
+		if (indices != null) {
+			for (int i : indices) {
+				if (!active[i]) {
+					activate(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Witnesses any keys in the given list beyond those already witnessed; so that
+	 * the tracker can follow an append-only list of signatories.
+	 *
+	 * @param signatories the complete list of signatories, of which this tracker has seen a prefix
+	 * @return false if the list does not extend the keys already witnessed, true otherwise
+	 */
+	public boolean catchUp(List<byte[]> signatories) {
+		final int n = signatories.size();
+		if (n < numWitnessed || (numWitnessed > 0 && !Arrays.equals(lastWitnessed, signatories.get(numWitnessed - 1)))) {
+			return false;
+		}
+		for (int i = numWitnessed; i < n; i++) {
+			witness(signatories.get(i));
+		}
+		return true;
+	}
+
+	public boolean isActive() {
+		return numActiveTopLevel == numTopLevel;
+	}
+
+	public int numWitnessed() {
+		return numWitnessed;
+	}
+
+	private void activate(int i) {
+		active[i] = true;
+		for (int p = parents[i]; ; p = parents[p]) {
+			if (p == TOP_LEVEL) {
+				numActiveTopLevel++;
+				return;
+			}
+			if (++activeChildren[p] < needed[p] || active[p]) {
+				return;
+			}
+			active[p] = true;
+		}
+	}
+
+	/* Returns the index after the subtree at node i if it has the structure of the given key, or -1 if not */
+	private int matchedThrough(int i, int end, JKey key, KeyActivationCharacteristics characteristics) {
+		if (i >= end) {
+			return -1;
+		}
+		if (isSimple(key)) {
+			return (arities[i] == SIMPLE && Arrays.equals(ed25519s[i], key.getEd25519())) ? i + 1 : -1;
+		}
+		final var children = childrenOf(key);
+		if (arities[i] != children.size() || needed[i] != neededFor(key, characteristics)) {
+			return -1;
+		}
+		int next = i + 1;
+		for (var child : children) {
+			next = matchedThrough(next, end, child, DEFAULT_ACTIVATION_CHARACTERISTICS);
+			if (next < 0) {
+				return -1;
+			}
+		}
+		return next;
+	}
+
+	private void flatten(JKey key, int parent, KeyActivationCharacteristics characteristics) {
+		final int i = numNodes++;
+		parents[i] = parent;
+		if (isSimple(key)) {
+			arities[i] = SIMPLE;
+			final var ed25519 = key.getEd25519();
+			if (ed25519 != null) {
+				ed25519s[i] = ed25519;
+				occurrences.merge(ByteString.copyFrom(ed25519), new int[] { i }, KeyActivationTracker::concat);
+			}
+		} else {
+			final var children = childrenOf(key);
+			arities[i] = children.size();
+			needed[i] = neededFor(key, characteristics);
+			for (var child : children) {
+				flatten(child, i, DEFAULT_ACTIVATION_CHARACTERISTICS);
+			}
+		}
+	}
+
+	private static int sizeOf(JKey key) {
+		if (isSimple(key)) {
+			return 1;
+		}
+		int n = 1;
+		for (var child : childrenOf(key)) {
+			n += sizeOf(child);
+		}
+		return n;
+	}
+
+	private static boolean isSimple(JKey key) {
+		return !key.hasKeyList() && !key.hasThresholdKey();
+	}
+
+	private static List<JKey> childrenOf(JKey key) {
+		return key.hasKeyList()
+				? key.getKeyList().getKeysList()
+				: key.getThresholdKey().getKeys().getKeysList();
+	}
+
+	private static int neededFor(JKey key, KeyActivationCharacteristics characteristics) {
+		return key.hasKeyList()
+				? characteristics.sigsNeededForList((JKeyList) key)
+				: characteristics.sigsNeededForThreshold((JThresholdKey) key);
+	}
+
+	private static int[] concat(int[] a, int[] b) {
+		final var both = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, both, a.length, b.length);
+		return both;
+	}
+}
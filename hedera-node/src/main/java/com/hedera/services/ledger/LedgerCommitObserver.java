@@ -0,0 +1,68 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.ledger.properties.BeanProperty;
+
+import java.util.Map;
+
+/**
+ * Observes the changes a {@link TransactionalLedger} is about to flush to its
+ * backing store on commit; useful for maintaining aggregates over the ledger's
+ * entities without re-scanning the backing store.
+ *
+ * @param <K>
+ * 		the type of id used by the ledger.
+ * @param <P>
+ * 		the family of properties associated to entities in the ledger.
+ * @param <A>
+ * 		the type of a ledger entity.
+ */
+public interface LedgerCommitObserver<K, P extends Enum<P> & BeanProperty<A>, A> {
+	/**
+	 * Notifies the observer that the given changes are about to be persisted to an entity.
+	 *
+	 * @param id the id of the changing entity
+	 * @param current the entity's value before the changes are persisted, or null if it is being created
+	 * @param changes the changed properties of the entity
+	 */
+	void changing(K id, A current, Map<P, Object> changes);
+
+	/**
+	 * Notifies the observer that an entity is about to be removed from the backing store.
+	 *
+	 * @param id the id of the perishing entity
+	 * @param current the entity's current value in the backing store
+	 */
+	void removing(K id, A current);
+
+	/**
+	 * Notifies the observer that all changes in the transaction have been flushed.
+	 */
+	void committed();
+
+	/**
+	 * Notifies the observer that the commit failed before all changes were flushed,
+	 * so any changes it was told about should be discarded.
+	 */
+	void abandoned();
+}
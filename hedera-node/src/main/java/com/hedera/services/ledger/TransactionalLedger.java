@@ -77,6 +77,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 
 	private boolean isInTransaction = false;
 	private Optional<Function<K, String>> keyToString = Optional.empty();
+	private LedgerCommitObserver<K, P, A> commitObserver = null;
 
 	public TransactionalLedger(
 			Class<P> propertyType,
@@ -95,6 +96,10 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		this.keyToString = Optional.of(keyToString);
 	}
 
+	public void setCommitObserver(LedgerCommitObserver<K, P, A> commitObserver) {
+		this.commitObserver = commitObserver;
+	}
+
 	void begin() {
 		if (isInTransaction) {
 			throw new IllegalStateException("A transaction is already active!");
@@ -121,16 +126,21 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 			throw new IllegalStateException("Cannot perform commit, no transaction is active!");
 		}
 
+		var isFlushed = false;
 		try {
 			flushListed(changedKeys);
 			flushListed(createdKeys);
 			changes.clear();
 
 			if (!deadEntities.isEmpty()) {
-				perishedKeys.forEach(entities::remove);
+				perishedKeys.forEach(this::removeObserved);
 				deadEntities.clear();
 				perishedKeys.clear();
 			}
+			isFlushed = true;
+			if (commitObserver != null) {
+				commitObserver.committed();
+			}
 
 			isInTransaction = false;
 		} catch (Exception e) {
@@ -142,6 +152,10 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 			}
 			log.error("Catastrophic failure during commit of {}!", changeDesc);
 			throw e;
+		} finally {
+			if (commitObserver != null && !isFlushed) {
+				commitObserver.abandoned();
+			}
 		}
 	}
 
@@ -260,13 +274,35 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		if (!l.isEmpty()) {
 			for (var key : l) {
 				if (!deadEntities.contains(key)) {
-					entities.put(key, getFinalized(key));
+					entities.put(key, (commitObserver == null) ? getFinalized(key) : getObservedFinalized(key));
 				}
 			}
 			l.clear();
 		}
 	}
 
+	/* Like getFinalized(), but lets the commit observer see each entity before its changes
+	are persisted, re-using the reference the flush needs anyway instead of a second lookup. */
+	private A getObservedFinalized(K id) {
+		throwIfMissing(id);
+
+		final var isExtant = entities.contains(id);
+		final A entity = isExtant ? entities.getRef(id) : newEntity.get();
+		final var changeSet = changes.get(id);
+		if (changeSet != null) {
+			commitObserver.changing(id, isExtant ? entity : null, changeSet);
+			changeManager.persist(changeSet, entity);
+		}
+		return entity;
+	}
+
+	private void removeObserved(K id) {
+		if (commitObserver != null && entities.contains(id)) {
+			commitObserver.removing(id, entities.getImmutableRef(id));
+		}
+		entities.remove(id);
+	}
+
 	private A toGetterTarget(K id) {
 		return isPendingCreation(id) ? newEntity.get() : entities.getImmutableRef(id);
 	}
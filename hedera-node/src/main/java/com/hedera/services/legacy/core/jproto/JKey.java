@@ -21,6 +21,7 @@ package com.hedera.services.legacy.core.jproto;
  */
 
 import com.google.protobuf.ByteString;
+import com.hedera.services.keys.CompiledKeyActivation;
 import com.hederahashgraph.api.proto.java.ContractID;
 import com.hederahashgraph.api.proto.java.Key;
 import com.hederahashgraph.api.proto.java.KeyList;
@@ -51,6 +52,11 @@ public abstract class JKey implements Serializable {
 
 	private boolean forScheduledTxn = false;
 
+	/* Only set on keys shared through a JKeyInterner, which are never mutated */
+	private transient byte[] internedForm;
+	/* Compiled on the first activation test of this key */
+	private transient CompiledKeyActivation compiledActivation;
+
 	/**
 	 * Maps a proto Key to Jkey.
 	 *
@@ -246,6 +252,22 @@ public abstract class JKey implements Serializable {
 	 */
 	public abstract boolean isValid();
 
+	byte[] getInternedForm() {
+		return internedForm;
+	}
+
+	void setInternedForm(byte[] internedForm) {
+		this.internedForm = internedForm;
+	}
+
+	public CompiledKeyActivation getCompiledActivation() {
+		return compiledActivation;
+	}
+
+	public void setCompiledActivation(CompiledKeyActivation compiledActivation) {
+		this.compiledActivation = compiledActivation;
+	}
+
 	public void setForScheduledTxn(boolean flag) {
 		forScheduledTxn = flag;
 	}
@@ -0,0 +1,199 @@
+package com.hedera.services.legacy.core.jproto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.SequenceInputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
+
+/**
+ * A pool of {@link JKey} trees read from saved state, keyed by their canonical
+ * serialized form; so that the many accounts, tokens, and topics sharing the same
+ * key also share a single instance of it. Pooled keys are only weakly reachable from
+ * the pool, and are collected once no entity uses them.
+ *
+ * Each pooled key keeps its serialized form, which {@link #canonicalBytes(JKey)}
+ * returns without re-serializing the tree. A key is only pooled if re-serializing it
+ * gives exactly the bytes it was read from, so using the cached form can never change
+ * what is written for a key.
+ *
+ * Like the rest of the state, pooled keys must never be mutated; which also means a
+ * caller must never modify an array returned from {@link #canonicalBytes(JKey)}.
+ */
+public class JKeyInterner {
+	private static final long BPACK_VERSION = 2;
+	private static final int MAX_POOLED_LEN = 64 * 1024;
+
+	private final Map<ByteString, PooledKey> pool = new HashMap<>();
+	private final ReferenceQueue<JKey> collected = new ReferenceQueue<>();
+
+	private long numRead;
+	private long numShared;
+	private long heapSaved;
+
+	/**
+	 * Reads a key serialized by {@link JKeySerializer#serialize(Object)} from the given
+	 * stream, returning the pooled instance with the same serialized form if one exists.
+	 *
+	 * @param in the stream to read from
+	 * @return the (possibly shared) key
+	 * @throws IOException if the key cannot be read
+	 */
+	public synchronized JKey read(DataInputStream in) throws IOException {
+		final var version = in.readLong();
+		final var objectType = in.readLong();
+		final var length = in.readLong();
+		final var header = header(version, objectType, length);
+		if (version != BPACK_VERSION || length < 0 || length > MAX_POOLED_LEN) {
+			return JKeySerializer.deserialize(
+					new DataInputStream(new SequenceInputStream(new ByteArrayInputStream(header), in)));
+		}
+
+		final var form = Arrays.copyOf(header, header.length + (int) length);
+		in.readFully(form, header.length, (int) length);
+		numRead++;
+		expungeCollected();
+
+		final var pooled = pool.get(unsafeWrap(form));
+		final var extant = (pooled == null) ? null : pooled.get();
+		if (extant != null) {
+			numShared++;
+			heapSaved += pooled.footprint;
+			return extant;
+		}
+		final JKey key = JKeySerializer.deserialize(new DataInputStream(new ByteArrayInputStream(form)));
+		if (Arrays.equals(form, key.serialize())) {
+			key.setInternedForm(form);
+			final var formKey = unsafeWrap(form);
+			pool.put(formKey, new PooledKey(key, formKey, footprintOf(key), collected));
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the serialized form of the given key, which for a pooled key is the
+	 * cached form it was read from.
+	 *
+	 * @param key the key to serialize
+	 * @return its serialized form, which must not be modified
+	 * @throws IOException if the key cannot be serialized
+	 */
+	public byte[] canonicalBytes(JKey key) throws IOException {
+		final var form = key.getInternedForm();
+		return (form != null) ? form : key.serialize();
+	}
+
+	public synchronized String summary() {
+		expungeCollected();
+		final var dedupPercent = (numRead == 0) ? 0.0 : 100.0 * numShared / numRead;
+		return String.format(
+				"%d keys read from state, %d distinct pooled; %.2f%% shared, ~%d KiB heap saved",
+				numRead, pool.size(), dedupPercent, heapSaved / 1024);
+	}
+
+	synchronized long numRead() {
+		return numRead;
+	}
+
+	synchronized long numShared() {
+		return numShared;
+	}
+
+	synchronized int poolSize() {
+		expungeCollected();
+		return pool.size();
+	}
+
+	synchronized long heapSaved() {
+		return heapSaved;
+	}
+
+	private void expungeCollected() {
+		PooledKey stale;
+		while ((stale = (PooledKey) collected.poll()) != null) {
+			pool.remove(stale.form, stale);
+		}
+	}
+
+	/**
+	 * Returns a rough estimate of the heap retained by a key tree, assuming compressed
+	 * references; only used to report the effect of pooling.
+	 *
+	 * @param key the key to estimate
+	 * @return the estimated bytes retained
+	 */
+	static long footprintOf(JKey key) {
+		if (key.hasKeyList()) {
+			final var children = key.getKeyList().getKeysList();
+			long footprint = 16 + 24 + align(16 + 4L * children.size());
+			for (var child : children) {
+				footprint += footprintOf(child);
+			}
+			return footprint;
+		} else if (key.hasThresholdKey()) {
+			return 24 + footprintOf(key.getThresholdKey().getKeys());
+		} else if (key.hasContractID()) {
+			return 40;
+		} else {
+			final var bytes = key.hasEd25519Key()
+					? key.getEd25519()
+					: (key.hasECDSA_383Key() ? key.getECDSA384() : key.getRSA3072());
+			return 16 + align(16L + (bytes == null ? 0 : bytes.length));
+		}
+	}
+
+	private static long align(long n) {
+		return (n + 7) & ~7L;
+	}
+
+	private static byte[] header(long version, long objectType, long length) throws IOException {
+		final var baos = new ByteArrayOutputStream(3 * Long.BYTES);
+		try (var out = new DataOutputStream(baos)) {
+			out.writeLong(version);
+			out.writeLong(objectType);
+			out.writeLong(length);
+		}
+		return baos.toByteArray();
+	}
+
+	private static final class PooledKey extends WeakReference<JKey> {
+		private final ByteString form;
+		private final long footprint;
+
+		private PooledKey(JKey key, ByteString form, long footprint, ReferenceQueue<JKey> queue) {
+			super(key, queue);
+			this.form = form;
+			this.footprint = footprint;
+		}
+	}
+}
@@ -75,6 +75,7 @@ import java.util.stream.StreamSupport;
 
 import static com.hedera.services.contracts.execution.DomainUtils.asReceipt;
 import static com.hedera.services.contracts.execution.DomainUtils.newScopedAccountInitializer;
+import static com.hedera.services.contracts.execution.InterruptibleVMHook.INTERRUPTIBLE_VM_HOOK;
 import static com.hedera.services.utils.EntityIdUtils.accountParsedFromSolidityAddress;
 import static com.hedera.services.utils.EntityIdUtils.asContract;
 import static com.hedera.services.utils.EntityIdUtils.asSolidityAddress;
@@ -163,7 +164,8 @@ public class SolidityExecutor {
 			TransactionContext txnCtx,
 			boolean localCall,
 			SoliditySigsVerifier sigsVerifier,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			CommonConfig commonConfig
 	) {
 		this.txn = txn;
 		this.rbh = rbh;
@@ -187,7 +189,7 @@ public class SolidityExecutor {
 				.map(CommonUtils::unhex)
 				.orElse(EMPTY_BYTE_ARRAY);
 
-		commonConfig = CommonConfig.getDefault();
+		this.commonConfig = commonConfig;
 		config = commonConfig.systemProperties();
 		blockchainConfig = config.getBlockchainConfig().getConfigForBlock(block.getNumber());
 	}
@@ -271,14 +273,14 @@ public class SolidityExecutor {
 				var programInvoke = programInvokeFactory.createProgramInvoke(
 						solidityTxn, block, trackingRepository, repository, NULL_BLOCK_STORE);
 				((ProgramInvokeImpl) programInvoke).setStaticCall(localCall);
-				this.vm = new VM(config, VMHook.EMPTY);
+				this.vm = new VM(config, vmHook());
 				this.program = new Program(
 						repository.getCodeHash(targetAddress),
 						code,
 						programInvoke,
 						solidityTxn,
 						config,
-						VMHook.EMPTY,
+						vmHook(),
 						contractCreateAdaptor,
 						fundingAddress,
 						rbh,
@@ -334,14 +336,14 @@ public class SolidityExecutor {
 			ProgramInvoke programInvoke = programInvokeFactory.createProgramInvoke(
 					solidityTxn, block, trackingRepository, repository, NULL_BLOCK_STORE);
 			((ProgramInvokeImpl) programInvoke).setStaticCall(localCall);
-			this.vm = new VM(config, VMHook.EMPTY);
+			this.vm = new VM(config, vmHook());
 			this.program = new Program(
 					null,
 					solidityTxn.getData(),
 					programInvoke,
 					solidityTxn,
 					config,
-					VMHook.EMPTY,
+					vmHook(),
 					contractCreateAdaptor,
 					fundingAddress,
 					rbh,
@@ -355,6 +357,10 @@ public class SolidityExecutor {
 		}
 	}
 
+	private VMHook vmHook() {
+		return localCall ? INTERRUPTIBLE_VM_HOOK : VMHook.EMPTY;
+	}
+
 	public void go() {
 		if (!readyToExecute) {
 			return;
@@ -22,6 +22,7 @@ package com.hedera.services.legacy.handler;
 
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.files.HederaFs;
+import com.hedera.services.files.interceptors.UpdateArchiveStager;
 import com.hedera.services.utils.UnzipUtility;
 import com.hederahashgraph.api.proto.java.FileID;
 import com.hederahashgraph.api.proto.java.FreezeTransactionBody;
@@ -70,6 +71,7 @@ public class FreezeHandler {
 	private final HederaFs hfs;
 	private final HbarCentExchange exchange;
 	private final Supplier<SwirldDualState> dualState;
+	private final UpdateArchiveStager stager;
 
 	private static String TARGET_DIR = "./";
 	private static String TEMP_DIR = "./temp";
@@ -87,8 +89,19 @@ public class FreezeHandler {
 			Platform platform,
 			HbarCentExchange exchange,
 			Supplier<SwirldDualState> dualState
+	) {
+		this(hfs, platform, exchange, dualState, null);
+	}
+
+	public FreezeHandler(
+			HederaFs hfs,
+			Platform platform,
+			HbarCentExchange exchange,
+			Supplier<SwirldDualState> dualState,
+			UpdateArchiveStager stager
 	) {
 		this.hfs = hfs;
+		this.stager = stager;
 		this.exchange = exchange;
 		this.platform = platform;
 		this.dualState = dualState;
@@ -103,6 +116,10 @@ public class FreezeHandler {
 			//save the file ID and will be used after platform goes into maintenance mode
 			updateFeatureFile = transactionBody.getFreeze().getUpdateFile();
 			updateFileHash = transactionBody.getFreeze().getFileHash().toByteArray();
+			if (stager != null) {
+				/* Get the assets ready now, so the freeze itself only has to swap them in */
+				stager.stage(updateFeatureFile, updateFileHash);
+			}
 		}
 		final var naturalFreezeStart = nextNaturalInstant(consensusTime, op.getStartHour(), op.getStartMin());
 		try {
@@ -149,6 +166,11 @@ public class FreezeHandler {
 
 		FileID fileIDtoUse = updateFeatureFile;
 		updateFeatureFile = null; // reset to null since next freeze may not need file update
+		if (stager != null && stager.promoteStagedTo(fileIDtoUse, updateFileHash, Paths.get(TEMP_DIR))) {
+			log.info("{} using update assets staged in {} before the freeze", LOG_PREFIX, TEMP_DIR);
+			applyUpdateAssets();
+			return;
+		}
 		if (hfs.exists(fileIDtoUse)) {
 			log.info("{} ready to read file content, FileID = {}", LOG_PREFIX, fileIDtoUse);
 			byte[] fileBytes = hfs.cat(fileIDtoUse);
@@ -193,6 +215,14 @@ public class FreezeHandler {
 			//unzip bytes stream to target directory
 			UnzipUtility.unzip(fileBytes, TEMP_DIR);
 
+			applyUpdateAssets();
+		} catch (SecurityException | IOException e) {
+			log.error("Exception during handleUpdateFeature ", e);
+		}
+	}
+
+	private void applyUpdateAssets() {
+		try {
 			File deleteTxt = new File(DELETE_FILE);
 			if (deleteTxt.exists()) {
 				log.info("{} executing delete file list {}", LOG_PREFIX, DELETE_FILE);
@@ -215,7 +245,7 @@ public class FreezeHandler {
 					log.error("{} could not change to executable permission for file {}", LOG_PREFIX, FULL_SCRIPT_PATH);
 				}
 			}
-		} catch (SecurityException | IOException e) {
+		} catch (SecurityException e) {
 			log.error("Exception during handleUpdateFeature ", e);
 		}
 	}
@@ -26,6 +26,7 @@ import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
 import com.hedera.services.contracts.execution.SoliditySigsVerifier;
+import com.hedera.services.contracts.sources.BytecodeCache;
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.fees.calculation.UsagePricesProvider;
 import com.hedera.services.ledger.HederaLedger;
@@ -80,6 +81,7 @@ import java.util.function.Supplier;
 import static com.hedera.services.contracts.execution.DomainUtils.fakeBlock;
 import static com.hedera.services.legacy.core.jproto.JKey.convertKey;
 import static com.hedera.services.utils.EntityIdUtils.asAccount;
+import static com.hedera.services.utils.EntityIdUtils.asSolidityAddress;
 import static com.hedera.services.utils.EntityIdUtils.asSolidityAddressHex;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCreate;
@@ -118,6 +120,7 @@ public class SmartContractRequestHandler {
 	private SolidityLifecycle lifecycle;
 	private SoliditySigsVerifier sigsVerifier;
 	private GlobalDynamicProperties dynamicProperties;
+	private BytecodeCache bytecodeCache;
 
 	public SmartContractRequestHandler(
 			ServicesRepositoryRoot repository,
@@ -130,7 +133,8 @@ public class SmartContractRequestHandler {
 			SolidityLifecycle lifecycle,
 			SoliditySigsVerifier sigsVerifier,
 			Map<EntityId, Long> entityExpiries,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			BytecodeCache bytecodeCache
 	) {
 		this.repository = repository;
 		this.newPureRepo = newPureRepo;
@@ -143,6 +147,7 @@ public class SmartContractRequestHandler {
 		this.sigsVerifier = sigsVerifier;
 		this.entityExpiries = entityExpiries;
 		this.dynamicProperties = dynamicProperties;
+		this.bytecodeCache = bytecodeCache;
 	}
 
 	/**
@@ -288,10 +293,10 @@ public class SmartContractRequestHandler {
 	private ContractCallLocalResponse runPure(
 			Transaction solidityTxn,
 			Instant startTime,
-			long maxResultSize
+			long maxResultSize,
+			ServicesRepositoryRoot pureRepository
 	) {
 		var mockConsensusTime = Timestamp.newBuilder().setSeconds(startTime.getEpochSecond()).build();
-		var pureRepository = newPureRepo.get();
 		var executor = new SolidityExecutor(
 				solidityTxn,
 				pureRepository,
@@ -306,7 +311,8 @@ public class SmartContractRequestHandler {
 				txnCtx,
 		true,
 				sigsVerifier,
-				dynamicProperties);
+				dynamicProperties,
+				bytecodeCache.analysisConfig());
 
 		var result = lifecycle.runPure(maxResultSize, executor);
 
@@ -342,7 +348,8 @@ public class SmartContractRequestHandler {
 				txnCtx,
 				false,
 				sigsVerifier,
-				dynamicProperties);
+				dynamicProperties,
+				bytecodeCache.analysisConfig());
 		var result = lifecycle.run(executor, repository);
 
 		var receiptBuilder = RequestBuilder.getTransactionReceipt(
@@ -528,6 +535,33 @@ public class SmartContractRequestHandler {
 	 */
 	public ContractCallLocalResponse contractCallLocal(
 			ContractCallLocalQuery transactionContractCallLocal, long currentTimeMs) throws Exception {
+		return contractCallLocal(
+				transactionContractCallLocal,
+				currentTimeMs,
+				newPureRepo.get(),
+				accounts.get(),
+				dynamicProperties.maxGas());
+	}
+
+	/**
+	 * Runs a local call against the given repository, validating the target contract
+	 * against the given accounts and capping the offered gas at the given limit.
+	 *
+	 * @param transactionContractCallLocal the local call query
+	 * @param currentTimeMs the time of the call
+	 * @param pureRepository the repository to run the call against
+	 * @param callAccounts the accounts the repository reflects
+	 * @param maxGas the maximum gas the call may use
+	 * @return the result of the local call
+	 * @throws Exception if the payment in the query is not a valid transaction
+	 */
+	public ContractCallLocalResponse contractCallLocal(
+			ContractCallLocalQuery transactionContractCallLocal,
+			long currentTimeMs,
+			ServicesRepositoryRoot pureRepository,
+			FCMap<MerkleEntityId, MerkleAccount> callAccounts,
+			long maxGas
+	) throws Exception {
 		ContractCallLocalResponse responseToReturn;
 		Transaction tx;
 		TransactionBody body =
@@ -536,15 +570,16 @@ public class SmartContractRequestHandler {
 		String senderAccountEthAddress = asSolidityAddressHex(senderAccount);
 		AccountID receiverAccount = EntityIdUtils.asAccount(transactionContractCallLocal.getContractID());
 		String receiverAccountEthAddress = asSolidityAddressHex(receiverAccount);
-		ResponseCodeEnum callResponseStatus = validateContractExistence(transactionContractCallLocal.getContractID());
+		ResponseCodeEnum callResponseStatus = PureValidation.queryableContractStatus(
+				transactionContractCallLocal.getContractID(), callAccounts);
 		if (callResponseStatus == ResponseCodeEnum.OK) {
 			BigInteger gas;
-			if (transactionContractCallLocal.getGas() <= dynamicProperties.maxGas()) {
+			if (transactionContractCallLocal.getGas() <= maxGas) {
 				gas = BigInteger.valueOf(transactionContractCallLocal.getGas());
 			} else {
-				gas = BigInteger.valueOf(dynamicProperties.maxGas());
+				gas = BigInteger.valueOf(maxGas);
 				log.debug("Gas offered: {} reduced to maxGasLimit: {} in local call",
-						() -> transactionContractCallLocal.getGas(), () -> dynamicProperties.maxGas());
+						transactionContractCallLocal::getGas, () -> maxGas);
 			}
 			String data = "";
 			if (transactionContractCallLocal.getFunctionParameters() != null
@@ -558,7 +593,8 @@ public class SmartContractRequestHandler {
 			responseToReturn = runPure(
 					tx,
 					Instant.ofEpochMilli(currentTimeMs),
-					transactionContractCallLocal.getMaxResultSize());
+					transactionContractCallLocal.getMaxResultSize(),
+					pureRepository);
 		} else {
 			ResponseHeader responseHeader = RequestBuilder.getResponseHeader(callResponseStatus, 0l,
 					ANSWER_ONLY, ByteString.EMPTY);
@@ -604,6 +640,7 @@ public class SmartContractRequestHandler {
 				entityExpiries.put(entity, oldExpiry);
 				HederaAccountCustomizer customizer = new HederaAccountCustomizer().expiry(newExpiry);
 				ledger.customizeDeleted(id, customizer);
+				bytecodeCache.invalidate(asSolidityAddress(cid));
 			}
 		} catch (Exception e) {
 			log.warn("Unhandled exception in SystemDelete", e);
@@ -706,6 +743,7 @@ public class SmartContractRequestHandler {
 			if (validity == SUCCESS) {
 				AccountID id = asAccount(cid);
 				ledger.delete(id, beneficiary);
+				bytecodeCache.invalidate(asSolidityAddress(cid));
 			}
 			transactionReceipt = getTransactionReceipt(validity, exchange.activeRates());
 		} else {
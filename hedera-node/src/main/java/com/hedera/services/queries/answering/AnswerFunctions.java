@@ -20,7 +20,10 @@ package com.hedera.services.queries.answering;
  * ‍
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.records.GrpcRecordCache;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
@@ -30,40 +33,86 @@ import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.CryptoGetAccountRecordsQuery;
 import com.hederahashgraph.api.proto.java.Query;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.swirlds.fcqueue.FCQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class AnswerFunctions {
 	private static final Logger log = LogManager.getLogger(AnswerFunctions.class);
 
+	static final int MAX_INDEXED_PAYERS = 10_000;
+
+	/* Indexes of the records in immutable payer queues; keys are weak, and hence compared by identity */
+	private final Cache<FCQueue<ExpirableTxnRecord>, Map<TxnId, ExpirableTxnRecord>> payerIndexes =
+			CacheBuilder.newBuilder()
+					.weakKeys()
+					.maximumSize(MAX_INDEXED_PAYERS)
+					.build();
+
+	private final GrpcRecordCache grpcRecords;
+
+	public AnswerFunctions(GrpcRecordCache grpcRecords) {
+		this.grpcRecords = grpcRecords;
+	}
+
 	public List<TransactionRecord> accountRecords(StateView view, Query query) {
 		CryptoGetAccountRecordsQuery op = query.getCryptoGetAccountRecords();
 		MerkleEntityId key = MerkleEntityId.fromAccountId(op.getAccountID());
 		MerkleAccount account = view.accounts().get(key);
-		return ExpirableTxnRecord.allToGrpc(account.recordList());
+		final var records = account.records();
+		final List<TransactionRecord> answer = new ArrayList<>(records.size());
+		for (var record : records) {
+			answer.add(grpcRecords.asGrpc(record));
+		}
+		return answer;
 	}
 
 	public Optional<TransactionRecord> txnRecord(RecordCache recordCache, StateView view, Query query) {
 		var txnId = query.getTransactionGetRecord().getTransactionID();
 		var record = recordCache.getPriorityRecord(txnId);
 		if (record != null) {
-			return Optional.of(record.asGrpc());
+			return Optional.of(grpcRecords.asGrpc(record));
 		} else {
 			try {
 				AccountID id = txnId.getAccountID();
 				MerkleAccount account = view.accounts().get(MerkleEntityId.fromAccountId(id));
 				TxnId searchableId = TxnId.fromGrpc(txnId);
-				return account.recordList()
-						.stream()
-						.filter(r -> r.getTxnId().equals(searchableId))
-						.findAny()
-						.map(ExpirableTxnRecord::asGrpc);
+				return Optional.ofNullable(find(searchableId, account.records()))
+						.map(grpcRecords::asGrpc);
 			} catch (Exception ignore) {
 				return Optional.empty();
 			}
 		}
 	}
+
+	private ExpirableTxnRecord find(TxnId txnId, FCQueue<ExpirableTxnRecord> records) throws Exception {
+		if (!records.isImmutable()) {
+			for (var record : records) {
+				if (record.getTxnId().equals(txnId)) {
+					return record;
+				}
+			}
+			return null;
+		}
+		return payerIndexes.get(records, () -> indexOf(records)).get(txnId);
+	}
+
+	private static Map<TxnId, ExpirableTxnRecord> indexOf(FCQueue<ExpirableTxnRecord> records) {
+		final Map<TxnId, ExpirableTxnRecord> index = new HashMap<>();
+		for (var record : records) {
+			index.putIfAbsent(record.getTxnId(), record);
+		}
+		return index;
+	}
+
+	long numIndexedPayers() {
+		payerIndexes.cleanUp();
+		return payerIndexes.size();
+	}
 }
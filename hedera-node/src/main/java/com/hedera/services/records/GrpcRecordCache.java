@@ -0,0 +1,73 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+
+/**
+ * Memoizes the gRPC form of recently queried {@link ExpirableTxnRecord}s, so that repeated
+ * record queries (and the duplicate lookups of the {@link RecordCache}) do not rebuild the
+ * same {@link TransactionRecord} message each time.
+ *
+ * The memo is kept apart from the records themselves, since most records are never queried
+ * and would just pay twice the heap for the life of the record. It holds at most
+ * {@link #MAX_MEMOIZED_RECORDS} messages, and its keys are weak (and hence compared by
+ * identity); so the message for a record is discarded no later than the record itself.
+ */
+public class GrpcRecordCache {
+	static final int MAX_MEMOIZED_RECORDS = 10_000;
+
+	private final Cache<ExpirableTxnRecord, TransactionRecord> grpcRecords;
+
+	public GrpcRecordCache() {
+		this(MAX_MEMOIZED_RECORDS);
+	}
+
+	GrpcRecordCache(long maxMemoized) {
+		grpcRecords = CacheBuilder.newBuilder()
+				.weakKeys()
+				.maximumSize(maxMemoized)
+				.build();
+	}
+
+	/**
+	 * Returns the gRPC form of the given record, building it only if it is not already memoized.
+	 *
+	 * @param record the record to convert
+	 * @return its gRPC form
+	 */
+	public TransactionRecord asGrpc(ExpirableTxnRecord record) {
+		var grpc = grpcRecords.getIfPresent(record);
+		if (grpc == null) {
+			grpc = record.asGrpc();
+			grpcRecords.put(record, grpc);
+		}
+		return grpc;
+	}
+
+	long numMemoized() {
+		grpcRecords.cleanUp();
+		return grpcRecords.size();
+	}
+}
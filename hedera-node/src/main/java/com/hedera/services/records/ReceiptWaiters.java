@@ -0,0 +1,91 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.TxnReceipt;
+import com.hederahashgraph.api.proto.java.TransactionID;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A registry of parties waiting for the receipt of a {@link TransactionID}, notified by the
+ * {@link RecordCache} as soon as it observes the priority receipt for that id.
+ *
+ * Waiters are notified (at most once) on the thread handling the transaction, so they
+ * should do no more than hand the receipt off to a non-blocking channel.
+ */
+public class ReceiptWaiters {
+	@FunctionalInterface
+	public interface Waiter {
+		void receiptAvailable(TransactionID txnId, TxnReceipt receipt);
+	}
+
+	private final AtomicInteger numWaiting = new AtomicInteger();
+	private final Map<TransactionID, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+	public void register(TransactionID txnId, Waiter waiter) {
+		waiters.compute(txnId, (ignore, current) -> {
+			if (current == null) {
+				current = ConcurrentHashMap.newKeySet();
+			}
+			if (current.add(waiter)) {
+				numWaiting.incrementAndGet();
+			}
+			return current;
+		});
+	}
+
+	public void deregister(TransactionID txnId, Waiter waiter) {
+		waiters.computeIfPresent(txnId, (ignore, current) -> {
+			if (current.remove(waiter)) {
+				numWaiting.decrementAndGet();
+			}
+			return current.isEmpty() ? null : current;
+		});
+	}
+
+	public boolean isAnyWaiting() {
+		return numWaiting.get() > 0;
+	}
+
+	public int numWaiting() {
+		return numWaiting.get();
+	}
+
+	/**
+	 * Notifies, and then forgets, all the waiters registered for the given transaction id.
+	 *
+	 * @param txnId the id of the transaction whose receipt is available
+	 * @param receipt the priority receipt for that id
+	 */
+	public void notifyWaiters(TransactionID txnId, TxnReceipt receipt) {
+		final var toNotify = waiters.remove(txnId);
+		if (toNotify != null) {
+			numWaiting.addAndGet(-toNotify.size());
+			for (var waiter : toNotify) {
+				waiter.receiptAvailable(txnId, receipt);
+			}
+		}
+	}
+}
@@ -50,6 +50,8 @@ public class RecordCache {
 	public static final Boolean MARKER = Boolean.TRUE;
 
 	private ServicesContext ctx;
+	private ReceiptWaiters receiptWaiters;
+	private GrpcRecordCache grpcRecords;
 	private Cache<TransactionID, Boolean> timedReceiptCache;
 	private Map<TransactionID, TxnIdRecentHistory> histories;
 
@@ -58,10 +60,14 @@ public class RecordCache {
 	public RecordCache(
 			ServicesContext ctx,
 			Cache<TransactionID, Boolean> timedReceiptCache,
-			Map<TransactionID, TxnIdRecentHistory> histories
+			Map<TransactionID, TxnIdRecentHistory> histories,
+			ReceiptWaiters receiptWaiters,
+			GrpcRecordCache grpcRecords
 	) {
 		this.ctx = ctx;
+		this.grpcRecords = grpcRecords;
 		this.histories = histories;
+		this.receiptWaiters = receiptWaiters;
 		this.timedReceiptCache = timedReceiptCache;
 	}
 
@@ -76,6 +82,7 @@ public class RecordCache {
 	) {
 		var recentHistory = histories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
 		recentHistory.observe(record, status);
+		notifyAnyWaiters(txnId, recentHistory);
 	}
 
 	public void setFailInvalid(
@@ -94,6 +101,7 @@ public class RecordCache {
 
 		var recentHistory = histories.computeIfAbsent(accessor.getTxnId(), ignore -> new TxnIdRecentHistory());
 		recentHistory.observe(expiringRecord, FAIL_INVALID);
+		notifyAnyWaiters(accessor.getTxnId(), recentHistory);
 	}
 
 	public boolean isReceiptPresent(TransactionID txnId) {
@@ -122,11 +130,20 @@ public class RecordCache {
 		} else {
 			return recentHistory.duplicateRecords()
 					.stream()
-					.map(ExpirableTxnRecord::asGrpc)
+					.map(grpcRecords::asGrpc)
 					.collect(toList());
 		}
 	}
 
+	private void notifyAnyWaiters(TransactionID txnId, TxnIdRecentHistory recentHistory) {
+		if (receiptWaiters.isAnyWaiting()) {
+			var receipt = receiptFrom(recentHistory);
+			if (receipt != UNKNOWN_RECEIPT) {
+				receiptWaiters.notifyWaiters(txnId, receipt);
+			}
+		}
+	}
+
 	private TxnReceipt receiptFrom(TxnIdRecentHistory recentHistory) {
 		return Optional.ofNullable(recentHistory.priorityRecord())
 				.map(ExpirableTxnRecord::getReceipt)
@@ -22,9 +22,11 @@ package com.hedera.services.sigs;
 
 import com.hedera.services.legacy.crypto.SignatureStatus;
 import com.hedera.services.sigs.factories.TxnScopedPlatformSigFactory;
+import com.hedera.services.sigs.metadata.RecordingSigMetadataLookup;
 import com.hedera.services.sigs.order.HederaSigningOrder;
 import com.hedera.services.sigs.order.SigStatusOrderResultFactory;
 import com.hedera.services.sigs.order.SigningOrderResult;
+import com.hedera.services.sigs.order.SigningRequirements;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hederahashgraph.api.proto.java.TransactionBody;
@@ -46,6 +48,10 @@ class Expansion {
 	private final PlatformTxnAccessor txnAccessor;
 	private final TxnScopedPlatformSigFactory sigFactory;
 
+	private int numSigs = 0;
+	private boolean allSigsCreated = true;
+	private SigningOrderResult<SignatureStatus> lastOrderResult;
+
 	public Expansion(
 			PlatformTxnAccessor txnAccessor,
 			HederaSigningOrder keyOrderer,
@@ -60,7 +66,10 @@ class Expansion {
 
 	public SignatureStatus execute() {
 		log.debug("Expanding crypto sigs from Hedera sigs for txn {}...", txnAccessor::getSignedTxnWrapper);
-		var payerStatus = expand(pkToSigFn, keyOrderer::keysForPayer);
+		final var derivation = new RecordingSigMetadataLookup(keyOrderer.getSigMetaLookup());
+		final var recordingOrderer = keyOrderer.withLookup(derivation);
+
+		var payerStatus = expand(pkToSigFn, recordingOrderer::keysForPayer);
 		if (SUCCESS != payerStatus.getStatusCode()) {
 			if (log.isDebugEnabled()) {
 				log.debug(
@@ -70,7 +79,9 @@ class Expansion {
 			}
 			return payerStatus;
 		}
-		var otherStatus = expand(pkToSigFn, keyOrderer::keysForOtherParties);
+		final var payerKey = lastOrderResult.getPayerKey();
+
+		var otherStatus = expand(pkToSigFn, recordingOrderer::keysForOtherParties);
 		if (SUCCESS != otherStatus.getStatusCode()) {
 			if (log.isDebugEnabled()) {
 				log.debug(
@@ -78,6 +89,13 @@ class Expansion {
 						txnAccessor.getTxnId(),
 						otherStatus);
 			}
+		} else if (allSigsCreated && !txnAccessor.getTxn().hasScheduleCreate()) {
+			/* (The keys for a ScheduleCreate also depend on the dynamic scheduling whitelist.) */
+			txnAccessor.setSigningRequirements(new SigningRequirements(
+					payerKey,
+					lastOrderResult.getOrderedKeys(),
+					numSigs,
+					derivation));
 		}
 		return otherStatus;
 	}
@@ -86,14 +104,18 @@ class Expansion {
 			PubKeyToSigBytes pkToSigFn,
 			BiFunction<TransactionBody, SigStatusOrderResultFactory, SigningOrderResult<SignatureStatus>> keysFn
 	) {
-		var orderResult = keysFn.apply(txnAccessor.getTxn(), HederaToPlatformSigOps.PRE_HANDLE_SUMMARY_FACTORY);
-		if (orderResult.hasErrorReport()) {
-			return orderResult.getErrorReport();
+		lastOrderResult = keysFn.apply(txnAccessor.getTxn(), HederaToPlatformSigOps.PRE_HANDLE_SUMMARY_FACTORY);
+		if (lastOrderResult.hasErrorReport()) {
+			return lastOrderResult.getErrorReport();
 		}
 
-		var creationResult = createEd25519PlatformSigsFrom(orderResult.getOrderedKeys(), pkToSigFn, sigFactory);
+		var creationResult = createEd25519PlatformSigsFrom(lastOrderResult.getOrderedKeys(), pkToSigFn, sigFactory);
 		if (!creationResult.hasFailed()) {
-			txnAccessor.getPlatformTxn().addAll(creationResult.getPlatformSigs().toArray(new TransactionSignature[0]));
+			final var sigs = creationResult.getPlatformSigs();
+			txnAccessor.getPlatformTxn().addAll(sigs.toArray(new TransactionSignature[0]));
+			numSigs += sigs.size();
+		} else {
+			allSigsCreated = false;
 		}
 		/* Ignore sig creation failures. */
 		return successFor(false, txnAccessor);
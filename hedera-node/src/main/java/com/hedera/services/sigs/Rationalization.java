@@ -77,6 +77,11 @@ public class Rationalization {
 	}
 
 	public SignatureStatus execute() {
+		if (canReuseExpandedRequirements()) {
+			makeRationalizedMetaAccessible();
+			return asyncSuccess();
+		}
+
 		var verifiedSync = false;
 		SignatureStatus otherFailure = null;
 		List<TransactionSignature> realPayerSigs = new ArrayList<>(), realOtherPartySigs = new ArrayList<>();
@@ -113,6 +118,24 @@ public class Rationalization {
 		}
 	}
 
+	/**
+	 * Checks if the keys resolved when the signatures were expanded before consensus still
+	 * apply, and the platform has verified all the signatures it was given for them; if so,
+	 * there is no need to resolve the keys again or re-create their signatures.
+	 */
+	private boolean canReuseExpandedRequirements() {
+		final var requirements = txnAccessor.getSigningRequirements();
+		if (requirements == null
+				|| requirements.getNumExpandedSigs() != txnSigs.size()
+				|| !allStatusesAreKnown(txnSigs)
+				|| !requirements.isStillValidGiven(keyOrderer.getSigMetaLookup())) {
+			return false;
+		}
+		reqPayerSig = requirements.getPayerKey();
+		reqOthersSigs = requirements.getOtherPartyKeys();
+		return true;
+	}
+
 	private void makeRationalizedMetaAccessible() {
 		if (reqOthersSigs == null) {
 			txnAccessor.setSigMeta(RationalizedSigMeta.forPayerOnly(reqPayerSig, txnSigs));
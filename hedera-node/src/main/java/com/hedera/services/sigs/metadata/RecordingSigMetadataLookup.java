@@ -0,0 +1,163 @@
+package com.hedera.services.sigs.metadata;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.sigs.metadata.lookups.SafeLookupResult;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ContractID;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.ScheduleID;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TopicID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * A {@link SigMetadataLookup} that delegates every lookup, and remembers each lookup with
+ * its result; so that it can later tell if the same lookups against a newer state would
+ * give the same signing metadata.
+ *
+ * Metadata are compared by the <i>identity</i> of their keys (and equality of any flags).
+ * Keys in state are immutable and shared by all fast-copies of an entity, so the key of an
+ * unchanged entity is always the same instance; a false negative just means the caller must
+ * resolve the signing keys again.
+ *
+ * Not thread-safe; each instance should record the lookups for a single transaction.
+ */
+public class RecordingSigMetadataLookup implements SigMetadataLookup {
+	private final SigMetadataLookup delegate;
+	private final List<Lookup<?, ?>> lookups = new ArrayList<>();
+
+	public RecordingSigMetadataLookup(SigMetadataLookup delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Checks if repeating all the recorded lookups against the given lookup gives the same
+	 * signing metadata as before.
+	 *
+	 * @param current the lookup to repeat the recorded lookups against
+	 * @return whether all the recorded lookups give the same metadata
+	 */
+	public boolean isUnchangedIn(SigMetadataLookup current) {
+		for (var lookup : lookups) {
+			if (!lookup.isUnchangedIn(current)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int numRecorded() {
+		return lookups.size();
+	}
+
+	@Override
+	public SafeLookupResult<FileSigningMetadata> fileSigningMetaFor(FileID id) {
+		return recorded(id, delegate.fileSigningMetaFor(id), SigMetadataLookup::fileSigningMetaFor,
+				(a, b) -> a.getWacl() == b.getWacl());
+	}
+
+	@Override
+	public SafeLookupResult<TopicSigningMetadata> topicSigningMetaFor(TopicID id) {
+		return recorded(id, delegate.topicSigningMetaFor(id), SigMetadataLookup::topicSigningMetaFor,
+				(a, b) -> a.getAdminKey() == b.getAdminKey() && a.getSubmitKey() == b.getSubmitKey());
+	}
+
+	@Override
+	public SafeLookupResult<TokenSigningMetadata> tokenSigningMetaFor(TokenID id) {
+		return recorded(id, delegate.tokenSigningMetaFor(id), SigMetadataLookup::tokenSigningMetaFor,
+				(a, b) -> sameKey(a.adminKey(), b.adminKey())
+						&& sameKey(a.optionalKycKey(), b.optionalKycKey())
+						&& sameKey(a.optionalWipeKey(), b.optionalWipeKey())
+						&& sameKey(a.optionalFreezeKey(), b.optionalFreezeKey())
+						&& sameKey(a.optionalSupplyKey(), b.optionalSupplyKey())
+						&& sameKey(a.optionalFeeScheduleKey(), b.optionalFeeScheduleKey()));
+	}
+
+	@Override
+	public SafeLookupResult<AccountSigningMetadata> accountSigningMetaFor(AccountID id) {
+		return recorded(id, delegate.accountSigningMetaFor(id), SigMetadataLookup::accountSigningMetaFor,
+				(a, b) -> a.getKey() == b.getKey() && a.isReceiverSigRequired() == b.isReceiverSigRequired());
+	}
+
+	@Override
+	public SafeLookupResult<ScheduleSigningMetadata> scheduleSigningMetaFor(ScheduleID id) {
+		/* The scheduled txn is re-materialized on every lookup, and the keys it requires
+		depend on the (dynamic) scheduling whitelist; so never treat these as unchanged */
+		return recorded(id, delegate.scheduleSigningMetaFor(id), SigMetadataLookup::scheduleSigningMetaFor,
+				(a, b) -> false);
+	}
+
+	@Override
+	public SafeLookupResult<ContractSigningMetadata> contractSigningMetaFor(ContractID id) {
+		return recorded(id, delegate.contractSigningMetaFor(id), SigMetadataLookup::contractSigningMetaFor,
+				(a, b) -> a.getKey() == b.getKey() && a.isReceiverSigRequired() == b.isReceiverSigRequired());
+	}
+
+	private <I, T> SafeLookupResult<T> recorded(
+			I id,
+			SafeLookupResult<T> result,
+			BiFunction<SigMetadataLookup, I, SafeLookupResult<T>> lookupFn,
+			BiPredicate<T, T> sameMetaTest
+	) {
+		lookups.add(new Lookup<>(id, result, lookupFn, sameMetaTest));
+		return result;
+	}
+
+	private static boolean sameKey(Optional<JKey> a, Optional<JKey> b) {
+		return a.orElse(null) == b.orElse(null);
+	}
+
+	private static final class Lookup<I, T> {
+		private final I id;
+		private final SafeLookupResult<T> result;
+		private final BiFunction<SigMetadataLookup, I, SafeLookupResult<T>> lookupFn;
+		private final BiPredicate<T, T> sameMetaTest;
+
+		private Lookup(
+				I id,
+				SafeLookupResult<T> result,
+				BiFunction<SigMetadataLookup, I, SafeLookupResult<T>> lookupFn,
+				BiPredicate<T, T> sameMetaTest
+		) {
+			this.id = id;
+			this.result = result;
+			this.lookupFn = lookupFn;
+			this.sameMetaTest = sameMetaTest;
+		}
+
+		private boolean isUnchangedIn(SigMetadataLookup current) {
+			final var currentResult = lookupFn.apply(current, id);
+			if (result.succeeded() != currentResult.succeeded()) {
+				return false;
+			}
+			return result.succeeded()
+					? sameMetaTest.test(result.metadata(), currentResult.metadata())
+					: result.failureIfAny() == currentResult.failureIfAny();
+		}
+	}
+}
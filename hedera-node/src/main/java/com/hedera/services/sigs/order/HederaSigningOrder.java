@@ -114,6 +114,22 @@ public class HederaSigningOrder {
 		this.updateAccountSigns = updateAccountSigns;
 	}
 
+	/**
+	 * Returns a signing order with the same policies as this one, but which gets the
+	 * signing metadata of Hedera entities from the given lookup.
+	 *
+	 * @param sigMetaLookup
+	 * 		the lookup the new signing order should use.
+	 * @return the new signing order.
+	 */
+	public HederaSigningOrder withLookup(SigMetadataLookup sigMetaLookup) {
+		return new HederaSigningOrder(entityNums, sigMetaLookup, updateAccountSigns, targetWaclSigns, properties);
+	}
+
+	public SigMetadataLookup getSigMetaLookup() {
+		return sigMetaLookup;
+	}
+
 	/**
 	 * Uses the provided factory to summarize an attempt to compute the canonical signing order
 	 * of the Hedera key(s) that must be active for the payer of the given gRPC transaction.
@@ -0,0 +1,86 @@
+package com.hedera.services.sigs.order;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.sigs.metadata.RecordingSigMetadataLookup;
+import com.hedera.services.sigs.metadata.SigMetadataLookup;
+
+import java.util.List;
+
+/**
+ * The Hedera keys a {@link HederaSigningOrder} resolved as requiring active signatures for
+ * a transaction, together with the signing metadata lookups they were derived from.
+ *
+ * Resolved once when the signatures are expanded before consensus, and then re-validated at
+ * handle time by repeating just those lookups and comparing key identities; which avoids
+ * both re-resolving the keys and re-creating their platform signatures.
+ */
+public class SigningRequirements {
+	private final JKey payerKey;
+	private final List<JKey> otherPartyKeys;
+	private final int numExpandedSigs;
+	private final RecordingSigMetadataLookup derivation;
+
+	public SigningRequirements(
+			JKey payerKey,
+			List<JKey> otherPartyKeys,
+			int numExpandedSigs,
+			RecordingSigMetadataLookup derivation
+	) {
+		this.payerKey = payerKey;
+		this.derivation = derivation;
+		this.otherPartyKeys = otherPartyKeys;
+		this.numExpandedSigs = numExpandedSigs;
+	}
+
+	/**
+	 * Checks if the same keys would be resolved from the entities visible to the given lookup.
+	 *
+	 * @param current the lookup for the current state
+	 * @return whether these requirements are still valid
+	 */
+	public boolean isStillValidGiven(SigMetadataLookup current) {
+		return derivation.isUnchangedIn(current);
+	}
+
+	public JKey getPayerKey() {
+		return payerKey;
+	}
+
+	public List<JKey> getOtherPartyKeys() {
+		return otherPartyKeys;
+	}
+
+	public int getNumExpandedSigs() {
+		return numExpandedSigs;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(SigningRequirements.class)
+				.add("numOtherPartyKeys", otherPartyKeys.size())
+				.add("numExpandedSigs", numExpandedSigs)
+				.add("numLookups", derivation.numRecorded())
+				.toString();
+	}
+}
@@ -31,9 +31,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 public class FcmDump {
@@ -43,6 +48,8 @@ public class FcmDump {
 			MerkleTreeSerializationOptions.defaults().setAbbreviated(true);
 	static final String FC_DUMP_LOC_TPL = "data/saved/%s/%d/%s-round%d.fcm";
 	static final String DUMP_IO_WARNING = "Couldn't dump %s FCM!";
+	static final String ROWS_DUMP_LOC_TPL = "data/saved/%s/%d/%s-round%d.rows";
+	static final String ROWS_DUMP_WARNING = "Couldn't dump rows of %s FCM!";
 
 	private final List<Pair<String, Function<ServicesState, MerkleNode>>> fcmFuncs = List.of(
 			Pair.of("accounts", ServicesState::accounts),
@@ -62,6 +69,16 @@ public class FcmDump {
 		}
 	};
 
+	static Function<String, OutputStream> rowsOutFn = dumpLoc -> {
+		try {
+			Files.createDirectories(Path.of(dumpLoc).getParent());
+			return Files.newOutputStream(Path.of(dumpLoc));
+		} catch (Exception e) {
+			log.warn("Unable to use suggested dump location {}, skipping it!", dumpLoc, e);
+			return null;
+		}
+	};
+
 	public void dumpFrom(ServicesState state, NodeId self, long round) {
 		for (var fcmMeta : fcmFuncs) {
 			var node = fcmMeta.getRight().apply(state);
@@ -69,6 +86,56 @@ public class FcmDump {
 		}
 	}
 
+	/**
+	 * Dumps each FCM in the given state to its own row-oriented file (see {@link RowDumpWriter}),
+	 * writing the FCMs concurrently and returning only when all the dumps are finished. Unlike the
+	 * abbreviated merkle trees written by {@link FcmDump#dumpFrom(ServicesState, NodeId, long)},
+	 * these files can be scanned without reconstructing the state; for example, by {@link FcmDumpScan}.
+	 *
+	 * @param state the state to dump
+	 * @param self the id of this node
+	 * @param round the round of the state
+	 */
+	public void dumpRowsFrom(ServicesState state, NodeId self, long round) {
+		final var executor = Executors.newFixedThreadPool(FcmRows.ALL.size(), r -> {
+			final var thread = new Thread(r, "fcm-row-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final List<Future<?>> dumps = new ArrayList<>();
+			for (var fcmRows : FcmRows.ALL) {
+				dumps.add(executor.submit(() -> dumpRows(state, fcmRows, self, round)));
+			}
+			for (var dump : dumps) {
+				dump.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException unexpected) {
+			log.warn("Row dump of round {} did not finish", round, unexpected.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void dumpRows(ServicesState state, FcmRows<?, ?> fcmRows, NodeId self, long round) {
+		final var name = fcmRows.name();
+		final var loc = String.format(ROWS_DUMP_LOC_TPL, ServicesMain.class.getName(), self.getId(), name, round);
+		final var fout = rowsOutFn.apply(loc);
+		if (fout == null) {
+			return;
+		}
+		final var start = System.nanoTime();
+		try (fout; var out = new RowDumpWriter(fout, fcmRows.schema())) {
+			final var numRows = fcmRows.dump(state, out);
+			final var elapsedMs = (System.nanoTime() - start) / 1_000_000;
+			log.info("Dumped {} rows of {} FCM to {} in {}ms", numRows, name, loc, elapsedMs);
+		} catch (IOException | RuntimeException e) {
+			log.warn(String.format(ROWS_DUMP_WARNING, name), e);
+		}
+	}
+
 	private void dump(MerkleNode fcm, String name, NodeId self, long round) {
 		var loc = String.format(FC_DUMP_LOC_TPL, ServicesMain.class.getName(), self.getId(), name, round);
 		try (MerkleDataOutputStream out = merkleOutFn.apply(loc)) {
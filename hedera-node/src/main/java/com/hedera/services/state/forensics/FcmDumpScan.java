@@ -0,0 +1,306 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.hedera.services.state.forensics.FcmRows.ACCOUNTS_SCHEMA;
+import static com.hedera.services.state.forensics.FcmRows.STORAGE_SCHEMA;
+import static com.hedera.services.state.forensics.FcmRows.TOKEN_ASSOCIATIONS_SCHEMA;
+
+/**
+ * Offline analysis of the row dumps written by {@link FcmDump#dumpRowsFrom}. Each dump is streamed
+ * one block at a time, so memory use depends only on the block size and the number of top balances
+ * requested, never on the size of the dumped state. Reports,
+ * <ol>
+ *     <li>The row count of each dump.</li>
+ *     <li>The accounts with the top-N balances.</li>
+ *     <li>A histogram of the number of token associations per account.</li>
+ *     <li>The distribution of blob sizes in storage, by blob type.</li>
+ *     <li>Counts of frozen, KYC-granted, and empty token relationships.</li>
+ * </ol>
+ *
+ * Usage: {@code FcmDumpScan [--top N] <dump file or directory>...}; where a directory
+ * is scanned for all its {@code .rows} files.
+ */
+public class FcmDumpScan {
+	static final int DEFAULT_TOP_N = 10;
+	static final String ROWS_SUFFIX = ".rows";
+	static final String USAGE = "Usage: FcmDumpScan [--top N] <dump file or directory>...";
+
+	private final int topN;
+	/* Min-heap of {shard, realm, num, balance} by balance */
+	private final PriorityQueue<long[]> topBalances;
+	private final Log2Histogram associationsPerAccount = new Log2Histogram();
+	private final Map<String, Log2Histogram> blobSizesByType = new TreeMap<>();
+	private final Map<String, Long> rowCounts = new TreeMap<>();
+
+	private long numAccounts = 0;
+	private long numDeletedAccounts = 0;
+	private long numContracts = 0;
+	private long totalBalance = 0;
+	private long numRels = 0;
+	private long numFrozenRels = 0;
+	private long numKycGrantedRels = 0;
+	private long numEmptyRels = 0;
+
+	public FcmDumpScan(int topN) {
+		this.topN = topN;
+		this.topBalances = new PriorityQueue<>(topN + 1, Comparator.comparingLong(entry -> entry[3]));
+	}
+
+	public static void main(String... args) {
+		int topN = DEFAULT_TOP_N;
+		final List<Path> locs = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if ("--top".equals(args[i]) && i + 1 < args.length) {
+				topN = Integer.parseInt(args[++i]);
+			} else {
+				locs.add(Paths.get(args[i]));
+			}
+		}
+		if (locs.isEmpty() || topN < 0) {
+			System.err.println(USAGE);
+			return;
+		}
+
+		final var scan = new FcmDumpScan(topN);
+		for (var dump : dumpsAt(locs)) {
+			try {
+				scan.scan(dump);
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Could not scan " + dump + " (" + e.getMessage() + ")");
+			}
+		}
+		scan.report(System.out);
+	}
+
+	static List<Path> dumpsAt(List<Path> locs) {
+		final List<Path> dumps = new ArrayList<>();
+		for (var loc : locs) {
+			if (Files.isDirectory(loc)) {
+				try (Stream<Path> files = Files.list(loc)) {
+					dumps.addAll(files
+							.filter(file -> file.getFileName().toString().endsWith(ROWS_SUFFIX))
+							.sorted()
+							.collect(Collectors.toList()));
+				} catch (IOException e) {
+					System.err.println("Could not list " + loc + " (" + e.getMessage() + ")");
+				}
+			} else {
+				dumps.add(loc);
+			}
+		}
+		return dumps;
+	}
+
+	/**
+	 * Streams all the rows of the given dump into this scan's summaries.
+	 *
+	 * @param dump the location of the dump
+	 * @throws IOException if the dump cannot be read
+	 */
+	public void scan(Path dump) throws IOException {
+		try (var in = new RowDumpReader(Files.newInputStream(dump))) {
+			final var name = in.schema().name();
+			if (name.equals(ACCOUNTS_SCHEMA.name())) {
+				scanAccounts(in);
+			} else if (name.equals(STORAGE_SCHEMA.name())) {
+				scanStorage(in);
+			} else if (name.equals(TOKEN_ASSOCIATIONS_SCHEMA.name())) {
+				scanRels(in);
+			} else {
+				while (in.next()) {
+					/* Only the row count is of interest. */
+				}
+			}
+			rowCounts.merge(name, in.rowsRead(), Long::sum);
+		}
+	}
+
+	private void scanAccounts(RowDumpReader in) throws IOException {
+		final var schema = in.schema();
+		final int shard = schema.indexOf("shard");
+		final int realm = schema.indexOf("realm");
+		final int num = schema.indexOf("num");
+		final int balance = schema.indexOf("balance");
+		final int deleted = schema.indexOf("deleted");
+		final int smartContract = schema.indexOf("smartContract");
+		final int numAssociations = schema.indexOf("numAssociations");
+		while (in.next()) {
+			numAccounts++;
+			if (in.getBoolean(deleted)) {
+				numDeletedAccounts++;
+			}
+			if (in.getBoolean(smartContract)) {
+				numContracts++;
+			}
+			final long tinybars = in.getLong(balance);
+			totalBalance += tinybars;
+			associationsPerAccount.add(in.getLong(numAssociations));
+			if (topN > 0 && (topBalances.size() < topN || tinybars > topBalances.peek()[3])) {
+				topBalances.add(new long[] { in.getLong(shard), in.getLong(realm), in.getLong(num), tinybars });
+				if (topBalances.size() > topN) {
+					topBalances.poll();
+				}
+			}
+		}
+	}
+
+	private void scanStorage(RowDumpReader in) throws IOException {
+		final var schema = in.schema();
+		final int type = schema.indexOf("type");
+		final int size = schema.indexOf("size");
+		while (in.next()) {
+			final var blobType = in.getString(type);
+			blobSizesByType
+					.computeIfAbsent(blobType == null ? "UNKNOWN" : blobType, ignore -> new Log2Histogram())
+					.add(in.getLong(size));
+		}
+	}
+
+	private void scanRels(RowDumpReader in) throws IOException {
+		final var schema = in.schema();
+		final int balance = schema.indexOf("balance");
+		final int frozen = schema.indexOf("frozen");
+		final int kycGranted = schema.indexOf("kycGranted");
+		while (in.next()) {
+			numRels++;
+			if (in.getBoolean(frozen)) {
+				numFrozenRels++;
+			}
+			if (in.getBoolean(kycGranted)) {
+				numKycGrantedRels++;
+			}
+			if (in.getLong(balance) == 0) {
+				numEmptyRels++;
+			}
+		}
+	}
+
+	public void report(PrintStream out) {
+		out.println("Rows scanned:");
+		rowCounts.forEach((name, count) -> out.printf("  %-20s %,15d%n", name, count));
+
+		if (numAccounts > 0) {
+			out.printf("%nAccounts: %,d (%,d deleted, %,d contracts) holding %,d tinybars%n",
+					numAccounts, numDeletedAccounts, numContracts, totalBalance);
+			out.printf("%nTop %d balances:%n", topBalances.size());
+			final var ranked = topBalances();
+			for (int i = 0; i < ranked.size(); i++) {
+				final var entry = ranked.get(i);
+				out.printf("  %3d. %d.%d.%-12d %,25d%n", i + 1, entry[0], entry[1], entry[2], entry[3]);
+			}
+			out.printf("%nToken associations per account:%n");
+			associationsPerAccount.printTo(out);
+		}
+
+		if (!blobSizesByType.isEmpty()) {
+			out.printf("%nStorage blob sizes (bytes):%n");
+			blobSizesByType.forEach((type, sizes) -> {
+				out.printf("  %s: %,d blobs, %,d bytes, largest %,d%n", type, sizes.count(), sizes.sum(), sizes.max());
+				sizes.printTo(out);
+			});
+		}
+
+		if (numRels > 0) {
+			out.printf("%nToken relationships: %,d (%,d frozen, %,d KYC granted, %,d with zero balance)%n",
+					numRels, numFrozenRels, numKycGrantedRels, numEmptyRels);
+		}
+	}
+
+	List<long[]> topBalances() {
+		final var ranked = new ArrayList<>(topBalances);
+		ranked.sort(Comparator.comparingLong((long[] entry) -> entry[3]).reversed());
+		return ranked;
+	}
+
+	Log2Histogram associationsPerAccount() {
+		return associationsPerAccount;
+	}
+
+	Map<String, Log2Histogram> blobSizesByType() {
+		return blobSizesByType;
+	}
+
+	Map<String, Long> rowCounts() {
+		return rowCounts;
+	}
+
+	/**
+	 * Counts non-negative values in power-of-two buckets; bucket 0 holds zero,
+	 * and bucket {@code b > 0} holds values in {@code [2^(b-1), 2^b)}.
+	 */
+	static final class Log2Histogram {
+		private final long[] counts = new long[Long.SIZE];
+		private long count = 0;
+		private long sum = 0;
+		private long max = 0;
+
+		void add(long v) {
+			final var nonNegative = Math.max(0, v);
+			counts[Long.SIZE - Long.numberOfLeadingZeros(nonNegative)]++;
+			count++;
+			sum += nonNegative;
+			max = Math.max(max, nonNegative);
+		}
+
+		long countInBucket(int b) {
+			return counts[b];
+		}
+
+		long count() {
+			return count;
+		}
+
+		long sum() {
+			return sum;
+		}
+
+		long max() {
+			return max;
+		}
+
+		void printTo(PrintStream out) {
+			for (int b = 0; b < counts.length; b++) {
+				if (counts[b] == 0) {
+					continue;
+				}
+				final var range = (b == 0)
+						? "0"
+						: (b == 1) ? "1" : String.format("%d-%d", 1L << (b - 1), (1L << b) - 1);
+				out.printf("    %-25s %,15d%n", range, counts[b]);
+			}
+		}
+	}
+}
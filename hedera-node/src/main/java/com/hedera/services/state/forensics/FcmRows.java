@@ -0,0 +1,202 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleBlobMeta;
+import com.hedera.services.state.merkle.MerkleEntityAssociation;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleOptionalBlob;
+import com.hedera.services.state.merkle.MerkleSchedule;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.state.submerkle.EntityId;
+import com.swirlds.fcmap.FCMap;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Defines the row-oriented dump of each {@link FCMap} in the {@link ServicesState}; that is,
+ * the schema of its rows and how to encode one of its entries as a row.
+ */
+final class FcmRows<K, V> {
+	static final RowDumpSchema ACCOUNTS_SCHEMA = new RowDumpSchema("accounts")
+			.withLong("shard").withLong("realm").withLong("num")
+			.withLong("balance")
+			.withLong("expiry")
+			.withBoolean("deleted")
+			.withBoolean("smartContract")
+			.withBoolean("receiverSigRequired")
+			.withLong("numAssociations")
+			.withLong("nftsOwned")
+			.withLong("numRecords");
+	static final RowDumpSchema STORAGE_SCHEMA = new RowDumpSchema("storage")
+			.withString("path")
+			.withString("type")
+			.withLong("entityNum")
+			.withLong("size");
+	static final RowDumpSchema TOPICS_SCHEMA = new RowDumpSchema("topics")
+			.withLong("shard").withLong("realm").withLong("num")
+			.withLong("sequenceNumber")
+			.withLong("expiry")
+			.withBoolean("deleted");
+	static final RowDumpSchema TOKENS_SCHEMA = new RowDumpSchema("tokens")
+			.withLong("shard").withLong("realm").withLong("num")
+			.withString("symbol")
+			.withString("tokenType")
+			.withLong("totalSupply")
+			.withLong("decimals")
+			.withLong("treasuryNum")
+			.withLong("expiry")
+			.withBoolean("deleted");
+	static final RowDumpSchema TOKEN_ASSOCIATIONS_SCHEMA = new RowDumpSchema("tokenAssociations")
+			.withLong("accountNum")
+			.withLong("tokenNum")
+			.withLong("balance")
+			.withBoolean("frozen")
+			.withBoolean("kycGranted");
+	static final RowDumpSchema SCHEDULE_TXS_SCHEMA = new RowDumpSchema("scheduleTxs")
+			.withLong("shard").withLong("realm").withLong("num")
+			.withLong("payerNum")
+			.withLong("expiry")
+			.withBoolean("deleted")
+			.withBoolean("executed")
+			.withLong("numSignatories");
+
+	static final List<FcmRows<?, ?>> ALL = List.of(
+			new FcmRows<>(ACCOUNTS_SCHEMA, ServicesState::accounts, FcmRows::writeAccount),
+			new FcmRows<>(STORAGE_SCHEMA, ServicesState::storage, FcmRows::writeBlob),
+			new FcmRows<>(TOPICS_SCHEMA, ServicesState::topics, FcmRows::writeTopic),
+			new FcmRows<>(TOKENS_SCHEMA, ServicesState::tokens, FcmRows::writeToken),
+			new FcmRows<>(TOKEN_ASSOCIATIONS_SCHEMA, ServicesState::tokenAssociations, FcmRows::writeRel),
+			new FcmRows<>(SCHEDULE_TXS_SCHEMA, ServicesState::scheduleTxs, FcmRows::writeSchedule));
+
+	@FunctionalInterface
+	interface RowEncoder<K, V> {
+		void encode(K key, V value, RowDumpWriter out);
+	}
+
+	private final RowDumpSchema schema;
+	private final Function<ServicesState, ? extends Map<K, V>> fcmFn;
+	private final RowEncoder<K, V> encoder;
+
+	FcmRows(
+			RowDumpSchema schema,
+			Function<ServicesState, ? extends Map<K, V>> fcmFn,
+			RowEncoder<K, V> encoder
+	) {
+		this.schema = schema;
+		this.fcmFn = fcmFn;
+		this.encoder = encoder;
+	}
+
+	String name() {
+		return schema.name();
+	}
+
+	/**
+	 * Writes one row per entry in this type's map from the given state.
+	 *
+	 * @param state the state to dump from
+	 * @param out the writer to use
+	 * @return the number of rows written
+	 * @throws IOException if the rows cannot be written
+	 */
+	long dump(ServicesState state, RowDumpWriter out) throws IOException {
+		for (var entry : fcmFn.apply(state).entrySet()) {
+			encoder.encode(entry.getKey(), entry.getValue(), out);
+			out.endRow();
+		}
+		return out.rowsWritten();
+	}
+
+	RowDumpSchema schema() {
+		return schema;
+	}
+
+	static void writeAccount(MerkleEntityId id, MerkleAccount account, RowDumpWriter out) {
+		writeId(id, out)
+				.putLong(account.getBalance())
+				.putLong(account.getExpiry())
+				.putBoolean(account.isDeleted())
+				.putBoolean(account.isSmartContract())
+				.putBoolean(account.isReceiverSigRequired())
+				.putLong(account.tokens().numAssociations())
+				.putLong(account.getNftsOwned())
+				.putLong(account.records().size());
+	}
+
+	static void writeBlob(MerkleBlobMeta meta, MerkleOptionalBlob blob, RowDumpWriter out) {
+		final var key = meta.getKey();
+		out.putString(meta.getPath())
+				.putString(key == null ? null : key.getType().name())
+				.putLong(key == null ? -1 : key.getEntityNum())
+				.putLong(blob.getData().length);
+	}
+
+	static void writeTopic(MerkleEntityId id, MerkleTopic topic, RowDumpWriter out) {
+		writeId(id, out)
+				.putLong(topic.getSequenceNumber())
+				.putLong(topic.hasExpirationTimestamp() ? topic.getExpirationTimestamp().getSeconds() : 0)
+				.putBoolean(topic.isDeleted());
+	}
+
+	static void writeToken(MerkleEntityId id, MerkleToken token, RowDumpWriter out) {
+		writeId(id, out)
+				.putString(token.symbol())
+				.putString(token.tokenType() == null ? null : token.tokenType().name())
+				.putLong(token.totalSupply())
+				.putLong(token.decimals())
+				.putLong(numOrMissing(token.treasury()))
+				.putLong(token.expiry())
+				.putBoolean(token.isDeleted());
+	}
+
+	static void writeRel(MerkleEntityAssociation rel, MerkleTokenRelStatus status, RowDumpWriter out) {
+		out.putLong(rel.getFromNum())
+				.putLong(rel.getToNum())
+				.putLong(status.getBalance())
+				.putBoolean(status.isFrozen())
+				.putBoolean(status.isKycGranted());
+	}
+
+	static void writeSchedule(MerkleEntityId id, MerkleSchedule schedule, RowDumpWriter out) {
+		writeId(id, out)
+				.putLong(numOrMissing(schedule.effectivePayer()))
+				.putLong(schedule.expiry())
+				.putBoolean(schedule.isDeleted())
+				.putBoolean(schedule.isExecuted())
+				.putLong(schedule.signatories().size());
+	}
+
+	private static RowDumpWriter writeId(MerkleEntityId id, RowDumpWriter out) {
+		return out.putLong(id.getShard()).putLong(id.getRealm()).putLong(id.getNum());
+	}
+
+	private static long numOrMissing(EntityId id) {
+		return id == null ? -1 : id.num();
+	}
+}
@@ -75,7 +75,11 @@ public class IssListener implements InvalidSignedStateListener {
 						CommonUtils.hex(sig), CommonUtils.hex(hash));
 				log.error(msg);
 				if (nodeLocalProperties.shouldDumpFcmsOnIss()) {
-					fcmDump.dumpFrom(issState, self, round);
+					if (nodeLocalProperties.shouldDumpFcmsAsRows()) {
+						fcmDump.dumpRowsFrom(issState, self, round);
+					} else {
+						fcmDump.dumpFrom(issState, self, round);
+					}
 				}
 				issState.logSummary();
 			}
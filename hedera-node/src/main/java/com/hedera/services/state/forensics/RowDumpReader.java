@@ -0,0 +1,215 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.BOOLEAN;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.LONG;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.STRING;
+import static com.hedera.services.state.forensics.RowDumpWriter.END_OF_BLOCKS;
+import static com.hedera.services.state.forensics.RowDumpWriter.MAGIC;
+import static com.hedera.services.state.forensics.RowDumpWriter.MAX_BLOCK_SIZE;
+import static com.hedera.services.state.forensics.RowDumpWriter.VERSION;
+
+/**
+ * Streams the rows of a dump written by {@link RowDumpWriter}, holding at most one
+ * decompressed block in memory. After each successful call to {@link #next()}, the
+ * columns of the current row are available by position.
+ *
+ * Instances are <b>not</b> thread-safe.
+ */
+public final class RowDumpReader implements Closeable {
+	private final DataInputStream in;
+	private final RowDumpSchema schema;
+	private final Inflater inflater = new Inflater();
+	private final long[] longs;
+	private final String[] strings;
+
+	private int pos = 0;
+	private int len = 0;
+	private int blockRowsLeft = 0;
+	private long rowsRead = 0;
+	private boolean exhausted = false;
+	private byte[] block = new byte[0];
+	private byte[] compressed = new byte[0];
+
+	public RowDumpReader(InputStream in) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+		final int magic = this.in.readInt();
+		if (magic != MAGIC) {
+			throw new IOException(String.format("Not a row dump (magic 0x%08x)", magic));
+		}
+		final short version = this.in.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported row dump version " + version);
+		}
+		schema = RowDumpSchema.readFrom(this.in);
+		longs = new long[schema.numColumns()];
+		strings = new String[schema.numColumns()];
+	}
+
+	public RowDumpSchema schema() {
+		return schema;
+	}
+
+	/**
+	 * Advances to the next row, decompressing the next block if the current one is used up.
+	 *
+	 * @return whether there was another row
+	 * @throws IOException if the dump is truncated or corrupt
+	 */
+	public boolean next() throws IOException {
+		if (blockRowsLeft == 0 && !nextBlock()) {
+			return false;
+		}
+		for (int i = 0, n = longs.length; i < n; i++) {
+			final var type = schema.type(i);
+			if (type == LONG) {
+				final long zigZag = getVarLong();
+				longs[i] = (zigZag >>> 1) ^ -(zigZag & 1);
+			} else if (type == BOOLEAN) {
+				longs[i] = getByte();
+			} else {
+				final long lenPlusOne = getVarLong();
+				if (lenPlusOne == 0) {
+					strings[i] = null;
+				} else {
+					final long utf8Len = lenPlusOne - 1;
+					if (utf8Len < 0 || utf8Len > len - pos) {
+						throw new IOException("Corrupt string length " + utf8Len + " in dump of " + schema.name());
+					}
+					strings[i] = new String(block, pos, (int) utf8Len, StandardCharsets.UTF_8);
+					pos += utf8Len;
+				}
+			}
+		}
+		if (--blockRowsLeft == 0 && pos != len) {
+			throw new IOException("Block of " + schema.name() + " has " + (len - pos) + " trailing bytes");
+		}
+		rowsRead++;
+		return true;
+	}
+
+	public long getLong(int col) {
+		assertType(col, LONG);
+		return longs[col];
+	}
+
+	public boolean getBoolean(int col) {
+		assertType(col, BOOLEAN);
+		return longs[col] != 0;
+	}
+
+	public String getString(int col) {
+		assertType(col, STRING);
+		return strings[col];
+	}
+
+	public long rowsRead() {
+		return rowsRead;
+	}
+
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		in.close();
+	}
+
+	private boolean nextBlock() throws IOException {
+		if (exhausted) {
+			return false;
+		}
+		final int rows = in.readInt();
+		if (rows == END_OF_BLOCKS) {
+			exhausted = true;
+			return false;
+		}
+		final int rawLen = in.readInt();
+		final int compressedLen = in.readInt();
+		if (rows < 0 || rawLen < 0 || rawLen > MAX_BLOCK_SIZE || compressedLen < 0 || compressedLen > MAX_BLOCK_SIZE) {
+			throw new IOException(String.format(
+					"Corrupt block header (%d rows, %d/%d bytes) in dump of %s",
+					rows, rawLen, compressedLen, schema.name()));
+		}
+		if (compressed.length < compressedLen) {
+			compressed = new byte[compressedLen];
+		}
+		if (block.length < rawLen) {
+			block = new byte[rawLen];
+		}
+		in.readFully(compressed, 0, compressedLen);
+		inflater.reset();
+		inflater.setInput(compressed, 0, compressedLen);
+		try {
+			int inflated = 0;
+			while (inflated < rawLen && !inflater.finished()) {
+				final int n = inflater.inflate(block, inflated, rawLen - inflated);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += n;
+			}
+			if (inflated != rawLen) {
+				throw new IOException("Block of " + schema.name() + " inflated to " + inflated + " not " + rawLen + " bytes");
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt block in dump of " + schema.name(), e);
+		}
+		pos = 0;
+		len = rawLen;
+		blockRowsLeft = rows;
+		return true;
+	}
+
+	private long getVarLong() throws IOException {
+		long v = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = getByte();
+			v |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return v;
+			}
+		}
+		throw new IOException("Malformed varint in dump of " + schema.name());
+	}
+
+	private int getByte() throws IOException {
+		if (pos == len) {
+			throw new IOException("Row of " + schema.name() + " overruns its block");
+		}
+		return block[pos++] & 0xFF;
+	}
+
+	private void assertType(int col, RowDumpSchema.ColumnType type) {
+		if (schema.type(col) != type) {
+			throw new IllegalArgumentException(
+					"Column " + schema.column(col) + " of " + schema.name() + " is a " + schema.type(col) + ", not a " + type);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the rows in a row-oriented state dump; that is, the name of the dumped
+ * map and the ordered names and types of the columns in each row.
+ */
+public final class RowDumpSchema {
+	public enum ColumnType {
+		LONG, BOOLEAN, STRING
+	}
+
+	private static final ColumnType[] TYPES = ColumnType.values();
+
+	private final String name;
+	private final List<String> columns = new ArrayList<>();
+	private final List<ColumnType> types = new ArrayList<>();
+
+	public RowDumpSchema(String name) {
+		this.name = name;
+	}
+
+	public RowDumpSchema withLong(String column) {
+		return with(column, ColumnType.LONG);
+	}
+
+	public RowDumpSchema withBoolean(String column) {
+		return with(column, ColumnType.BOOLEAN);
+	}
+
+	public RowDumpSchema withString(String column) {
+		return with(column, ColumnType.STRING);
+	}
+
+	private RowDumpSchema with(String column, ColumnType type) {
+		if (columns.contains(column)) {
+			throw new IllegalArgumentException("Duplicate column '" + column + "' in schema for " + name);
+		}
+		columns.add(column);
+		types.add(type);
+		return this;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public int numColumns() {
+		return columns.size();
+	}
+
+	public String column(int i) {
+		return columns.get(i);
+	}
+
+	public ColumnType type(int i) {
+		return types.get(i);
+	}
+
+	/**
+	 * Returns the position of the named column in each row.
+	 *
+	 * @param column the column of interest
+	 * @return its position
+	 * @throws IllegalArgumentException if the schema has no such column
+	 */
+	public int indexOf(String column) {
+		final var i = columns.indexOf(column);
+		if (i < 0) {
+			throw new IllegalArgumentException("No column '" + column + "' in schema for " + name);
+		}
+		return i;
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeUTF(name);
+		out.writeShort(columns.size());
+		for (int i = 0, n = columns.size(); i < n; i++) {
+			out.writeUTF(columns.get(i));
+			out.writeByte(types.get(i).ordinal());
+		}
+	}
+
+	static RowDumpSchema readFrom(DataInputStream in) throws IOException {
+		final var schema = new RowDumpSchema(in.readUTF());
+		final int n = in.readUnsignedShort();
+		for (int i = 0; i < n; i++) {
+			final var column = in.readUTF();
+			final int ordinal = in.readUnsignedByte();
+			if (ordinal >= TYPES.length) {
+				throw new IOException("Unknown type " + ordinal + " for column '" + column + "'");
+			}
+			schema.with(column, TYPES[ordinal]);
+		}
+		return schema;
+	}
+
+	@Override
+	public String toString() {
+		final var sb = new StringBuilder(name).append('(');
+		for (int i = 0, n = columns.size(); i < n; i++) {
+			sb.append(i == 0 ? "" : ", ").append(columns.get(i)).append(' ').append(types.get(i));
+		}
+		return sb.append(')').toString();
+	}
+}
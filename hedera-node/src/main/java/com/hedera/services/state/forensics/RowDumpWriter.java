@@ -0,0 +1,195 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.BOOLEAN;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.LONG;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.STRING;
+
+/**
+ * Writes a row-oriented state dump, with the layout,
+ * <pre>
+ *     | MAGIC (4) | VERSION (2) | schema |
+ *     | row count (4) | raw length (4) | compressed length (4) | deflated rows | ...
+ *     | END_OF_BLOCKS (4) |
+ * </pre>
+ * Rows are buffered into blocks of about {@link #DEFAULT_BLOCK_SIZE} bytes, and each block is
+ * compressed independently; so a reader never needs more than one block in memory. Within a
+ * block, each {@code LONG} is a zig-zag varint, each {@code BOOLEAN} is one byte, and each
+ * {@code STRING} is a varint of its UTF-8 length plus one (zero for null) followed by its bytes.
+ *
+ * Instances are <b>not</b> thread-safe.
+ */
+public final class RowDumpWriter implements Closeable {
+	static final int MAGIC = 0x48524457;
+	static final short VERSION = 1;
+	static final int END_OF_BLOCKS = 0;
+	static final int MAX_BLOCK_SIZE = 64 << 20;
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+	private final int blockSize;
+	private final RowDumpSchema schema;
+	private final DataOutputStream out;
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+	private int col = 0;
+	private int len = 0;
+	private int blockRows = 0;
+	private long rowsWritten = 0;
+	private byte[] block;
+	private byte[] compressed = new byte[8192];
+
+	public RowDumpWriter(OutputStream out, RowDumpSchema schema) throws IOException {
+		this(out, schema, DEFAULT_BLOCK_SIZE);
+	}
+
+	RowDumpWriter(OutputStream out, RowDumpSchema schema, int blockSize) throws IOException {
+		this.schema = schema;
+		this.blockSize = blockSize;
+		this.block = new byte[blockSize + 1024];
+		this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+		this.out.writeInt(MAGIC);
+		this.out.writeShort(VERSION);
+		schema.writeTo(this.out);
+	}
+
+	public RowDumpWriter putLong(long v) {
+		nextColumnIs(LONG);
+		putVarLong((v << 1) ^ (v >> 63));
+		return this;
+	}
+
+	public RowDumpWriter putBoolean(boolean flag) {
+		nextColumnIs(BOOLEAN);
+		ensureRoom(1);
+		block[len++] = (byte) (flag ? 1 : 0);
+		return this;
+	}
+
+	public RowDumpWriter putString(String s) {
+		nextColumnIs(STRING);
+		if (s == null) {
+			putVarLong(0);
+		} else {
+			final var utf8 = s.getBytes(StandardCharsets.UTF_8);
+			putVarLong(utf8.length + 1L);
+			ensureRoom(utf8.length);
+			System.arraycopy(utf8, 0, block, len, utf8.length);
+			len += utf8.length;
+		}
+		return this;
+	}
+
+	/**
+	 * Completes the current row, flushing the current block if it has reached the target size.
+	 *
+	 * @throws IOException if the block cannot be written
+	 * @throws IllegalStateException if the row is missing columns
+	 */
+	public void endRow() throws IOException {
+		if (col != schema.numColumns()) {
+			throw new IllegalStateException(
+					"Row has " + col + " columns, but schema " + schema.name() + " has " + schema.numColumns());
+		}
+		col = 0;
+		blockRows++;
+		rowsWritten++;
+		if (len >= blockSize) {
+			flushBlock();
+		}
+	}
+
+	public long rowsWritten() {
+		return rowsWritten;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (col != 0) {
+				throw new IllegalStateException("Dump of " + schema.name() + " closed in the middle of a row");
+			}
+			flushBlock();
+			out.writeInt(END_OF_BLOCKS);
+		} finally {
+			deflater.end();
+			out.close();
+		}
+	}
+
+	private void flushBlock() throws IOException {
+		if (blockRows == 0) {
+			return;
+		}
+		deflater.reset();
+		deflater.setInput(block, 0, len);
+		deflater.finish();
+		int compressedLen = 0;
+		while (!deflater.finished()) {
+			if (compressedLen == compressed.length) {
+				compressed = Arrays.copyOf(compressed, compressed.length * 2);
+			}
+			compressedLen += deflater.deflate(compressed, compressedLen, compressed.length - compressedLen);
+		}
+		out.writeInt(blockRows);
+		out.writeInt(len);
+		out.writeInt(compressedLen);
+		out.write(compressed, 0, compressedLen);
+		blockRows = 0;
+		len = 0;
+	}
+
+	private void nextColumnIs(RowDumpSchema.ColumnType type) {
+		if (col == schema.numColumns() || schema.type(col) != type) {
+			throw new IllegalStateException(
+					"Column " + col + " of schema " + schema + " cannot hold a " + type);
+		}
+		col++;
+	}
+
+	private void putVarLong(long v) {
+		ensureRoom(10);
+		while ((v & ~0x7FL) != 0) {
+			block[len++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		block[len++] = (byte) v;
+	}
+
+	private void ensureRoom(int n) {
+		if (len + n > block.length) {
+			if ((long) len + n > MAX_BLOCK_SIZE) {
+				throw new IllegalStateException(
+						"Row of " + schema.name() + " overflows a " + MAX_BLOCK_SIZE + "-byte block");
+			}
+			block = Arrays.copyOf(block, Math.max(len + n, Math.min(MAX_BLOCK_SIZE, block.length * 2)));
+		}
+	}
+}
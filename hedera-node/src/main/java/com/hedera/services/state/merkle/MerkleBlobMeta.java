@@ -21,6 +21,7 @@ package com.hedera.services.state.merkle;
  */
 
 import com.google.common.base.MoreObjects;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.swirlds.common.io.SerializableDataInputStream;
 import com.swirlds.common.io.SerializableDataOutputStream;
 import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
@@ -29,21 +30,41 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Objects;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.fromLegacyCode;
 import static com.swirlds.common.CommonUtils.getNormalisedStringBytes;
 
+/**
+ * The key of a blob in the storage map. Every blob the node itself creates has a typed
+ * {@link BlobKey}; a meta whose path is not of the legacy {@code "/<realm>/<code><num>"}
+ * form keeps the raw path instead.
+ *
+ * Version 1 of this leaf serialized only the path; version 2 serializes the legacy code of
+ * the blob type followed by the realm and entity number (or a zero code followed by the raw
+ * path, for an untyped meta). Deserializing a version 1 leaf parses its path, so a saved
+ * state is migrated to typed keys as it is loaded.
+ */
 public class MerkleBlobMeta extends AbstractMerkleLeaf {
-	static final int MERKLE_VERSION = 1;
+	static final int RELEASE_0150_VERSION = 1;
+	static final int RELEASE_0160_VERSION = 2;
+	static final int MERKLE_VERSION = RELEASE_0160_VERSION;
 	static final long RUNTIME_CONSTRUCTABLE_ID = 0x9c19df177063b4caL;
 
+	static final byte UNTYPED_CODE = 0;
+
 	public static final int MAX_PATH_LEN = 4_096;
 
+	private BlobKey key;
 	private String path;
 
 	public MerkleBlobMeta() {
 	}
 
+	public MerkleBlobMeta(BlobKey key) {
+		this.key = key;
+	}
+
 	public MerkleBlobMeta(String path) {
-		this.path = path;
+		setPath(path);
 	}
 
 	/* --- MerkleLeaf --- */
@@ -59,18 +80,42 @@ public class MerkleBlobMeta extends AbstractMerkleLeaf {
 
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
-		out.writeNormalisedString(path);
+		if (key != null) {
+			out.writeByte(key.getType().legacyCode());
+			out.writeLong(key.getRealm());
+			out.writeLong(key.getEntityNum());
+		} else {
+			out.writeByte(UNTYPED_CODE);
+			out.writeNormalisedString(path);
+		}
 	}
 
 	@Override
 	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
-		path = in.readNormalisedString(MAX_PATH_LEN);
+		if (version == RELEASE_0150_VERSION) {
+			setPath(in.readNormalisedString(MAX_PATH_LEN));
+		} else {
+			final var code = in.readByte();
+			if (code == UNTYPED_CODE) {
+				key = null;
+				path = in.readNormalisedString(MAX_PATH_LEN);
+			} else {
+				final var type = fromLegacyCode((char) code);
+				if (type == null) {
+					throw new IOException("Unknown blob type code " + code);
+				}
+				key = new BlobKey(type, in.readLong(), in.readLong());
+				path = null;
+			}
+		}
 	}
 
 	/* --- FastCopyable --- */
 	@Override
 	public MerkleBlobMeta copy() {
-		return new MerkleBlobMeta(path);
+		final var copy = new MerkleBlobMeta(key);
+		copy.path = path;
+		return copy;
 	}
 
 	@Override
@@ -84,26 +129,32 @@ public class MerkleBlobMeta extends AbstractMerkleLeaf {
 
 		var that = (MerkleBlobMeta) o;
 
-		return Objects.equals(this.path, that.path);
+		return Objects.equals(this.key, that.key) && Objects.equals(this.path, that.path);
 	}
 
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(getNormalisedStringBytes(path));
+		return (key != null) ? key.hashCode() : Arrays.hashCode(getNormalisedStringBytes(path));
 	}
 
 	/* --- Bean --- */
+	public BlobKey getKey() {
+		return key;
+	}
+
 	public String getPath() {
-		return path;
+		return (key != null) ? key.legacyPath() : path;
 	}
 
 	public void setPath(String path) {
-		this.path = path;
+		key = (path == null) ? null : BlobKey.fromLegacyPath(path);
+		this.path = (key == null) ? path : null;
 	}
 
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
+				.add("key", key)
 				.add("path", path)
 				.toString();
 	}
@@ -34,6 +34,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -149,6 +150,18 @@ public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLe
 		}
 	}
 
+	/**
+	 * Opens a stream over the contents of the given file on disk, for readers that
+	 * should not hold the entire file in memory.
+	 *
+	 * @param fid the file to read
+	 * @return a stream of the file's contents
+	 * @throws IOException if the file cannot be opened
+	 */
+	public InputStream contentsStreamOf(FileID fid) throws IOException {
+		return Files.newInputStream(pathToContentsOf(fid));
+	}
+
 	public synchronized void put(FileID fid, byte[] contents) {
 		try {
 			byte[] hash = noThrowSha384HashOf(contents);
@@ -150,6 +150,13 @@ public class MerkleEntityAssociation extends AbstractMerkleLeaf {
 	}
 
 	/* --- Bean --- */
+	public long getFromNum() {
+		return fromNum;
+	}
+
+	public long getToNum() {
+		return toNum;
+	}
 
 	@Override
 	public String toString() {
@@ -0,0 +1,121 @@
+package com.hedera.services.state.merkle;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hedera.services.state.merkle.MerkleUniqueToken.UPPER_BOUND_METADATA_BYTES;
+
+/**
+ * An entry in the NFT metadata pool; that is, metadata bytes shared by one or more
+ * {@link MerkleUniqueToken}s, with the number of unique tokens that refer to them.
+ */
+public class MerkleNftMetadata extends AbstractMerkleLeaf {
+	static final int MERKLE_VERSION = 1;
+	static final long RUNTIME_CONSTRUCTABLE_ID = 0x6b1c0e94d3a27f58L;
+
+	private long refCount;
+	private byte[] metadata;
+
+	public MerkleNftMetadata() {
+		/* RuntimeConstructable */
+	}
+
+	public MerkleNftMetadata(byte[] metadata, long refCount) {
+		this.metadata = metadata;
+		this.refCount = refCount;
+	}
+
+	/* --- Object --- */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || MerkleNftMetadata.class != o.getClass()) {
+			return false;
+		}
+
+		var that = (MerkleNftMetadata) o;
+		return this.refCount == that.refCount && Arrays.equals(this.metadata, that.metadata);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(refCount) + Arrays.hashCode(metadata);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(MerkleNftMetadata.class)
+				.add("refCount", refCount)
+				.add("metadata", metadata)
+				.toString();
+	}
+
+	/* --- MerkleLeaf --- */
+	@Override
+	public long getClassId() {
+		return RUNTIME_CONSTRUCTABLE_ID;
+	}
+
+	@Override
+	public int getVersion() {
+		return MERKLE_VERSION;
+	}
+
+	@Override
+	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
+		refCount = in.readLong();
+		metadata = in.readByteArray(UPPER_BOUND_METADATA_BYTES);
+	}
+
+	@Override
+	public void serialize(SerializableDataOutputStream out) throws IOException {
+		out.writeLong(refCount);
+		out.writeByteArray(metadata);
+	}
+
+	/* --- FastCopyable --- */
+	@Override
+	public MerkleNftMetadata copy() {
+		return new MerkleNftMetadata(metadata, refCount);
+	}
+
+	/* --- Bean --- */
+	public byte[] getMetadata() {
+		return metadata;
+	}
+
+	public long getRefCount() {
+		return refCount;
+	}
+
+	public void setRefCount(long refCount) {
+		this.refCount = refCount;
+	}
+}
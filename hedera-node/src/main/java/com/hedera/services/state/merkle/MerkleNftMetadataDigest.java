@@ -0,0 +1,110 @@
+package com.hedera.services.state.merkle;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.swirlds.common.CommonUtils.hex;
+
+/**
+ * The key of an entry in the NFT metadata pool; that is, the SHA-384 digest of the
+ * metadata shared by one or more {@link MerkleUniqueToken}s.
+ */
+public class MerkleNftMetadataDigest extends AbstractMerkleLeaf {
+	static final int MERKLE_VERSION = 1;
+	static final long RUNTIME_CONSTRUCTABLE_ID = 0x3f5e7a2d91c84b06L;
+
+	public static final int DIGEST_BYTES = 48;
+
+	private byte[] digest;
+
+	public MerkleNftMetadataDigest() {
+		/* RuntimeConstructable */
+	}
+
+	public MerkleNftMetadataDigest(byte[] digest) {
+		this.digest = digest;
+	}
+
+	/* --- Object --- */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || MerkleNftMetadataDigest.class != o.getClass()) {
+			return false;
+		}
+
+		var that = (MerkleNftMetadataDigest) o;
+		return Arrays.equals(this.digest, that.digest);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(digest);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(MerkleNftMetadataDigest.class)
+				.add("digest", hex(digest))
+				.toString();
+	}
+
+	/* --- MerkleLeaf --- */
+	@Override
+	public long getClassId() {
+		return RUNTIME_CONSTRUCTABLE_ID;
+	}
+
+	@Override
+	public int getVersion() {
+		return MERKLE_VERSION;
+	}
+
+	@Override
+	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
+		digest = in.readByteArray(DIGEST_BYTES);
+	}
+
+	@Override
+	public void serialize(SerializableDataOutputStream out) throws IOException {
+		out.writeByteArray(digest);
+	}
+
+	/* --- FastCopyable --- */
+	@Override
+	public MerkleNftMetadataDigest copy() {
+		return new MerkleNftMetadataDigest(digest);
+	}
+
+	/* --- Bean --- */
+	public byte[] getDigest() {
+		return digest;
+	}
+}
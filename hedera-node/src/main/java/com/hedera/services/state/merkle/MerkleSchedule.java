@@ -50,6 +50,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.protobuf.ByteString.copyFrom;
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
 import static com.hedera.services.utils.MiscUtils.asTimestamp;
 import static com.hedera.services.utils.MiscUtils.describe;
 import static java.util.stream.Collectors.toList;
@@ -99,12 +100,11 @@ public class MerkleSchedule extends AbstractMerkleLeaf {
 
 	/* Notary functions */
 	public boolean witnessValidEd25519Signature(byte[] key) {
-		var usableKey = copyFrom(key);
-		if (notary.contains(usableKey)) {
+		if (notary.contains(unsafeWrap(key))) {
 			return false;
 		} else {
 			signatories.add(key);
-			notary.add(usableKey);
+			notary.add(copyFrom(key));
 			return true;
 		}
 	}
@@ -136,7 +136,7 @@ public class MerkleSchedule extends AbstractMerkleLeaf {
 	}
 
 	public boolean hasValidEd25519Signature(byte[] key) {
-		return notary.contains(copyFrom(key));
+		return notary.contains(unsafeWrap(key));
 	}
 
 	/* Object */
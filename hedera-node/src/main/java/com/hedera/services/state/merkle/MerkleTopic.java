@@ -24,6 +24,7 @@ import com.google.common.base.MoreObjects;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.core.jproto.JKeyList;
 import com.hedera.services.legacy.proto.utils.CommonUtils;
+import com.hedera.services.state.merkle.internals.TopicRunningHashCalculator;
 import com.hedera.services.state.serdes.DomainSerdes;
 import com.hedera.services.state.serdes.TopicSerde;
 import com.hedera.services.state.submerkle.EntityId;
@@ -192,6 +193,10 @@ public final class MerkleTopic extends AbstractMerkleLeaf {
 		return new MerkleTopic(this);
 	}
 
+	private static byte[] canonicalBytes(JKey key) throws IOException {
+		return DomainSerdes.keyInterner().canonicalBytes(key);
+	}
+
 	@Override
 	public boolean equals(@Nullable Object o) {
 		if (this == o) {
@@ -203,8 +208,8 @@ public final class MerkleTopic extends AbstractMerkleLeaf {
 		MerkleTopic that = (MerkleTopic) o;
 		try {
 			return Objects.equals(this.memo, that.memo)
-					&& Arrays.equals(getAdminKey().serialize(), that.getAdminKey().serialize())
-					&& Arrays.equals(getSubmitKey().serialize(), that.getSubmitKey().serialize())
+					&& Arrays.equals(canonicalBytes(getAdminKey()), canonicalBytes(that.getAdminKey()))
+					&& Arrays.equals(canonicalBytes(getSubmitKey()), canonicalBytes(that.getSubmitKey()))
 					&& Objects.equals(this.autoRenewDurationSeconds, that.autoRenewDurationSeconds)
 					&& Objects.equals(this.autoRenewAccountId, that.autoRenewAccountId)
 					&& Objects.equals(this.expirationTimestamp, that.expirationTimestamp)
@@ -262,6 +267,27 @@ public final class MerkleTopic extends AbstractMerkleLeaf {
 			consensusTimestamp = Instant.ofEpochSecond(0);
 		}
 
+		if (runningHash == null || runningHash.length == RUNNING_HASH_BYTE_ARRAY_SIZE) {
+			++sequenceNumber;
+			runningHash = TopicRunningHashCalculator.forCurrentThread().nextRunningHash(
+					runningHash,
+					payer.getShardNum(), payer.getRealmNum(), payer.getAccountNum(),
+					topicId.getShardNum(), topicId.getRealmNum(), topicId.getTopicNum(),
+					consensusTimestamp.getEpochSecond(), consensusTimestamp.getNano(),
+					sequenceNumber,
+					message);
+		} else {
+			/* Only reachable with a running hash of non-standard length, whose input has no fixed layout */
+			legacyUpdateRunningHashAndSequenceNumber(payer, message, topicId, consensusTimestamp);
+		}
+	}
+
+	void legacyUpdateRunningHashAndSequenceNumber(
+			AccountID payer,
+			byte[] message,
+			TopicID topicId,
+			Instant consensusTimestamp
+	) throws IOException {
 		var boas = new ByteArrayOutputStream();
 		try (var out = new ObjectOutputStream(boas)) {
 			out.writeObject(getRunningHash());
@@ -4,7 +4,7 @@ package com.hedera.services.state.merkle;
  * ‌
  * Hedera Services Node
  * ​
- * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
  * ​
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,19 +28,30 @@ import com.swirlds.common.io.SerializableDataOutputStream;
 import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Objects;
 
+import static com.hedera.services.state.merkle.MerkleNftMetadataDigest.DIGEST_BYTES;
+
 /**
  * Represents an uniqueToken entity. Part of the nft implementation.
+ *
+ * Since release 0.17, a unique token whose metadata is held by the NFT metadata pool
+ * serializes only the SHA-384 digest of its metadata; the metadata bytes themselves
+ * are then resolved from the pool after the state is loaded. (A version 1 leaf always
+ * has inline metadata.)
  */
 public class MerkleUniqueToken extends AbstractMerkleLeaf {
 	public static final int UPPER_BOUND_METADATA_BYTES = 1024;
-	static final int MERKLE_VERSION = 1;
+	static final int RELEASE_0160_VERSION = 1;
+	static final int RELEASE_0170_VERSION = 2;
+	static final int MERKLE_VERSION = RELEASE_0170_VERSION;
 	static final long RUNTIME_CONSTRUCTABLE_ID = 0x899641dafcc39164L;
 
 	private EntityId owner;
 	private RichInstant creationTime;
 	private byte[] metadata;
+	private byte[] metadataDigest;
 
 	/**
 	 * @param owner        The entity which owns the unique token.
@@ -57,6 +68,22 @@ public class MerkleUniqueToken extends AbstractMerkleLeaf {
 		this.creationTime = creationTime;
 	}
 
+	/**
+	 * @param owner          The entity which owns the unique token.
+	 * @param metadata       Metadata about the token, as held by the NFT metadata pool.
+	 * @param metadataDigest The SHA-384 digest of the metadata, its key in the pool.
+	 * @param creationTime   The consensus time at which the token was created.
+	 */
+	public MerkleUniqueToken(
+			EntityId owner,
+			byte[] metadata,
+			byte[] metadataDigest,
+			RichInstant creationTime
+	) {
+		this(owner, metadata, creationTime);
+		this.metadataDigest = metadataDigest;
+	}
+
 	public MerkleUniqueToken() {
 		/* No-op. */
 	}
@@ -73,25 +100,27 @@ public class MerkleUniqueToken extends AbstractMerkleLeaf {
 
 		var that = (MerkleUniqueToken) o;
 		return this.owner.equals(that.owner) &&
-				Objects.deepEquals(this.metadata, that.metadata) &&
+				Objects.deepEquals(this.metadataDigest, that.metadataDigest) &&
+				(metadataDigest != null || Objects.deepEquals(this.metadata, that.metadata)) &&
 				Objects.equals(creationTime, that.creationTime);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(
-				owner,
-				creationTime,
-				metadata);
+		return 31 * Objects.hash(owner, creationTime)
+				+ Arrays.hashCode(metadataDigest != null ? metadataDigest : metadata);
 	}
 
 	@Override
 	public String toString() {
-		return MoreObjects.toStringHelper(MerkleUniqueToken.class)
+		final var helper = MoreObjects.toStringHelper(MerkleUniqueToken.class)
 				.add("owner", owner)
 				.add("creationTime", creationTime)
-				.add("metadata", metadata)
-				.toString();
+				.add("metadata", metadata);
+		if (metadataDigest != null) {
+			helper.add("metadataDigest", metadataDigest);
+		}
+		return helper.toString();
 	}
 
 	/* --- MerkleLeaf --- */
@@ -107,23 +136,35 @@ public class MerkleUniqueToken extends AbstractMerkleLeaf {
 	}
 
 	@Override
-	public void deserialize(SerializableDataInputStream in, int i) throws IOException {
+	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
 		owner = in.readSerializable();
 		creationTime = RichInstant.from(in);
-		metadata = in.readByteArray(UPPER_BOUND_METADATA_BYTES);
+		if (version >= RELEASE_0170_VERSION && in.readBoolean()) {
+			metadataDigest = in.readByteArray(DIGEST_BYTES);
+			metadata = null;
+		} else {
+			metadataDigest = null;
+			metadata = in.readByteArray(UPPER_BOUND_METADATA_BYTES);
+		}
 	}
 
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
 		out.writeSerializable(owner, true);
 		creationTime.serialize(out);
-		out.writeByteArray(metadata);
+		if (metadataDigest != null) {
+			out.writeBoolean(true);
+			out.writeByteArray(metadataDigest);
+		} else {
+			out.writeBoolean(false);
+			out.writeByteArray(metadata);
+		}
 	}
 
 	/* --- FastCopyable --- */
 	@Override
 	public MerkleUniqueToken copy() {
-		return new MerkleUniqueToken(owner, metadata, creationTime);
+		return new MerkleUniqueToken(owner, metadata, metadataDigest, creationTime);
 	}
 
 	public void setOwner(EntityId owner) {
@@ -134,6 +175,12 @@ public class MerkleUniqueToken extends AbstractMerkleLeaf {
 		return owner;
 	}
 
+	/**
+	 * Returns the metadata of this unique token; if the metadata is held by the NFT metadata
+	 * pool, this is {@code null} until it has been resolved from the pool.
+	 *
+	 * @return the metadata bytes
+	 */
 	public byte[] getMetadata() {
 		return metadata;
 	}
@@ -142,4 +189,29 @@ public class MerkleUniqueToken extends AbstractMerkleLeaf {
 		return creationTime;
 	}
 
-}
\ No newline at end of file
+	public boolean isMetadataPooled() {
+		return metadataDigest != null;
+	}
+
+	public boolean isMetadataResolved() {
+		return metadata != null;
+	}
+
+	public byte[] getMetadataDigest() {
+		return metadataDigest;
+	}
+
+	/**
+	 * Refers this unique token to the given metadata in the NFT metadata pool. Since a pooled
+	 * token serializes the digest instead of the metadata, this changes the hash of an inline
+	 * token, and must only be used on a mutable leaf; for a token that already refers to the
+	 * same digest, it just resolves the (transient) metadata bytes.
+	 *
+	 * @param metadata       the metadata held by the pool
+	 * @param metadataDigest the key of the metadata in the pool
+	 */
+	public void setPooledMetadata(byte[] metadata, byte[] metadataDigest) {
+		this.metadata = metadata;
+		this.metadataDigest = metadataDigest;
+	}
+}
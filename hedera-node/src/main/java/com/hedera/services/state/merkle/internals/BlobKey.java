@@ -0,0 +1,172 @@
+package com.hedera.services.state.merkle.internals;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A typed key for a blob in the {@link com.hedera.services.state.merkle.MerkleBlobMeta}-keyed
+ * storage map; that is, the type of the blob together with the realm and number of the
+ * entity it belongs to.
+ *
+ * Before the typed form existed, each of these keys was a path built with a template
+ * like {@code "/%d/f%d"} (realm, then entity number), where the letter after the second
+ * slash identified the type of blob. {@link BlobKey#fromLegacyPath(String)} and
+ * {@link BlobKey#legacyPath()} convert between the two forms.
+ */
+public final class BlobKey {
+	/* Any decimal with at most this many digits fits in a long */
+	private static final int MAX_DIGITS = 18;
+
+	public enum BlobType {
+		FILE_DATA('f'),
+		FILE_METADATA('k'),
+		CONTRACT_BYTECODE('s'),
+		CONTRACT_STORAGE('d'),
+		SYSTEM_DELETED_ENTITY_EXPIRY('e');
+
+		private final char legacyCode;
+
+		BlobType(char legacyCode) {
+			this.legacyCode = legacyCode;
+		}
+
+		public char legacyCode() {
+			return legacyCode;
+		}
+
+		public static BlobType fromLegacyCode(char code) {
+			switch (code) {
+				case 'f':
+					return FILE_DATA;
+				case 'k':
+					return FILE_METADATA;
+				case 's':
+					return CONTRACT_BYTECODE;
+				case 'd':
+					return CONTRACT_STORAGE;
+				case 'e':
+					return SYSTEM_DELETED_ENTITY_EXPIRY;
+				default:
+					return null;
+			}
+		}
+	}
+
+	private final BlobType type;
+	private final long realm;
+	private final long entityNum;
+
+	public BlobKey(BlobType type, long realm, long entityNum) {
+		this.type = type;
+		this.realm = realm;
+		this.entityNum = entityNum;
+	}
+
+	/**
+	 * Parses a legacy path of the form {@code "/<realm>/<code><num>"}, where both numbers
+	 * are non-negative decimals without leading zeros, into a typed key. (Only such paths
+	 * round-trip through {@link BlobKey#legacyPath()}.)
+	 *
+	 * @param path the legacy path
+	 * @return the equivalent typed key, or null if the path is not of the legacy form
+	 */
+	public static BlobKey fromLegacyPath(String path) {
+		final int n = path.length();
+		if (n < 4 || path.charAt(0) != '/') {
+			return null;
+		}
+		int i = 1;
+		long realm = 0;
+		for (; i < n && isDigit(path.charAt(i)); i++) {
+			realm = realm * 10 + (path.charAt(i) - '0');
+		}
+		if (!isCanonicalNum(path, 1, i) || i + 2 >= n || path.charAt(i) != '/') {
+			return null;
+		}
+		final var type = BlobType.fromLegacyCode(path.charAt(i + 1));
+		if (type == null) {
+			return null;
+		}
+		final int numStart = i + 2;
+		long num = 0;
+		for (i = numStart; i < n && isDigit(path.charAt(i)); i++) {
+			num = num * 10 + (path.charAt(i) - '0');
+		}
+		if (i != n || !isCanonicalNum(path, numStart, i)) {
+			return null;
+		}
+		return new BlobKey(type, realm, num);
+	}
+
+	public String legacyPath() {
+		return "/" + realm + "/" + type.legacyCode() + entityNum;
+	}
+
+	public BlobType getType() {
+		return type;
+	}
+
+	public long getRealm() {
+		return realm;
+	}
+
+	public long getEntityNum() {
+		return entityNum;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || BlobKey.class != o.getClass()) {
+			return false;
+		}
+		final var that = (BlobKey) o;
+		return this.type == that.type && this.realm == that.realm && this.entityNum == that.entityNum;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = type.ordinal();
+		result = 31 * result + Long.hashCode(realm);
+		return 31 * result + Long.hashCode(entityNum);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("type", type)
+				.add("realm", realm)
+				.add("entityNum", entityNum)
+				.toString();
+	}
+
+	private static boolean isCanonicalNum(String path, int start, int end) {
+		final int len = end - start;
+		return len > 0 && len <= MAX_DIGITS && (len == 1 || path.charAt(start) != '0');
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
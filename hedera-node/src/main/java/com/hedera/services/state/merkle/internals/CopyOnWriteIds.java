@@ -26,12 +26,8 @@ import com.hederahashgraph.api.proto.java.TokenID;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Predicate;
-
-import static java.util.Comparator.comparingLong;
 
 /**
  * Manages a multiset of {@code (num, realm, shard)} ids with
@@ -49,10 +45,10 @@ public class CopyOnWriteIds {
 	private static final int SHARD_OFFSET = 2;
 	private static final int NUM_ID_PARTS = 3;
 
+	private static final int MAX_INSERTION_SORT_BATCH = 16;
+	private static final int MAX_BINARY_INSERTION_BATCH = 8;
+
 	private static final long[] NO_IDS = new long[0];
-	private static final Comparator<long[]> ID_CMP = comparingLong((long[] l) -> l[NUM_OFFSET])
-			.thenComparingLong(l -> l[REALM_OFFSET])
-			.thenComparingLong(l -> l[SHARD_OFFSET]);
 
 	private long[] ids = NO_IDS;
 
@@ -133,7 +129,12 @@ public class CopyOnWriteIds {
 	 */
 	@Deprecated
 	public void addAll(Set<TokenID> grpcIds) {
-		add(asNativeIds(grpcIds));
+		final var nativeIds = new long[grpcIds.size() * NUM_ID_PARTS];
+		var i = 0;
+		for (var grpcId : grpcIds) {
+			set(nativeIds, i++, grpcId.getTokenNum(), grpcId.getRealmNum(), grpcId.getShardNum());
+		}
+		addNative(nativeIds);
 	}
 
 	/**
@@ -143,7 +144,7 @@ public class CopyOnWriteIds {
 	 * 		the ids to add
 	 */
 	public void addAllIds(Set<Id> modelIds) {
-		add(asNative(modelIds));
+		addNative(asNative(modelIds));
 	}
 
 	/**
@@ -154,7 +155,7 @@ public class CopyOnWriteIds {
 	 * 		the ids to remove
 	 */
 	public void removeAllIds(Set<Id> modelIds) {
-		remove(nativeId -> modelIds.contains(asModel(nativeId)));
+		removeNative(asNative(modelIds));
 	}
 
 	/**
@@ -173,50 +174,207 @@ public class CopyOnWriteIds {
 	public List<TokenID> getAsIds() {
 		final List<TokenID> modelIds = new ArrayList<>();
 		for (int i = 0, n = size(); i < n; i++) {
-			modelIds.add(asGrpcTokenId(nativeIdAt(i)));
+			modelIds.add(asGrpcTokenId(ids, i));
 		}
 		return modelIds;
 	}
 
 	/* --- Helpers --- */
-	void remove(Predicate<long[]> removalFilter) {
-		int n = size(), newN = 0;
-		for (int i = 0; i < n; i++) {
-			if (!removalFilter.test(nativeIdAt(i))) {
-				newN++;
+	void add(List<long[]> nativeIds) {
+		final var packedIds = new long[nativeIds.size() * NUM_ID_PARTS];
+		for (int i = 0, n = nativeIds.size(); i < n; i++) {
+			final var nativeId = nativeIds.get(i);
+			set(packedIds, i, nativeId[NUM_OFFSET], nativeId[REALM_OFFSET], nativeId[SHARD_OFFSET]);
+		}
+		addNative(packedIds);
+	}
+
+	/**
+	 * Merges the given packed {@code (num, realm, shard)} ids, in any order, into the
+	 * managed multiset. A small batch is merged by binary-searching the insertion point
+	 * of each new id and block-copying the runs of existing ids between them; a large
+	 * batch is merged in a single linear pass. Either way exactly one new array is allocated.
+	 *
+	 * @param newIds the packed ids to add; may be re-ordered by this call
+	 */
+	void addNative(long[] newIds) {
+		final int k = newIds.length / NUM_ID_PARTS;
+		if (k == 0) {
+			return;
+		}
+		sort(newIds, k);
+		final int n = size();
+		final var merged = new long[(n + k) * NUM_ID_PARTS];
+		if (k <= MAX_BINARY_INSERTION_BATCH) {
+			int from = 0;
+			for (int j = 0; j < k; j++) {
+				final int at = upperBound(ids, from, n, newIds, j);
+				System.arraycopy(
+						ids, from * NUM_ID_PARTS,
+						merged, (from + j) * NUM_ID_PARTS,
+						(at - from) * NUM_ID_PARTS);
+				System.arraycopy(newIds, j * NUM_ID_PARTS, merged, (at + j) * NUM_ID_PARTS, NUM_ID_PARTS);
+				from = at;
+			}
+			System.arraycopy(
+					ids, from * NUM_ID_PARTS,
+					merged, (from + k) * NUM_ID_PARTS,
+					(n - from) * NUM_ID_PARTS);
+		} else {
+			int i = 0, j = 0, m = 0;
+			while (i < n && j < k) {
+				if (compare(newIds, j, ids, i) < 0) {
+					copyId(newIds, j++, merged, m++);
+				} else {
+					copyId(ids, i++, merged, m++);
+				}
 			}
+			System.arraycopy(ids, i * NUM_ID_PARTS, merged, m * NUM_ID_PARTS, (n - i) * NUM_ID_PARTS);
+			System.arraycopy(
+					newIds, j * NUM_ID_PARTS,
+					merged, (m + n - i) * NUM_ID_PARTS,
+					(k - j) * NUM_ID_PARTS);
 		}
-		if (newN != n) {
-			long[] newIds = new long[newN * NUM_ID_PARTS];
-			for (int i = 0, j = 0; i < n; i++) {
-				final var nativeId = nativeIdAt(i);
-				if (!removalFilter.test(nativeId)) {
-					set(newIds, j++, nativeId);
+		ids = merged;
+	}
+
+	/**
+	 * Removes every appearance of the given packed {@code (num, realm, shard)} ids, in any
+	 * order. Since the managed ids are sorted, the appearances of each removed id form a
+	 * contiguous range that is found by binary search; the surviving runs between these
+	 * ranges are then block-copied into a new array. Allocates only if some id is removed.
+	 *
+	 * @param doomedIds the packed ids to remove; may be re-ordered by this call
+	 */
+	void removeNative(long[] doomedIds) {
+		final int k = doomedIds.length / NUM_ID_PARTS;
+		final int n = size();
+		if (k == 0 || n == 0) {
+			return;
+		}
+		sort(doomedIds, k);
+		final var rangeBounds = new int[2 * k];
+		int numRanges = 0, numRemoved = 0, from = 0;
+		for (int j = 0; j < k && from < n; j++) {
+			final int lo = lowerBound(ids, from, n, doomedIds, j);
+			final int hi = upperBound(ids, lo, n, doomedIds, j);
+			if (hi > lo) {
+				rangeBounds[2 * numRanges] = lo;
+				rangeBounds[2 * numRanges + 1] = hi;
+				numRanges++;
+				numRemoved += hi - lo;
+			}
+			from = hi;
+		}
+		if (numRemoved == 0) {
+			return;
+		}
+		final var survivors = new long[(n - numRemoved) * NUM_ID_PARTS];
+		int next = 0, m = 0;
+		for (int r = 0; r < numRanges; r++) {
+			final int lo = rangeBounds[2 * r];
+			System.arraycopy(ids, next * NUM_ID_PARTS, survivors, m * NUM_ID_PARTS, (lo - next) * NUM_ID_PARTS);
+			m += lo - next;
+			next = rangeBounds[2 * r + 1];
+		}
+		System.arraycopy(ids, next * NUM_ID_PARTS, survivors, m * NUM_ID_PARTS, (n - next) * NUM_ID_PARTS);
+		ids = survivors;
+	}
+
+	/* Sorts the first k packed ids; insertion sort for typical batches, else a bottom-up merge sort. */
+	static void sort(long[] packedIds, int k) {
+		if (k <= MAX_INSERTION_SORT_BATCH) {
+			for (int i = 1; i < k; i++) {
+				final long num = packedIds[i * NUM_ID_PARTS + NUM_OFFSET];
+				final long realm = packedIds[i * NUM_ID_PARTS + REALM_OFFSET];
+				final long shard = packedIds[i * NUM_ID_PARTS + SHARD_OFFSET];
+				int j = i - 1;
+				while (j >= 0 && compare(packedIds, j, num, realm, shard) > 0) {
+					copyId(packedIds, j, packedIds, j + 1);
+					j--;
 				}
+				set(packedIds, j + 1, num, realm, shard);
+			}
+			return;
+		}
+		var src = packedIds;
+		var dest = new long[packedIds.length];
+		for (int width = 1; width < k; width <<= 1) {
+			for (int lo = 0; lo < k; lo += 2 * width) {
+				final int mid = Math.min(lo + width, k), hi = Math.min(lo + 2 * width, k);
+				int i = lo, j = mid, m = lo;
+				while (i < mid && j < hi) {
+					copyId(src, (compare(src, j, src, i) < 0) ? j++ : i++, dest, m++);
+				}
+				System.arraycopy(src, i * NUM_ID_PARTS, dest, m * NUM_ID_PARTS, (mid - i) * NUM_ID_PARTS);
+				m += mid - i;
+				System.arraycopy(src, j * NUM_ID_PARTS, dest, m * NUM_ID_PARTS, (hi - j) * NUM_ID_PARTS);
+			}
+			final var tmp = src;
+			src = dest;
+			dest = tmp;
+		}
+		if (src != packedIds) {
+			System.arraycopy(src, 0, packedIds, 0, k * NUM_ID_PARTS);
+		}
+	}
+
+	/* Returns the first logical index in [from, to) of someIds whose id is not less than otherIds[j]. */
+	private static int lowerBound(long[] someIds, int from, int to, long[] otherIds, int j) {
+		int lo = from, hi = to;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (compare(someIds, mid, otherIds, j) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
 			}
-			ids = newIds;
 		}
+		return lo;
 	}
 
-	void add(List<long[]> nativeIds) {
-		final var allIds = mutableListOfIds();
-		allIds.addAll(nativeIds);
-		allIds.sort(ID_CMP);
-		int newN = allIds.size();
-		long[] newIds = new long[newN * NUM_ID_PARTS];
-		for (int i = 0; i < newN; i++) {
-			set(newIds, i, allIds.get(i));
+	/* Returns the first logical index in [from, to) of someIds whose id is greater than otherIds[j]. */
+	private static int upperBound(long[] someIds, int from, int to, long[] otherIds, int j) {
+		int lo = from, hi = to;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (compare(someIds, mid, otherIds, j) <= 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
 		}
-		ids = newIds;
+		return lo;
 	}
 
-	private List<long[]> mutableListOfIds() {
-		final var n = size();
-		final var mutableList = new ArrayList<long[]>(n);
-		for (int i = 0; i < n; i++) {
-			mutableList.add(nativeIdAt(i));
+	private static int compare(long[] a, int i, long[] b, int j) {
+		final int base = j * NUM_ID_PARTS;
+		return compare(a, i, b[base + NUM_OFFSET], b[base + REALM_OFFSET], b[base + SHARD_OFFSET]);
+	}
+
+	private static int compare(long[] a, int i, long num, long realm, long shard) {
+		final int base = i * NUM_ID_PARTS;
+		int comparison = Long.compare(a[base + NUM_OFFSET], num);
+		if (comparison == 0) {
+			comparison = Long.compare(a[base + REALM_OFFSET], realm);
+			if (comparison == 0) {
+				comparison = Long.compare(a[base + SHARD_OFFSET], shard);
+			}
 		}
-		return mutableList;
+		return comparison;
+	}
+
+	private static void copyId(long[] from, int i, long[] to, int j) {
+		final int src = i * NUM_ID_PARTS, dest = j * NUM_ID_PARTS;
+		to[dest + NUM_OFFSET] = from[src + NUM_OFFSET];
+		to[dest + REALM_OFFSET] = from[src + REALM_OFFSET];
+		to[dest + SHARD_OFFSET] = from[src + SHARD_OFFSET];
+	}
+
+	private static void set(long[] someIds, int i, long num, long realm, long shard) {
+		someIds[i * NUM_ID_PARTS + NUM_OFFSET] = num;
+		someIds[i * NUM_ID_PARTS + REALM_OFFSET] = realm;
+		someIds[i * NUM_ID_PARTS + SHARD_OFFSET] = shard;
 	}
 
 	private int num(int i) {
@@ -261,16 +419,6 @@ public class CopyOnWriteIds {
 		}
 	}
 
-	private void set(long[] someIds, int i, long[] nativeId) {
-		someIds[num(i)] = nativeId[NUM_OFFSET];
-		someIds[realm(i)] = nativeId[REALM_OFFSET];
-		someIds[shard(i)] = nativeId[SHARD_OFFSET];
-	}
-
-	private long[] nativeIdAt(int i) {
-		return new long[] { ids[num(i)], ids[realm(i)], ids[shard(i)] };
-	}
-
 	private long[] asNativeId(TokenID grpcId) {
 		return new long[] { grpcId.getTokenNum(), grpcId.getRealmNum(), grpcId.getShardNum() };
 	}
@@ -279,27 +427,20 @@ public class CopyOnWriteIds {
 		return new long[] { id.getNum(), id.getRealm(), id.getShard() };
 	}
 
-	private List<long[]> asNativeIds(Set<TokenID> grpcIds) {
-		final var nativeIds = new ArrayList<long[]>();
-		grpcIds.forEach(grpcId -> nativeIds.add(asNativeId(grpcId)));
-		return nativeIds;
-	}
-
-	private List<long[]> asNative(Set<Id> modelIds) {
-		final var nativeIds = new ArrayList<long[]>();
-		modelIds.forEach(grpcId -> nativeIds.add(asNativeId(grpcId)));
+	private long[] asNative(Set<Id> modelIds) {
+		final var nativeIds = new long[modelIds.size() * NUM_ID_PARTS];
+		var i = 0;
+		for (var modelId : modelIds) {
+			set(nativeIds, i++, modelId.getNum(), modelId.getRealm(), modelId.getShard());
+		}
 		return nativeIds;
 	}
 
-	private Id asModel(long[] nativeId) {
-		return new Id(nativeId[SHARD_OFFSET], nativeId[REALM_OFFSET], nativeId[NUM_OFFSET]);
-	}
-
-	private TokenID asGrpcTokenId(long[] nativeId) {
+	private TokenID asGrpcTokenId(long[] someIds, int i) {
 		return TokenID.newBuilder()
-				.setShardNum(nativeId[SHARD_OFFSET])
-				.setRealmNum(nativeId[REALM_OFFSET])
-				.setTokenNum(nativeId[NUM_OFFSET])
+				.setShardNum(someIds[shard(i)])
+				.setRealmNum(someIds[realm(i)])
+				.setTokenNum(someIds[num(i)])
 				.build();
 	}
 }
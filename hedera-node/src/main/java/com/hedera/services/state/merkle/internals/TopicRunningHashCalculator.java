@@ -0,0 +1,164 @@
+package com.hedera.services.state.merkle.internals;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import static com.hedera.services.state.merkle.MerkleTopic.RUNNING_HASH_BYTE_ARRAY_SIZE;
+import static com.hedera.services.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+
+/**
+ * Computes a topic's version 3 running hash without the intermediate streams and
+ * digests used by {@link java.io.ObjectOutputStream}-based assembly of the hash input.
+ *
+ * The running hash input has always been the Java serialization stream produced by
+ * writing the previous running hash as a {@code byte[]}, then ten primitives, then
+ * the SHA-384 hash of the message as a second {@code byte[]}. When both arrays are
+ * exactly 48 bytes long, this stream has a fixed 211-byte layout,
+ * <pre>
+ *     | stream header + [B class descriptor + length (27) | previous running hash (48) |
+ *     | TC_BLOCKDATA + block length (2) | 9 longs + 1 int (76) |
+ *     | TC_ARRAY + TC_REFERENCE to [B + length (10) | message hash (48) |
+ * </pre>
+ * so each instance pre-fills the constant segments once and overwrites only the
+ * variable ones. The message hash is digested directly into the input buffer.
+ *
+ * Instances are <b>not</b> thread-safe; use {@link TopicRunningHashCalculator#forCurrentThread()}
+ * to get the calculator confined to the calling thread.
+ */
+public final class TopicRunningHashCalculator {
+	private static final byte[] PREFIX = {
+			/* STREAM_MAGIC, STREAM_VERSION */
+			(byte) 0xac, (byte) 0xed, 0x00, 0x05,
+			/* TC_ARRAY, TC_CLASSDESC, "[B" */
+			0x75, 0x72, 0x00, 0x02, 0x5b, 0x42,
+			/* serialVersionUID of byte[] */
+			(byte) 0xac, (byte) 0xf3, 0x17, (byte) 0xf8, 0x06, 0x08, 0x54, (byte) 0xe0,
+			/* SC_SERIALIZABLE, no fields, TC_ENDBLOCKDATA, no superclass (TC_NULL) */
+			0x02, 0x00, 0x00, 0x78, 0x70,
+			/* array length */
+			0x00, 0x00, 0x00, 0x30
+	};
+	private static final byte[] BLOCK_DATA_HEADER = {
+			/* TC_BLOCKDATA, length of the primitives block */
+			0x77, 0x4c
+	};
+	private static final byte[] MESSAGE_HASH_HEADER = {
+			/* TC_ARRAY, TC_REFERENCE to the first class descriptor handle, array length */
+			0x75, 0x71, 0x00, 0x7e, 0x00, 0x00, 0x00, 0x00, 0x00, 0x30
+	};
+
+	static final int PREV_HASH_OFFSET = PREFIX.length;
+	static final int PRIMITIVES_OFFSET = PREV_HASH_OFFSET + RUNNING_HASH_BYTE_ARRAY_SIZE + BLOCK_DATA_HEADER.length;
+	static final int PRIMITIVES_LEN = 9 * Long.BYTES + Integer.BYTES;
+	static final int MESSAGE_HASH_OFFSET = PRIMITIVES_OFFSET + PRIMITIVES_LEN + MESSAGE_HASH_HEADER.length;
+	static final int INPUT_LEN = MESSAGE_HASH_OFFSET + RUNNING_HASH_BYTE_ARRAY_SIZE;
+
+	private static final ThreadLocal<TopicRunningHashCalculator> CALCULATORS =
+			ThreadLocal.withInitial(TopicRunningHashCalculator::new);
+
+	private final byte[] input = new byte[INPUT_LEN];
+	private final ByteBuffer primitives = ByteBuffer.wrap(input);
+	private final MessageDigest digest;
+
+	TopicRunningHashCalculator() {
+		try {
+			digest = MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+		System.arraycopy(PREFIX, 0, input, 0, PREFIX.length);
+		System.arraycopy(
+				BLOCK_DATA_HEADER, 0,
+				input, PREV_HASH_OFFSET + RUNNING_HASH_BYTE_ARRAY_SIZE,
+				BLOCK_DATA_HEADER.length);
+		System.arraycopy(
+				MESSAGE_HASH_HEADER, 0,
+				input, PRIMITIVES_OFFSET + PRIMITIVES_LEN,
+				MESSAGE_HASH_HEADER.length);
+	}
+
+	public static TopicRunningHashCalculator forCurrentThread() {
+		return CALCULATORS.get();
+	}
+
+	/**
+	 * Returns the next running hash of a topic, byte-for-byte identical to the hash
+	 * of the {@link java.io.ObjectOutputStream} encoding of the same fields used
+	 * with {@link com.hedera.services.state.merkle.MerkleTopic#RUNNING_HASH_VERSION} 3.
+	 *
+	 * @param prevRunningHash the topic's current running hash, or null for 48 zero bytes
+	 * @param payerShard the payer's shard
+	 * @param payerRealm the payer's realm
+	 * @param payerNum the payer's number
+	 * @param topicShard the topic's shard
+	 * @param topicRealm the topic's realm
+	 * @param topicNum the topic's number
+	 * @param consensusSecs the consensus timestamp seconds
+	 * @param consensusNanos the consensus timestamp nanos
+	 * @param nextSequenceNumber the sequence number of the message being added
+	 * @param message the message being added
+	 * @return the next running hash
+	 * @throws IllegalArgumentException if a non-null previous running hash is not 48 bytes
+	 */
+	public byte[] nextRunningHash(
+			byte[] prevRunningHash,
+			long payerShard, long payerRealm, long payerNum,
+			long topicShard, long topicRealm, long topicNum,
+			long consensusSecs, int consensusNanos,
+			long nextSequenceNumber,
+			byte[] message
+	) {
+		if (prevRunningHash == null) {
+			Arrays.fill(input, PREV_HASH_OFFSET, PREV_HASH_OFFSET + RUNNING_HASH_BYTE_ARRAY_SIZE, (byte) 0);
+		} else if (prevRunningHash.length == RUNNING_HASH_BYTE_ARRAY_SIZE) {
+			System.arraycopy(prevRunningHash, 0, input, PREV_HASH_OFFSET, RUNNING_HASH_BYTE_ARRAY_SIZE);
+		} else {
+			throw new IllegalArgumentException(
+					"Running hash must be " + RUNNING_HASH_BYTE_ARRAY_SIZE + " bytes, not " + prevRunningHash.length);
+		}
+
+		int i = PRIMITIVES_OFFSET;
+		primitives.putLong(i, RUNNING_HASH_VERSION);
+		primitives.putLong(i += Long.BYTES, payerShard);
+		primitives.putLong(i += Long.BYTES, payerRealm);
+		primitives.putLong(i += Long.BYTES, payerNum);
+		primitives.putLong(i += Long.BYTES, topicShard);
+		primitives.putLong(i += Long.BYTES, topicRealm);
+		primitives.putLong(i += Long.BYTES, topicNum);
+		primitives.putLong(i += Long.BYTES, consensusSecs);
+		primitives.putInt(i += Long.BYTES, consensusNanos);
+		primitives.putLong(i + Integer.BYTES, nextSequenceNumber);
+
+		try {
+			digest.update(message);
+			digest.digest(input, MESSAGE_HASH_OFFSET, RUNNING_HASH_BYTE_ARRAY_SIZE);
+		} catch (DigestException impossible) {
+			/* The input buffer always has room for a SHA-384 digest at this offset */
+			throw new IllegalStateException(impossible);
+		}
+		return digest.digest(input);
+	}
+}
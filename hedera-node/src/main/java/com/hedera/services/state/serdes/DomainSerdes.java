@@ -21,7 +21,7 @@ package com.hedera.services.state.serdes;
  */
 
 import com.hedera.services.legacy.core.jproto.JKey;
-import com.hedera.services.legacy.core.jproto.JKeySerializer;
+import com.hedera.services.legacy.core.jproto.JKeyInterner;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.RichInstant;
 import com.swirlds.common.io.SelfSerializable;
@@ -37,12 +37,19 @@ import java.io.IOException;
 public class DomainSerdes {
 	private static final Logger log = LogManager.getLogger(DomainSerdes.class);
 
+	/* Shared by every entity type, so that e.g. an account and a token with the same key share one instance */
+	private static final JKeyInterner KEY_INTERNER = new JKeyInterner();
+
+	public static JKeyInterner keyInterner() {
+		return KEY_INTERNER;
+	}
+
 	public JKey deserializeKey(DataInputStream in) throws IOException {
-		return JKeySerializer.deserialize(in);
+		return KEY_INTERNER.read(in);
 	}
 
 	public void serializeKey(JKey key, DataOutputStream out) throws IOException {
-		out.write(key.serialize());
+		out.write(KEY_INTERNER.canonicalBytes(key));
 	}
 
 	public void writeNullableInstant(RichInstant at, SerializableDataOutputStream out) throws IOException {
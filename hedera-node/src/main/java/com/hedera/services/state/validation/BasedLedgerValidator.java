@@ -31,16 +31,19 @@ public class BasedLedgerValidator implements LedgerValidator {
 	private final long expectedFloat;
 
 	private final HederaNumbers hederaNums;
+	private final HbarFloatTracker floatTracker;
 	private final GlobalDynamicProperties dynamicProperties;
 
 	public BasedLedgerValidator(
 			HederaNumbers hederaNums,
 			PropertySource properties,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			HbarFloatTracker floatTracker
 	) {
 		this.expectedFloat = properties.getLongProperty("ledger.totalTinyBarFloat");
 
 		this.hederaNums = hederaNums;
+		this.floatTracker = floatTracker;
 		this.dynamicProperties = dynamicProperties;
 	}
 
@@ -61,6 +64,9 @@ public class BasedLedgerValidator implements LedgerValidator {
 
 	@Override
 	public boolean hasExpectedTotalBalance(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		return expectedFloat == accounts.values().stream().mapToLong(MerkleAccount::getBalance).sum();
+		if (!floatTracker.isInitialized()) {
+			floatTracker.initFrom(accounts);
+		}
+		return expectedFloat == floatTracker.runningFloat();
 	}
 }
@@ -0,0 +1,114 @@
+package com.hedera.services.state.validation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.ledger.LedgerCommitObserver;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.swirlds.fcmap.FCMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+
+/**
+ * Maintains the total hbar float of the ledger incrementally from the balance changes in
+ * each commit of the accounts ledger, so the float can be checked in constant time instead
+ * of by summing the balances of every account.
+ *
+ * Since no transaction can legitimately change the float, a commit with a non-zero net
+ * balance change is logged as an error as soon as it happens.
+ */
+public class HbarFloatTracker implements LedgerCommitObserver<AccountID, AccountProperty, MerkleAccount> {
+	private static final Logger log = LogManager.getLogger(HbarFloatTracker.class);
+
+	private long pendingDelta = 0L;
+	private boolean isInitialized = false;
+	private volatile long runningFloat = 0L;
+
+	/**
+	 * Sets the running float to the sum of all balances in the given accounts; must be
+	 * called whenever the accounts are replaced or changed outside the ledger, as after
+	 * loading a saved state, creating system accounts, or reconnecting.
+	 *
+	 * @param accounts the accounts to sum
+	 * @return the current float
+	 */
+	public long initFrom(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		long sum = 0L;
+		for (var account : accounts.values()) {
+			sum += account.getBalance();
+		}
+		runningFloat = sum;
+		pendingDelta = 0L;
+		isInitialized = true;
+		return sum;
+	}
+
+	public boolean isInitialized() {
+		return isInitialized;
+	}
+
+	public long runningFloat() {
+		return runningFloat;
+	}
+
+	@Override
+	public void changing(AccountID id, MerkleAccount current, Map<AccountProperty, Object> changes) {
+		final var newBalance = changes.get(BALANCE);
+		if (newBalance != null) {
+			final var oldBalance = (current == null) ? 0L : current.getBalance();
+			final var delta = ((Number) newBalance).longValue() - oldBalance;
+			pendingDelta += delta;
+		}
+	}
+
+	@Override
+	public void removing(AccountID id, MerkleAccount current) {
+		pendingDelta -= current.getBalance();
+	}
+
+	@Override
+	public void committed() {
+		try {
+			if (pendingDelta != 0L) {
+				log.error("Committed balance changes altered the hbar float by {} tinybars!", pendingDelta);
+				runningFloat += pendingDelta;
+			}
+		} finally {
+			pendingDelta = 0L;
+		}
+	}
+
+	@Override
+	public void abandoned() {
+		pendingDelta = 0L;
+	}
+
+	long getPendingDelta() {
+		return pendingDelta;
+	}
+}
@@ -34,6 +34,17 @@ public class MiscRunningAvgs {
 	StatsRunningAverage writeQueueSizeRecordStream;
 	StatsRunningAverage hashQueueSizeRecordStream;
 
+	StatsRunningAverage bytecodeCacheHitRatio;
+	StatsRunningAverage bytecodeCacheBytes;
+
+	StatsRunningAverage pendingReceiptSubscriptions;
+
+	StatsRunningAverage topicStreamSubscribers;
+	StatsRunningAverage topicStreamSubscriberLag;
+
+	StatsRunningAverage payerFairShareTopTps;
+	StatsRunningAverage payerFairShareThrottledPayers;
+
 	public MiscRunningAvgs(RunningAvgFactory runningAvg, NodeLocalProperties properties) {
 		this.runningAvg = runningAvg;
 
@@ -45,6 +56,17 @@ public class MiscRunningAvgs {
 
 		writeQueueSizeRecordStream = new StatsRunningAverage(halfLife);
 		hashQueueSizeRecordStream = new StatsRunningAverage(halfLife);
+
+		bytecodeCacheHitRatio = new StatsRunningAverage(halfLife);
+		bytecodeCacheBytes = new StatsRunningAverage(halfLife);
+
+		pendingReceiptSubscriptions = new StatsRunningAverage(halfLife);
+
+		topicStreamSubscribers = new StatsRunningAverage(halfLife);
+		topicStreamSubscriberLag = new StatsRunningAverage(halfLife);
+
+		payerFairShareTopTps = new StatsRunningAverage(halfLife);
+		payerFairShareThrottledPayers = new StatsRunningAverage(halfLife);
 	}
 
 	public void registerWith(Platform platform) {
@@ -75,6 +97,41 @@ public class MiscRunningAvgs {
 						hashQueueSizeRecordStream
 				)
 		);
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_HIT_RATIO,
+						Descriptions.BYTECODE_CACHE_HIT_RATIO,
+						bytecodeCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_BYTES,
+						Descriptions.BYTECODE_CACHE_BYTES,
+						bytecodeCacheBytes));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PENDING_RECEIPT_SUBSCRIPTIONS,
+						Descriptions.PENDING_RECEIPT_SUBSCRIPTIONS,
+						pendingReceiptSubscriptions));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.TOPIC_STREAM_SUBSCRIBERS,
+						Descriptions.TOPIC_STREAM_SUBSCRIBERS,
+						topicStreamSubscribers));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.TOPIC_STREAM_SUBSCRIBER_LAG,
+						Descriptions.TOPIC_STREAM_SUBSCRIBER_LAG,
+						topicStreamSubscriberLag));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PAYER_FAIR_SHARE_TOP_TPS,
+						Descriptions.PAYER_FAIR_SHARE_TOP_TPS,
+						payerFairShareTopTps));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PAYER_FAIR_SHARE_THROTTLED_PAYERS,
+						Descriptions.PAYER_FAIR_SHARE_THROTTLED_PAYERS,
+						payerFairShareThrottledPayers));
 	}
 
 	public void recordAccountLookupRetries(int num) {
@@ -97,6 +154,34 @@ public class MiscRunningAvgs {
 		hashQueueSizeRecordStream.recordValue(num);
 	}
 
+	public void recordBytecodeCacheLookup(boolean hit) {
+		bytecodeCacheHitRatio.recordValue(hit ? 1.0 : 0.0);
+	}
+
+	public void recordBytecodeCacheBytes(long bytes) {
+		bytecodeCacheBytes.recordValue(bytes);
+	}
+
+	public void recordPendingReceiptSubscriptions(int num) {
+		pendingReceiptSubscriptions.recordValue(num);
+	}
+
+	public void recordTopicStreamSubscribers(int num) {
+		topicStreamSubscribers.recordValue(num);
+	}
+
+	public void recordTopicStreamSubscriberLag(long messages) {
+		topicStreamSubscriberLag.recordValue(messages);
+	}
+
+	public void recordPayerFairShareTopTps(double tps) {
+		payerFairShareTopTps.recordValue(tps);
+	}
+
+	public void recordPayerFairShareThrottledPayers(int num) {
+		payerFairShareThrottledPayers.recordValue(num);
+	}
+
 	static class Names {
 		public static final String ACCOUNT_RETRY_WAIT_MS = "avgAcctRetryWaitMs";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "avgAcctLookupRetryAttempts";
@@ -104,6 +189,17 @@ public class MiscRunningAvgs {
 
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM = "writeQueueSizeRecordStream";
 		public static final String HASH_QUEUE_SIZE_RECORD_STREAM = "hashQueueSizeRecordStream";
+
+		public static final String BYTECODE_CACHE_HIT_RATIO = "bytecodeCacheHitRatio";
+		public static final String BYTECODE_CACHE_BYTES = "bytecodeCacheBytes";
+
+		public static final String PENDING_RECEIPT_SUBSCRIPTIONS = "pendingReceiptSubscriptions";
+
+		public static final String TOPIC_STREAM_SUBSCRIBERS = "topicStreamSubscribers";
+		public static final String TOPIC_STREAM_SUBSCRIBER_LAG = "topicStreamSubscriberLag";
+
+		public static final String PAYER_FAIR_SHARE_TOP_TPS = "payerFairShareTopTps";
+		public static final String PAYER_FAIR_SHARE_THROTTLED_PAYERS = "payerFairShareThrottledPayers";
 	}
 
 	static class Descriptions {
@@ -117,5 +213,21 @@ public class MiscRunningAvgs {
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM =
 				"size of the queue from which we take records and write to RecordStream file";
 		public static final String HASH_QUEUE_SIZE_RECORD_STREAM = "size of working queue for calculating hash and runningHash";
+
+		public static final String BYTECODE_CACHE_HIT_RATIO =
+				"fraction of contract bytecode lookups served from the bytecode cache";
+		public static final String BYTECODE_CACHE_BYTES = "bytes of distinct contract bytecode in the bytecode cache";
+
+		public static final String PENDING_RECEIPT_SUBSCRIPTIONS =
+				"number of receipt stream subscriptions still waiting for a receipt";
+
+		public static final String TOPIC_STREAM_SUBSCRIBERS = "number of open topic stream subscriptions";
+		public static final String TOPIC_STREAM_SUBSCRIBER_LAG =
+				"number of buffered topic messages a subscriber had yet to receive after each push";
+
+		public static final String PAYER_FAIR_SHARE_TOP_TPS =
+				"estimated submissions per second of the busiest payer in each fair-share window";
+		public static final String PAYER_FAIR_SHARE_THROTTLED_PAYERS =
+				"number of top payers with submissions rejected for exceeding their fair share in each window";
 	}
 }
@@ -31,6 +31,11 @@ public class MiscSpeedometers {
 	StatsSpeedometer asyncVerifications;
 	StatsSpeedometer accountLookupRetries;
 	StatsSpeedometer platformTxnRejections;
+	StatsSpeedometer payerFairShareRejections;
+	StatsSpeedometer receiptsPushed;
+	StatsSpeedometer receiptSubscriptionRejections;
+	StatsSpeedometer topicMessagesPushed;
+	StatsSpeedometer topicSubscriptionsDropped;
 
 	public MiscSpeedometers(SpeedometerFactory speedometer, NodeLocalProperties properties) {
 		this.speedometer = speedometer;
@@ -39,6 +44,11 @@ public class MiscSpeedometers {
 		asyncVerifications = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		accountLookupRetries = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		platformTxnRejections = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		payerFairShareRejections = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		receiptsPushed = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		receiptSubscriptionRejections = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		topicMessagesPushed = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		topicSubscriptionsDropped = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 	}
 
 	public void registerWith(Platform platform) {
@@ -62,6 +72,31 @@ public class MiscSpeedometers {
 						Names.PLATFORM_TXN_REJECTIONS,
 						Descriptions.PLATFORM_TXN_REJECTIONS,
 						platformTxnRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.PAYER_FAIR_SHARE_REJECTIONS,
+						Descriptions.PAYER_FAIR_SHARE_REJECTIONS,
+						payerFairShareRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.RECEIPTS_PUSHED,
+						Descriptions.RECEIPTS_PUSHED,
+						receiptsPushed));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.RECEIPT_SUBSCRIPTION_REJECTIONS,
+						Descriptions.RECEIPT_SUBSCRIPTION_REJECTIONS,
+						receiptSubscriptionRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.TOPIC_MESSAGES_PUSHED,
+						Descriptions.TOPIC_MESSAGES_PUSHED,
+						topicMessagesPushed));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.TOPIC_SUBSCRIPTIONS_DROPPED,
+						Descriptions.TOPIC_SUBSCRIPTIONS_DROPPED,
+						topicSubscriptionsDropped));
 	}
 
 	public void cycleSyncVerifications() {
@@ -80,11 +115,36 @@ public class MiscSpeedometers {
 		platformTxnRejections.update(1);
 	}
 
+	public void cyclePayerFairShareRejections() {
+		payerFairShareRejections.update(1);
+	}
+
+	public void cycleReceiptsPushed() {
+		receiptsPushed.update(1);
+	}
+
+	public void cycleReceiptSubscriptionRejections() {
+		receiptSubscriptionRejections.update(1);
+	}
+
+	public void cycleTopicMessagesPushed() {
+		topicMessagesPushed.update(1);
+	}
+
+	public void cycleTopicSubscriptionsDropped() {
+		topicSubscriptionsDropped.update(1);
+	}
+
 	static class Names {
 		public static final String SYNC_VERIFICATIONS = "sigVerifySync/sec";
 		public static final String ASYNC_VERIFICATIONS = "sigVerifyAsync/sec";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "acctLookupRetries/sec";
 		public static final String PLATFORM_TXN_REJECTIONS = "platformTxnNotCreated/sec";
+		public static final String PAYER_FAIR_SHARE_REJECTIONS = "payerFairShareBusy/sec";
+		public static final String RECEIPTS_PUSHED = "receiptsPushed/sec";
+		public static final String RECEIPT_SUBSCRIPTION_REJECTIONS = "receiptSubsBusy/sec";
+		public static final String TOPIC_MESSAGES_PUSHED = "topicMsgsPushed/sec";
+		public static final String TOPIC_SUBSCRIPTIONS_DROPPED = "topicSubsDropped/sec";
 	}
 
 	static class Descriptions {
@@ -96,5 +156,15 @@ public class MiscSpeedometers {
 				"number of times per second that an account lookup must be retried";
 		public static final String PLATFORM_TXN_REJECTIONS =
 				"number of platform transactions not created per second";
+		public static final String PAYER_FAIR_SHARE_REJECTIONS =
+				"number of transactions rejected per second because their payer exceeded its fair share of ingest";
+		public static final String RECEIPTS_PUSHED =
+				"number of receipts per second pushed to clients subscribed to the receipt stream";
+		public static final String RECEIPT_SUBSCRIPTION_REJECTIONS =
+				"number of receipt stream subscriptions rejected per second because their call was at its limit";
+		public static final String TOPIC_MESSAGES_PUSHED =
+				"number of consensus topic messages per second pushed to clients subscribed to the topic stream";
+		public static final String TOPIC_SUBSCRIPTIONS_DROPPED =
+				"number of topic stream subscriptions ended per second because they fell behind the buffered messages";
 	}
 }
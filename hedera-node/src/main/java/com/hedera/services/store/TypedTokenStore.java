@@ -36,6 +36,7 @@ import com.hedera.services.store.models.OwnershipTracker;
 import com.hedera.services.store.models.Token;
 import com.hedera.services.store.models.TokenRelationship;
 import com.hedera.services.store.models.UniqueToken;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.TokenID;
 import com.swirlds.fchashmap.FCOneToManyRelation;
@@ -90,6 +91,7 @@ public class TypedTokenStore {
 	private final Supplier<FCMap<MerkleUniqueTokenId, MerkleUniqueToken>> uniqueTokens;
 	private final Supplier<FCOneToManyRelation<EntityId, MerkleUniqueTokenId>> uniqueTokenAssociations;
 	private final Supplier<FCOneToManyRelation<EntityId, MerkleUniqueTokenId>> uniqueOwnershipAssociations;
+	private final NftMetadataPool nftMetadataPool;
 
 	/* Only needed for interoperability with legacy HTS during refactor */
 	private final BackingTokenRels backingTokenRels;
@@ -102,6 +104,7 @@ public class TypedTokenStore {
 			Supplier<FCOneToManyRelation<EntityId, MerkleUniqueTokenId>> uniqueOwnershipAssociations,
 			Supplier<FCOneToManyRelation<EntityId, MerkleUniqueTokenId>> uniqueTokenAssociations,
 			Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> tokenRels,
+			NftMetadataPool nftMetadataPool,
 			BackingTokenRels backingTokenRels
 	) {
 		this.tokens = tokens;
@@ -109,6 +112,7 @@ public class TypedTokenStore {
 		this.uniqueOwnershipAssociations = uniqueOwnershipAssociations;
 		this.tokenRels = tokenRels;
 		this.uniqueTokens = uniqueTokens;
+		this.nftMetadataPool = nftMetadataPool;
 		this.accountStore = accountStore;
 		this.transactionRecordService = transactionRecordService;
 
@@ -312,36 +316,67 @@ public class TypedTokenStore {
 	public void persistToken(Token token) {
 		final var key = token.getId().asMerkle();
 		final var mutableToken = tokens.get().getForModify(key);
-		final var treasury = mutableToken.treasury().copy();
 		mapModelChangesToMutable(token, mutableToken);
 
+		if (token.hasMintedUniqueTokens()) {
+			persistNfts(token.mintedUniqueTokens());
+		}
+		if (token.hasRemovedUniqueTokens()) {
+			removeNfts(token.removedUniqueTokens());
+		}
+		transactionRecordService.includeChangesToToken(token);
+	}
+
+	/**
+	 * Persists the given newly minted unique tokens to the Swirlds state, along with their
+	 * token and ownership associations. Each distinct token and owner id in the batch is
+	 * converted to an {@link EntityId} only once, and the converted ids are shared by all
+	 * the unique tokens (and relation entries) that refer to them.
+	 *
+	 * @param nfts
+	 * 		the minted unique tokens to save
+	 */
+	public void persistNfts(List<UniqueToken> nfts) {
 		final var currentUniqueTokens = uniqueTokens.get();
 		final var currentUniqueTokenAssociations = uniqueTokenAssociations.get();
 		final var currentUniqueOwnershipAssociations = uniqueOwnershipAssociations.get();
 
-		if (token.hasMintedUniqueTokens()) {
-			for (var uniqueToken : token.mintedUniqueTokens()) {
-				final var merkleUniqueTokenId = new MerkleUniqueTokenId(
-						new EntityId(uniqueToken.getTokenId()), uniqueToken.getSerialNumber());
-				final var merkleUniqueToken = new MerkleUniqueToken(
-						new EntityId(uniqueToken.getOwner()), uniqueToken.getMetadata(), uniqueToken.getCreationTime());
-				currentUniqueTokens.put(merkleUniqueTokenId, merkleUniqueToken);
-				currentUniqueTokenAssociations.associate(new EntityId(uniqueToken.getTokenId()), merkleUniqueTokenId);
-				currentUniqueOwnershipAssociations.associate(treasury, merkleUniqueTokenId);
-			}
+		final var tokenIds = new EntityIdBatch();
+		final var ownerIds = new EntityIdBatch();
+		for (var uniqueToken : nfts) {
+			final var tokenId = tokenIds.entityIdOf(uniqueToken.getTokenId());
+			final var ownerId = ownerIds.entityIdOf(uniqueToken.getOwner());
+			final var merkleUniqueTokenId = new MerkleUniqueTokenId(tokenId, uniqueToken.getSerialNumber());
+			final var merkleUniqueToken = nftMetadataPool.newUniqueToken(
+					ownerId, uniqueToken.getMetadata(), uniqueToken.getCreationTime());
+			currentUniqueTokens.put(merkleUniqueTokenId, merkleUniqueToken);
+			currentUniqueTokenAssociations.associate(tokenId, merkleUniqueTokenId);
+			currentUniqueOwnershipAssociations.associate(ownerId, merkleUniqueTokenId);
 		}
-		if (token.hasRemovedUniqueTokens()) {
-			for (var uniqueToken : token.removedUniqueTokens()) {
-				final var merkleUniqueTokenId = new MerkleUniqueTokenId(
-						new EntityId(uniqueToken.getTokenId()), uniqueToken.getSerialNumber());
-				final var accountId = new EntityId(uniqueToken.getOwner());
-				currentUniqueTokens.remove(merkleUniqueTokenId);
-				currentUniqueTokenAssociations.disassociate(new EntityId(uniqueToken.getTokenId()),
-						merkleUniqueTokenId);
-				currentUniqueOwnershipAssociations.disassociate(accountId, merkleUniqueTokenId);
-			}
+	}
+
+	/**
+	 * Removes the given burned or wiped unique tokens from the Swirlds state, along with their
+	 * token and ownership associations and their references to any pooled metadata.
+	 *
+	 * @param nfts
+	 * 		the burned or wiped unique tokens to remove
+	 */
+	public void removeNfts(List<UniqueToken> nfts) {
+		final var currentUniqueTokens = uniqueTokens.get();
+		final var currentUniqueTokenAssociations = uniqueTokenAssociations.get();
+		final var currentUniqueOwnershipAssociations = uniqueOwnershipAssociations.get();
+
+		final var tokenIds = new EntityIdBatch();
+		final var ownerIds = new EntityIdBatch();
+		for (var uniqueToken : nfts) {
+			final var tokenId = tokenIds.entityIdOf(uniqueToken.getTokenId());
+			final var ownerId = ownerIds.entityIdOf(uniqueToken.getOwner());
+			final var merkleUniqueTokenId = new MerkleUniqueTokenId(tokenId, uniqueToken.getSerialNumber());
+			nftMetadataPool.release(currentUniqueTokens.remove(merkleUniqueTokenId));
+			currentUniqueTokenAssociations.disassociate(tokenId, merkleUniqueTokenId);
+			currentUniqueOwnershipAssociations.disassociate(ownerId, merkleUniqueTokenId);
 		}
-		transactionRecordService.includeChangesToToken(token);
 	}
 
 	private void validateUsable(MerkleTokenRelStatus merkleTokenRelStatus) {
@@ -408,4 +443,19 @@ public class TypedTokenStore {
 		final var accountId = rel.getAccount().getId();
 		return Pair.of(accountId.asGrpcAccount(), tokenId.asGrpcToken());
 	}
+
+	/* Converts model ids to entity ids, reusing the last conversion; the unique tokens in a
+	mint, burn, or wipe batch all have the same token, and almost always the same owner. */
+	private static final class EntityIdBatch {
+		private Id lastId;
+		private EntityId lastEntityId;
+
+		EntityId entityIdOf(Id id) {
+			if (!id.equals(lastId)) {
+				lastId = id;
+				lastEntityId = new EntityId(id);
+			}
+			return lastEntityId;
+		}
+	}
 }
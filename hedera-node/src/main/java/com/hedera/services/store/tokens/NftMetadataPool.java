@@ -0,0 +1,166 @@
+package com.hedera.services.store.tokens;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleNftMetadata;
+import com.hedera.services.state.merkle.MerkleNftMetadataDigest;
+import com.hedera.services.state.merkle.MerkleUniqueToken;
+import com.hedera.services.state.merkle.MerkleUniqueTokenId;
+import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.services.state.submerkle.RichInstant;
+import com.swirlds.fcmap.FCMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
+import static com.hedera.services.state.merkle.MerkleNftMetadataDigest.DIGEST_BYTES;
+
+/**
+ * Deduplicates the metadata of unique tokens by content. Metadata longer than a SHA-384
+ * digest is held once in a pool keyed by its digest, along with the number of unique
+ * tokens that refer to it; and each such {@link MerkleUniqueToken} serializes only the
+ * digest, while sharing the pooled bytes in memory. Shorter metadata is cheaper to keep
+ * inline, and never enters the pool.
+ */
+public class NftMetadataPool {
+	private static final Logger log = LogManager.getLogger(NftMetadataPool.class);
+
+	public static final int MIN_POOLED_METADATA_BYTES = DIGEST_BYTES + 1;
+
+	static final Comparator<MerkleUniqueTokenId> NFT_ID_ORDER = Comparator
+			.comparingLong((MerkleUniqueTokenId id) -> id.tokenId().shard())
+			.thenComparingLong(id -> id.tokenId().realm())
+			.thenComparingLong(id -> id.tokenId().num())
+			.thenComparingLong(MerkleUniqueTokenId::serialNumber);
+
+	private final Supplier<FCMap<MerkleNftMetadataDigest, MerkleNftMetadata>> pool;
+
+	public NftMetadataPool(Supplier<FCMap<MerkleNftMetadataDigest, MerkleNftMetadata>> pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns a new unique token with the given owner, metadata, and creation time; if the
+	 * metadata is long enough to be pooled, adds a reference to it in the pool.
+	 *
+	 * @param owner the owner of the new unique token
+	 * @param metadata the metadata of the new unique token
+	 * @param creationTime the consensus time at which the unique token was minted
+	 * @return the new unique token
+	 */
+	public MerkleUniqueToken newUniqueToken(EntityId owner, byte[] metadata, RichInstant creationTime) {
+		if (!isPoolable(metadata)) {
+			return new MerkleUniqueToken(owner, metadata, creationTime);
+		}
+		final var digest = noThrowSha384HashOf(metadata);
+		return new MerkleUniqueToken(owner, intern(metadata, digest), digest, creationTime);
+	}
+
+	/**
+	 * Removes the reference of a removed (that is, burned or wiped) unique token to its pooled
+	 * metadata, if any; and removes the metadata from the pool when no unique token refers to it.
+	 *
+	 * @param removed the unique token that was removed from state
+	 */
+	public void release(MerkleUniqueToken removed) {
+		if (removed == null || !removed.isMetadataPooled()) {
+			return;
+		}
+		final var curPool = pool.get();
+		final var key = new MerkleNftMetadataDigest(removed.getMetadataDigest());
+		final var entry = curPool.get(key);
+		if (entry == null) {
+			log.error("Removed unique token {} referred to metadata missing from the pool", removed);
+			return;
+		}
+		if (entry.getRefCount() > 1) {
+			curPool.getForModify(key).setRefCount(entry.getRefCount() - 1);
+		} else {
+			curPool.remove(key);
+		}
+	}
+
+	/**
+	 * Resolves the (transient) metadata bytes of every pooled unique token that was just
+	 * deserialized, and hence has only the digest of its metadata.
+	 *
+	 * @param uniqueTokens the unique tokens to resolve
+	 */
+	public void resolveAll(FCMap<MerkleUniqueTokenId, MerkleUniqueToken> uniqueTokens) {
+		final var curPool = pool.get();
+		uniqueTokens.forEach((id, uniqueToken) -> {
+			if (uniqueToken.isMetadataPooled() && !uniqueToken.isMetadataResolved()) {
+				final var digest = uniqueToken.getMetadataDigest();
+				final var entry = curPool.get(new MerkleNftMetadataDigest(digest));
+				if (entry == null) {
+					log.error("Unique token {} refers to metadata missing from the pool", id);
+				} else {
+					uniqueToken.setPooledMetadata(entry.getMetadata(), digest);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Moves the metadata of every inline unique token that is long enough to be pooled into
+	 * the pool. The tokens are visited in id order, so every node builds the same pool.
+	 *
+	 * @param uniqueTokens the mutable unique tokens to migrate
+	 * @return the number of migrated unique tokens
+	 */
+	public int poolInlineMetadata(FCMap<MerkleUniqueTokenId, MerkleUniqueToken> uniqueTokens) {
+		final List<MerkleUniqueTokenId> inlineIds = new ArrayList<>();
+		uniqueTokens.forEach((id, uniqueToken) -> {
+			if (!uniqueToken.isMetadataPooled() && isPoolable(uniqueToken.getMetadata())) {
+				inlineIds.add(id);
+			}
+		});
+		inlineIds.sort(NFT_ID_ORDER);
+		for (var id : inlineIds) {
+			final var mutableUniqueToken = uniqueTokens.getForModify(id);
+			final var metadata = mutableUniqueToken.getMetadata();
+			final var digest = noThrowSha384HashOf(metadata);
+			mutableUniqueToken.setPooledMetadata(intern(metadata, digest), digest);
+		}
+		return inlineIds.size();
+	}
+
+	private byte[] intern(byte[] metadata, byte[] digest) {
+		final var curPool = pool.get();
+		final var key = new MerkleNftMetadataDigest(digest);
+		final var entry = curPool.get(key);
+		if (entry == null) {
+			curPool.put(key, new MerkleNftMetadata(metadata, 1));
+			return metadata;
+		}
+		curPool.getForModify(key).setRefCount(entry.getRefCount() + 1);
+		return entry.getMetadata();
+	}
+
+	static boolean isPoolable(byte[] metadata) {
+		return metadata != null && metadata.length >= MIN_POOLED_METADATA_BYTES;
+	}
+}
@@ -21,6 +21,7 @@ package com.hedera.services.stream;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -35,10 +36,16 @@ public class NonBlockingHandoff {
 	private ExecutorService executor = newSingleThreadExecutor();
 
 	private final AtomicBoolean timeToStop = new AtomicBoolean(false);
+	private final TopicMessageBuffers topicBuffers;
 	private final RecordStreamManager recordStreamManager;
 	private final BlockingQueue<RecordStreamObject> queue;
 
-	public NonBlockingHandoff(RecordStreamManager recordStreamManager, NodeLocalProperties nodeLocalProperties) {
+	public NonBlockingHandoff(
+			RecordStreamManager recordStreamManager,
+			TopicMessageBuffers topicBuffers,
+			NodeLocalProperties nodeLocalProperties
+	) {
+		this.topicBuffers = topicBuffers;
 		this.recordStreamManager = recordStreamManager;
 
 		final int capacity = Math.max(MIN_CAPACITY, nodeLocalProperties.recordStreamQueueCapacity());
@@ -55,6 +62,8 @@ public class NonBlockingHandoff {
 		while (!timeToStop.get()) {
 			final var rso = queue.poll();
 			if (rso != null) {
+				/* Buffer first, so any gRPC record built here is already cached for the stream */
+				topicBuffers.appendFrom(rso);
 				recordStreamManager.addRecordStreamObject(rso);
 			}
 		}
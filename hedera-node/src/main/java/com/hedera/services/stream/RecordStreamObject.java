@@ -51,6 +51,8 @@ public class RecordStreamObject extends AbstractSerializableHashable implements
 
 	/* The gRPC transaction for the record stream file */
 	private Transaction transaction;
+	/* The gRPC transaction record, built at most once from the fast-copyable record; since
+	 * this object only lives until it is streamed, the long-lived record never holds it */
 	private TransactionRecord transactionRecord;
 	/* The fast-copyable equivalent of the gRPC transaction record for the record stream file */
 	private ExpirableTxnRecord fcTransactionRecord;
@@ -0,0 +1,338 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.throttles.DeterministicThrottle;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import static com.hedera.services.txns.submission.SystemPrecheck.IS_THROTTLE_EXEMPT;
+import static com.hedera.services.utils.EntityIdUtils.asLiteralString;
+
+/**
+ * An optional, node-local admission stage that keeps any one payer from monopolizing
+ * the ingest capacity of this node. It tracks the recent rate of submissions per payer
+ * that passed precheck in a {@link PayerRateSketch}. A payer's fair share is the larger of,
+ * <ol>
+ *     <li>The configured {@code admission.payerFairShare.minTps}; and,</li>
+ *     <li>The configured {@code admission.payerFairShare.maxSharePercent} of this node's capacity.</li>
+ * </ol>
+ * The node's capacity is its share of the largest network throttle bucket. A submission is
+ * rejected only when admitting it would put its payer above its fair share <i>and</i> the node
+ * is near capacity; that is, the rate of all admitted submissions leaves less than one fair
+ * share of capacity to spare. So a lone payer on a quiet node is never held to its fair share.
+ *
+ * The payer is peeked directly from the serialized {@code TransactionID}, so a rejected
+ * submission costs only a few varint reads rather than a full precheck. Payers exempt
+ * from throttling, and submissions without a readable payer, are always admitted (the
+ * latter to fail in precheck as usual).
+ *
+ * A small heavy-hitter table records the payers with the highest estimated rates in
+ * each window; the top talkers from the last complete window are available via
+ * {@link PayerFairShareAdmission#topTalkers()}, and summarized in the
+ * {@code payerFairShareTopTps} and {@code payerFairShareThrottledPayers} running averages.
+ */
+public class PayerFairShareAdmission {
+	private static final Logger log = LogManager.getLogger(PayerFairShareAdmission.class);
+
+	static final int SKETCH_WIDTH = 2048;
+	static final long WINDOW_MS = 1_000L;
+	static final int NUM_TOP_TALKERS = 10;
+
+	private static final int SIGNED_TXN_BODY_BYTES_FIELD_NUMBER = 1;
+	private static final int TXN_BODY_TXN_ID_FIELD_NUMBER = 1;
+
+	private final IntSupplier numNodes;
+	private final MiscRunningAvgs runningAvgs;
+	private final MiscSpeedometers speedometers;
+	private final NodeLocalProperties properties;
+	private final FunctionalityThrottling networkThrottling;
+	private final PayerRateSketch sketch = new PayerRateSketch(SKETCH_WIDTH, WINDOW_MS);
+
+	private final long[] talkerKeys = new long[NUM_TOP_TALKERS];
+	private final AccountID[] talkerIds = new AccountID[NUM_TOP_TALKERS];
+	private final double[] talkerRates = new double[NUM_TOP_TALKERS];
+	private final long[] talkerRejections = new long[NUM_TOP_TALKERS];
+	private final ReentrantLock talkersLock = new ReentrantLock();
+	private int numTalkers = 0;
+	private volatile List<TopTalker> lastTopTalkers = List.of();
+
+	public PayerFairShareAdmission(
+			NodeLocalProperties properties,
+			MiscSpeedometers speedometers,
+			MiscRunningAvgs runningAvgs,
+			FunctionalityThrottling networkThrottling,
+			IntSupplier numNodes
+	) {
+		this.numNodes = numNodes;
+		this.properties = properties;
+		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
+		this.networkThrottling = networkThrottling;
+	}
+
+	/**
+	 * Decides if the given top-level transaction should proceed to precheck. This only
+	 * tests the (not yet authenticated) payer's recent rate; nothing is charged to the
+	 * payer until {@link PayerFairShareAdmission#charge(AccountID)} is called for a
+	 * transaction that passed precheck, so forged submissions naming some other payer
+	 * cannot use up that payer's share.
+	 *
+	 * @param signedTxn the submitted transaction
+	 * @return whether the submission is admitted
+	 */
+	public boolean admits(Transaction signedTxn) {
+		if (!properties.isPayerFairShareEnabled()) {
+			return true;
+		}
+		final var payer = payerOf(signedTxn);
+		if (payer == null || IS_THROTTLE_EXEMPT.test(payer.getAccountNum())) {
+			return true;
+		}
+		final var admitted = admits(payer, System.currentTimeMillis());
+		if (!admitted) {
+			speedometers.cyclePayerFairShareRejections();
+		}
+		return admitted;
+	}
+
+	/**
+	 * Charges one submission to the given payer, which must be the payer of a
+	 * transaction that passed precheck (and hence had a valid payer signature).
+	 *
+	 * @param payer the authenticated payer
+	 */
+	public void charge(AccountID payer) {
+		if (!properties.isPayerFairShareEnabled() || IS_THROTTLE_EXEMPT.test(payer.getAccountNum())) {
+			return;
+		}
+		charge(payer, System.currentTimeMillis());
+	}
+
+	boolean admits(AccountID payer, long nowMs) {
+		advanceTo(nowMs);
+
+		final var key = keyOf(payer);
+		final var rate = sketch.estimate(key, nowMs) + 1;
+		final var capacity = nodeCapacityTps();
+		final var fairShare = Math.max(
+				properties.payerFairShareMinTps(),
+				properties.payerFairShareMaxSharePercent() / 100.0 * capacity);
+		if (rate > fairShare && sketch.totalRate(nowMs) + 1 > capacity - fairShare) {
+			tryNoteTalker(key, payer, rate - 1, true);
+			return false;
+		}
+		return true;
+	}
+
+	void charge(AccountID payer, long nowMs) {
+		advanceTo(nowMs);
+
+		final var key = keyOf(payer);
+		sketch.increment(key);
+		tryNoteTalker(key, payer, sketch.estimate(key, nowMs), false);
+	}
+
+	/**
+	 * Returns the payers with the highest estimated submission rates in the last
+	 * complete window, in descending order of rate.
+	 *
+	 * @return the top talkers
+	 */
+	public List<TopTalker> topTalkers() {
+		return lastTopTalkers;
+	}
+
+	/* This node's share of the largest network throttle bucket, in transactions per second */
+	double nodeCapacityTps() {
+		long maxMtps = 0;
+		for (DeterministicThrottle throttle : networkThrottling.allActiveThrottles()) {
+			maxMtps = Math.max(maxMtps, throttle.mtps());
+		}
+		return maxMtps / 1_000.0 / Math.max(1, numNodes.getAsInt());
+	}
+
+	private void advanceTo(long nowMs) {
+		if (sketch.advanceTo(nowMs)) {
+			talkersLock.lock();
+			try {
+				rollTopTalkers();
+			} finally {
+				talkersLock.unlock();
+			}
+		}
+	}
+
+	/* The top-talker table is best-effort diagnostics, so a submission that finds it
+	busy just skips its update instead of waiting on the ingest path. */
+	private void tryNoteTalker(long key, AccountID payer, double rate, boolean rejected) {
+		if (talkersLock.tryLock()) {
+			try {
+				noteTalker(key, payer, rate, rejected);
+			} finally {
+				talkersLock.unlock();
+			}
+		}
+	}
+
+	private void noteTalker(long key, AccountID payer, double rate, boolean rejected) {
+		int minI = -1;
+		for (int i = 0; i < numTalkers; i++) {
+			if (talkerKeys[i] == key) {
+				talkerRates[i] = Math.max(talkerRates[i], rate);
+				if (rejected) {
+					talkerRejections[i]++;
+				}
+				return;
+			}
+			if (minI == -1 || talkerRates[i] < talkerRates[minI]) {
+				minI = i;
+			}
+		}
+		final int i;
+		if (numTalkers < NUM_TOP_TALKERS) {
+			i = numTalkers++;
+		} else if (rate > talkerRates[minI]) {
+			i = minI;
+		} else {
+			return;
+		}
+		talkerKeys[i] = key;
+		talkerIds[i] = payer;
+		talkerRates[i] = rate;
+		talkerRejections[i] = rejected ? 1 : 0;
+	}
+
+	private void rollTopTalkers() {
+		final List<TopTalker> talkers = new ArrayList<>(numTalkers);
+		for (int i = 0; i < numTalkers; i++) {
+			talkers.add(new TopTalker(talkerIds[i], talkerRates[i], talkerRejections[i]));
+			talkerIds[i] = null;
+		}
+		talkers.sort(Comparator.comparingDouble(TopTalker::getEstimatedTps).reversed());
+		numTalkers = 0;
+		int numThrottled = 0;
+		for (var talker : talkers) {
+			if (talker.getRejections() > 0) {
+				numThrottled++;
+			}
+		}
+		runningAvgs.recordPayerFairShareTopTps(talkers.isEmpty() ? 0.0 : talkers.get(0).getEstimatedTps());
+		runningAvgs.recordPayerFairShareThrottledPayers(numThrottled);
+		if (numThrottled > 0) {
+			log.debug("Payer fair-share admission top talkers :: {}", talkers);
+		}
+		lastTopTalkers = talkers;
+	}
+
+	static long keyOf(AccountID payer) {
+		return payer.getAccountNum() ^ (payer.getRealmNum() << 40) ^ (payer.getShardNum() << 56);
+	}
+
+	/**
+	 * Reads the payer from the {@code TransactionID} of the given transaction without
+	 * parsing any other part of the body.
+	 *
+	 * @param signedTxn the submitted transaction
+	 * @return the payer, or null if none could be read
+	 */
+	static AccountID payerOf(Transaction signedTxn) {
+		try {
+			final var bodyBytes = signedTxn.getSignedTransactionBytes().isEmpty()
+					? signedTxn.getBodyBytes()
+					: lengthDelimitedField(signedTxn.getSignedTransactionBytes(), SIGNED_TXN_BODY_BYTES_FIELD_NUMBER);
+			if (bodyBytes == null) {
+				return null;
+			}
+			final var txnIdBytes = lengthDelimitedField(bodyBytes, TXN_BODY_TXN_ID_FIELD_NUMBER);
+			if (txnIdBytes == null) {
+				return null;
+			}
+			final var txnId = TransactionID.parseFrom(txnIdBytes);
+			return txnId.hasAccountID() ? txnId.getAccountID() : null;
+		} catch (IOException malformed) {
+			return null;
+		}
+	}
+
+	private static ByteString lengthDelimitedField(ByteString message, int fieldNumber) throws IOException {
+		final CodedInputStream in = message.newCodedInput();
+		int tag;
+		while ((tag = in.readTag()) != 0) {
+			if (WireFormat.getTagFieldNumber(tag) == fieldNumber
+					&& WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+				return in.readBytes();
+			}
+			in.skipField(tag);
+		}
+		return null;
+	}
+
+	public static class TopTalker {
+		private final AccountID payer;
+		private final double estimatedTps;
+		private final long rejections;
+
+		public TopTalker(AccountID payer, double estimatedTps, long rejections) {
+			this.payer = payer;
+			this.estimatedTps = estimatedTps;
+			this.rejections = rejections;
+		}
+
+		public AccountID getPayer() {
+			return payer;
+		}
+
+		public double getEstimatedTps() {
+			return estimatedTps;
+		}
+
+		public long getRejections() {
+			return rejections;
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+					.add("payer", asLiteralString(payer))
+					.add("estimatedTps", String.format("%.1f", estimatedTps))
+					.add("rejections", rejections)
+					.toString();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count-min sketch of recent submissions per payer, bucketed into two
+ * consecutive fixed-length windows so that rate estimates do not collapse to
+ * zero at each window boundary. The estimated rate of a key is its count in
+ * the current window, plus its count in the previous window weighted by the
+ * fraction of the previous window still "visible" from the current instant.
+ *
+ * Memory use is fixed at {@code 2 * DEPTH * width} ints, independent of the
+ * number of distinct payers; estimates may only over-count.
+ *
+ * Thread-safe without locks. Counters are atomic, and the windows are swapped
+ * by a CAS on an immutable pair; an increment racing with a swap lands in the
+ * window that just became the previous one, which at worst slightly shifts
+ * the weight given to it.
+ */
+public class PayerRateSketch {
+	static final int DEPTH = 4;
+
+	private static final long[] SEEDS = {
+			0x9e3779b97f4a7c15L, 0xbf58476d1ce4e5b9L, 0x94d049bb133111ebL, 0xd6e8feb86659fd93L
+	};
+
+	private final int width;
+	private final int mask;
+	private final long windowMs;
+	private final Window empty;
+	private final AtomicReference<Windows> windows = new AtomicReference<>();
+
+	public PayerRateSketch(int width, long windowMs) {
+		if (Integer.bitCount(width) != 1) {
+			throw new IllegalArgumentException("Sketch width must be a power of two, not " + width);
+		}
+		this.width = width;
+		this.mask = width - 1;
+		this.windowMs = windowMs;
+		this.empty = new Window(DEPTH * width);
+	}
+
+	/**
+	 * Advances the windows, if necessary, so that {@code nowMs} falls in the current window.
+	 *
+	 * @param nowMs the current time in millis
+	 * @return whether this call changed the current window
+	 */
+	public boolean advanceTo(long nowMs) {
+		final var current = windows.get();
+		if (current == null) {
+			windows.compareAndSet(null, new Windows(nowMs, new Window(DEPTH * width), empty));
+			return false;
+		}
+		final long elapsed = nowMs - current.startMs;
+		if (elapsed < windowMs) {
+			return false;
+		}
+		final var previous = (elapsed < 2 * windowMs) ? current.current : empty;
+		final var next = new Windows(nowMs - (elapsed % windowMs), new Window(DEPTH * width), previous);
+		return windows.compareAndSet(current, next);
+	}
+
+	public void increment(long key) {
+		final var current = windows.get().current;
+		for (int i = 0; i < DEPTH; i++) {
+			current.counts.incrementAndGet(index(key, i));
+		}
+		current.total.increment();
+	}
+
+	/**
+	 * Estimates the number of increments of the given key per window, as of the given time
+	 * (which should not precede the last call to {@link PayerRateSketch#advanceTo(long)}).
+	 *
+	 * @param key the key of interest
+	 * @param nowMs the current time in millis
+	 * @return the estimated rate
+	 */
+	public double estimate(long key, long nowMs) {
+		final var now = windows.get();
+		int inCurrent = Integer.MAX_VALUE;
+		int inPrevious = Integer.MAX_VALUE;
+		for (int i = 0; i < DEPTH; i++) {
+			final int index = index(key, i);
+			inCurrent = Math.min(inCurrent, now.current.counts.get(index));
+			inPrevious = Math.min(inPrevious, now.previous.counts.get(index));
+		}
+		return inCurrent + inPrevious * previousWeight(now, nowMs);
+	}
+
+	public double totalRate(long nowMs) {
+		final var now = windows.get();
+		return now.current.total.sum() + now.previous.total.sum() * previousWeight(now, nowMs);
+	}
+
+	private double previousWeight(Windows now, long nowMs) {
+		final long elapsed = Math.max(0, Math.min(windowMs, nowMs - now.startMs));
+		return 1.0 - (double) elapsed / windowMs;
+	}
+
+	private int index(long key, int row) {
+		long h = key ^ SEEDS[row];
+		h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+		h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return row * width + ((int) (h ^ (h >>> 33)) & mask);
+	}
+
+	private static final class Window {
+		private final LongAdder total = new LongAdder();
+		private final AtomicIntegerArray counts;
+
+		private Window(int size) {
+			counts = new AtomicIntegerArray(size);
+		}
+	}
+
+	private static final class Windows {
+		private final long startMs;
+		private final Window current;
+		private final Window previous;
+
+		private Windows(long startMs, Window current, Window previous) {
+			this.startMs = startMs;
+			this.current = current;
+			this.previous = previous;
+		}
+	}
+}
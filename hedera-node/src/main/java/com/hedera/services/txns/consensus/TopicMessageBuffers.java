@@ -0,0 +1,211 @@
+package com.hedera.services.txns.consensus;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stream.RecordStreamObject;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hedera.services.legacy.proto.utils.CommonUtils.extractTransactionBody;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+
+/**
+ * Keeps a {@link TopicMessageRing} of recent messages for each topic that is (or recently was)
+ * followed by a topic stream subscriber; and tells each subscriber when its topic has a new
+ * message.
+ *
+ * Only followed topics are buffered, so a busy topic nobody is watching costs nothing but a
+ * failed map lookup per message. A ring outlives its last subscriber, so a client that
+ * reconnects can resume from where it left off; but at most
+ * {@code grpc.topicStream.maxBufferedTopics} rings exist at once, and when a new topic needs a
+ * ring, the unwatched ring idle the longest is released to make room. This bounds the off-heap
+ * memory used to {@code maxBufferedTopics * bufferBytesPerTopic}.
+ *
+ * Messages are taken from the records handed off to the record stream, so a subscriber only
+ * ever sees messages whose transactions were committed; and the (cheap) work of buffering them
+ * happens on the handoff thread, never on the thread handling transactions.
+ */
+public class TopicMessageBuffers {
+	private static final Logger log = LogManager.getLogger(TopicMessageBuffers.class);
+
+	@FunctionalInterface
+	public interface Listener {
+		/**
+		 * Called on the record stream handoff thread right after a message is appended to
+		 * a followed topic; so must only schedule work, and never block.
+		 */
+		void messagesAvailable();
+	}
+
+	static class Buffered {
+		private final TopicMessageRing ring;
+		private final Set<Listener> listeners = ConcurrentHashMap.newKeySet();
+		private long idleSince;
+
+		Buffered(TopicMessageRing ring) {
+			this.ring = ring;
+		}
+
+		boolean isUnwatched() {
+			return listeners.isEmpty();
+		}
+	}
+
+	private final NodeLocalProperties properties;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final Map<TopicID, Buffered> buffers = new ConcurrentHashMap<>();
+
+	public TopicMessageBuffers(NodeLocalProperties properties, GlobalDynamicProperties dynamicProperties) {
+		this.properties = properties;
+		this.dynamicProperties = dynamicProperties;
+	}
+
+	/**
+	 * Buffers the message submitted by the given streamed record's transaction, if that was a
+	 * successful {@code ConsensusSubmitMessage} to a followed topic.
+	 *
+	 * @param rso the record (and transaction) just handed off to the record stream
+	 */
+	public void appendFrom(RecordStreamObject rso) {
+		if (buffers.isEmpty()) {
+			return;
+		}
+		final TransactionBody body;
+		try {
+			body = extractTransactionBody(rso.getTransaction());
+		} catch (InvalidProtocolBufferException e) {
+			log.warn("Streamed transaction {} has an unparseable body", rso.getTransaction(), e);
+			return;
+		}
+		if (!body.hasConsensusSubmitMessage()) {
+			return;
+		}
+		final var op = body.getConsensusSubmitMessage();
+		if (!buffers.containsKey(op.getTopicID())) {
+			return;
+		}
+		final var receipt = rso.getTransactionRecord().getReceipt();
+		if (receipt.getStatus() != SUCCESS) {
+			return;
+		}
+		append(
+				op.getTopicID(),
+				receipt.getTopicSequenceNumber(),
+				receipt.getTopicRunningHash().toByteArray(),
+				rso.getTimestamp(),
+				op.getMessage());
+	}
+
+	/**
+	 * Buffers the given message if its topic is followed, and notifies the topic's listeners.
+	 *
+	 * @param topic the topic the message was submitted to
+	 * @param seqNo the sequence number the message was assigned
+	 * @param runningHash the running hash of the topic after the message
+	 * @param consensusTime the consensus time of the message
+	 * @param message the message
+	 */
+	public void append(TopicID topic, long seqNo, byte[] runningHash, Instant consensusTime, ByteString message) {
+		if (buffers.isEmpty()) {
+			return;
+		}
+		final var buffered = buffers.get(topic);
+		if (buffered == null) {
+			return;
+		}
+		buffered.ring.append(seqNo, runningHash, consensusTime.getEpochSecond(), consensusTime.getNano(), message);
+		for (var listener : buffered.listeners) {
+			listener.messagesAvailable();
+		}
+	}
+
+	/**
+	 * Starts buffering the given topic if it is not already buffered, and adds the listener.
+	 * A ring is sized for the largest message allowed when it is created, and grows its slots
+	 * in place if that limit is raised later.
+	 *
+	 * @param topic the topic to follow
+	 * @param listener the listener to notify of new messages
+	 * @return the ring of the topic, or null if every ring is in use by other subscribers
+	 */
+	public synchronized TopicMessageRing watch(TopicID topic, Listener listener) {
+		var buffered = buffers.get(topic);
+		if (buffered == null) {
+			if (buffers.size() >= properties.topicStreamMaxBufferedTopics() && !releaseLongestIdle()) {
+				return null;
+			}
+			buffered = new Buffered(new TopicMessageRing(
+					properties.topicStreamBufferBytesPerTopic(),
+					dynamicProperties.messageMaxBytesAllowed()));
+			buffers.put(topic, buffered);
+		}
+		buffered.listeners.add(listener);
+		return buffered.ring;
+	}
+
+	public synchronized void unwatch(TopicID topic, Listener listener) {
+		final var buffered = buffers.get(topic);
+		if (buffered != null && buffered.listeners.remove(listener) && buffered.listeners.isEmpty()) {
+			buffered.idleSince = System.nanoTime();
+		}
+	}
+
+	public int numBufferedTopics() {
+		return buffers.size();
+	}
+
+	public long bufferedBytes() {
+		long bytes = 0;
+		for (var buffered : buffers.values()) {
+			bytes += buffered.ring.capacityBytes();
+		}
+		return bytes;
+	}
+
+	private boolean releaseLongestIdle() {
+		TopicID victim = null;
+		long victimIdleSince = Long.MAX_VALUE;
+		for (var entry : buffers.entrySet()) {
+			final var buffered = entry.getValue();
+			/* A ring with even one listener is never released, however long it has been idle */
+			if (buffered.isUnwatched() && buffered.idleSince <= victimIdleSince) {
+				victim = entry.getKey();
+				victimIdleSince = buffered.idleSince;
+			}
+		}
+		if (victim == null) {
+			return false;
+		}
+		buffers.remove(victim);
+		return true;
+	}
+}
@@ -0,0 +1,216 @@
+package com.hedera.services.txns.consensus;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.grpc.TopicStreamMessage;
+import com.hederahashgraph.api.proto.java.Timestamp;
+
+import java.nio.ByteBuffer;
+
+import static com.hedera.services.state.merkle.MerkleTopic.RUNNING_HASH_BYTE_ARRAY_SIZE;
+import static com.hedera.services.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+
+/**
+ * A bounded window of the most recent messages submitted to a single topic, kept in fixed-size
+ * slots of one direct (off-heap) buffer. The message with sequence number {@code n} lives in
+ * slot {@code n % numSlots}, so both appends and reads by sequence number are O(1) and never
+ * allocate on-heap except for the copy handed to a reader.
+ *
+ * Each slot is laid out as,
+ * <pre>
+ *     | seqNo (8) | consensus secs (8) | consensus nanos (4) | running hash (48) | msg len (4) | msg |
+ * </pre>
+ * where the message area is as large as the largest message allowed when the ring was created.
+ * If a larger message is ever appended (because that limit was raised), the ring re-lays itself
+ * out with slots big enough for it, in a buffer of the same capacity. The newest messages that
+ * fit in the fewer, larger slots are kept; so readers only ever see the window shrink, just as
+ * if those older messages had been overwritten.
+ *
+ * All methods are synchronized; the single writer is the record stream handoff thread, and
+ * readers only ever hold the monitor long enough to copy one slot.
+ */
+public class TopicMessageRing {
+	public static final int SLOT_HEADER_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES
+			+ RUNNING_HASH_BYTE_ARRAY_SIZE + Integer.BYTES;
+
+	private static final int SECS_OFFSET = Long.BYTES;
+	private static final int NANOS_OFFSET = SECS_OFFSET + Long.BYTES;
+	private static final int HASH_OFFSET = NANOS_OFFSET + Integer.BYTES;
+	private static final int LEN_OFFSET = HASH_OFFSET + RUNNING_HASH_BYTE_ARRAY_SIZE;
+
+	private final int capacityBytes;
+
+	private int numSlots;
+	private int slotBytes;
+	private int maxMessageBytes;
+	private ByteBuffer slots;
+
+	/* The ring holds the messages with sequence numbers in [firstSeqNo, lastSeqNo]; since real
+	sequence numbers start at 1, a lastSeqNo of 0 means nothing has been appended yet */
+	private long firstSeqNo = 1;
+	private long lastSeqNo = 0;
+	private long firstAppendedSeqNo = 0;
+
+	public TopicMessageRing(int capacityBytes, int maxMessageBytes) {
+		this.capacityBytes = capacityBytes;
+		layOut(maxMessageBytes);
+	}
+
+	/**
+	 * Appends the next message of the topic.
+	 *
+	 * @param seqNo the sequence number the message was assigned
+	 * @param runningHash the running hash of the topic after the message
+	 * @param consensusSecs the seconds of the consensus time of the message
+	 * @param consensusNanos the nanos of the consensus time of the message
+	 * @param message the message
+	 */
+	public synchronized void append(
+			long seqNo,
+			byte[] runningHash,
+			long consensusSecs,
+			int consensusNanos,
+			ByteString message
+	) {
+		if (firstAppendedSeqNo == 0) {
+			firstAppendedSeqNo = seqNo;
+		}
+		if (runningHash.length != RUNNING_HASH_BYTE_ARRAY_SIZE) {
+			firstSeqNo = seqNo + 1;
+			lastSeqNo = seqNo;
+			return;
+		}
+		if (message.size() > maxMessageBytes) {
+			growSlotsFor(message.size());
+		}
+		if (lastSeqNo == 0 || seqNo != lastSeqNo + 1) {
+			firstSeqNo = seqNo;
+		}
+		final int base = slotOf(seqNo);
+		slots.putLong(base, seqNo);
+		slots.putLong(base + SECS_OFFSET, consensusSecs);
+		slots.putInt(base + NANOS_OFFSET, consensusNanos);
+		slots.position(base + HASH_OFFSET);
+		slots.put(runningHash);
+		slots.putInt(base + LEN_OFFSET, message.size());
+		slots.position(base + SLOT_HEADER_BYTES);
+		message.copyTo(slots);
+		lastSeqNo = seqNo;
+		firstSeqNo = Math.max(firstSeqNo, seqNo - numSlots + 1);
+	}
+
+	/**
+	 * Returns a copy of the buffered message with the given sequence number.
+	 *
+	 * @param seqNo the sequence number of interest
+	 * @return the message, or null if it is not (or no longer) buffered
+	 */
+	public synchronized TopicStreamMessage read(long seqNo) {
+		if (seqNo < firstSeqNo || seqNo > lastSeqNo) {
+			return null;
+		}
+		final int base = slotOf(seqNo);
+		final var consensusTime = Timestamp.newBuilder()
+				.setSeconds(slots.getLong(base + SECS_OFFSET))
+				.setNanos(slots.getInt(base + NANOS_OFFSET))
+				.build();
+		final var runningHash = new byte[RUNNING_HASH_BYTE_ARRAY_SIZE];
+		slots.position(base + HASH_OFFSET);
+		slots.get(runningHash);
+		final var message = new byte[slots.getInt(base + LEN_OFFSET)];
+		slots.position(base + SLOT_HEADER_BYTES);
+		slots.get(message);
+		return new TopicStreamMessage(
+				consensusTime,
+				ByteString.copyFrom(message),
+				ByteString.copyFrom(runningHash),
+				seqNo,
+				RUNNING_HASH_VERSION);
+	}
+
+	/**
+	 * Returns the sequence number of the oldest buffered message; or, if the ring is empty,
+	 * one more than the last sequence number appended.
+	 *
+	 * @return the first readable sequence number
+	 */
+	public synchronized long firstSeqNo() {
+		return firstSeqNo;
+	}
+
+	/**
+	 * Returns the last sequence number appended, or 0 if nothing has been appended yet.
+	 *
+	 * @return the last sequence number appended
+	 */
+	public synchronized long lastSeqNo() {
+		return lastSeqNo;
+	}
+
+	/**
+	 * Returns the sequence number of the first message ever appended to this ring (whether or
+	 * not it is still buffered), or 0 if nothing has been appended yet.
+	 *
+	 * @return the first sequence number appended
+	 */
+	public synchronized long firstAppendedSeqNo() {
+		return firstAppendedSeqNo;
+	}
+
+	public synchronized int numSlots() {
+		return numSlots;
+	}
+
+	public synchronized long capacityBytes() {
+		return (long) numSlots * slotBytes;
+	}
+
+	private void growSlotsFor(int messageBytes) {
+		final var oldSlots = slots;
+		final int oldSlotBytes = slotBytes;
+		final int oldNumSlots = numSlots;
+		layOut(messageBytes);
+		if (lastSeqNo == 0 || firstSeqNo > lastSeqNo) {
+			return;
+		}
+		firstSeqNo = Math.max(firstSeqNo, lastSeqNo - numSlots + 1);
+		for (long seqNo = firstSeqNo; seqNo <= lastSeqNo; seqNo++) {
+			final int from = (int) (seqNo % oldNumSlots) * oldSlotBytes;
+			final int len = SLOT_HEADER_BYTES + oldSlots.getInt(from + LEN_OFFSET);
+			final var slot = oldSlots.duplicate();
+			slot.position(from).limit(from + len);
+			slots.position(slotOf(seqNo));
+			slots.put(slot);
+		}
+	}
+
+	private void layOut(int maxMessageBytes) {
+		this.maxMessageBytes = maxMessageBytes;
+		this.slotBytes = SLOT_HEADER_BYTES + maxMessageBytes;
+		this.numSlots = Math.max(1, capacityBytes / slotBytes);
+		this.slots = ByteBuffer.allocateDirect(numSlots * slotBytes);
+	}
+
+	private int slotOf(long seqNo) {
+		return (int) (seqNo % numSlots) * slotBytes;
+	}
+}
@@ -0,0 +1,101 @@
+package com.hedera.services.txns.customfees;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.hedera.services.state.submerkle.FcCustomFee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hedera.services.state.submerkle.FcCustomFee.FeeType.FIXED_FEE;
+
+/**
+ * An immutable "compiled" form of a token's custom fee schedule, with its fixed
+ * and fractional fees already partitioned so that assessing the fees triggered by
+ * a balance change does not need to re-inspect the type of each fee.
+ *
+ * The fixed fees keep their relative order in the schedule, since it determines the
+ * order of the assessed fees (and any nested balance changes) in the record.
+ */
+public final class CustomFeePlan {
+	public static final CustomFeePlan NO_CUSTOM_FEES =
+			new CustomFeePlan(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+	private final List<FcCustomFee> schedule;
+	private final List<FcCustomFee> fixedFees;
+	private final List<FcCustomFee> fractionalFees;
+
+	private CustomFeePlan(
+			List<FcCustomFee> schedule,
+			List<FcCustomFee> fixedFees,
+			List<FcCustomFee> fractionalFees
+	) {
+		this.schedule = schedule;
+		this.fixedFees = fixedFees;
+		this.fractionalFees = fractionalFees;
+	}
+
+	public static CustomFeePlan compile(List<FcCustomFee> schedule) {
+		if (schedule.isEmpty()) {
+			return NO_CUSTOM_FEES;
+		}
+		final List<FcCustomFee> fixedFees = new ArrayList<>();
+		final List<FcCustomFee> fractionalFees = new ArrayList<>();
+		for (var fee : schedule) {
+			if (fee.getFeeType() == FIXED_FEE) {
+				fixedFees.add(fee);
+			} else {
+				fractionalFees.add(fee);
+			}
+		}
+		return new CustomFeePlan(schedule, asImmutable(fixedFees), asImmutable(fractionalFees));
+	}
+
+	public boolean hasNoFees() {
+		return schedule.isEmpty();
+	}
+
+	public List<FcCustomFee> getSchedule() {
+		return schedule;
+	}
+
+	public List<FcCustomFee> getFixedFees() {
+		return fixedFees;
+	}
+
+	public List<FcCustomFee> getFractionalFees() {
+		return fractionalFees;
+	}
+
+	private static List<FcCustomFee> asImmutable(List<FcCustomFee> fees) {
+		return fees.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(fees);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(CustomFeePlan.class)
+				.add("fixedFees", fixedFees)
+				.add("fractionalFees", fractionalFees)
+				.toString();
+	}
+}
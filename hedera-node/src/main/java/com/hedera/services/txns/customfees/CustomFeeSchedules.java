@@ -31,4 +31,19 @@ import java.util.List;
  */
 public interface CustomFeeSchedules {
 	List<FcCustomFee> lookupScheduleFor(EntityId token);
+
+	/**
+	 * Returns the compiled {@link CustomFeePlan} for the current schedule of the given token.
+	 *
+	 * @param token the token of interest
+	 * @return its fee plan, or {@link CustomFeePlan#NO_CUSTOM_FEES} if it has no custom fees
+	 */
+	CustomFeePlan lookupPlanFor(EntityId token);
+
+	/**
+	 * Discards any compiled plan for the given token, since its schedule has been updated.
+	 *
+	 * @param token the token whose schedule changed
+	 */
+	void invalidate(EntityId token);
 }
@@ -30,13 +30,23 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
+import static com.hedera.services.txns.customfees.CustomFeePlan.NO_CUSTOM_FEES;
+
 /**
- * Active CustomFeeSchedules for an entity in the tokens FCMap
+ * Active CustomFeeSchedules for an entity in the tokens FCMap.
+ *
+ * Compiled {@link CustomFeePlan}s are cached per token and dropped when a token's schedule
+ * is updated. A cached plan is also only re-used while the token still references the same
+ * schedule list the plan was compiled from, so a plan can never outlive its schedule (for
+ * example, after a reconnect replaces the tokens map).
  */
 public class FcmCustomFeeSchedules implements CustomFeeSchedules {
 	private final Supplier<FCMap<MerkleEntityId, MerkleToken>> tokens;
+	private final Map<EntityId, CustomFeePlan> plans = new ConcurrentHashMap<>();
 
 	public FcmCustomFeeSchedules(Supplier<FCMap<MerkleEntityId, MerkleToken>> tokens) {
 		this.tokens = tokens;
@@ -44,12 +54,28 @@ public class FcmCustomFeeSchedules implements CustomFeeSchedules {
 
 	@Override
 	public List<FcCustomFee> lookupScheduleFor(EntityId tokenId) {
-		final var currentTokens = tokens.get();
-		if (!currentTokens.containsKey(tokenId.asMerkle())) {
-			return Collections.emptyList();
+		final var merkleToken = tokens.get().get(tokenId.asMerkle());
+		return (merkleToken == null) ? Collections.emptyList() : merkleToken.customFeeSchedule();
+	}
+
+	@Override
+	public CustomFeePlan lookupPlanFor(EntityId tokenId) {
+		final var schedule = lookupScheduleFor(tokenId);
+		if (schedule.isEmpty()) {
+			return NO_CUSTOM_FEES;
 		}
-		final var merkleToken = currentTokens.get(tokenId.asMerkle());
-		return merkleToken.customFeeSchedule();
+		final var extantPlan = plans.get(tokenId);
+		if (extantPlan != null && extantPlan.getSchedule() == schedule) {
+			return extantPlan;
+		}
+		final var plan = CustomFeePlan.compile(schedule);
+		plans.put(tokenId, plan);
+		return plan;
+	}
+
+	@Override
+	public void invalidate(EntityId tokenId) {
+		plans.remove(tokenId);
 	}
 
 	public Supplier<FCMap<MerkleEntityId, MerkleToken>> getTokens() {
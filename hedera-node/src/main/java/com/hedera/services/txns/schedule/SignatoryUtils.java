@@ -83,7 +83,7 @@ public class SignatoryUtils {
 		}
 		var status = witnessNonTriviallyScoped(validScheduleKeys.get(), id, store);
 		var updatedSchedule = store.get(id);
-		var isReadyToExecute = isReady(updatedSchedule, activationHelper);
+		var isReadyToExecute = isReady(id, updatedSchedule, activationHelper);
 		if (isReadyToExecute) {
 			status = OK;
 		}
@@ -111,10 +111,15 @@ public class SignatoryUtils {
 		l.add(bytes);
 	}
 
-	private static boolean isReady(MerkleSchedule schedule, InHandleActivationHelper activationHelper) {
+	private static boolean isReady(
+			ScheduleID id,
+			MerkleSchedule schedule,
+			InHandleActivationHelper activationHelper
+	) {
 		return activationHelper.areScheduledPartiesActive(
+				id,
 				schedule.ordinaryViewOfScheduledTxn(),
-				(key, sig) -> schedule.hasValidEd25519Signature(key.getEd25519()));
+				schedule.signatories());
 	}
 
 	private static boolean witnessAnyNew(ScheduleStore store, ScheduleID id, List<byte[]> signatories) {
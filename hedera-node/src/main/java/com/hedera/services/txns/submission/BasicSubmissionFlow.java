@@ -21,30 +21,40 @@ package com.hedera.services.txns.submission;
  */
 
 import com.hedera.services.context.ServicesNodeType;
+import com.hedera.services.throttling.PayerFairShareAdmission;
 import com.hedera.services.txns.SubmissionFlow;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionResponse;
 
 import static com.hedera.services.context.ServicesNodeType.ZERO_STAKE_NODE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_NODE_ACCOUNT;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
 /**
  * Performs precheck on a top-level transaction and submits it to the Platform if precheck passes.
+ *
+ * Before any precheck work is done, the transaction must be admitted by the node-local
+ * {@link PayerFairShareAdmission} stage; if its payer is over its fair share, the
+ * response is {@code BUSY}. A submission is only charged to its payer's share once
+ * it has passed precheck.
  */
 public class BasicSubmissionFlow implements SubmissionFlow {
 	private final ServicesNodeType nodeType;
 	private final TransactionPrecheck precheck;
 	private final PlatformSubmissionManager submissionManager;
+	private final PayerFairShareAdmission payerAdmission;
 
 	public BasicSubmissionFlow(
 			ServicesNodeType nodeType,
 			TransactionPrecheck precheck,
-			PlatformSubmissionManager submissionManager
+			PlatformSubmissionManager submissionManager,
+			PayerFairShareAdmission payerAdmission
 	) {
 		this.precheck = precheck;
+		this.payerAdmission = payerAdmission;
 		this.nodeType = nodeType;
 		this.submissionManager = submissionManager;
 	}
@@ -54,6 +64,9 @@ public class BasicSubmissionFlow implements SubmissionFlow {
 		if (nodeType == ZERO_STAKE_NODE) {
 			return responseWith(INVALID_NODE_ACCOUNT);
 		}
+		if (!payerAdmission.admits(signedTxn)) {
+			return responseWith(BUSY);
+		}
 
 		final var precheckResult = precheck.performForTopLevel(signedTxn);
 		final var precheckResultMeta = precheckResult.getLeft();
@@ -65,6 +78,7 @@ public class BasicSubmissionFlow implements SubmissionFlow {
 		}
 
 		final var accessor = precheckResult.getRight().get();
+		payerAdmission.charge(accessor.getPayer());
 		return responseWith(submissionManager.trySubmission(accessor));
 	}
 
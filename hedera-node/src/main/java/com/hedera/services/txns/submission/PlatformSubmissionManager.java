@@ -39,12 +39,15 @@ public class PlatformSubmissionManager {
 	private final Platform platform;
 	private final RecordCache recordCache;
 	private final MiscSpeedometers speedometers;
+	private final SubmissionCapture capture;
 
 	public PlatformSubmissionManager(
 			Platform platform,
 			RecordCache recordCache,
-			MiscSpeedometers speedometers
+			MiscSpeedometers speedometers,
+			SubmissionCapture capture
 	) {
+		this.capture = capture;
 		this.platform = platform;
 		this.recordCache = recordCache;
 		this.speedometers = speedometers;
@@ -57,6 +60,7 @@ public class PlatformSubmissionManager {
 				platform.createTransaction(new SwirldTransaction(accessor.getSignedTxnWrapperBytes()));
 		if (success) {
 			recordCache.addPreConsensus(accessor.getTxnId());
+			capture.offer(accessor.getSignedTxnWrapperBytes());
 			return OK;
 		} else {
 			speedometers.cyclePlatformTxnRejections();
@@ -0,0 +1,154 @@
+package com.hedera.services.txns.submission;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.capture.CapturedTxn;
+import com.hedera.services.capture.CapturedTxnWriter;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+/**
+ * When {@code hedera.txnCapture.isEnabled=true}, records every top-level transaction
+ * this node submits to the platform, with its arrival time, to the compact log at
+ * {@code hedera.txnCapture.logPath}. The log can be replayed against a local network
+ * by the {@code ReplayCapturedTxns} operation in the test clients.
+ *
+ * Capture never blocks a gRPC thread; transactions are handed off to a bounded queue
+ * drained by a single writer thread, and are dropped (and counted) if the queue is full.
+ * Only the writer thread ever touches the log; on shutdown it drains the queue and closes
+ * the log itself, while the shutdown hook just waits for it to finish.
+ */
+public class SubmissionCapture {
+	private static final Logger log = LogManager.getLogger(SubmissionCapture.class);
+
+	private static final long POLL_TIMEOUT_MS = 500L;
+	private static final long SHUTDOWN_WAIT_MS = 10_000L;
+
+	private final boolean isEnabled;
+	private final AtomicBoolean timeToStop = new AtomicBoolean(false);
+	private final AtomicLong numDropped = new AtomicLong(0);
+
+	private BlockingQueue<CapturedTxn> queue;
+	private CapturedTxnWriter writer;
+	private ExecutorService executor;
+
+	public SubmissionCapture(NodeLocalProperties properties) {
+		this.isEnabled = properties.isTxnCaptureEnabled();
+		if (isEnabled) {
+			try {
+				writer = new CapturedTxnWriter(Files.newOutputStream(ensureParentExists(properties.txnCaptureLogPath())));
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot open transaction capture log!", e);
+			}
+			queue = new ArrayBlockingQueue<>(properties.txnCaptureQueueCapacity());
+			executor = newSingleThreadExecutor();
+			executor.execute(this::drain);
+			Runtime.getRuntime().addShutdownHook(new Thread(getShutdownHook()));
+			log.info("Capturing submitted transactions to {}", properties.txnCaptureLogPath());
+		}
+	}
+
+	public void offer(byte[] signedTxnWrapperBytes) {
+		if (!isEnabled) {
+			return;
+		}
+		final var now = Instant.now();
+		final var arrival = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+		if (!queue.offer(new CapturedTxn(arrival, signedTxnWrapperBytes))) {
+			numDropped.incrementAndGet();
+		}
+	}
+
+	public long numDropped() {
+		return numDropped.get();
+	}
+
+	private void drain() {
+		try {
+			while (!timeToStop.get()) {
+				final var txn = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+				if (txn != null) {
+					writer.append(txn.getArrivalEpochNanos(), txn.getSignedTxnBytes());
+				}
+				if (txn == null || queue.isEmpty()) {
+					writer.flush();
+				}
+			}
+			for (var txn = queue.poll(); txn != null; txn = queue.poll()) {
+				writer.append(txn.getArrivalEpochNanos(), txn.getSignedTxnBytes());
+			}
+			writer.flush();
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			log.error("Transaction capture failed, no further transactions will be captured", e);
+		} finally {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				log.warn("Could not close transaction capture log", e);
+			}
+		}
+	}
+
+	Runnable getShutdownHook() {
+		return () -> {
+			timeToStop.set(true);
+			executor.shutdown();
+			try {
+				if (!executor.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+					log.warn("Transaction capture still draining after {}ms", SHUTDOWN_WAIT_MS);
+				}
+			} catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+			}
+			log.info("Stopped transaction capture ({} dropped)", numDropped.get());
+		};
+	}
+
+	ExecutorService getExecutor() {
+		return executor;
+	}
+
+	private static Path ensureParentExists(String loc) throws IOException {
+		final var path = Paths.get(loc);
+		final var parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		return path;
+	}
+}
@@ -21,8 +21,10 @@ package com.hedera.services.txns.token;
  */
 
 import com.hedera.services.context.TransactionContext;
+import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.txns.TransitionLogic;
+import com.hedera.services.txns.customfees.CustomFeeSchedules;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.hederahashgraph.api.proto.java.TokenFeeScheduleUpdateTransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionBody;
@@ -43,12 +45,18 @@ public class TokenFeeScheduleUpdateTransitionLogic implements TransitionLogic {
 	private static final Logger log = LogManager.getLogger(TokenFeeScheduleUpdateTransitionLogic.class);
 	private final TokenStore store;
 	private final TransactionContext txnCtx;
+	private final CustomFeeSchedules customFeeSchedules;
 
 	private final Function<TransactionBody, ResponseCodeEnum> SEMANTIC_CHECK = this::validate;
 
-	public TokenFeeScheduleUpdateTransitionLogic(final TokenStore tokenStore, final TransactionContext txnCtx) {
+	public TokenFeeScheduleUpdateTransitionLogic(
+			final TokenStore tokenStore,
+			final TransactionContext txnCtx,
+			final CustomFeeSchedules customFeeSchedules
+	) {
 		this.store = tokenStore;
 		this.txnCtx = txnCtx;
+		this.customFeeSchedules = customFeeSchedules;
 	}
 
 	@Override
@@ -80,6 +88,7 @@ public class TokenFeeScheduleUpdateTransitionLogic implements TransitionLogic {
 			abortWith(outcome);
 			return;
 		}
+		customFeeSchedules.invalidate(EntityId.fromGrpcTokenId(id));
 		txnCtx.setStatus(SUCCESS);
 	}
 
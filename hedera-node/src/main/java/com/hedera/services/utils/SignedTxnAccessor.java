@@ -20,8 +20,11 @@ package com.hedera.services.utils;
  * ‍
  */
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
 import com.hedera.services.exceptions.UnknownHederaFunctionality;
+import com.hedera.services.sigs.order.SigningRequirements;
 import com.hedera.services.sigs.sourcing.PojoSigMapPubKeyToSigBytes;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
@@ -44,11 +47,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bouncycastle.util.Arrays;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
-import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
 import static com.hedera.services.utils.MiscUtils.functionOf;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
@@ -65,6 +70,13 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	private static final TokenOpsUsage TOKEN_OPS_USAGE = new TokenOpsUsage();
 	private static final ExpandHandleSpanMapAccessor SPAN_MAP_ACCESSOR = new ExpandHandleSpanMapAccessor();
+	private static final ThreadLocal<MessageDigest> SHA384_DIGESTS = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+	});
 
 	private final Map<String, Object> spanMap = new HashMap<>();
 
@@ -72,10 +84,11 @@ public class SignedTxnAccessor implements TxnAccessor {
 	private int numSigPairs;
 	private byte[] hash;
 	private byte[] txnBytes;
+	private ByteString bodyBytes;
 	private byte[] utf8MemoBytes;
 	private byte[] signedTxnWrapperBytes;
 	private String memo;
-	private boolean memoHasZeroByte;
+	private Boolean memoHasZeroByte;
 	private Transaction signedTxnWrapper;
 	private SignatureMap sigMap;
 	private TransactionID txnId;
@@ -85,6 +98,7 @@ public class SignedTxnAccessor implements TxnAccessor {
 	private CryptoTransferMeta xferUsageMeta;
 	private BaseTransactionMeta txnUsageMeta;
 	private HederaFunctionality function;
+	private SigningRequirements signingRequirements;
 
 	static Function<TransactionBody, HederaFunctionality> functionExtractor = txn -> {
 		try {
@@ -104,37 +118,58 @@ public class SignedTxnAccessor implements TxnAccessor {
 	}
 
 	public SignedTxnAccessor(byte[] signedTxnWrapperBytes) throws InvalidProtocolBufferException {
+		this(signedTxnWrapperBytes, parseAliased(Transaction.parser(), unsafeWrap(signedTxnWrapperBytes)));
+	}
+
+	public SignedTxnAccessor(Transaction signedTxnWrapper) throws InvalidProtocolBufferException {
+		this(signedTxnWrapper.toByteArray(), signedTxnWrapper);
+	}
+
+	/**
+	 * Initializes the accessor without copying any of the wrapped {@code byte[]} ranges;
+	 * the {@link ByteString} fields of the parsed messages are views of the wrapper bytes,
+	 * and the hash is digested directly from those views with a thread-confined
+	 * {@link MessageDigest}. The memo bytes and the immutable usage
+	 * metadata are computed on first use.
+	 */
+	private SignedTxnAccessor(
+			byte[] signedTxnWrapperBytes,
+			Transaction signedTxnWrapper
+	) throws InvalidProtocolBufferException {
 		this.signedTxnWrapperBytes = signedTxnWrapperBytes;
-		signedTxnWrapper = Transaction.parseFrom(signedTxnWrapperBytes);
+		this.signedTxnWrapper = signedTxnWrapper;
 
 		final var signedTxnBytes = signedTxnWrapper.getSignedTransactionBytes();
+		final var digest = SHA384_DIGESTS.get();
 		if (signedTxnBytes.isEmpty()) {
-			txnBytes = signedTxnWrapper.getBodyBytes().toByteArray();
+			bodyBytes = signedTxnWrapper.getBodyBytes();
 			sigMap = signedTxnWrapper.getSigMap();
-			hash = noThrowSha384HashOf(signedTxnWrapperBytes);
+			hash = digest.digest(signedTxnWrapperBytes);
 		} else {
-			final var signedTxn = SignedTransaction.parseFrom(signedTxnBytes);
-			txnBytes = signedTxn.getBodyBytes().toByteArray();
+			final var signedTxn = parseAliased(SignedTransaction.parser(), signedTxnBytes);
+			bodyBytes = signedTxn.getBodyBytes();
 			sigMap = signedTxn.getSigMap();
-			hash = noThrowSha384HashOf(signedTxnBytes.toByteArray());
+			for (var range : signedTxnBytes.asReadOnlyByteBufferList()) {
+				digest.update(range);
+			}
+			hash = digest.digest();
 		}
 		pubKeyToSigBytes = new PojoSigMapPubKeyToSigBytes(sigMap);
 
-		txn = TransactionBody.parseFrom(txnBytes);
+		txn = parseAliased(TransactionBody.parser(), bodyBytes);
 		memo = txn.getMemo();
 		txnId = txn.getTransactionID();
 		sigMapSize = sigMap.getSerializedSize();
 		numSigPairs = sigMap.getSigPairCount();
-		utf8MemoBytes = StringUtils.getBytesUtf8(memo);
-		memoHasZeroByte = Arrays.contains(utf8MemoBytes, (byte) 0);
 
 		getFunction();
-		setBaseUsageMeta();
 		setOpUsageMeta();
 	}
 
-	public SignedTxnAccessor(Transaction signedTxnWrapper) throws InvalidProtocolBufferException {
-		this(signedTxnWrapper.toByteArray());
+	private static <T> T parseAliased(Parser<T> parser, ByteString bytes) throws InvalidProtocolBufferException {
+		final var input = bytes.newCodedInput();
+		input.enableAliasing(true);
+		return parser.parseFrom(input);
 	}
 
 	@Override
@@ -165,6 +200,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	@Override
 	public byte[] getTxnBytes() {
+		if (txnBytes == null) {
+			txnBytes = bodyBytes.toByteArray();
+		}
 		return txnBytes;
 	}
 
@@ -195,6 +233,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	@Override
 	public byte[] getMemoUtf8Bytes() {
+		if (utf8MemoBytes == null) {
+			utf8MemoBytes = StringUtils.getBytesUtf8(memo);
+		}
 		return utf8MemoBytes;
 	}
 
@@ -225,6 +266,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	@Override
 	public boolean memoHasZeroByte() {
+		if (memoHasZeroByte == null) {
+			memoHasZeroByte = Arrays.contains(getMemoUtf8Bytes(), (byte) 0);
+		}
 		return memoHasZeroByte;
 	}
 
@@ -240,6 +284,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	@Override
 	public BaseTransactionMeta baseUsageMeta() {
+		if (txnUsageMeta == null) {
+			setBaseUsageMeta();
+		}
 		return txnUsageMeta;
 	}
 
@@ -256,6 +303,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 		if (function != ConsensusSubmitMessage) {
 			throw new IllegalStateException("Cannot get ConsensusSubmitMessage metadata for a " + function + " accessor");
 		}
+		if (submitMessageMeta == null) {
+			setSubmitUsageMeta();
+		}
 		return submitMessageMeta;
 	}
 
@@ -264,13 +314,23 @@ public class SignedTxnAccessor implements TxnAccessor {
 		return pubKeyToSigBytes;
 	}
 
+	@Override
+	public void setSigningRequirements(SigningRequirements signingRequirements) {
+		this.signingRequirements = signingRequirements;
+	}
+
+	@Override
+	public SigningRequirements getSigningRequirements() {
+		return signingRequirements;
+	}
+
 	private void setBaseUsageMeta() {
 		if (function == CryptoTransfer) {
 			txnUsageMeta = new BaseTransactionMeta(
-					utf8MemoBytes.length,
+					getMemoUtf8Bytes().length,
 					txn.getCryptoTransfer().getTransfers().getAccountAmountsCount());
 		} else {
-			txnUsageMeta = new BaseTransactionMeta(utf8MemoBytes.length, 0);
+			txnUsageMeta = new BaseTransactionMeta(getMemoUtf8Bytes().length, 0);
 		}
 	}
 
@@ -280,10 +340,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 	}
 
 	private void setOpUsageMeta() {
+		/* The CryptoTransfer metadata is mutable, so it is not safe to create on demand */
 		if (function == CryptoTransfer) {
 			setXferUsageMeta();
-		} else if (function == ConsensusSubmitMessage) {
-			setSubmitUsageMeta();
 		} else if (function == TokenFeeScheduleUpdate) {
 			setFeeScheduleUpdateMeta();
 		}
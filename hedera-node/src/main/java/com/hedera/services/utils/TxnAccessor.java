@@ -20,6 +20,7 @@ package com.hedera.services.utils;
  * ‍
  */
 
+import com.hedera.services.sigs.order.SigningRequirements;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.usage.BaseTransactionMeta;
 import com.hedera.services.usage.consensus.SubmitMessageMeta;
@@ -53,6 +54,12 @@ public interface TxnAccessor {
     default RationalizedSigMeta getSigMeta() {
         throw new UnsupportedOperationException();
     }
+    default void setSigningRequirements(SigningRequirements signingRequirements) {
+        throw new UnsupportedOperationException();
+    }
+    default SigningRequirements getSigningRequirements() {
+        throw new UnsupportedOperationException();
+    }
 
     default BaseTransactionMeta baseUsageMeta() {
         throw new UnsupportedOperationException();
@@ -23,52 +23,75 @@ package com.hedera.services.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 public final class UnzipUtility {
 	private static final Logger log = LogManager.getLogger(UnzipUtility.class);
 
-	private static final int BUFFER_SIZE = 4096;
+	private static final int BUFFER_SIZE = 64 * 1024;
 
 	private UnzipUtility() {
 		throw new IllegalStateException("UnzipUtility is an utility class. Shouldn't create any instance!");
 	}
 
 	public static void unzip(final byte[] bytes, final String dstDir) throws IOException {
+		unzip(new ByteArrayInputStream(bytes), dstDir);
+	}
+
+	/**
+	 * Extracts the zip archive read from the given stream into the given directory, without
+	 * first buffering the archive in memory. Does not close the stream, which may still have
+	 * unread bytes (for example, the archive's central directory) when this method returns.
+	 * Stops before the next entry or buffer once the calling thread is interrupted.
+	 *
+	 * @param in the stream of archive bytes
+	 * @param dstDir the directory to extract into
+	 * @throws InterruptedIOException if the calling thread was interrupted during extraction
+	 * @throws IOException if the archive is malformed or an entry cannot be written
+	 * @throws IllegalArgumentException if an entry would be extracted outside the directory
+	 */
+	public static void unzip(final InputStream in, final String dstDir) throws IOException {
 		final File destDir = new File(dstDir);
 		if (!destDir.exists()) {
 			destDir.mkdir();
 			log.info("Created directory {} for update assets", destDir);
 		}
+		final var destDirPrefix = destDir.getCanonicalPath() + File.separator;
 
-		final var zipIn = new ZipInputStream(new ByteArrayInputStream(bytes));
+		final var zipIn = new ZipInputStream(in);
 		ZipEntry entry = zipIn.getNextEntry();
 		while (entry != null) {
+			throwIfInterrupted();
 			var filePath = dstDir + File.separator + entry.getName();
 			final var fileOrDir = new File(filePath);
 			filePath = fileOrDir.getCanonicalPath();
 
-			if (!filePath.startsWith(destDir.getCanonicalPath() + File.separator)) {
+			if (!filePath.startsWith(destDirPrefix)) {
 				throw new IllegalArgumentException("Zip file entry " + filePath + " has an invalid path prefix!");
 			}
 
 			if (!entry.isDirectory()) {
-				extractSingleFile(zipIn, filePath);
+				/* Archives need not have an entry for every directory */
+				fileOrDir.getParentFile().mkdirs();
+				if (!extractSingleFile(zipIn, filePath)) {
+					throwIfInterrupted();
+					throw new IOException("Zip file entry " + filePath + " could not be extracted!");
+				}
 				log.info(" - Extracted update file {}", filePath);
 			} else {
-				fileOrDir.mkdir();
+				fileOrDir.mkdirs();
 				log.info(" - Created assets sub-directory {}", fileOrDir);
 			}
 			zipIn.closeEntry();
 			entry = zipIn.getNextEntry();
 		}
-		zipIn.close();
 	}
 
 	/**
@@ -78,16 +101,29 @@ public final class UnzipUtility {
 	 * 		Input stream of zip file content
 	 * @param filePath
 	 * 		Output file name
+	 * @return whether the entry was completely extracted (so false if the calling thread was interrupted)
 	 */
-	static void extractSingleFile(ZipInputStream inputStream, String filePath) {
-		try (var bos = new BufferedOutputStream(new FileOutputStream(filePath))) {
+	static boolean extractSingleFile(ZipInputStream inputStream, String filePath) {
+		try (var out = new FileOutputStream(filePath)) {
 			final var bytesIn = new byte[BUFFER_SIZE];
 			int read;
 			while ((read = inputStream.read(bytesIn)) != -1) {
-				bos.write(bytesIn, 0, read);
+				if (Thread.currentThread().isInterrupted()) {
+					log.info("Interrupted while extracting {}", filePath);
+					return false;
+				}
+				out.write(bytesIn, 0, read);
 			}
+			return true;
 		} catch (IOException e) {
 			log.error("Unable to write to file {}", filePath, e);
+			return false;
+		}
+	}
+
+	private static void throwIfInterrupted() throws InterruptedIOException {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new InterruptedIOException("Extraction was interrupted");
 		}
 	}
 }
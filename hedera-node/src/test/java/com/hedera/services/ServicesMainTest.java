@@ -42,6 +42,7 @@ import com.hedera.services.state.logic.NetworkCtxManager;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
 import com.hedera.services.state.migration.StateMigrations;
+import com.hedera.services.state.validation.HbarFloatTracker;
 import com.hedera.services.state.validation.LedgerValidator;
 import com.hedera.services.stats.ServicesStatsManager;
 import com.hedera.services.stream.RecordStreamManager;
@@ -102,6 +103,7 @@ public class ServicesMainTest {
 	private ServicesContext ctx;
 	private PropertySource properties;
 	private LedgerValidator ledgerValidator;
+	private HbarFloatTracker floatTracker;
 	private AccountsExporter accountsExporter;
 	private PropertySources propertySources;
 	private BalancesExporter balancesExporter;
@@ -141,6 +143,7 @@ public class ServicesMainTest {
 		nodeLocalProps = mock(NodeLocalProperties.class);
 		recordsHistorian = mock(AccountRecordsHistorian.class);
 		ledgerValidator = mock(LedgerValidator.class);
+		floatTracker = mock(HbarFloatTracker.class);
 		accountsExporter = mock(AccountsExporter.class);
 		platformStatus = mock(CurrentPlatformStatus.class);
 		properties = mock(PropertySource.class);
@@ -175,6 +178,7 @@ public class ServicesMainTest {
 		given(ctx.recordStreamManager()).willReturn(recordStreamManager);
 		given(ctx.platformStatus()).willReturn(platformStatus);
 		given(ctx.ledgerValidator()).willReturn(ledgerValidator);
+		given(ctx.floatTracker()).willReturn(floatTracker);
 		given(ctx.propertySources()).willReturn(propertySources);
 		given(ctx.properties()).willReturn(properties);
 		given(ctx.recordStreamManager()).willReturn(recordStreamManager);
@@ -398,6 +402,7 @@ public class ServicesMainTest {
 
 		// then:
 		verify(systemAccountsCreator).ensureSystemAccounts(backingAccounts, addressBook);
+		verify(floatTracker).initFrom(accounts);
 		verify(pause).forMs(ServicesMain.SUGGESTED_POST_CREATION_PAUSE_MS);
 	}
 
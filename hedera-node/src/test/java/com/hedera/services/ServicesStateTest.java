@@ -41,6 +41,8 @@ import com.hedera.services.state.merkle.MerkleDiskFs;
 import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
+import com.hedera.services.state.merkle.MerkleNftMetadata;
+import com.hedera.services.state.merkle.MerkleNftMetadataDigest;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
 import com.hedera.services.state.merkle.MerkleSchedule;
 import com.hedera.services.state.merkle.MerkleToken;
@@ -50,7 +52,9 @@ import com.hedera.services.state.merkle.MerkleUniqueToken;
 import com.hedera.services.state.merkle.MerkleUniqueTokenId;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExchangeRates;
+import com.hedera.services.state.submerkle.RichInstant;
 import com.hedera.services.state.submerkle.SequenceNumber;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hedera.services.throttling.FunctionalityThrottling;
@@ -74,6 +78,9 @@ import com.swirlds.common.NodeId;
 import com.swirlds.common.Platform;
 import com.swirlds.common.SwirldDualState;
 import com.swirlds.common.SwirldTransaction;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
@@ -82,6 +89,7 @@ import com.swirlds.common.crypto.RunningHash;
 import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.fchashmap.FCOneToManyRelation;
 import com.swirlds.fcmap.FCMap;
+import com.swirlds.fcmap.internal.FCMLeaf;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -106,13 +114,16 @@ import static com.hedera.services.ServicesState.RELEASE_0130_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_0140_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_0150_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_0160_VERSION;
+import static com.hedera.services.ServicesState.RELEASE_0170_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_070_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_080_VERSION;
 import static com.hedera.services.ServicesState.RELEASE_090_VERSION;
 import static com.hedera.services.context.SingletonContextsManager.CONTEXTS;
+import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
 import static java.util.Collections.EMPTY_LIST;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -165,6 +176,8 @@ class ServicesStateTest {
 	private FCMap<MerkleEntityId, MerkleSchedule> scheduledTxsCopy;
 	private FCMap<MerkleUniqueTokenId, MerkleUniqueToken> uniqueTokens;
 	private FCMap<MerkleUniqueTokenId, MerkleUniqueToken> uniqueTokensCopy;
+	private FCMap<MerkleNftMetadataDigest, MerkleNftMetadata> nftMetadata;
+	private FCMap<MerkleNftMetadataDigest, MerkleNftMetadata> nftMetadataCopy;
 	private FCOneToManyRelation<EntityId, MerkleUniqueTokenId> uniqueTokenAssociations;
 	private FCOneToManyRelation<EntityId, MerkleUniqueTokenId> uniqueTokenAssociationsCopy;
 	private FCOneToManyRelation<EntityId, MerkleUniqueTokenId> uniqueOwnershipAssociations;
@@ -245,6 +258,8 @@ class ServicesStateTest {
 		diskFsCopy = mock(MerkleDiskFs.class);
 		scheduledTxsCopy = mock(FCMap.class);
 		uniqueTokensCopy = mock(FCMap.class);
+		nftMetadata = mock(FCMap.class);
+		nftMetadataCopy = mock(FCMap.class);
 		runningHashLeafCopy = mock(RecordsRunningHashLeaf.class);
 		uniqueTokenAssociations = mock(FCOneToManyRelation.class);
 		uniqueTokenAssociationsCopy = mock(FCOneToManyRelation.class);
@@ -272,6 +287,7 @@ class ServicesStateTest {
 		given(networkCtx.getStateVersion()).willReturn(-1);
 		given(ctx.networkCtx()).willReturn(networkCtx);
 		given(uniqueTokens.copy()).willReturn(uniqueTokensCopy);
+		given(nftMetadata.copy()).willReturn(nftMetadataCopy);
 
 		propertySources = mock(PropertySources.class);
 
@@ -309,6 +325,7 @@ class ServicesStateTest {
 		assertEquals(ServicesState.ChildIndices.NUM_0140_CHILDREN, subject.getMinimumChildCount(RELEASE_0140_VERSION));
 		assertEquals(ServicesState.ChildIndices.NUM_0150_CHILDREN, subject.getMinimumChildCount(RELEASE_0150_VERSION));
 		assertEquals(ServicesState.ChildIndices.NUM_0160_CHILDREN, subject.getMinimumChildCount(RELEASE_0160_VERSION));
+		assertEquals(ServicesState.ChildIndices.NUM_0170_CHILDREN, subject.getMinimumChildCount(RELEASE_0170_VERSION));
 
 		Throwable throwable = assertThrows(IllegalArgumentException.class,
 				() -> subject.getMinimumChildCount(invalidVersion));
@@ -366,6 +383,7 @@ class ServicesStateTest {
 		inOrder.verify(ctx).update(subject);
 		inOrder.verify(ctx).rebuildBackingStoresIfPresent();
 		inOrder.verify(ctx).rebuildStoreViewsIfPresent();
+		inOrder.verify(ctx).reseedFloatTrackerIfPresent();
 		inOrder.verify(historian).reviewExistingRecords();
 		inOrder.verify(expiryManager).reviewExistingShortLivedEntities();
 		inOrder.verify(networkCtxManager).setObservableFilesNotLoaded();
@@ -439,6 +457,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 
 		// when:
 		subject.init(platform, book);
@@ -474,6 +493,74 @@ class ServicesStateTest {
 
 		// then:
 		assertNotNull(subject.uniqueTokens());
+		assertNotNull(subject.nftMetadata());
+	}
+
+	@Test
+	void resolvesPooledNftMetadataOnInitialize() {
+		// setup:
+		final var metadata = "A".repeat(NftMetadataPool.MIN_POOLED_METADATA_BYTES).getBytes();
+		final var digest = noThrowSha384HashOf(metadata);
+		final var pooledUniqueTokens = new FCMap<MerkleUniqueTokenId, MerkleUniqueToken>();
+		final var pool = new FCMap<MerkleNftMetadataDigest, MerkleNftMetadata>();
+		pooledUniqueTokens.put(
+				new MerkleUniqueTokenId(new EntityId(0, 0, 1001), 1),
+				new MerkleUniqueToken(new EntityId(0, 0, 2), null, digest, new RichInstant(1_234_567L, 0)));
+		pool.put(new MerkleNftMetadataDigest(digest), new MerkleNftMetadata(metadata, 1));
+
+		// given:
+		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, pooledUniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, pool);
+
+		// when:
+		subject.initialize();
+
+		// then:
+		pooledUniqueTokens.forEach((id, uniqueToken) -> assertSame(metadata, uniqueToken.getMetadata()));
+	}
+
+	@Test
+	void poolsInlineNftMetadataIfMigratingFromRelease0160() throws ConstructableRegistryException {
+		// setup:
+		ConstructableRegistry.registerConstructable(new ClassConstructorPair(FCMLeaf.class, FCMLeaf::new));
+		final var metadata = "A".repeat(NftMetadataPool.MIN_POOLED_METADATA_BYTES).getBytes();
+		final var inlineUniqueTokens = new FCMap<MerkleUniqueTokenId, MerkleUniqueToken>();
+		final var pool = new FCMap<MerkleNftMetadataDigest, MerkleNftMetadata>();
+		for (long serialNo = 1; serialNo <= 2; serialNo++) {
+			inlineUniqueTokens.put(
+					new MerkleUniqueTokenId(new EntityId(0, 0, 1001), serialNo),
+					new MerkleUniqueToken(new EntityId(0, 0, 2), metadata, new RichInstant(1_234_567L, 0)));
+		}
+		// and:
+		var nodeInfo = mock(NodeInfo.class);
+		given(ctx.nodeInfo()).willReturn(nodeInfo);
+		given(nodeInfo.selfAccount()).willReturn(nodeAccount);
+		given(networkCtx.getStateVersion()).willReturn(RELEASE_0160_VERSION);
+		CONTEXTS.store(ctx);
+		// and:
+		subject.skipDiskFsHashCheck = true;
+		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
+		subject.setChild(ServicesState.ChildIndices.STORAGE, storage);
+		subject.setChild(ServicesState.ChildIndices.ACCOUNTS, accounts);
+		subject.setChild(ServicesState.ChildIndices.ADDRESS_BOOK, book);
+		subject.setChild(ServicesState.ChildIndices.NETWORK_CTX, networkCtx);
+		subject.setChild(ServicesState.ChildIndices.TOKENS, tokens);
+		subject.setChild(ServicesState.ChildIndices.TOKEN_ASSOCIATIONS, tokenAssociations);
+		subject.setChild(ServicesState.ChildIndices.DISK_FS, diskFs);
+		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
+		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
+		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, inlineUniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, pool);
+
+		// when:
+		subject.init(platform, book);
+
+		// then:
+		assertEquals(1, pool.size());
+		pool.forEach((digest, entry) -> assertEquals(2, entry.getRefCount()));
+		inlineUniqueTokens.forEach((id, uniqueToken) -> assertTrue(uniqueToken.isMetadataPooled()));
+		assertThat(logCaptor.infoLogs(),
+				hasItem(equalTo("Moved the metadata of 2 unique tokens to the NFT metadata pool")));
 	}
 
 	@Test
@@ -499,6 +586,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 
 		// when:
 		subject.init(platform, book);
@@ -531,6 +619,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, ViewBuilderTest.someUniqueTokens());
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 		// when:
 		subject.init(platform, book);
 
@@ -559,13 +648,14 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 		// when:
 		subject.init(platform, book);
 
 		// then:
 		InOrder inOrder = inOrder(
 				scheduledTxs, runningHashLeaf, diskFs, ctx, mockDigest,
-				accounts, storage, topics, tokens, tokenAssociations, networkCtx, book, uniqueTokens);
+				accounts, storage, topics, tokens, tokenAssociations, networkCtx, book, uniqueTokens, nftMetadata);
 		inOrder.verify(diskFs).checkHashesAgainstDiskContents();
 		inOrder.verify(ctx).setRecordsInitialHash(recordsHash);
 		inOrder.verify(accounts).getHash();
@@ -579,12 +669,14 @@ class ServicesStateTest {
 		inOrder.verify(book).getHash();
 		inOrder.verify(runningHashLeaf).getHash();
 		inOrder.verify(uniqueTokens).getHash();
+		inOrder.verify(nftMetadata).getHash();
 		inOrder.verify(ctx).update(subject);
 		// and:
 		assertThat(
 				logCaptor.infoLogs(),
 				contains(
 						equalTo("Init called on Services node 0 WITH Merkle saved state"),
+						equalTo("Moved the metadata of 0 unique tokens to the NFT metadata pool"),
 						startsWith("[SwirldState Hashes]"),
 						startsWith("Mock for MerkleNetworkContext"),
 						equalTo("--> Context initialized accordingly on Services node 0")));
@@ -609,6 +701,7 @@ class ServicesStateTest {
 		// and:
 		Hash overallHash = new Hash("a!dfa!dfa!dfa!dfa!dfa!dfa!dfa!dfa!dfa!dfa!dfa!df".getBytes());
 		Hash uniqueTokensRootHash = new Hash("asdhasdhasdhasdhasdhasdhasdhasdhasdhasdhasdhasdh".getBytes());
+		Hash nftMetadataRootHash = new Hash("nmtdnmtdnmtdnmtdnmtdnmtdnmtdnmtdnmtdnmtdnmtdnmtd".getBytes());
 
 		// and:
 		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
@@ -622,6 +715,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 		// and:
 		var expected = String.format("[SwirldState Hashes]\n" +
 						"  Overall                :: %s\n" +
@@ -636,7 +730,8 @@ class ServicesStateTest {
 						"  AddressBook            :: %s\n" +
 						"  RecordsRunningHashLeaf :: %s\n" +
 						"    ↪ Running hash       :: %s\n" +
-						"  UniqueTokens           :: %s",
+						"  UniqueTokens           :: %s\n" +
+						"  NftMetadata            :: %s",
 
 				overallHash,
 				accountsRootHash,
@@ -650,7 +745,8 @@ class ServicesStateTest {
 				bookHash,
 				runningHashLeafHash,
 				hashInRunningHash,
-				uniqueTokensRootHash);
+				uniqueTokensRootHash,
+				nftMetadataRootHash);
 		subject.setHash(overallHash);
 
 		given(topics.getHash()).willReturn(topicRootHash);
@@ -658,6 +754,7 @@ class ServicesStateTest {
 		given(storage.getHash()).willReturn(storageRootHash);
 		given(tokens.getHash()).willReturn(tokensRootHash);
 		given(uniqueTokens.getHash()).willReturn(uniqueTokensRootHash);
+		given(nftMetadata.getHash()).willReturn(nftMetadataRootHash);
 		given(tokenAssociations.getHash()).willReturn(tokenRelsRootHash);
 		given(networkCtx.getHash()).willReturn(ctxHash);
 		given(networkCtx.toString()).willReturn("Not really a network context representation!");
@@ -691,6 +788,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 		subject.nodeId = self;
 		subject.ctx = ctx;
 
@@ -712,6 +810,7 @@ class ServicesStateTest {
 		assertSame(scheduledTxsCopy, copy.scheduleTxs());
 		assertSame(runningHashLeafCopy, copy.runningHashLeaf());
 		assertSame(uniqueTokensCopy, copy.uniqueTokens());
+		assertSame(nftMetadataCopy, copy.nftMetadata());
 		assertNull(copy.uniqueTokenAssociations());
 		assertNull(copy.uniqueOwnershipAssociations());
 	}
@@ -730,6 +829,7 @@ class ServicesStateTest {
 		subject.setChild(ServicesState.ChildIndices.SCHEDULE_TXS, scheduledTxs);
 		subject.setChild(ServicesState.ChildIndices.RECORD_STREAM_RUNNING_HASH, runningHashLeaf);
 		subject.setChild(ServicesState.ChildIndices.UNIQUE_TOKENS, uniqueTokens);
+		subject.setChild(ServicesState.ChildIndices.NFT_METADATA, nftMetadata);
 		subject.setUniqueTokenAssociations(uniqueTokenAssociations);
 		subject.setUniqueOwnershipAssociations(uniqueOwnershipAssociations);
 		subject.nodeId = self;
@@ -753,6 +853,7 @@ class ServicesStateTest {
 		assertSame(scheduledTxsCopy, copy.scheduleTxs());
 		assertSame(runningHashLeafCopy, copy.runningHashLeaf());
 		assertSame(uniqueTokensCopy, copy.uniqueTokens());
+		assertSame(nftMetadataCopy, copy.nftMetadata());
 		assertSame(uniqueTokenAssociationsCopy, copy.uniqueTokenAssociations());
 		assertSame(uniqueOwnershipAssociationsCopy, copy.uniqueOwnershipAssociations());
 	}
@@ -853,6 +954,7 @@ class ServicesStateTest {
 
 		given(keyOrderer.keysForPayer(any(), any())).willReturn((SigningOrderResult) payerOrderResult);
 		given(keyOrderer.keysForOtherParties(any(), any())).willReturn((SigningOrderResult) otherOrderResult);
+		given(keyOrderer.withLookup(any())).willReturn(keyOrderer);
 		given(ctx.lookupRetryingKeyOrder()).willReturn(keyOrderer);
 
 		// and:
@@ -892,6 +994,7 @@ class ServicesStateTest {
 
 		given(keyOrderer.keysForPayer(any(), any())).willReturn((SigningOrderResult) payerOrderResult);
 		given(keyOrderer.keysForOtherParties(any(), any())).willReturn((SigningOrderResult) otherOrderResult);
+		given(keyOrderer.withLookup(any())).willReturn(keyOrderer);
 		given(ctx.lookupRetryingKeyOrder()).willReturn(keyOrderer);
 
 		// and:
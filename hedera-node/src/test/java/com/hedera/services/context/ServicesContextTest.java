@@ -33,10 +33,12 @@ import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.SemanticVersions;
 import com.hedera.services.context.properties.StandardizedPropertySources;
+import com.hedera.services.contracts.execution.IsolatedLocalCalls;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
 import com.hedera.services.contracts.execution.TxnAwareSoliditySigsVerifier;
 import com.hedera.services.contracts.persistence.BlobStoragePersistence;
 import com.hedera.services.contracts.sources.BlobStorageSource;
+import com.hedera.services.contracts.sources.BytecodeCache;
 import com.hedera.services.contracts.sources.LedgerAccountsSource;
 import com.hedera.services.fees.AwareHbarCentExchange;
 import com.hedera.services.fees.StandardExemptions;
@@ -54,9 +56,12 @@ import com.hedera.services.files.TieredHederaFs;
 import com.hedera.services.files.interceptors.FeeSchedulesManager;
 import com.hedera.services.files.interceptors.ThrottleDefsManager;
 import com.hedera.services.files.interceptors.TxnAwareRatesManager;
+import com.hedera.services.files.interceptors.UpdateArchiveStager;
 import com.hedera.services.files.interceptors.ValidatingCallbackInterceptor;
 import com.hedera.services.files.store.FcBlobsBytesStore;
 import com.hedera.services.grpc.NettyGrpcServerManager;
+import com.hedera.services.grpc.ReceiptStreamService;
+import com.hedera.services.grpc.TopicStreamService;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.ContractController;
 import com.hedera.services.grpc.controllers.CryptoController;
@@ -90,6 +95,8 @@ import com.hedera.services.queries.meta.MetaAnswers;
 import com.hedera.services.queries.schedule.ScheduleAnswers;
 import com.hedera.services.queries.token.TokenAnswers;
 import com.hedera.services.queries.validation.QueryFeeCheck;
+import com.hedera.services.records.GrpcRecordCache;
+import com.hedera.services.records.ReceiptWaiters;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.records.TxnAwareRecordsHistorian;
 import com.hedera.services.security.ops.SystemOpPolicies;
@@ -124,6 +131,7 @@ import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExchangeRates;
 import com.hedera.services.state.submerkle.SequenceNumber;
 import com.hedera.services.state.validation.BasedLedgerValidator;
+import com.hedera.services.state.validation.HbarFloatTracker;
 import com.hedera.services.stats.HapiOpCounters;
 import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.stats.MiscSpeedometers;
@@ -132,18 +140,22 @@ import com.hedera.services.store.AccountStore;
 import com.hedera.services.store.TypedTokenStore;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.store.tokens.HederaTokenStore;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.stream.NonBlockingHandoff;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hedera.services.throttling.HapiThrottling;
+import com.hedera.services.throttling.PayerFairShareAdmission;
 import com.hedera.services.throttling.TransactionThrottling;
 import com.hedera.services.throttling.TxnAwareHandleThrottling;
 import com.hedera.services.txns.TransitionLogicLookup;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
 import com.hedera.services.txns.TransitionRunner;
 import com.hedera.services.txns.span.ExpandHandleSpan;
 import com.hedera.services.txns.span.SpanMapManager;
 import com.hedera.services.txns.submission.BasicSubmissionFlow;
+import com.hedera.services.txns.submission.SubmissionCapture;
 import com.hedera.services.txns.submission.PlatformSubmissionManager;
 import com.hedera.services.txns.submission.SyntaxPrecheck;
 import com.hedera.services.txns.submission.TransactionPrecheck;
@@ -180,10 +192,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.spy;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.when;
@@ -464,6 +478,26 @@ class ServicesContextTest {
 		verify(scheduleStore).rebuildViews();
 	}
 
+	@Test
+	void reseedsFloatTrackerIfNonNull() {
+		// given:
+		ServicesContext ctx = new ServicesContext(nodeId, platform, state, propertySources);
+
+		// expect:
+		assertDoesNotThrow(ctx::reseedFloatTrackerIfPresent);
+		verify(accounts, never()).values();
+
+		// and given:
+		var tracker = ctx.floatTracker();
+
+		// when:
+		ctx.reseedFloatTrackerIfPresent();
+
+		// then:
+		assertTrue(tracker.isInitialized());
+		verify(accounts).values();
+	}
+
 	@Test
 	void rebuildsBackingAccountsIfNonNull() {
 		// setup:
@@ -552,6 +586,16 @@ class ServicesContextTest {
 		assertThat(ctx.entityNums(), instanceOf(EntityNumbers.class));
 		assertThat(ctx.feeSchedulesManager(), instanceOf(FeeSchedulesManager.class));
 		assertThat(ctx.submissionFlow(), instanceOf(BasicSubmissionFlow.class));
+		assertThat(ctx.payerAdmission(), instanceOf(PayerFairShareAdmission.class));
+		assertThat(ctx.submissionCapture(), instanceOf(SubmissionCapture.class));
+		assertThat(ctx.floatTracker(), instanceOf(HbarFloatTracker.class));
+		assertThat(ctx.localCalls(), instanceOf(IsolatedLocalCalls.class));
+		assertThat(ctx.bytecodeCache(), instanceOf(BytecodeCache.class));
+		assertThat(ctx.receiptWaiters(), instanceOf(ReceiptWaiters.class));
+		assertThat(ctx.grpcRecordCache(), instanceOf(GrpcRecordCache.class));
+		assertThat(ctx.receiptStreams(), instanceOf(ReceiptStreamService.class));
+		assertThat(ctx.topicBuffers(), instanceOf(TopicMessageBuffers.class));
+		assertThat(ctx.topicStreams(), instanceOf(TopicStreamService.class));
 		assertThat(ctx.answerFunctions(), instanceOf(AnswerFunctions.class));
 		assertThat(ctx.queryFeeCheck(), instanceOf(QueryFeeCheck.class));
 		assertThat(queryableState, instanceOf(AtomicReference.class));
@@ -615,6 +659,7 @@ class ServicesContextTest {
 		assertThat(ctx.hapiThrottling(), instanceOf(HapiThrottling.class));
 		assertThat(ctx.handleThrottling(), instanceOf(TxnAwareHandleThrottling.class));
 		assertThat(ctx.throttleDefsManager(), instanceOf(ThrottleDefsManager.class));
+		assertThat(ctx.updateArchiveStager(), instanceOf(UpdateArchiveStager.class));
 		assertThat(ctx.sysFileCallbacks(), instanceOf(SysFileCallbacks.class));
 		assertThat(ctx.networkCtxManager(), instanceOf(NetworkCtxManager.class));
 		assertThat(ctx.hapiOpPermissions(), instanceOf(HapiOpPermissions.class));
@@ -624,6 +669,7 @@ class ServicesContextTest {
 		assertThat(ctx.queryHeaderValidity(), instanceOf(QueryHeaderValidity.class));
 		assertThat(ctx.entityAutoRenewal(), instanceOf(EntityAutoRenewal.class));
 		assertThat(ctx.typedTokenStore(), instanceOf(TypedTokenStore.class));
+		assertThat(ctx.nftMetadataPool(), instanceOf(NftMetadataPool.class));
 		assertThat(ctx.transitionRunner(), instanceOf(TransitionRunner.class));
 		assertThat(ctx.nodeInfo(), instanceOf(NodeInfo.class));
 		assertThat(ctx.invariants(), instanceOf(InvariantChecks.class));
@@ -80,8 +80,14 @@ class BootstrapPropertiesTest {
 			entry("accounts.systemDeleteAdmin", 59L),
 			entry("accounts.systemUndeleteAdmin", 60L),
 			entry("accounts.treasury", 2L),
+			entry("contracts.bytecodeCache.maxBytes", 67108864L),
 			entry("contracts.defaultLifetime", 7890000L),
 			entry("contracts.localCall.estRetBytes", 32),
+			entry("contracts.localCall.isolation.isEnabled", false),
+			entry("contracts.localCall.isolation.maxGas", 300000L),
+			entry("contracts.localCall.isolation.queueCapacity", 256),
+			entry("contracts.localCall.isolation.threads", 4),
+			entry("contracts.localCall.isolation.timeoutMs", 5000L),
 			entry("contracts.maxGas", 300000),
 			entry("contracts.maxStorageKb", 1024),
 			entry("dev.onlyDefaultNodeListens", true),
@@ -98,7 +104,13 @@ class BootstrapPropertiesTest {
 			entry("files.nodeDetails", 102L),
 			entry("files.softwareUpdateZip", 150L),
 			entry("grpc.port", 50211),
+			entry("grpc.receiptStream.enabled", false),
+			entry("grpc.receiptStream.maxSubscriptionsPerConnection", 1000),
 			entry("grpc.tlsPort", 50212),
+			entry("grpc.topicStream.bufferBytesPerTopic", 1048576),
+			entry("grpc.topicStream.enabled", false),
+			entry("grpc.topicStream.maxBufferedTopics", 64),
+			entry("grpc.topicStream.maxSubscribers", 1000),
 			entry("hedera.accountsExportPath", "data/onboard/exportedAccount.txt"),
 			entry("hedera.exportAccountsOnStartup", false),
 			entry("hedera.numReservedSystemEntities", 1_000L),
@@ -108,6 +120,9 @@ class BootstrapPropertiesTest {
 			entry("hedera.recordStream.logPeriod", 2L),
 			entry("hedera.recordStream.isEnabled", true),
 			entry("hedera.recordStream.queueCapacity", 5000),
+			entry("hedera.txnCapture.isEnabled", false),
+			entry("hedera.txnCapture.logPath", "data/capture/submittedTxns.hcap"),
+			entry("hedera.txnCapture.queueCapacity", 10000),
 			entry("hedera.shard", 0L),
 			entry("hedera.transaction.maxMemoUtf8Bytes", 100),
 			entry("hedera.transaction.minValidDuration", 15L),
@@ -128,6 +143,10 @@ class BootstrapPropertiesTest {
 			entry("ledger.autoRenewPeriod.minDuration", 6999999L),
 			entry("ledger.schedule.txExpiryTimeSecs", 1800),
 			entry("iss.dumpFcms", false),
+			entry("iss.dumpFcmsAsRows", false),
+			entry("admission.payerFairShare.isEnabled", false),
+			entry("admission.payerFairShare.maxSharePercent", 25),
+			entry("admission.payerFairShare.minTps", 100),
 			entry("netty.mode", Profile.PROD),
 			entry("netty.prod.flowControlWindow", 10240),
 			entry("netty.prod.maxConcurrentCalls", 10),
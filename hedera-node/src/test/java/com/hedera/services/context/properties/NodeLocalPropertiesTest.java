@@ -82,6 +82,25 @@ class NodeLocalPropertiesTest {
 		assertEquals(23, subject.nettyStartRetries());
 		assertEquals(24L, subject.nettyStartRetryIntervalMs());
 		assertTrue(subject.shouldDumpFcmsOnIss());
+		assertFalse(subject.shouldDumpFcmsAsRows());
+		assertTrue(subject.isPayerFairShareEnabled());
+		assertEquals(25, subject.payerFairShareMaxSharePercent());
+		assertEquals(26, subject.payerFairShareMinTps());
+		assertTrue(subject.isTxnCaptureEnabled());
+		assertEquals("capture1.hcap", subject.txnCaptureLogPath());
+		assertEquals(27, subject.txnCaptureQueueCapacity());
+		assertTrue(subject.isLocalCallIsolationEnabled());
+		assertEquals(28L, subject.localCallIsolationMaxGas());
+		assertEquals(29, subject.localCallIsolationQueueCapacity());
+		assertEquals(30, subject.localCallIsolationThreads());
+		assertEquals(31L, subject.localCallIsolationTimeoutMs());
+		assertEquals(32L, subject.bytecodeCacheMaxBytes());
+		assertFalse(subject.isReceiptStreamEnabled());
+		assertEquals(33, subject.receiptStreamMaxSubscriptions());
+		assertFalse(subject.isTopicStreamEnabled());
+		assertEquals(34, subject.topicStreamBufferBytesPerTopic());
+		assertEquals(35, subject.topicStreamMaxBufferedTopics());
+		assertEquals(36, subject.topicStreamMaxSubscribers());
 	}
 
 	@Test
@@ -122,6 +141,25 @@ class NodeLocalPropertiesTest {
 		assertEquals(24, subject.nettyStartRetries());
 		assertEquals(25L, subject.nettyStartRetryIntervalMs());
 		assertFalse(subject.shouldDumpFcmsOnIss());
+		assertTrue(subject.shouldDumpFcmsAsRows());
+		assertFalse(subject.isPayerFairShareEnabled());
+		assertEquals(26, subject.payerFairShareMaxSharePercent());
+		assertEquals(27, subject.payerFairShareMinTps());
+		assertFalse(subject.isTxnCaptureEnabled());
+		assertEquals("capture2.hcap", subject.txnCaptureLogPath());
+		assertEquals(28, subject.txnCaptureQueueCapacity());
+		assertFalse(subject.isLocalCallIsolationEnabled());
+		assertEquals(29L, subject.localCallIsolationMaxGas());
+		assertEquals(30, subject.localCallIsolationQueueCapacity());
+		assertEquals(31, subject.localCallIsolationThreads());
+		assertEquals(32L, subject.localCallIsolationTimeoutMs());
+		assertEquals(33L, subject.bytecodeCacheMaxBytes());
+		assertTrue(subject.isReceiptStreamEnabled());
+		assertEquals(34, subject.receiptStreamMaxSubscriptions());
+		assertTrue(subject.isTopicStreamEnabled());
+		assertEquals(35, subject.topicStreamBufferBytesPerTopic());
+		assertEquals(36, subject.topicStreamMaxBufferedTopics());
+		assertEquals(37, subject.topicStreamMaxSubscribers());
 	}
 
 	private void givenPropsWithSeed(int i) {
@@ -156,6 +194,25 @@ class NodeLocalPropertiesTest {
 		given(properties.getIntProperty("netty.startRetries")).willReturn(i + 22);
 		given(properties.getLongProperty("netty.startRetryIntervalMs")).willReturn(i + 23L);
 		given(properties.getBooleanProperty("iss.dumpFcms")).willReturn(i % 2 == 1);
+		given(properties.getBooleanProperty("iss.dumpFcmsAsRows")).willReturn(i % 2 == 0);
+		given(properties.getBooleanProperty("admission.payerFairShare.isEnabled")).willReturn(i % 2 == 1);
+		given(properties.getIntProperty("admission.payerFairShare.maxSharePercent")).willReturn(i + 24);
+		given(properties.getIntProperty("admission.payerFairShare.minTps")).willReturn(i + 25);
+		given(properties.getBooleanProperty("hedera.txnCapture.isEnabled")).willReturn(i % 2 == 1);
+		given(properties.getStringProperty("hedera.txnCapture.logPath")).willReturn("capture" + i + ".hcap");
+		given(properties.getIntProperty("hedera.txnCapture.queueCapacity")).willReturn(i + 26);
+		given(properties.getBooleanProperty("contracts.localCall.isolation.isEnabled")).willReturn(i % 2 == 1);
+		given(properties.getLongProperty("contracts.localCall.isolation.maxGas")).willReturn(i + 27L);
+		given(properties.getIntProperty("contracts.localCall.isolation.queueCapacity")).willReturn(i + 28);
+		given(properties.getIntProperty("contracts.localCall.isolation.threads")).willReturn(i + 29);
+		given(properties.getLongProperty("contracts.localCall.isolation.timeoutMs")).willReturn(i + 30L);
+		given(properties.getLongProperty("contracts.bytecodeCache.maxBytes")).willReturn(i + 31L);
+		given(properties.getBooleanProperty("grpc.receiptStream.enabled")).willReturn(i % 2 == 0);
+		given(properties.getIntProperty("grpc.receiptStream.maxSubscriptionsPerConnection")).willReturn(i + 32);
+		given(properties.getBooleanProperty("grpc.topicStream.enabled")).willReturn(i % 2 == 0);
+		given(properties.getIntProperty("grpc.topicStream.bufferBytesPerTopic")).willReturn(i + 33);
+		given(properties.getIntProperty("grpc.topicStream.maxBufferedTopics")).willReturn(i + 34);
+		given(properties.getIntProperty("grpc.topicStream.maxSubscribers")).willReturn(i + 35);
 	}
 
 	static String logDir(int num) {
@@ -0,0 +1,59 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.ethereum.vm.OpCode;
+import org.ethereum.vm.program.Program;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.contracts.execution.InterruptibleVMHook.INTERRUPTIBLE_VM_HOOK;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.mock;
+
+class InterruptibleVMHookTest {
+	Program program = mock(Program.class);
+
+	@AfterEach
+	void clearInterrupt() {
+		Thread.interrupted();
+	}
+
+	@Test
+	void stepsQuietlyWhileNotInterrupted() {
+		// expect:
+		assertDoesNotThrow(() -> INTERRUPTIBLE_VM_HOOK.step(program, OpCode.JUMP));
+	}
+
+	@Test
+	void haltsOnceInterrupted() {
+		// given:
+		Thread.currentThread().interrupt();
+
+		// expect:
+		assertThrows(Program.BytecodeExecutionException.class,
+				() -> INTERRUPTIBLE_VM_HOOK.step(program, OpCode.JUMP));
+		// and:
+		assertTrue(Thread.currentThread().isInterrupted());
+	}
+}
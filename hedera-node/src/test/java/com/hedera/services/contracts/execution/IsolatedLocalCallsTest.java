@@ -0,0 +1,273 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.legacy.handler.SmartContractRequestHandler;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.api.proto.java.ResponseHeader;
+import com.swirlds.fcmap.FCMap;
+import org.ethereum.config.SystemProperties;
+import org.ethereum.db.ServicesRepositoryRoot;
+import org.ethereum.vm.VM;
+import org.ethereum.vm.program.Program;
+import org.ethereum.vm.program.invoke.ProgramInvokeMockImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.hedera.services.contracts.execution.InterruptibleVMHook.INTERRUPTIBLE_VM_HOOK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class IsolatedLocalCallsTest {
+	long now = 1_234_567L;
+	long maxGas = 300_000L;
+	long networkMaxGas = 250_000L;
+	ContractCallLocalQuery op = ContractCallLocalQuery.newBuilder()
+			.setContractID(IdUtils.asContract("0.0.1234"))
+			.setGas(1_000_000L)
+			.build();
+	ContractCallLocalResponse answer = ContractCallLocalResponse.newBuilder()
+			.setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(OK))
+			.build();
+
+	FCMap<MerkleEntityId, MerkleAccount> snapshotAccounts;
+	StateChildren snapshot;
+	ServicesRepositoryRoot snapshotRepo;
+	NodeLocalProperties properties;
+	GlobalDynamicProperties dynamicProperties;
+	SmartContractRequestHandler contracts;
+	Function<StateChildren, ServicesRepositoryRoot> snapshotRepos;
+
+	IsolatedLocalCalls subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	private void setup() {
+		snapshotAccounts = mock(FCMap.class);
+		snapshot = new StateChildren();
+		snapshotRepo = mock(ServicesRepositoryRoot.class);
+		snapshotRepos = mock(Function.class);
+		given(snapshotRepos.apply(snapshot)).willReturn(snapshotRepo);
+		contracts = mock(SmartContractRequestHandler.class);
+
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.maxGas()).willReturn((int) networkMaxGas);
+		properties = mock(NodeLocalProperties.class);
+		given(properties.isLocalCallIsolationEnabled()).willReturn(true);
+		given(properties.localCallIsolationMaxGas()).willReturn(maxGas);
+		given(properties.localCallIsolationThreads()).willReturn(1);
+		given(properties.localCallIsolationQueueCapacity()).willReturn(1);
+		given(properties.localCallIsolationTimeoutMs()).willReturn(1_000L);
+	}
+
+	@AfterEach
+	void cleanup() {
+		if (subject != null && subject.getPool() != null) {
+			subject.getPool().shutdownNow();
+		}
+	}
+
+	@Test
+	void delegatesToLegacyPathIfDisabled() throws Exception {
+		given(properties.isLocalCallIsolationEnabled()).willReturn(false);
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(op, now)).willReturn(answer);
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// when:
+		var response = subject.perform(op, now);
+
+		// then:
+		assertSame(answer, response);
+		assertNull(subject.getPool());
+		verify(snapshotRepos, never()).apply(any());
+	}
+
+	@Test
+	void delegatesToLegacyPathWithoutSignedState() throws Exception {
+		given(contracts.contractCallLocal(op, now)).willReturn(answer);
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// when:
+		var response = subject.perform(op, now);
+
+		// then:
+		assertSame(answer, response);
+		verify(snapshotRepos, never()).apply(any());
+	}
+
+	@Test
+	void runsAgainstSnapshotWithCappedGas() throws Exception {
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(op, now, snapshotRepo, snapshotAccounts, networkMaxGas))
+				.willReturn(answer);
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// when:
+		var response = subject.perform(op, now);
+
+		// then:
+		assertSame(answer, response);
+		verify(contracts, never()).contractCallLocal(op, now);
+	}
+
+	@Test
+	void usesNodeGasCapIfLower() throws Exception {
+		given(dynamicProperties.maxGas()).willReturn(1_000_000);
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(op, now, snapshotRepo, snapshotAccounts, maxGas))
+				.willReturn(answer);
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// expect:
+		assertSame(answer, subject.perform(op, now));
+	}
+
+	@Test
+	void answersBusyWhenSaturated() throws Exception {
+		var release = new CountDownLatch(1);
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(any(), anyLong(), any(), any(), anyLong())).willAnswer(invocation -> {
+			release.await();
+			return answer;
+		});
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+		/* Occupy the only worker and the only queue slot */
+		subject.getPool().execute(() -> awaitQuietly(release));
+		subject.getPool().execute(() -> awaitQuietly(release));
+
+		// when:
+		var response = subject.perform(op, now);
+		release.countDown();
+
+		// then:
+		assertEquals(BUSY, response.getHeader().getNodeTransactionPrecheckCode());
+	}
+
+	@Test
+	void answersBusyAndInterruptsCallOnTimeout() throws Exception {
+		var release = new CountDownLatch(1);
+		var interrupted = new CountDownLatch(1);
+		given(properties.localCallIsolationTimeoutMs()).willReturn(10L);
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(any(), anyLong(), any(), any(), anyLong())).willAnswer(invocation -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return answer;
+		});
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// when:
+		var response = subject.perform(op, now);
+
+		// then:
+		assertEquals(BUSY, response.getHeader().getNodeTransactionPrecheckCode());
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		release.countDown();
+	}
+
+	@Test
+	void stopsLongRunningContractNearTimeout() throws Exception {
+		var halted = new CountDownLatch(1);
+		var failure = new AtomicReference<RuntimeException>();
+		given(properties.localCallIsolationTimeoutMs()).willReturn(50L);
+		snapshot.setAccounts(snapshotAccounts);
+		var program = endlessLoop();
+		var vm = new VM(SystemProperties.getDefault(), INTERRUPTIBLE_VM_HOOK);
+		given(contracts.contractCallLocal(any(), anyLong(), any(), any(), anyLong())).willAnswer(invocation -> {
+			vm.play(program);
+			failure.set(program.getResult().getException());
+			halted.countDown();
+			return answer;
+		});
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// when:
+		var response = subject.perform(op, now);
+
+		// then:
+		assertEquals(BUSY, response.getHeader().getNodeTransactionPrecheckCode());
+		assertTrue(halted.await(1, TimeUnit.SECONDS));
+		assertTrue(failure.get() instanceof Program.BytecodeExecutionException);
+	}
+
+	@Test
+	void propagatesCallFailure() throws Exception {
+		snapshot.setAccounts(snapshotAccounts);
+		given(contracts.contractCallLocal(any(), anyLong(), any(), any(), anyLong()))
+				.willThrow(new IllegalArgumentException());
+		// and:
+		subject = new IsolatedLocalCalls(properties, dynamicProperties, contracts, () -> snapshot, snapshotRepos);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.perform(op, now));
+	}
+
+	private Program endlessLoop() {
+		/* JUMPDEST, PUSH1 0x00, JUMP */
+		var code = new byte[] { 0x5b, 0x60, 0x00, 0x56 };
+		var invoke = new ProgramInvokeMockImpl(code);
+		invoke.setGas(Long.MAX_VALUE / 2);
+		return new Program(code, invoke, null, SystemProperties.getDefault(), INTERRUPTIBLE_VM_HOOK);
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
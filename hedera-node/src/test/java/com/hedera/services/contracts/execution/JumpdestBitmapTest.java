@@ -0,0 +1,117 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.ethereum.vm.program.ProgramPrecompile;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JumpdestBitmapTest {
+	@Test
+	void skipsPushImmediates() {
+		// given:
+		byte[] code = {
+				/* PUSH1 0x5b */
+				0x60, 0x5b,
+				/* JUMPDEST */
+				0x5b,
+				/* PUSH2 0x5b 0x5b */
+				0x61, 0x5b, 0x5b,
+				/* JUMPDEST */
+				0x5b,
+				/* PUSH32 with a truncated immediate */
+				0x7f, 0x5b
+		};
+
+		// when:
+		var subject = JumpdestBitmap.analyze(code);
+
+		// then:
+		assertEquals(2, subject.numJumpdests());
+		assertTrue(subject.hasJumpDest(2));
+		assertTrue(subject.hasJumpDest(6));
+		assertFalse(subject.hasJumpDest(1));
+		assertFalse(subject.hasJumpDest(4));
+		assertFalse(subject.hasJumpDest(8));
+		assertFalse(subject.hasJumpDest(-1));
+		assertFalse(subject.hasJumpDest(1_000));
+	}
+
+	@Test
+	void agreesWithEthereumjAnalysis() {
+		// setup:
+		var r = new SplittableRandom(32);
+
+		for (int n = 0; n < 100; n++) {
+			// given:
+			var code = new byte[r.nextInt(1, 2_048)];
+			for (int i = 0; i < code.length; i++) {
+				code[i] = (byte) (r.nextInt(4) == 0 ? 0x5b : r.nextInt(256));
+			}
+
+			// when:
+			var expected = ProgramPrecompile.compile(code);
+			var actual = JumpdestBitmap.analyze(code);
+
+			// then:
+			for (int pc = 0; pc < code.length; pc++) {
+				assertEquals(expected.hasJumpDest(pc), actual.hasJumpDest(pc));
+			}
+		}
+	}
+
+	@Test
+	void serializesInEthereumjFormat() {
+		// setup:
+		var r = new SplittableRandom(64);
+		var code = new byte[1_024];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = (byte) (r.nextInt(4) == 0 ? 0x5b : r.nextInt(256));
+		}
+		var subject = JumpdestBitmap.analyze(code);
+
+		// when:
+		var serialized = subject.serialize();
+		var deserialized = ProgramPrecompile.deserialize(serialized);
+
+		// then:
+		for (int pc = 0; pc < code.length; pc++) {
+			assertEquals(subject.hasJumpDest(pc), deserialized.hasJumpDest(pc));
+		}
+	}
+
+	@Test
+	void serializesEmptyAnalysis() {
+		// given:
+		var subject = JumpdestBitmap.analyze(new byte[] { 0x00 });
+
+		// when:
+		var deserialized = ProgramPrecompile.deserialize(subject.serialize());
+
+		// then:
+		assertFalse(deserialized.hasJumpDest(0));
+	}
+}
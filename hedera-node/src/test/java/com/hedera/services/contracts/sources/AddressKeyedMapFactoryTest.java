@@ -21,6 +21,7 @@ package com.hedera.services.contracts.sources;
  */
 
 import com.hedera.services.utils.EntityIdUtils;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import org.junit.jupiter.api.Test;
 
 import java.util.Comparator;
@@ -28,8 +29,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.LEGACY_BYTECODE_PATH_PATTERN;
-import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.LEGACY_BYTECODE_PATH_TEMPLATE;
 import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.bytecodeMapFrom;
 import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.storageMapFrom;
 import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.toAddressMapping;
@@ -39,13 +38,15 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_BYTECODE;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_STORAGE;
 
 class AddressKeyedMapFactoryTest {
 	@Test
 	public void toAddressConversion() {
 		// given:
-		var mapper = toAddressMapping(LEGACY_BYTECODE_PATH_PATTERN);
-		var key = "/666/s888";
+		var mapper = toAddressMapping();
+		var key = BlobKey.fromLegacyPath("/666/s888");
 		// and:
 		var expected = EntityIdUtils.asSolidityAddress(0, 666, 888);
 
@@ -59,10 +60,10 @@ class AddressKeyedMapFactoryTest {
 	@Test
 	public void toKeyConversionWorks() {
 		// given:
-		var mapper = toKeyMapping(LEGACY_BYTECODE_PATH_TEMPLATE);
+		var mapper = toKeyMapping(CONTRACT_BYTECODE);
 		var address = EntityIdUtils.asSolidityAddress(0, 666, 888);
 		// and:
-		var expected = "/666/s888";
+		var expected = new BlobKey(CONTRACT_BYTECODE, 666, 888);
 
 		// when:
 		var actual = mapper.apply(address);
@@ -74,9 +75,9 @@ class AddressKeyedMapFactoryTest {
 	@Test
 	public void isRelevantWorks() {
 		// given:
-		var realKey = "/666/s888";
-		var fakeKey = "/a66/s888";
-		var pred = toRelevancyPredicate(LEGACY_BYTECODE_PATH_PATTERN);
+		var realKey = new BlobKey(CONTRACT_BYTECODE, 666, 888);
+		var fakeKey = new BlobKey(CONTRACT_STORAGE, 666, 888);
+		var pred = toRelevancyPredicate(CONTRACT_BYTECODE);
 
 		// expect:
 		assertTrue(pred.test(realKey));
@@ -86,8 +87,8 @@ class AddressKeyedMapFactoryTest {
 	@Test
 	public void bytecodeProductHasMapSemantics() {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
-		delegate.put(("/2/s7"), "APRIORI".getBytes());
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
+		delegate.put(BlobKey.fromLegacyPath("/2/s7"), "APRIORI".getBytes());
 		// and:
 		var address1 = EntityIdUtils.asSolidityAddress(0,2,3);
 		var address2 = EntityIdUtils.asSolidityAddress(0,3333,4);
@@ -114,10 +115,10 @@ class AddressKeyedMapFactoryTest {
 				delegate.entrySet()
 						.stream()
 						.sorted(Comparator.comparingLong(entry ->
-								Long.parseLong(entry.getKey().substring(
-										entry.getKey().indexOf('s') + 1, entry.getKey().indexOf('s') + 2
+								Long.parseLong(entry.getKey().legacyPath().substring(
+										entry.getKey().legacyPath().indexOf('s') + 1, entry.getKey().legacyPath().indexOf('s') + 2
 								))))
-						.map(entry -> String.format("%s->%s", entry.getKey(), new String(entry.getValue())))
+						.map(entry -> String.format("%s->%s", entry.getKey().legacyPath(), new String(entry.getValue())))
 						.collect(Collectors.joining(", ")));
 
 		assertTrue(storageMap.containsKey(address1));
@@ -130,8 +131,8 @@ class AddressKeyedMapFactoryTest {
 	@Test
 	public void productHasFilterSet() {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
-		delegate.put(("NOT-REAL-KEY"), "APRIORI".getBytes());
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
+		delegate.put(new BlobKey(CONTRACT_STORAGE, 2, 7), "APRIORI".getBytes());
 
 		// given:
 		var storageMap = bytecodeMapFrom(delegate);
@@ -143,8 +144,8 @@ class AddressKeyedMapFactoryTest {
 	@Test
 	public void storageProductHasMapSemantics() {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
-		delegate.put(("/2/d7"), "APRIORI".getBytes());
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
+		delegate.put(BlobKey.fromLegacyPath("/2/d7"), "APRIORI".getBytes());
 		// and:
 		var address1 = EntityIdUtils.asSolidityAddress(0,2,3);
 		var address2 = EntityIdUtils.asSolidityAddress(0,3333,4);
@@ -171,10 +172,10 @@ class AddressKeyedMapFactoryTest {
 				delegate.entrySet()
 						.stream()
 						.sorted(Comparator.comparingLong(entry ->
-								Long.parseLong(entry.getKey().substring(
-										entry.getKey().indexOf('d') + 1, entry.getKey().indexOf('d') + 2
+								Long.parseLong(entry.getKey().legacyPath().substring(
+										entry.getKey().legacyPath().indexOf('d') + 1, entry.getKey().legacyPath().indexOf('d') + 2
 								))))
-						.map(entry -> String.format("%s->%s", entry.getKey(), new String(entry.getValue())))
+						.map(entry -> String.format("%s->%s", entry.getKey().legacyPath(), new String(entry.getValue())))
 						.collect(Collectors.joining(", ")));
 
 		assertTrue(storageMap.containsKey(address1));
@@ -0,0 +1,226 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.contracts.execution.JumpdestBitmap;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.utils.EntityIdUtils;
+import org.ethereum.datasource.Source;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class BytecodeCacheTest {
+	long maxBytes = 16;
+	byte[] a = EntityIdUtils.asSolidityAddress(0, 0, 1001);
+	byte[] b = EntityIdUtils.asSolidityAddress(0, 0, 1002);
+	byte[] c = EntityIdUtils.asSolidityAddress(0, 0, 1003);
+	byte[] code = { 0x60, 0x01, 0x5b, 0x00, 0x00, 0x00, 0x00, 0x00 };
+	byte[] otherCode = { 0x5b, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
+
+	Source<byte[], byte[]> backing;
+	MiscRunningAvgs runningAvgs;
+
+	BytecodeCache subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	private void setup() {
+		backing = mock(Source.class);
+		given(backing.get(a)).willReturn(code);
+		given(backing.get(b)).willReturn(code);
+		given(backing.get(c)).willReturn(otherCode);
+		runningAvgs = mock(MiscRunningAvgs.class);
+
+		subject = new BytecodeCache(maxBytes, runningAvgs);
+	}
+
+	@Test
+	void servesRepeatedReadsFromCache() {
+		// given:
+		var view = subject.cachingView(backing);
+
+		// when:
+		var first = view.get(a);
+		var second = view.get(a);
+
+		// then:
+		assertSame(code, first);
+		assertArrayEquals(code, second);
+		verify(backing, times(1)).get(a);
+		assertEquals(0.5, subject.hitRatio());
+		verify(runningAvgs).recordBytecodeCacheLookup(true);
+		verify(runningAvgs).recordBytecodeCacheLookup(false);
+		verify(runningAvgs).recordBytecodeCacheBytes(code.length);
+	}
+
+	@Test
+	void callersCannotCorruptCachedCode() {
+		// given:
+		var view = subject.cachingView(backing);
+		var original = code.clone();
+
+		// when:
+		var loaded = view.get(a);
+		loaded[0] = (byte) ~loaded[0];
+		var hit = view.get(a);
+		hit[1] = (byte) ~hit[1];
+
+		// then:
+		assertArrayEquals(original, view.get(a));
+		assertNotSame(hit, view.get(a));
+	}
+
+	@Test
+	void sharesIdenticalCodeAcrossAddresses() {
+		// given:
+		var view = subject.cachingView(backing);
+
+		// when:
+		view.get(a);
+		view.get(b);
+
+		// then:
+		assertEquals(2, subject.numAddresses());
+		assertEquals(1, subject.numDistinctCodes());
+		assertEquals(code.length, subject.bytesCached());
+		// and:
+		var analysis = subject.analysisConfig().precompileSource().get(a);
+		assertTrue(analysis instanceof JumpdestBitmap);
+		assertSame(analysis, subject.analysisConfig().precompileSource().get(b));
+		assertTrue(analysis.hasJumpDest(2));
+		assertFalse(analysis.hasJumpDest(1));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedToFit() {
+		// given:
+		var view = subject.cachingView(backing);
+
+		// when:
+		view.get(a);
+		view.get(c);
+
+		// then:
+		assertEquals(otherCode.length, subject.bytesCached());
+		assertEquals(1, subject.numAddresses());
+		assertNull(subject.analysisConfig().precompileSource().get(a));
+		// and when:
+		view.get(a);
+		// then:
+		verify(backing, times(2)).get(a);
+	}
+
+	@Test
+	void keepsSharedCodeUntilLastAddressIsGone() {
+		// given:
+		var view = subject.cachingView(backing);
+		view.get(a);
+		view.get(b);
+
+		// when:
+		subject.invalidate(a);
+
+		// then:
+		assertEquals(code.length, subject.bytesCached());
+		// and when:
+		subject.invalidate(b);
+		// then:
+		assertEquals(0, subject.bytesCached());
+		assertEquals(0, subject.numDistinctCodes());
+	}
+
+	@Test
+	void writesAndDeletesInvalidate() {
+		// given:
+		var view = subject.cachingView(backing);
+		view.get(a);
+		view.get(b);
+
+		// when:
+		view.put(a, otherCode);
+		view.delete(b);
+
+		// then:
+		verify(backing).put(a, otherCode);
+		verify(backing).delete(b);
+		assertEquals(0, subject.numAddresses());
+	}
+
+	@Test
+	void neverCachesMissingOrOversizeCode() {
+		// given:
+		var view = subject.cachingView(backing);
+		given(backing.get(c)).willReturn(new byte[(int) maxBytes + 1]);
+
+		// when:
+		view.get(c);
+		view.get(EntityIdUtils.asSolidityAddress(0, 0, 1004));
+
+		// then:
+		assertEquals(0, subject.numAddresses());
+		assertNull(subject.analysisConfig().precompileSource().get(c));
+	}
+
+	@Test
+	void passesThroughIfDisabled() {
+		// given:
+		subject = new BytecodeCache(0, runningAvgs);
+		var view = subject.cachingView(backing);
+
+		// when:
+		view.get(a);
+		view.get(a);
+
+		// then:
+		verify(backing, times(2)).get(a);
+		assertEquals(0, subject.numAddresses());
+		assertEquals(0.0, subject.hitRatio());
+	}
+
+	@Test
+	void analysisSourceIgnoresWritesAndFlushDelegates() {
+		// given:
+		var view = subject.cachingView(backing);
+		var analyses = subject.analysisConfig().precompileSource();
+		given(backing.flush()).willReturn(true);
+
+		// when:
+		analyses.put(a, JumpdestBitmap.analyze(code));
+		analyses.delete(a);
+
+		// then:
+		assertNull(analyses.get(a));
+		assertFalse(analyses.flush());
+		assertTrue(view.flush());
+	}
+}
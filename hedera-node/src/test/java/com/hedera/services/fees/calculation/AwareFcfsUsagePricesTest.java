@@ -59,7 +59,11 @@ import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.UNRECOGNIZED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
@@ -272,6 +276,75 @@ class AwareFcfsUsagePricesTest {
 		assertEquals(nextCryptoTransferUsagePrices, actual);
 	}
 
+	@Test
+	void priceTablesMatchPricesOfApplicableSchedule() {
+		// given:
+		subject.loadPriceSchedules();
+		Timestamp beforeCurrentExpiry = Timestamp.newBuilder().setSeconds(currentExpiry - 1).build();
+		Timestamp beforeNextExpiry = Timestamp.newBuilder().setSeconds(nextExpiry - 1).build();
+
+		// when:
+		var currentTable = subject.priceTableGiven(beforeCurrentExpiry);
+		var nextTable = subject.priceTableGiven(beforeNextExpiry);
+
+		// then:
+		assertEquals(
+				currentCryptoTransferUsagePrices.get(SubType.DEFAULT).getNodedata().getMin(),
+				currentTable.priceOf(CryptoTransfer, SubType.DEFAULT, UsagePriceTable.NODE, UsagePriceTable.MIN));
+		assertEquals(
+				nextCryptoTransferUsagePrices.get(SubType.DEFAULT).getServicedata().getMax(),
+				nextTable.priceOf(CryptoTransfer, SubType.DEFAULT, UsagePriceTable.SERVICE, UsagePriceTable.MAX));
+		assertTrue(currentTable.hasPricesFor(CryptoTransfer, SubType.DEFAULT));
+		assertFalse(currentTable.hasPricesFor(CryptoTransfer, SubType.TOKEN_FUNGIBLE_COMMON));
+	}
+
+	@Test
+	void activePriceTableUsesActiveTxnValidStart() {
+		// given:
+		subject.loadPriceSchedules();
+
+		// expect:
+		assertSame(
+				subject.priceTableGiven(cryptoTransferTxn.getTransactionID().getTransactionValidStart()),
+				subject.activePriceTable());
+	}
+
+	@Test
+	void usesEmptyPriceTableIfNoSchedulesOrActiveTxnInvalid() {
+		// expect:
+		assertSame(UsagePriceTable.EMPTY_TABLE, subject.priceTableGiven(Timestamp.getDefaultInstance()));
+
+		// and given:
+		subject.loadPriceSchedules();
+		given(accessor.getTxnId()).willThrow(IllegalStateException.class);
+
+		// expect:
+		assertSame(UsagePriceTable.EMPTY_TABLE, subject.activePriceTable());
+	}
+
+	@Test
+	void recompilesPriceTablesOnUpdate() {
+		// setup:
+		Timestamp at = Timestamp.newBuilder().setSeconds(currentExpiry - 1).build();
+
+		// given:
+		subject.loadPriceSchedules();
+		var original = subject.priceTableGiven(at);
+
+		// when:
+		subject.setFeeSchedules(feeSchedules.toBuilder()
+				.setCurrentFeeSchedule(nextFeeSchedule.toBuilder()
+						.setExpiryTime(TimestampSeconds.newBuilder().setSeconds(currentExpiry)))
+				.build());
+		var updated = subject.priceTableGiven(at);
+
+		// then:
+		assertNotSame(original, updated);
+		assertEquals(
+				nextCryptoTransferUsagePrices.get(SubType.DEFAULT).getNetworkdata().getMin(),
+				updated.priceOf(CryptoTransfer, SubType.DEFAULT, UsagePriceTable.NETWORK, UsagePriceTable.MIN));
+	}
+
 	@Test
 	void loadsGoodScheduleUneventfully() throws Exception {
 		// setup:
@@ -140,6 +140,8 @@ public class UsageBasedFeeCalculatorTest {
 		accessor = new SignedTxnAccessor(signedTxn);
 		usagePrices = mock(UsagePricesProvider.class);
 		given(usagePrices.activePrices()).willReturn(currentPrices);
+		given(usagePrices.activePriceTable()).willReturn(UsagePriceTable.EMPTY_TABLE);
+		given(usagePrices.priceTableGiven(any())).willReturn(UsagePriceTable.EMPTY_TABLE);
 		correctOpEstimator = mock(TxnResourceUsageEstimator.class);
 		incorrectOpEstimator = mock(TxnResourceUsageEstimator.class);
 		correctQueryEstimator = mock(QueryResourceUsageEstimator.class);
@@ -402,6 +404,66 @@ public class UsageBasedFeeCalculatorTest {
 		assertEquals(fees.getServiceFee(), expectedFees.getServiceFee());
 	}
 
+	@Test
+	void usesActivePriceTableWhenItHasPrices() throws Exception {
+		// setup:
+		long multiplier = 5L;
+		SigValueObj expectedSigUsage = new SigValueObj(
+				FeeBuilder.getSignatureCount(signedTxn),
+				9,
+				FeeBuilder.getSignatureSize(signedTxn));
+		FeeObject expectedFees = FeeBuilder.getFeeObject(currentPrices.get(SubType.DEFAULT), resourceUsage, currentRate, multiplier);
+		suggestedMultiplier.set(multiplier);
+
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(txnUsageEstimators.apply(CryptoCreate)).willReturn(List.of(correctOpEstimator));
+		given(correctOpEstimator.usageGiven(
+				argThat(accessor.getTxn()::equals),
+				argThat(factory.apply(expectedSigUsage)),
+				argThat(view::equals))).willReturn(resourceUsage);
+		given(exchange.activeRate()).willReturn(currentRate);
+		// and:
+		given(usagePrices.activePrices()).willReturn(Collections.emptyMap());
+		given(usagePrices.activePriceTable()).willReturn(UsagePriceTable.from(Map.of(CryptoCreate, currentPrices)));
+
+		// when:
+		FeeObject fees = subject.computeFee(accessor, payerKey, view);
+
+		// then:
+		assertEquals(expectedFees.getNodeFee(), fees.getNodeFee());
+		assertEquals(expectedFees.getNetworkFee(), fees.getNetworkFee());
+		assertEquals(expectedFees.getServiceFee(), fees.getServiceFee());
+	}
+
+	@Test
+	void usesEstimatedPriceTableWhenItHasPrices() throws Exception {
+		// setup:
+		SigValueObj expectedSigUsage = new SigValueObj(
+				FeeBuilder.getSignatureCount(signedTxn),
+				9,
+				FeeBuilder.getSignatureSize(signedTxn));
+		FeeObject expectedFees = FeeBuilder.getFeeObject(currentPrices.get(SubType.DEFAULT), resourceUsage, currentRate);
+
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(txnUsageEstimators.apply(CryptoCreate)).willReturn(List.of(correctOpEstimator));
+		given(correctOpEstimator.usageGiven(
+				argThat(accessor.getTxn()::equals),
+				argThat(factory.apply(expectedSigUsage)),
+				argThat(view::equals))).willReturn(resourceUsage);
+		given(exchange.rate(at)).willReturn(currentRate);
+		// and:
+		given(usagePrices.pricesGiven(CryptoCreate, at)).willReturn(Collections.emptyMap());
+		given(usagePrices.priceTableGiven(at)).willReturn(UsagePriceTable.from(Map.of(CryptoCreate, currentPrices)));
+
+		// when:
+		FeeObject fees = subject.estimateFee(accessor, payerKey, view, at);
+
+		// then:
+		assertEquals(expectedFees.getNodeFee(), fees.getNodeFee());
+		assertEquals(expectedFees.getNetworkFee(), fees.getNetworkFee());
+		assertEquals(expectedFees.getServiceFee(), fees.getServiceFee());
+	}
+
 	@Test
 	void invokesOpDelegateAsExpectedWithOneOption() throws Exception {
 		// setup:
@@ -0,0 +1,193 @@
+package com.hedera.services.fees.calculation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.io.Files;
+import com.hedera.services.fees.bootstrap.JsonToProtoSerdeTest;
+import com.hederahashgraph.api.proto.java.CurrentAndNextFeeSchedule;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeComponents;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.fee.FeeBuilder;
+import com.hederahashgraph.fee.FeeObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.mock;
+
+class UsagePriceTableTest {
+	private static final int USAGES_PER_PRICE = 32;
+
+	private final SplittableRandom r = new SplittableRandom(1_234_567L);
+	private final ExchangeRate rate = ExchangeRate.newBuilder().setHbarEquiv(30_000).setCentEquiv(120_000).build();
+
+	@Test
+	void matchesFeeBuilderForEveryPricedFunctionInRealSchedules() throws Exception {
+		// setup:
+		final var helper = new AwareFcfsUsagePrices(null, null, null);
+		final var schedules = CurrentAndNextFeeSchedule.parseFrom(
+				Files.toByteArray(new File(JsonToProtoSerdeTest.R4_FEE_SCHEDULE_REPR_PATH)));
+
+		for (var schedule : List.of(schedules.getCurrentFeeSchedule(), schedules.getNextFeeSchedule())) {
+			// given:
+			final var prices = helper.functionUsagePricesFrom(schedule);
+			// and:
+			final var subject = UsagePriceTable.from(prices);
+
+			// expect:
+			assertFalse(prices.isEmpty());
+			assertMatchesFeeBuilder(subject, prices, true);
+		}
+	}
+
+	@Test
+	void matchesFeeBuilderForEveryFunctionAndSubTypeGivenArbitraryPrices() {
+		// given:
+		final Map<HederaFunctionality, Map<SubType, FeeData>> prices = new EnumMap<>(HederaFunctionality.class);
+		for (var function : HederaFunctionality.values()) {
+			if (function == HederaFunctionality.UNRECOGNIZED) {
+				continue;
+			}
+			final Map<SubType, FeeData> typedPrices = new HashMap<>();
+			for (var subType : SubType.values()) {
+				if (subType != SubType.UNRECOGNIZED) {
+					typedPrices.put(subType, randomFeeData(subType, false));
+				}
+			}
+			prices.put(function, typedPrices);
+		}
+		// and:
+		final var subject = UsagePriceTable.from(prices);
+
+		// expect:
+		assertMatchesFeeBuilder(subject, prices, false);
+	}
+
+	@Test
+	void hasNoPricesForAbsentEntries() {
+		// given:
+		final var subject = UsagePriceTable.from(Map.of(
+				CryptoTransfer, Map.of(SubType.DEFAULT, randomFeeData(SubType.DEFAULT, true))));
+
+		// expect:
+		assertTrue(subject.hasPricesFor(CryptoTransfer, SubType.DEFAULT));
+		assertFalse(subject.hasPricesFor(CryptoTransfer, SubType.TOKEN_FUNGIBLE_COMMON));
+		assertFalse(subject.hasPricesFor(CryptoCreate, SubType.DEFAULT));
+		assertFalse(UsagePriceTable.EMPTY_TABLE.hasPricesFor(CryptoTransfer, SubType.DEFAULT));
+	}
+
+	@Test
+	void refusesToPriceAbsentEntries() {
+		// given:
+		final var usage = mock(FeeData.class);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class,
+				() -> UsagePriceTable.EMPTY_TABLE.fees(CryptoTransfer, SubType.DEFAULT, usage, rate, 1L));
+	}
+
+	private void assertMatchesFeeBuilder(
+			UsagePriceTable subject,
+			Map<HederaFunctionality, Map<SubType, FeeData>> prices,
+			boolean realisticUsage
+	) {
+		for (var functionPrices : prices.entrySet()) {
+			final var function = functionPrices.getKey();
+			for (var typedPrices : functionPrices.getValue().entrySet()) {
+				final var subType = typedPrices.getKey();
+				assertTrue(subject.hasPricesFor(function, subType));
+				for (int i = 0; i < USAGES_PER_PRICE; i++) {
+					final var usage = randomFeeData(subType, realisticUsage);
+					final var multiplier = 1L + r.nextInt(10);
+
+					// when:
+					final var expected = FeeBuilder.getFeeObject(typedPrices.getValue(), usage, rate, multiplier);
+					final var actual = subject.fees(function, subType, usage, rate, multiplier);
+
+					// then:
+					assertSameFees(expected, actual, function + " (" + subType + ") @ " + usage);
+				}
+			}
+		}
+	}
+
+	private void assertSameFees(FeeObject expected, FeeObject actual, String context) {
+		assertEquals(expected.getNodeFee(), actual.getNodeFee(), context);
+		assertEquals(expected.getNetworkFee(), actual.getNetworkFee(), context);
+		assertEquals(expected.getServiceFee(), actual.getServiceFee(), context);
+	}
+
+	private FeeData randomFeeData(SubType subType, boolean small) {
+		return FeeData.newBuilder()
+				.setNodedata(randomComponents(small))
+				.setNetworkdata(randomComponents(small))
+				.setServicedata(randomComponents(small))
+				.setSubType(subType)
+				.build();
+	}
+
+	private FeeComponents randomComponents(boolean small) {
+		final var min = randomLong(small);
+		return FeeComponents.newBuilder()
+				.setConstant(randomLong(small))
+				.setBpt(randomLong(small))
+				.setVpt(randomLong(small))
+				.setRbh(randomLong(small))
+				.setSbh(randomLong(small))
+				.setGas(randomLong(small))
+				.setTv(randomLong(small))
+				.setBpr(randomLong(small))
+				.setSbpr(randomLong(small))
+				.setMin(min)
+				.setMax(r.nextBoolean() ? Long.MAX_VALUE : min + randomLong(small))
+				.build();
+	}
+
+	private long randomLong(boolean small) {
+		if (small) {
+			return r.nextInt(4) == 0 ? 0L : r.nextLong(1_000_000L);
+		}
+		switch (r.nextInt(4)) {
+			case 0:
+				return 0L;
+			case 1:
+				return r.nextLong(1_000L);
+			case 2:
+				return r.nextLong(1L << 32);
+			default:
+				return r.nextLong();
+		}
+	}
+}
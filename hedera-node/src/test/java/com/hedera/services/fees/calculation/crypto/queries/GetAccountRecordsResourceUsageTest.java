@@ -23,6 +23,7 @@ package com.hedera.services.fees.calculation.crypto.queries;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.queries.answering.AnswerFunctions;
+import com.hedera.services.records.GrpcRecordCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
@@ -72,7 +73,7 @@ class GetAccountRecordsResourceUsageTest {
 		nodeProps = mock(NodeLocalProperties.class);
 		view = new StateView(StateView.EMPTY_TOPICS_SUPPLIER, () -> accounts, nodeProps, null);
 
-		subject = new GetAccountRecordsResourceUsage(new AnswerFunctions(), usageEstimator);
+		subject = new GetAccountRecordsResourceUsage(new AnswerFunctions(new GrpcRecordCache()), usageEstimator);
 	}
 
 	@Test
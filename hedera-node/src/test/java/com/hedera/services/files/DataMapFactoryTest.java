@@ -22,6 +22,7 @@ package com.hedera.services.files;
 
 import com.hedera.services.fees.calculation.FeeCalcUtilsTest;
 import com.hedera.test.utils.IdUtils;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import org.junit.jupiter.api.Test;
 
 import java.util.Comparator;
@@ -31,7 +32,7 @@ import java.util.stream.Collectors;
 
 import static com.hedera.services.files.DataMapFactory.dataMapFrom;
 import static com.hedera.services.files.DataMapFactory.toFid;
-import static com.hedera.services.files.DataMapFactory.toKeyString;
+import static com.hedera.services.files.DataMapFactory.toKey;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -41,7 +42,7 @@ class DataMapFactoryTest {
 	@Test
 	public void toFidConversionWorks() {
 		// given:
-		var key = "/666/f888";
+		var key = BlobKey.fromLegacyPath("/666/f888");
 		// and:
 		var expected = IdUtils.asFile("0.666.888");
 
@@ -57,23 +58,23 @@ class DataMapFactoryTest {
 		// given:
 		var fid = IdUtils.asFile("0.2.3");
 		// and:
-		var expected = FeeCalcUtilsTest.pathOf(fid);
+		var expected = BlobKey.fromLegacyPath(FeeCalcUtilsTest.pathOf(fid));
 
 		// when:
-		var actual = toKeyString(fid);
+		var actual = toKey(fid);
 
 		// then:
 		assertEquals(expected, actual);
 	}
 
-	private String asLegacyPath(String fid) {
-		return FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid));
+	private BlobKey asLegacyPath(String fid) {
+		return BlobKey.fromLegacyPath(FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid)));
 	}
 
 	@Test
 	public void productHasMapSemantics() {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
 		delegate.put(asLegacyPath("0.2.7"), "APRIORI".getBytes());
 		// and:
 		var fid1 = IdUtils.asFile("0.2.3");
@@ -101,10 +102,10 @@ class DataMapFactoryTest {
 				delegate.entrySet()
 						.stream()
 						.sorted(Comparator.comparingLong(entry ->
-								Long.parseLong(entry.getKey().substring(
-									entry.getKey().indexOf('f') + 1, entry.getKey().indexOf('f') + 2
+								Long.parseLong(entry.getKey().legacyPath().substring(
+									entry.getKey().legacyPath().indexOf('f') + 1, entry.getKey().legacyPath().indexOf('f') + 2
 								))))
-						.map(entry -> String.format("%s->%s", entry.getKey(), new String(entry.getValue())))
+						.map(entry -> String.format("%s->%s", entry.getKey().legacyPath(), new String(entry.getValue())))
 						.collect(Collectors.joining(", ")));
 
 		assertTrue(dataMap.containsKey(fid1));
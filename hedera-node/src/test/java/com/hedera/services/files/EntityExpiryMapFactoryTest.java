@@ -24,6 +24,7 @@ import com.google.common.primitives.Longs;
 import com.hedera.services.fees.calculation.FeeCalcUtilsTest;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.test.utils.IdUtils;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import org.junit.jupiter.api.Test;
 
 import java.util.Comparator;
@@ -41,7 +42,7 @@ class EntityExpiryMapFactoryTest {
 	@Test
 	public void toFidConversionWorks() {
 		// given:
-		var key = "/666/e888";
+		var key = BlobKey.fromLegacyPath("/666/e888");
 		// and:
 		var expected = new EntityId(0, 666, 888);
 
@@ -55,23 +56,23 @@ class EntityExpiryMapFactoryTest {
 	@Test
 	public void toKeyConversionWorks() {
 		// given:
-		var expected = "/2/e3";
+		var expected = BlobKey.fromLegacyPath("/2/e3");
 
 		// when:
-		var actual = EntityExpiryMapFactory.toKeyString(new EntityId(0, 2, 3));
+		var actual = EntityExpiryMapFactory.toKey(new EntityId(0, 2, 3));
 
 		// then:
 		assertEquals(expected, actual);
 	}
 
-	private String asLegacyPath(String fid) {
-		return FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid)).replace("f", "e");
+	private BlobKey asLegacyPath(String fid) {
+		return BlobKey.fromLegacyPath(FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid)).replace("f", "e"));
 	}
 
 	@Test
 	public void productHasMapSemantics() {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
 		delegate.put(asLegacyPath("0.2.7"), Longs.toByteArray(111));
 		// and:
 		var eid1 = new EntityId(0, 2, 3);
@@ -101,12 +102,12 @@ class EntityExpiryMapFactoryTest {
 				delegate.entrySet()
 						.stream()
 						.sorted(Comparator.comparingLong(entry ->
-								Long.parseLong(entry.getKey().substring(
-										entry.getKey().indexOf('e') + 1, entry.getKey().indexOf('e') + 2
+								Long.parseLong(entry.getKey().legacyPath().substring(
+										entry.getKey().legacyPath().indexOf('e') + 1, entry.getKey().legacyPath().indexOf('e') + 2
 								))))
 						.map(entry -> String.format(
 								"%s->%d",
-								entry.getKey(),
+								entry.getKey().legacyPath(),
 								Longs.fromByteArray(entry.getValue())))
 						.collect(Collectors.joining(", ")));
 
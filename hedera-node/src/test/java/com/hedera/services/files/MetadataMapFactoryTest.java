@@ -23,6 +23,7 @@ package com.hedera.services.files;
 import com.hedera.services.fees.calculation.FeeCalcUtilsTest;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
 import com.hedera.test.utils.IdUtils;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -35,7 +36,7 @@ import java.util.stream.Collectors;
 import static com.hedera.services.files.MetadataMapFactory.metaMapFrom;
 import static com.hedera.services.files.MetadataMapFactory.toAttr;
 import static com.hedera.services.files.MetadataMapFactory.toFid;
-import static com.hedera.services.files.MetadataMapFactory.toKeyString;
+import static com.hedera.services.files.MetadataMapFactory.toKey;
 import static com.hedera.services.files.MetadataMapFactory.toValueBytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -102,7 +103,7 @@ class MetadataMapFactoryTest {
 	@Test
 	public void toFidConversionWorks() {
 		// given:
-		var key = "/666/k888";
+		var key = BlobKey.fromLegacyPath("/666/k888");
 		// and:
 		var expected = IdUtils.asFile("0.666.888");
 
@@ -118,10 +119,10 @@ class MetadataMapFactoryTest {
 		// given:
 		var fid = IdUtils.asFile("0.2.3");
 		// and:
-		var expected = FeeCalcUtilsTest.pathOfMeta(fid);
+		var expected = BlobKey.fromLegacyPath(FeeCalcUtilsTest.pathOfMeta(fid));
 
 		// when:
-		var actual = toKeyString(fid);
+		var actual = toKey(fid);
 
 		// then:
 		assertEquals(expected, actual);
@@ -130,7 +131,7 @@ class MetadataMapFactoryTest {
 	@Test
 	public void productHasMapSemantics() throws Throwable {
 		// setup:
-		Map<String, byte[]> delegate = new HashMap<>();
+		Map<BlobKey, byte[]> delegate = new HashMap<>();
 		var wacl = TxnHandlingScenario.MISC_FILE_WACL_KT.asJKey();
 		var attr0 = new HFileMeta(true, wacl, 1_234_567L);
 		var attr1 = new HFileMeta(true, wacl, 7_654_321L);
@@ -163,12 +164,12 @@ class MetadataMapFactoryTest {
 				delegate.entrySet()
 						.stream()
 						.sorted(Comparator.comparingLong(entry ->
-								Long.parseLong(entry.getKey().substring(
-										entry.getKey().indexOf('k') + 1, entry.getKey().indexOf('k') + 2
+								Long.parseLong(entry.getKey().legacyPath().substring(
+										entry.getKey().legacyPath().indexOf('k') + 1, entry.getKey().legacyPath().indexOf('k') + 2
 								))))
 						.map(entry -> String.format(
 								"%s->%s",
-								entry.getKey(),
+								entry.getKey().legacyPath(),
 								Arrays.toString(entry.getValue())))
 						.collect(Collectors.joining(", ")));
 
@@ -179,8 +180,8 @@ class MetadataMapFactoryTest {
 		assertTrue(metaMap.isEmpty());
 	}
 
-	private String asLegacyPath(String fid) {
-		return FeeCalcUtilsTest.pathOfMeta(IdUtils.asFile(fid));
+	private BlobKey asLegacyPath(String fid) {
+		return BlobKey.fromLegacyPath(FeeCalcUtilsTest.pathOfMeta(IdUtils.asFile(fid)));
 	}
 
 	@Test
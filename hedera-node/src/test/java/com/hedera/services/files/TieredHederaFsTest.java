@@ -36,6 +36,7 @@ import org.mockito.InOrder;
 
 import java.time.Instant;
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.function.Supplier;
@@ -211,6 +212,54 @@ class TieredHederaFsTest {
 		inOrder.verify(lowInterceptor).postUpdate(fid, newContents);
 	}
 
+	@Test
+	public void relevantInterceptorsGetAppendCbBeforePostCb() {
+		InOrder inOrder = inOrder(highInterceptor, lowInterceptor);
+		// and:
+		final var appendedContents = (new String(origContents) + new String(moreContents)).getBytes();
+
+		given(highInterceptor.preUpdate(argThat(fid::equals), any())).willReturn(
+				new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		given(lowInterceptor.preUpdate(argThat(fid::equals), any())).willReturn(
+				new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		// and:
+		subject.register(lowInterceptor);
+		subject.register(highInterceptor);
+		// and:
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+		given(data.get(fid)).willReturn(origContents);
+
+		// when:
+		var result = subject.append(fid, moreContents);
+
+		// then:
+		assertEquals(ResponseCodeEnum.OK, result.outcome());
+		// and:
+		inOrder.verify(highInterceptor).postAppend(fid, moreContents);
+		inOrder.verify(highInterceptor).postUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(appendedContents, bytes)));
+		inOrder.verify(lowInterceptor).postAppend(fid, moreContents);
+		inOrder.verify(lowInterceptor).postUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(appendedContents, bytes)));
+	}
+
+	@Test
+	public void overwriteDoesNotLookLikeAppend() {
+		given(highInterceptor.preUpdate(fid, newContents)).willReturn(
+				new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		// and:
+		subject.register(highInterceptor);
+		// and:
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+
+		// when:
+		subject.overwrite(fid, newContents);
+
+		// then:
+		verify(highInterceptor).postUpdate(fid, newContents);
+		verify(highInterceptor, never()).postAppend(any(), any());
+	}
+
 	@Test
 	public void shortCircuitsIfInterceptorRejects() {
 		given(highInterceptor.preUpdate(fid, newContents))
@@ -0,0 +1,387 @@
+package com.hedera.services.files.interceptors;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleDiskFs;
+import com.hederahashgraph.api.proto.java.FileID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.hedera.services.files.interceptors.UpdateArchiveStager.YES_VERDICT;
+import static com.hedera.test.utils.IdUtils.asFile;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class UpdateArchiveStagerTest {
+	private static final int MB = 1024 * 1024;
+	/* Run with e.g. -DupdateArchiveStager.entryMb=160 to stage a realistically large archive */
+	private static final int ENTRY_MB = Integer.getInteger("updateArchiveStager.entryMb", 2);
+	private static final long STAGING_WAIT_MS = 10_000L;
+
+	private final FileID updateFile = asFile("0.0.150");
+	private final FileID otherFile = asFile("0.0.911");
+
+	@TempDir
+	Path baseDir;
+
+	private Path archive;
+	private Path stagingDir;
+	private Path targetDir;
+	private MerkleDiskFs diskFs;
+	private ExecutorService executor;
+
+	private UpdateArchiveStager subject;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		archive = baseDir.resolve("update.zip");
+		stagingDir = baseDir.resolve("temp-staging");
+		targetDir = baseDir.resolve("temp");
+
+		diskFs = mock(MerkleDiskFs.class);
+		given(diskFs.contains(updateFile)).willReturn(true);
+		given(diskFs.contentsStreamOf(updateFile)).willAnswer(invocation -> Files.newInputStream(archive));
+		executor = Executors.newSingleThreadExecutor();
+
+		subject = new UpdateArchiveStager(new MockFileNumbers(), () -> diskFs, stagingDir, executor, STAGING_WAIT_MS);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void onlyInterceptsUpdateFile() {
+		// expect:
+		assertTrue(subject.priorityForCandidate(updateFile).isPresent());
+		assertFalse(subject.priorityForCandidate(otherFile).isPresent());
+		assertEquals(YES_VERDICT, subject.preUpdate(updateFile, new byte[0]));
+		assertEquals(YES_VERDICT, subject.preAttrChange(updateFile, null));
+		assertEquals(YES_VERDICT, subject.preDelete(otherFile));
+	}
+
+	@Test
+	void runningDigestOnlyHashesAppendedBytes() throws Exception {
+		// setup:
+		final var first = "First part, ".getBytes();
+		final var second = "second part, ".getBytes();
+		final var third = "and the rest".getBytes();
+		final var contents = new ByteArrayOutputStream();
+
+		// when:
+		contents.write(first);
+		subject.postUpdate(updateFile, contents.toByteArray());
+		contents.write(second);
+		subject.postAppend(updateFile, second);
+		subject.postUpdate(updateFile, contents.toByteArray());
+		contents.write(third);
+		subject.postAppend(updateFile, third);
+		subject.postUpdate(updateFile, contents.toByteArray());
+		// and:
+		subject.postAppend(otherFile, first);
+		subject.postUpdate(otherFile, first);
+
+		// then:
+		assertArrayEquals(sha384(contents.toByteArray()), subject.currentHash());
+	}
+
+	@Test
+	void runningDigestRestartsOnOverwrite() throws Exception {
+		// given:
+		subject.postUpdate(updateFile, "Something old".getBytes());
+		subject.postAppend(updateFile, " and more".getBytes());
+		subject.postUpdate(updateFile, "Something old and more".getBytes());
+
+		// when:
+		subject.postUpdate(updateFile, "Something new".getBytes());
+
+		// then:
+		assertArrayEquals(sha384("Something new".getBytes()), subject.currentHash());
+	}
+
+	@Test
+	void stagesArchiveInBackgroundAndPromotesAtomically() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of(
+				"sdk/first.bin", ENTRY_MB,
+				"sdk/lib/second.bin", ENTRY_MB,
+				"exec.sh", 0));
+		final var oldAsset = Files.createDirectories(targetDir).resolve("old.txt");
+		Files.writeString(oldAsset, "From a previous update");
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+		awaitBackgroundWork();
+		final var promoted = subject.promoteStagedTo(updateFile, expectedHash, targetDir);
+		// and:
+		awaitBackgroundWork();
+
+		// then:
+		assertTrue(promoted);
+		assertEquals((long) ENTRY_MB * MB, Files.size(targetDir.resolve("sdk/first.bin")));
+		assertEquals((long) ENTRY_MB * MB, Files.size(targetDir.resolve("sdk/lib/second.bin")));
+		assertTrue(Files.exists(targetDir.resolve("exec.sh")));
+		assertFalse(Files.exists(oldAsset));
+		assertFalse(Files.exists(stagingDir));
+		try (var remaining = Files.list(baseDir)) {
+			assertEquals(2, remaining.count());
+		}
+	}
+
+	@Test
+	void cancelsStagingThatDoesNotFinishInTime() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of("exec.sh", 0));
+		final var stuckExecutor = mock(ExecutorService.class);
+		final Future<Boolean> stuck = mock(Future.class);
+		given(stuckExecutor.submit(any(Callable.class))).willReturn(stuck);
+		given(stuck.get(1L, TimeUnit.MILLISECONDS)).willThrow(TimeoutException.class);
+		// and:
+		subject = new UpdateArchiveStager(new MockFileNumbers(), () -> diskFs, stagingDir, stuckExecutor, 1L);
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+		final var promoted = subject.promoteStagedTo(updateFile, expectedHash, targetDir);
+
+		// then:
+		assertFalse(promoted);
+		verify(stuck).cancel(true);
+		assertFalse(Files.exists(targetDir));
+	}
+
+	@Test
+	void cancelledStagingStopsPromptly() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of(
+				"sdk/first.bin", ENTRY_MB,
+				"sdk/lib/second.bin", ENTRY_MB));
+		final var contents = Files.readAllBytes(archive);
+		final var started = new CountDownLatch(1);
+		final var bytesRead = new AtomicLong();
+		given(diskFs.contentsStreamOf(updateFile)).willAnswer(invocation ->
+				new FilterInputStream(new ByteArrayInputStream(contents)) {
+					@Override
+					public int read(byte[] b, int off, int len) throws IOException {
+						started.countDown();
+						/* A slow disk; the pause ends at once if the thread is interrupted */
+						LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+						final var n = super.read(b, off, len);
+						bytesRead.addAndGet(Math.max(n, 0));
+						return n;
+					}
+				});
+		// and:
+		subject = new UpdateArchiveStager(new MockFileNumbers(), () -> diskFs, stagingDir, executor, 1L);
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		final var promoted = subject.promoteStagedTo(updateFile, expectedHash, targetDir);
+		// and:
+		awaitBackgroundWork();
+
+		// then:
+		assertFalse(promoted);
+		assertTrue(bytesRead.get() < contents.length);
+		assertFalse(Files.exists(stagingDir));
+		assertFalse(Files.exists(targetDir));
+	}
+
+	@Test
+	void rejectsArchiveWithEntriesOutsideStagingDir() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of("../escaped.txt", 0));
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+
+		// then:
+		assertFalse(subject.promoteStagedTo(updateFile, expectedHash, targetDir));
+		assertFalse(Files.exists(baseDir.resolve("escaped.txt")));
+		assertFalse(Files.exists(stagingDir));
+		assertFalse(Files.exists(targetDir));
+	}
+
+	@Test
+	void discardsStagingIfHashOfStreamedBytesMismatches() throws Exception {
+		// setup:
+		writeArchive(Map.of("exec.sh", 0));
+		final var wrongHash = new byte[48];
+
+		// when:
+		subject.stage(updateFile, wrongHash);
+
+		// then:
+		assertFalse(subject.promoteStagedTo(updateFile, wrongHash, targetDir));
+		assertFalse(Files.exists(stagingDir));
+	}
+
+	@Test
+	void doesNotStageIfRunningDigestMismatches() throws Exception {
+		// setup:
+		writeArchive(Map.of("exec.sh", 0));
+		subject.postUpdate(updateFile, Files.readAllBytes(archive));
+
+		// when:
+		subject.stage(updateFile, new byte[48]);
+
+		// then:
+		verify(diskFs, never()).contentsStreamOf(updateFile);
+		assertFalse(subject.promoteStagedTo(updateFile, new byte[48], targetDir));
+	}
+
+	@Test
+	void doesNotStageOtherFiles() throws Exception {
+		// when:
+		subject.stage(otherFile, new byte[48]);
+
+		// then:
+		verify(diskFs, never()).contentsStreamOf(otherFile);
+		assertFalse(subject.promoteStagedTo(otherFile, new byte[48], targetDir));
+	}
+
+	@Test
+	void doesNotPromoteIfFileChangedAfterStaging() throws Exception {
+		// setup:
+		final var contents = Files.readAllBytes(archivePath(Map.of("exec.sh", 0)));
+		final var expectedHash = sha384(contents);
+		subject.postUpdate(updateFile, contents);
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+		subject.postAppend(updateFile, new byte[1]);
+		subject.postUpdate(updateFile, new byte[contents.length + 1]);
+
+		// then:
+		assertFalse(subject.promoteStagedTo(updateFile, expectedHash, targetDir));
+		assertFalse(Files.exists(targetDir));
+	}
+
+	@Test
+	void doesNotPromoteForDifferentHash() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of("exec.sh", 0));
+
+		// when:
+		subject.stage(updateFile, expectedHash);
+
+		// then:
+		assertFalse(subject.promoteStagedTo(updateFile, new byte[48], targetDir));
+		assertFalse(subject.promoteStagedTo(updateFile, expectedHash, targetDir));
+	}
+
+	@Test
+	void forgetsRunningDigestOnDelete() throws Exception {
+		// setup:
+		final var expectedHash = writeArchive(Map.of("exec.sh", 0));
+		subject.postUpdate(updateFile, new byte[1]);
+
+		// when:
+		subject.preDelete(updateFile);
+		subject.stage(updateFile, expectedHash);
+
+		// then:
+		assertTrue(subject.promoteStagedTo(updateFile, expectedHash, targetDir));
+	}
+
+	private void awaitBackgroundWork() throws Exception {
+		executor.submit(() -> { }).get(5, TimeUnit.MINUTES);
+	}
+
+	private Path archivePath(Map<String, Integer> entryMbs) throws Exception {
+		writeArchive(entryMbs);
+		return archive;
+	}
+
+	/* Writes an archive with incompressible entries of the given sizes, returning its SHA-384 hash */
+	private byte[] writeArchive(Map<String, Integer> entryMbs) throws Exception {
+		final var r = new SplittableRandom(entryMbs.size());
+		final var chunk = new byte[MB];
+		try (var zipOut = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archive)))) {
+			zipOut.setLevel(Deflater.NO_COMPRESSION);
+			for (var entry : entryMbs.entrySet()) {
+				zipOut.putNextEntry(new ZipEntry(entry.getKey()));
+				if (entry.getValue() == 0) {
+					zipOut.write("#!/bin/sh\n".getBytes());
+				}
+				for (int i = 0; i < entry.getValue(); i++) {
+					fill(chunk, r);
+					zipOut.write(chunk);
+				}
+				zipOut.closeEntry();
+			}
+		}
+		final var digest = MessageDigest.getInstance("SHA-384");
+		try (var in = new DigestInputStream(Files.newInputStream(archive), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return digest.digest();
+	}
+
+	private static void fill(byte[] chunk, SplittableRandom r) {
+		for (int i = 0; i < chunk.length; i += Long.BYTES) {
+			long v = r.nextLong();
+			for (int j = 0; j < Long.BYTES; j++, v >>>= 8) {
+				chunk[i + j] = (byte) v;
+			}
+		}
+	}
+
+	private static byte[] sha384(byte[] data) throws Exception {
+		return MessageDigest.getInstance("SHA-384").digest(data);
+	}
+}
@@ -20,6 +20,7 @@ package com.hedera.services.files.store;
  * ‍
  */
 
+import com.hedera.services.state.merkle.internals.BlobKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -29,28 +30,23 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_DATA;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_METADATA;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BytesStoreAdapterTest {
-	private final Pattern DIGITS_PATTERN = Pattern.compile("\\d+");
-	private final String TPL = "%s-%d";
-	private final String PREFIX = "Testing123";
 	private final Function<byte[], StringBuilder> toSb = bytes ->
 			new StringBuilder().append(new String(Optional.ofNullable(bytes).orElse(new byte[0])));
 	private final Function<StringBuilder, byte[]> fromSb = sb -> sb.toString().getBytes();
-	private final Function<Integer, String> fromInteger = i -> String.format(TPL, PREFIX, i);
-	private final Function<String, Integer> toInteger = s -> Integer.parseInt(s.substring(PREFIX.length() + 1));
-	private final Predicate<String> IS_VALID_KEY = key -> {
-		return key.length() >= (PREFIX.length() + 2) &&
-				DIGITS_PATTERN.matcher(key.substring(PREFIX.length() + 1)).matches();
-	};
-
-	Map<String, byte[]> delegate;
+	private final Function<Integer, BlobKey> fromInteger = i -> new BlobKey(FILE_DATA, 0, i);
+	private final Function<BlobKey, Integer> toInteger = key -> (int) key.getEntityNum();
+	private final Predicate<BlobKey> IS_VALID_KEY = key -> key.getType() == FILE_DATA;
+
+	Map<BlobKey, byte[]> delegate;
 	BytesStoreAdapter<Integer, StringBuilder> subject;
 
 	@BeforeEach
@@ -92,7 +88,7 @@ class BytesStoreAdapterTest {
 	@Test
 	public void usesFilterIfPresent() {
 		// setup:
-		delegate.put("NOT-A-VALID_KEY", bytes("Nope."));
+		delegate.put(new BlobKey(FILE_METADATA, 0, 2), bytes("Nope."));
 
 		// given:
 		subject.setDelegateEntryFilter(IS_VALID_KEY);
@@ -22,6 +22,7 @@ package com.hedera.services.files.store;
 
 import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_DATA;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -48,7 +50,9 @@ import static org.mockito.BDDMockito.verify;
 
 class FcBlobsBytesStoreTest {
 	byte[] aData = "BlobA".getBytes(), bData = "BlobB".getBytes();
-	MerkleBlobMeta pathA = new MerkleBlobMeta("pathA"), pathB = new MerkleBlobMeta("pathB");
+	BlobKey keyA = new BlobKey(FILE_DATA, 0, 1), keyB = new BlobKey(FILE_DATA, 0, 2);
+	MerkleBlobMeta pathA = new MerkleBlobMeta(keyA), pathB = new MerkleBlobMeta(keyB);
+	MerkleBlobMeta untypedPath = new MerkleBlobMeta("pathC");
 
 	MerkleOptionalBlob blobA, blobB;
 	Function<byte[], MerkleOptionalBlob> blobFactory;
@@ -83,7 +87,7 @@ class FcBlobsBytesStoreTest {
 		given(pathedBlobs.remove(pathA)).willReturn(null);
 
 		// when:
-		var prev = subject.remove(pathA.getPath());
+		var prev = subject.remove(pathA.getKey());
 
 		// then:
 		assertNull(prev);
@@ -94,7 +98,7 @@ class FcBlobsBytesStoreTest {
 		given(pathedBlobs.remove(pathA)).willReturn(blobA);
 
 		// when:
-		byte[] prev = subject.remove(pathA.getPath());
+		byte[] prev = subject.remove(pathA.getKey());
 
 		// then:
 		assertNull(prev);
@@ -110,7 +114,7 @@ class FcBlobsBytesStoreTest {
 		given(pathedBlobs.getForModify(pathA)).willReturn(blobA);
 
 		// when:
-		var oldBytes = subject.put(pathA.getPath(), blobA.getData());
+		var oldBytes = subject.put(pathA.getKey(), blobA.getData());
 
 		// then:
 		verify(pathedBlobs).containsKey(pathA);
@@ -129,7 +133,7 @@ class FcBlobsBytesStoreTest {
 		given(pathedBlobs.containsKey(pathA)).willReturn(false);
 
 		// when:
-		var oldBytes = subject.put(pathA.getPath(), blobA.getData());
+		var oldBytes = subject.put(pathA.getKey(), blobA.getData());
 
 		// then:
 		verify(pathedBlobs).containsKey(pathA);
@@ -142,10 +146,10 @@ class FcBlobsBytesStoreTest {
 
 	@Test
 	public void propagatesNullFromGet() {
-		given(pathedBlobs.get(argThat(sk -> ((MerkleBlobMeta)sk).getPath().equals(pathA.getPath())))).willReturn(null);
+		given(pathedBlobs.get(argThat(sk -> ((MerkleBlobMeta)sk).getKey().equals(pathA.getKey())))).willReturn(null);
 
 		// when:
-		byte[] blob = subject.get(pathA.getPath());
+		byte[] blob = subject.get(pathA.getKey());
 
 		// then:
 		assertNull(blob);
@@ -153,10 +157,10 @@ class FcBlobsBytesStoreTest {
 
 	@Test
 	public void delegatesGet() {
-		given(pathedBlobs.get(argThat(sk -> ((MerkleBlobMeta)sk).getPath().equals(pathA.getPath())))).willReturn(blobA);
+		given(pathedBlobs.get(argThat(sk -> ((MerkleBlobMeta)sk).getKey().equals(pathA.getKey())))).willReturn(blobA);
 
 		// when:
-		byte[] blob = subject.get(pathA.getPath());
+		byte[] blob = subject.get(pathA.getKey());
 
 		// then:
 		assertEquals(new String(blobA.getData()), new String(blob));
@@ -164,11 +168,11 @@ class FcBlobsBytesStoreTest {
 
 	@Test
 	public void delegatesContainsKey() {
-		given(pathedBlobs.containsKey(argThat(sk -> ((MerkleBlobMeta)sk).getPath().equals(pathA.getPath()))))
+		given(pathedBlobs.containsKey(argThat(sk -> ((MerkleBlobMeta)sk).getKey().equals(pathA.getKey()))))
 				.willReturn(true);
 
 		// when:
-		boolean flag = subject.containsKey(pathA.getPath());
+		boolean flag = subject.containsKey(pathA.getKey());
 
 		// then:
 		assertTrue(flag);
@@ -200,21 +204,22 @@ class FcBlobsBytesStoreTest {
 		// setup:
 		Set<Entry<MerkleBlobMeta, MerkleOptionalBlob>> blobEntries = Set.of(
 				new AbstractMap.SimpleEntry<>(pathA, blobA),
-				new AbstractMap.SimpleEntry<>(pathB, blobB));
+				new AbstractMap.SimpleEntry<>(pathB, blobB),
+				new AbstractMap.SimpleEntry<>(untypedPath, blobB));
 
 		given(pathedBlobs.entrySet()).willReturn(blobEntries);
 
 		// when:
-		Set<Entry<String, byte[]>> entries = subject.entrySet();
+		Set<Entry<BlobKey, byte[]>> entries = subject.entrySet();
 
 		// then:
 		assertEquals(
 				entries
 						.stream()
-						.sorted(Comparator.comparing(Entry::getKey))
-						.map(entry -> String.format("%s->%s", entry.getKey(), new String(entry.getValue())))
+						.sorted(Comparator.comparing(entry -> entry.getKey().legacyPath()))
+						.map(entry -> String.format("%s->%s", entry.getKey().legacyPath(), new String(entry.getValue())))
 						.collect(Collectors.joining(", ")),
-				"pathA->BlobA, pathB->BlobB"
+				"/0/f1->BlobA, /0/f2->BlobB"
 		);
 	}
 
@@ -0,0 +1,138 @@
+package com.hedera.services.files.store;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.internals.BlobKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_DATA;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverlayBytesStoreTest {
+	private static final BlobKey a = new BlobKey(FILE_DATA, 0, 1);
+	private static final BlobKey b = new BlobKey(FILE_DATA, 0, 2);
+	private static final BlobKey c = new BlobKey(FILE_DATA, 0, 3);
+
+	Map<BlobKey, byte[]> base;
+
+	OverlayBytesStore subject;
+
+	@BeforeEach
+	private void setup() {
+		base = new HashMap<>();
+		base.put(a, "A".getBytes());
+		base.put(b, "B".getBytes());
+
+		subject = new OverlayBytesStore(base);
+	}
+
+	@Test
+	void readsThroughToBase() {
+		// expect:
+		assertArrayEquals("A".getBytes(), subject.get(a));
+		assertTrue(subject.containsKey(b));
+		assertFalse(subject.containsKey(c));
+		assertNull(subject.get(c));
+	}
+
+	@Test
+	void writesNeverReachBase() {
+		// when:
+		var prior = subject.put(a, "AA".getBytes());
+		subject.put(c, "C".getBytes());
+		var removed = subject.remove(b);
+
+		// then:
+		assertArrayEquals("A".getBytes(), prior);
+		assertArrayEquals("B".getBytes(), removed);
+		assertArrayEquals("AA".getBytes(), subject.get(a));
+		assertArrayEquals("C".getBytes(), subject.get(c));
+		assertNull(subject.get(b));
+		assertFalse(subject.containsKey(b));
+		assertTrue(subject.containsKey(c));
+		// and:
+		assertEquals(2, base.size());
+		assertArrayEquals("A".getBytes(), base.get(a));
+		assertArrayEquals("B".getBytes(), base.get(b));
+	}
+
+	@Test
+	void canRestoreRemovedPath() {
+		// when:
+		subject.remove(a);
+		subject.put(a, "AAA".getBytes());
+
+		// then:
+		assertArrayEquals("AAA".getBytes(), subject.get(a));
+	}
+
+	@Test
+	void entriesMergeOverlayWithBase() {
+		// given:
+		subject.put(a, "AA".getBytes());
+		subject.put(c, "C".getBytes());
+		subject.remove(b);
+
+		// when:
+		var entries = subject.entrySet().stream()
+				.map(entry -> entry.getKey().legacyPath() + "->" + new String(entry.getValue()))
+				.sorted()
+				.collect(Collectors.joining(", "));
+
+		// then:
+		assertEquals("/0/f1->AA, /0/f3->C", entries);
+		assertEquals(2, subject.size());
+	}
+
+	@Test
+	void clearHidesEverythingWithoutTouchingBase() {
+		// given:
+		subject.put(c, "C".getBytes());
+
+		// when:
+		subject.clear();
+
+		// then:
+		assertTrue(subject.isEmpty());
+		assertNull(subject.get(a));
+		assertFalse(subject.containsKey(b));
+		assertNull(subject.get(c));
+		// and:
+		assertEquals(2, base.size());
+		assertArrayEquals("A".getBytes(), base.get(a));
+
+		// and when:
+		subject.put(a, "A'".getBytes());
+
+		// then:
+		assertArrayEquals("A'".getBytes(), subject.get(a));
+		assertEquals(1, subject.size());
+	}
+}
@@ -0,0 +1,383 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.legacy.core.jproto.TxnReceipt;
+import com.hedera.services.records.ReceiptWaiters;
+import com.hedera.services.records.RecordCache;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import io.grpc.Attributes;
+import io.grpc.Context;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hedera.services.grpc.ReceiptStreamMethods.SERVICE_NAME;
+import static com.hedera.services.grpc.ReceiptStreamMethods.SUBSCRIBE_METHOD;
+import static com.hedera.services.grpc.ReceiptStreamService.BUSY_RECEIPT;
+import static com.hedera.services.grpc.ReceiptStreamService.CONNECTION_KEY;
+import static com.hedera.services.grpc.ReceiptStreamService.UNKNOWN_RECEIPT;
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+class ReceiptStreamServiceTest {
+	private final int ttl = 180;
+	private final TransactionID txnIdA = TransactionID.newBuilder()
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(12_345L))
+			.setAccountID(asAccount("0.0.2"))
+			.build();
+	private final TransactionID txnIdB = txnIdA.toBuilder()
+			.setAccountID(asAccount("0.0.3"))
+			.build();
+	private final TxnReceipt knownReceipt = TxnReceipt.newBuilder().setStatus(SUCCESS.name()).build();
+	private final TxnReceipt unknownReceipt = TxnReceipt.newBuilder().setStatus(UNKNOWN.name()).build();
+
+	private RecordCache recordCache;
+	private MiscRunningAvgs runningAvgs;
+	private MiscSpeedometers speedometers;
+	private ReceiptWaiters receiptWaiters;
+	private NodeLocalProperties nodeLocalProperties;
+	private GlobalDynamicProperties dynamicProperties;
+	private ScheduledExecutorService expiries;
+	private StreamObserver<TransactionRecord> responses;
+
+	private ReceiptStreamService subject;
+
+	@BeforeEach
+	void setUp() {
+		recordCache = mock(RecordCache.class);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		speedometers = mock(MiscSpeedometers.class);
+		expiries = mock(ScheduledExecutorService.class);
+		responses = mock(StreamObserver.class);
+		nodeLocalProperties = mock(NodeLocalProperties.class);
+		given(nodeLocalProperties.receiptStreamMaxSubscriptions()).willReturn(2);
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.cacheRecordsTtl()).willReturn(ttl);
+		receiptWaiters = new ReceiptWaiters();
+
+		subject = new ReceiptStreamService(
+				recordCache, receiptWaiters, speedometers, runningAvgs,
+				nodeLocalProperties, dynamicProperties, expiries, Runnable::run);
+	}
+
+	@Test
+	void definesExpectedService() {
+		// when:
+		final var definition = subject.serviceDefinition();
+
+		// then:
+		assertEquals(SERVICE_NAME, definition.getServiceDescriptor().getName());
+		assertNotNull(definition.getMethod(SUBSCRIBE_METHOD.getFullMethodName()));
+	}
+
+	@Test
+	void pushesReceiptOnceObservedPostConsensus() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		// then:
+		verify(expiries).schedule(any(Runnable.class), anyLong(), any());
+		verify(runningAvgs).recordPendingReceiptSubscriptions(1);
+		verify(responses, never()).onNext(any());
+
+		// and when:
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		// then:
+		verify(responses).onNext(recordWith(txnIdA, TxnReceipt.convert(knownReceipt)));
+		verify(speedometers).cycleReceiptsPushed();
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void pushesAlreadyKnownReceiptImmediately() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+
+		given(recordCache.getPriorityReceipt(txnIdA)).willReturn(knownReceipt);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+
+		// then:
+		verify(responses).onNext(recordWith(txnIdA, TxnReceipt.convert(knownReceipt)));
+		verify(expiries, never()).schedule(any(Runnable.class), anyLong(), any());
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void keepsWaitingWhileReceiptIsUnknown() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+
+		given(recordCache.getPriorityReceipt(txnIdA)).willReturn(unknownReceipt);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+
+		// then:
+		verify(responses, never()).onNext(any());
+		assertEquals(1, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void pushesUnknownAfterTtl() {
+		// setup:
+		final var expiry = ArgumentCaptor.forClass(Runnable.class);
+		final var subscriptions = subject.subscribe(responses);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		// and:
+		verify(expiries).schedule(expiry.capture(), eq((long) ttl), eq(SECONDS));
+		expiry.getValue().run();
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+
+		// then:
+		verify(responses, times(1)).onNext(any());
+		verify(responses).onNext(recordWith(txnIdA, UNKNOWN_RECEIPT));
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void rejectsSubscriptionsBeyondLimit() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+		final var txnIdC = txnIdA.toBuilder().setAccountID(asAccount("0.0.4")).build();
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		subscriptions.onNext(txnIdA);
+		subscriptions.onNext(txnIdB);
+		subscriptions.onNext(txnIdC);
+
+		// then:
+		verify(responses).onNext(recordWith(txnIdC, BUSY_RECEIPT));
+		verify(speedometers).cycleReceiptSubscriptionRejections();
+		assertEquals(2, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void limitsSubscriptionsPerConnectionAcrossCalls() {
+		// setup:
+		final SocketAddress connection = new InetSocketAddress("127.0.0.1", 50211);
+		final StreamObserver<TransactionRecord> otherResponses = mock(StreamObserver.class);
+		final var txnIdC = txnIdA.toBuilder().setAccountID(asAccount("0.0.4")).build();
+		final var firstCall = subscribeOn(connection, responses);
+		final var secondCall = subscribeOn(connection, otherResponses);
+
+		// when:
+		firstCall.onNext(txnIdA);
+		secondCall.onNext(txnIdB);
+		secondCall.onNext(txnIdC);
+		// then:
+		verify(otherResponses).onNext(recordWith(txnIdC, BUSY_RECEIPT));
+		assertEquals(2, subject.numPendingFor(connection));
+
+		// and when:
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		secondCall.onNext(txnIdC);
+		// then:
+		verify(otherResponses, times(1)).onNext(any());
+		assertEquals(2, subject.numPendingFor(connection));
+	}
+
+	@Test
+	void interceptorKeysCallsByRemoteAddress() {
+		// setup:
+		final SocketAddress connection = new InetSocketAddress("127.0.0.1", 50211);
+		final ServerCall<TransactionID, TransactionRecord> call = mock(ServerCall.class);
+		final ServerCall.Listener<TransactionID> listener = mock(ServerCall.Listener.class);
+		final AtomicReference<Object> seen = new AtomicReference<>();
+
+		given(call.getAttributes()).willReturn(Attributes.newBuilder()
+				.set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, connection)
+				.build());
+
+		// when:
+		new ReceiptStreamService.ConnectionInterceptor().interceptCall(call, new Metadata(), (c, h) -> {
+			seen.set(CONNECTION_KEY.get());
+			return listener;
+		});
+
+		// then:
+		assertSame(connection, seen.get());
+	}
+
+	@Test
+	void pushesOnlyWhileClientIsReady() {
+		// setup:
+		final ServerCallStreamObserver<TransactionRecord> serverResponses = mock(ServerCallStreamObserver.class);
+		final var onReady = ArgumentCaptor.forClass(Runnable.class);
+		final var subscriptions = subject.subscribe(serverResponses);
+		verify(serverResponses).setOnReadyHandler(onReady.capture());
+
+		given(serverResponses.isReady()).willReturn(false);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		// then:
+		verify(serverResponses, never()).onNext(any());
+
+		// and when:
+		given(serverResponses.isReady()).willReturn(true);
+		onReady.getValue().run();
+		// then:
+		verify(serverResponses).onNext(recordWith(txnIdA, TxnReceipt.convert(knownReceipt)));
+	}
+
+	@Test
+	void cancelsSubscriberThatFallsTooFarBehind() {
+		// setup:
+		final ServerCallStreamObserver<TransactionRecord> serverResponses = mock(ServerCallStreamObserver.class);
+		final var txnIdC = txnIdA.toBuilder().setAccountID(asAccount("0.0.4")).build();
+		final var subscriptions = subject.subscribe(serverResponses);
+
+		given(serverResponses.isReady()).willReturn(false);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		subscriptions.onNext(txnIdB);
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		receiptWaiters.notifyWaiters(txnIdB, knownReceipt);
+		subscriptions.onNext(txnIdC);
+		receiptWaiters.notifyWaiters(txnIdC, knownReceipt);
+		subscriptions.onNext(txnIdA);
+
+		// then:
+		verify(serverResponses, never()).onNext(any());
+		verify(serverResponses).onError(argThat(t ->
+				t instanceof StatusRuntimeException
+						&& ((StatusRuntimeException) t).getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED));
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void completesOncePendingDrainAfterClientCompletes() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		subscriptions.onCompleted();
+		// then:
+		verify(responses, never()).onCompleted();
+
+		// and when:
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		// then:
+		verify(responses).onCompleted();
+	}
+
+	@Test
+	void cancellationForgetsPending() {
+		// setup:
+		final ServerCallStreamObserver<TransactionRecord> serverResponses = mock(ServerCallStreamObserver.class);
+		final var onCancel = ArgumentCaptor.forClass(Runnable.class);
+		final var subscriptions = subject.subscribe(serverResponses);
+		verify(serverResponses).setOnCancelHandler(onCancel.capture());
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		onCancel.getValue().run();
+		subscriptions.onNext(txnIdB);
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+
+		// then:
+		verify(serverResponses, never()).onNext(any());
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	@Test
+	void failedPushClosesSubscriptions() {
+		// setup:
+		final var subscriptions = subject.subscribe(responses);
+
+		willThrow(IllegalStateException.class).given(responses).onNext(any());
+
+		// when:
+		subscriptions.onNext(txnIdA);
+		subscriptions.onNext(txnIdB);
+		receiptWaiters.notifyWaiters(txnIdA, knownReceipt);
+		subscriptions.onError(new IllegalStateException());
+
+		// then:
+		verify(responses, times(1)).onNext(any());
+		assertEquals(0, receiptWaiters.numWaiting());
+	}
+
+	private StreamObserver<TransactionID> subscribeOn(
+			Object connection,
+			StreamObserver<TransactionRecord> responses
+	) {
+		final var context = Context.current().withValue(CONNECTION_KEY, connection);
+		final var previous = context.attach();
+		try {
+			return subject.subscribe(responses);
+		} finally {
+			context.detach(previous);
+		}
+	}
+
+	private TransactionRecord recordWith(TransactionID txnId, TransactionReceipt receipt) {
+		return TransactionRecord.newBuilder()
+				.setTransactionID(txnId)
+				.setReceipt(receipt)
+				.build();
+	}
+}
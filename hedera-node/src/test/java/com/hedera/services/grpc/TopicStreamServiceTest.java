@@ -0,0 +1,306 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
+import com.hedera.services.txns.validation.OptionValidator;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.swirlds.fcmap.FCMap;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+
+import static com.hedera.services.grpc.TopicStreamMethods.SERVICE_NAME;
+import static com.hedera.services.grpc.TopicStreamMethods.SUBSCRIBE_METHOD;
+import static com.hedera.services.txns.consensus.TopicMessageRing.SLOT_HEADER_BYTES;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOPIC_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+class TopicStreamServiceTest {
+	private final int maxMessageBytes = 16;
+	private final int numSlots = 4;
+	private final byte[] runningHash = new byte[48];
+	private final Instant consensusTime = Instant.ofEpochSecond(1_234_567L);
+	private final TopicID topic = TopicID.newBuilder().setTopicNum(1_001).build();
+
+	private StateView view;
+	private OptionValidator validator;
+	private MiscRunningAvgs runningAvgs;
+	private MiscSpeedometers speedometers;
+	private TopicMessageBuffers topicBuffers;
+	private NodeLocalProperties nodeLocalProperties;
+	private GlobalDynamicProperties dynamicProperties;
+	private FCMap<MerkleEntityId, MerkleTopic> topics;
+	private StreamObserver<TopicStreamMessage> responses;
+
+	private TopicStreamService subject;
+
+	@BeforeEach
+	void setUp() {
+		topics = mock(FCMap.class);
+		view = mock(StateView.class);
+		given(view.topics()).willReturn(topics);
+		validator = mock(OptionValidator.class);
+		given(validator.queryableTopicStatus(topic, topics)).willReturn(OK);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		speedometers = mock(MiscSpeedometers.class);
+		responses = mock(StreamObserver.class);
+		nodeLocalProperties = mock(NodeLocalProperties.class);
+		given(nodeLocalProperties.topicStreamMaxSubscribers()).willReturn(2);
+		given(nodeLocalProperties.topicStreamMaxBufferedTopics()).willReturn(1);
+		given(nodeLocalProperties.topicStreamBufferBytesPerTopic())
+				.willReturn(numSlots * (SLOT_HEADER_BYTES + maxMessageBytes));
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.messageMaxBytesAllowed()).willReturn(maxMessageBytes);
+		topicBuffers = new TopicMessageBuffers(nodeLocalProperties, dynamicProperties);
+
+		subject = new TopicStreamService(
+				topicBuffers, () -> view, validator, speedometers, runningAvgs, nodeLocalProperties, Runnable::run);
+	}
+
+	@Test
+	void definesExpectedService() {
+		// when:
+		final var definition = subject.serviceDefinition();
+
+		// then:
+		assertEquals(SERVICE_NAME, definition.getServiceDescriptor().getName());
+		assertNotNull(definition.getMethod(SUBSCRIBE_METHOD.getFullMethodName()));
+	}
+
+	@Test
+	void rejectsMissingTopic() {
+		given(validator.queryableTopicStatus(topic, topics)).willReturn(INVALID_TOPIC_ID);
+
+		// when:
+		subject.subscribe(new TopicStreamQuery(topic, 0), responses);
+
+		// then:
+		verify(responses).onError(argThat(e -> hasCode(e, Status.Code.NOT_FOUND)));
+		assertEquals(0, subject.numSubscribers());
+	}
+
+	@Test
+	void rejectsSubscribersBeyondLimit() {
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), mock(StreamObserver.class));
+		subject.subscribe(new TopicStreamQuery(topic, 0), mock(StreamObserver.class));
+
+		// when:
+		subject.subscribe(new TopicStreamQuery(topic, 0), responses);
+
+		// then:
+		verify(responses).onError(argThat(e -> hasCode(e, Status.Code.RESOURCE_EXHAUSTED)));
+		assertEquals(2, subject.numSubscribers());
+		verify(runningAvgs).recordTopicStreamSubscribers(2);
+	}
+
+	@Test
+	void rejectsWhenNoTopicCanBeBuffered() {
+		// setup:
+		final var otherTopic = TopicID.newBuilder().setTopicNum(1_002).build();
+		given(validator.queryableTopicStatus(otherTopic, topics)).willReturn(OK);
+
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), mock(StreamObserver.class));
+
+		// when:
+		subject.subscribe(new TopicStreamQuery(otherTopic, 0), responses);
+
+		// then:
+		verify(responses).onError(argThat(e -> hasCode(e, Status.Code.RESOURCE_EXHAUSTED)));
+		assertEquals(1, subject.numSubscribers());
+	}
+
+	@Test
+	void liveSubscriptionOnNewRingGetsFirstAppended() {
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), responses);
+
+		// when:
+		append(41, "a");
+		append(42, "b");
+
+		// then:
+		verify(responses).onNext(argThat(m -> m.getSequenceNumber() == 41));
+		verify(responses).onNext(argThat(m -> m.getSequenceNumber() == 42));
+		verify(speedometers, times(2)).cycleTopicMessagesPushed();
+	}
+
+	@Test
+	void liveSubscriptionSkipsAlreadyBuffered() {
+		// given:
+		topicBuffers.watch(topic, () -> {});
+		append(1, "a");
+		append(2, "b");
+
+		// when:
+		subject.subscribe(new TopicStreamQuery(topic, 0), responses);
+		append(3, "c");
+
+		// then:
+		verify(responses, times(1)).onNext(any());
+		verify(responses).onNext(argThat(m -> m.getSequenceNumber() == 3));
+	}
+
+	@Test
+	void resumesFromRequestedSequenceNumber() {
+		// given:
+		topicBuffers.watch(topic, () -> {});
+		append(1, "a");
+		append(2, "b");
+		append(3, "c");
+
+		// when:
+		subject.subscribe(new TopicStreamQuery(topic, 2), responses);
+
+		// then:
+		verify(responses, times(2)).onNext(any());
+		verify(responses).onNext(argThat(m -> m.getSequenceNumber() == 2
+				&& m.getMessage().equals(ByteString.copyFromUtf8("b"))));
+		verify(responses).onNext(argThat(m -> m.getSequenceNumber() == 3));
+		verify(runningAvgs).recordTopicStreamSubscriberLag(0L);
+	}
+
+	@Test
+	void waitsWhileNotReadyThenResumesOnReady() {
+		// setup:
+		final var serverResponses = mock(ServerCallStreamObserver.class);
+		final var onReady = ArgumentCaptor.forClass(Runnable.class);
+		given(serverResponses.isReady()).willReturn(false);
+
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), serverResponses);
+		verify(serverResponses).setOnReadyHandler(onReady.capture());
+		append(1, "a");
+		append(2, "b");
+
+		// then:
+		verify(serverResponses, never()).onNext(any());
+		verify(runningAvgs).recordTopicStreamSubscriberLag(2L);
+
+		// and when:
+		given(serverResponses.isReady()).willReturn(true);
+		onReady.getValue().run();
+
+		// then:
+		verify(serverResponses, times(2)).onNext(any());
+	}
+
+	@Test
+	void dropsSubscriberThatFellOutOfRing() {
+		// setup:
+		final var serverResponses = mock(ServerCallStreamObserver.class);
+		final var onReady = ArgumentCaptor.forClass(Runnable.class);
+		given(serverResponses.isReady()).willReturn(false);
+
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), serverResponses);
+		verify(serverResponses).setOnReadyHandler(onReady.capture());
+		for (int seqNo = 1; seqNo <= numSlots + 1; seqNo++) {
+			append(seqNo, "m" + seqNo);
+		}
+
+		// when:
+		given(serverResponses.isReady()).willReturn(true);
+		onReady.getValue().run();
+
+		// then:
+		verify(serverResponses, never()).onNext(any());
+		verify(serverResponses).onError(argThat(e -> hasCode(e, Status.Code.OUT_OF_RANGE)));
+		verify(speedometers).cycleTopicSubscriptionsDropped();
+		assertEquals(0, subject.numSubscribers());
+	}
+
+	@Test
+	void cancellationStopsPushes() {
+		// setup:
+		final var serverResponses = mock(ServerCallStreamObserver.class);
+		final var onCancel = ArgumentCaptor.forClass(Runnable.class);
+		given(serverResponses.isReady()).willReturn(true);
+
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), serverResponses);
+		verify(serverResponses).setOnCancelHandler(onCancel.capture());
+
+		// when:
+		onCancel.getValue().run();
+		append(1, "a");
+
+		// then:
+		verify(serverResponses, never()).onNext(any());
+		assertEquals(0, subject.numSubscribers());
+		verify(runningAvgs).recordTopicStreamSubscribers(0);
+	}
+
+	@Test
+	void failedPushClosesSubscription() {
+		// setup:
+		willThrow(IllegalStateException.class).given(responses).onNext(any());
+
+		// given:
+		subject.subscribe(new TopicStreamQuery(topic, 0), responses);
+
+		// when:
+		append(1, "a");
+		append(2, "b");
+
+		// then:
+		verify(responses, times(1)).onNext(any());
+		verify(speedometers, never()).cycleTopicMessagesPushed();
+		// and:
+		verify(runningAvgs, times(1)).recordTopicStreamSubscriberLag(anyLong());
+		assertEquals(0, subject.numSubscribers());
+	}
+
+	private void append(long seqNo, String message) {
+		topicBuffers.append(topic, seqNo, runningHash, consensusTime, ByteString.copyFromUtf8(message));
+	}
+
+	private boolean hasCode(Throwable e, Status.Code code) {
+		return e instanceof StatusRuntimeException && ((StatusRuntimeException) e).getStatus().getCode() == code;
+	}
+}
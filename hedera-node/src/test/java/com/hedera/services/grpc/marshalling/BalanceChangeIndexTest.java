@@ -0,0 +1,107 @@
+package com.hedera.services.grpc.marshalling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ledger.BalanceChange;
+import com.hedera.services.store.models.Id;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BalanceChangeIndexTest {
+	private final Id payer = new Id(0, 0, 2);
+	private final Id samePayerOtherRealm = new Id(0, 1, 2);
+	private final Id token = new Id(0, 0, 1001);
+
+	@Test
+	void sizesToExpectedChanges() {
+		// expect:
+		assertEquals(16, new BalanceChangeIndex(0).capacity());
+		assertEquals(64, new BalanceChangeIndex(20).capacity());
+	}
+
+	@Test
+	void distinguishesHbarFromTokensAndRealms() {
+		// setup:
+		final var subject = new BalanceChangeIndex(4);
+		final var hbarChange = BalanceChange.hbarAdjust(payer, -1);
+		final var tokenChange = BalanceChange.tokenAdjust(payer, token, -2);
+		final var otherRealmChange = BalanceChange.tokenAdjust(samePayerOtherRealm, token, +2);
+
+		// when:
+		subject.put(hbarChange);
+		subject.put(tokenChange);
+		subject.put(otherRealmChange);
+
+		// then:
+		assertSame(hbarChange, subject.get(payer, Id.MISSING_ID));
+		assertSame(tokenChange, subject.get(payer, token));
+		assertSame(otherRealmChange, subject.get(samePayerOtherRealm, token));
+		assertNull(subject.get(samePayerOtherRealm, Id.MISSING_ID));
+		assertEquals(3, subject.size());
+	}
+
+	@Test
+	void replacesChangeForSamePair() {
+		// setup:
+		final var subject = new BalanceChangeIndex(1);
+		final var first = BalanceChange.tokenAdjust(payer, token, -1);
+		final var second = BalanceChange.tokenAdjust(new Id(0, 0, 2), new Id(0, 0, 1001), -2);
+
+		// when:
+		assertNull(subject.put(first));
+		final var replaced = subject.put(second);
+
+		// then:
+		assertSame(first, replaced);
+		assertSame(second, subject.get(payer, token));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void growsWithoutLosingChanges() {
+		// setup:
+		final var subject = new BalanceChangeIndex(0);
+		final List<BalanceChange> changes = new ArrayList<>();
+
+		// when:
+		for (int i = 0; i < 100; i++) {
+			final var change = (i % 2 == 0)
+					? BalanceChange.hbarAdjust(new Id(0, 0, i), i)
+					: BalanceChange.tokenAdjust(new Id(0, 0, i / 10), new Id(0, 0, 1000 + i), i);
+			changes.add(change);
+			subject.put(change);
+		}
+
+		// then:
+		assertEquals(100, subject.size());
+		assertEquals(256, subject.capacity());
+		for (var change : changes) {
+			final var denom = change.isForHbar() ? Id.MISSING_ID : change.getToken();
+			assertSame(change, subject.get(change.getAccount(), denom));
+		}
+	}
+}
@@ -23,6 +23,7 @@ package com.hedera.services.grpc.marshalling;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.FcCustomFee;
 import com.hedera.services.store.models.Id;
+import com.hedera.services.txns.customfees.CustomFeePlan;
 import com.hedera.services.txns.customfees.CustomFeeSchedules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,24 +52,26 @@ class CustomSchedulesManagerTest {
 
 	@Test
 	void usesDelegateForMissing() {
-		given(customFeeSchedules.lookupScheduleFor(a.asEntityId())).willReturn(aSchedule);
+		given(customFeeSchedules.lookupPlanFor(a.asEntityId())).willReturn(aPlan);
 
 		// when:
-		final var ans = subject.managedSchedulesFor(a.asEntityId());
+		final var ans = subject.managedPlanFor(a.asEntityId());
 
 		// then:
-		assertSame(aSchedule, ans);
+		assertSame(aPlan, ans);
 	}
 
 	@Test
 	void reusesExtantScheduleIfPresent() {
-		given(customFeeSchedules.lookupScheduleFor(a.asEntityId()))
-				.willReturn(aSchedule)
+		given(customFeeSchedules.lookupPlanFor(a.asEntityId()))
+				.willReturn(aPlan)
 				.willThrow(AssertionError.class);
+		given(customFeeSchedules.lookupPlanFor(b.asEntityId())).willReturn(bPlan);
 
 		// when:
-		final var firstAns = subject.managedSchedulesFor(a.asEntityId());
-		final var secondAns = subject.managedSchedulesFor(a.asEntityId());
+		final var firstAns = subject.managedPlanFor(a.asEntityId());
+		subject.managedPlanFor(b.asEntityId());
+		final var secondAns = subject.managedPlanFor(a.asEntityId());
 
 		// then:
 		assertSame(firstAns, secondAns);
@@ -76,12 +79,12 @@ class CustomSchedulesManagerTest {
 
 	@Test
 	void enumeratesAllManagedSchedules() {
-		given(customFeeSchedules.lookupScheduleFor(a.asEntityId())).willReturn(aSchedule);
-		given(customFeeSchedules.lookupScheduleFor(b.asEntityId())).willReturn(bSchedule);
+		given(customFeeSchedules.lookupPlanFor(a.asEntityId())).willReturn(aPlan);
+		given(customFeeSchedules.lookupPlanFor(b.asEntityId())).willReturn(bPlan);
 
 		// when:
-		subject.managedSchedulesFor(a.asEntityId());
-		subject.managedSchedulesFor(b.asEntityId());
+		subject.managedPlanFor(a.asEntityId());
+		subject.managedPlanFor(b.asEntityId());
 		// and:
 		final var all = subject.schedulesUsed();
 
@@ -110,4 +113,6 @@ class CustomSchedulesManagerTest {
 	final Id b = new Id(2, 3, 4);
 	final List<FcCustomFee> aSchedule = List.of(hbarFee);
 	final List<FcCustomFee> bSchedule = List.of(htsFee);
+	final CustomFeePlan aPlan = CustomFeePlan.compile(aSchedule);
+	final CustomFeePlan bPlan = CustomFeePlan.compile(bSchedule);
 }
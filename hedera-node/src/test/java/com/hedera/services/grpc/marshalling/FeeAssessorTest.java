@@ -25,6 +25,7 @@ import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.FcAssessedCustomFee;
 import com.hedera.services.state.submerkle.FcCustomFee;
 import com.hedera.services.store.models.Id;
+import com.hedera.services.txns.customfees.CustomFeePlan;
 import com.hederahashgraph.api.proto.java.AccountAmount;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,7 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CUSTOM_FEE_OUT
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -125,16 +127,14 @@ class FeeAssessorTest {
 	@Test
 	void doesntUseFractionalAccessorIfAllFeesAreFixed() {
 		// setup:
-		final var fees = List.of(hbarFee, htsFee);
-		givenFees(fungibleTokenId.asEntityId(), fees);
+		givenFees(fungibleTokenId.asEntityId(), List.of(hbarFee, htsFee));
 
 		// when:
 		final var result =
 				subject.assess(fungibleTrigger, customSchedulesManager, balanceChangeManager, accumulator, props);
 
 		// then:
-		verify(fractionalFeeAssessor, never())
-				.assessAllFractional(fungibleTrigger, fees, balanceChangeManager, accumulator);
+		verifyNoInteractions(fractionalFeeAssessor);
 		assertEquals(OK, result);
 	}
 
@@ -154,8 +154,8 @@ class FeeAssessorTest {
 	@Test
 	void abortsOnExcessiveNonFractionalChanges() {
 		// setup:
-		final var fees = List.of(hbarFee, htsFee, fractionalFee);
-		givenFees(fungibleTokenId.asEntityId(), fees);
+		final var fees = List.of(fractionalFee);
+		givenFees(fungibleTokenId.asEntityId(), List.of(hbarFee, htsFee, fractionalFee));
 		given(balanceChangeManager.numChangesSoFar())
 				.willReturn(20)
 				.willReturn(21);
@@ -175,8 +175,8 @@ class FeeAssessorTest {
 	@Test
 	void propagatesFailedFractionalChanges() {
 		// setup:
-		final var fees = List.of(hbarFee, htsFee, fractionalFee);
-		givenFees(fungibleTokenId.asEntityId(), fees);
+		final var fees = List.of(fractionalFee);
+		givenFees(fungibleTokenId.asEntityId(), List.of(hbarFee, htsFee, fractionalFee));
 		given(fractionalFeeAssessor.assessAllFractional(fungibleTrigger, fees, balanceChangeManager, accumulator))
 				.willReturn(CUSTOM_FEE_OUTSIDE_NUMERIC_RANGE);
 
@@ -194,8 +194,8 @@ class FeeAssessorTest {
 	@Test
 	void abortsOnExcessiveFractionalChanges() {
 		// setup:
-		final var fees = List.of(hbarFee, htsFee, fractionalFee);
-		givenFees(fungibleTokenId.asEntityId(), fees);
+		final var fees = List.of(fractionalFee);
+		givenFees(fungibleTokenId.asEntityId(), List.of(hbarFee, htsFee, fractionalFee));
 		given(balanceChangeManager.numChangesSoFar())
 				.willReturn(19)
 				.willReturn(20)
@@ -215,8 +215,26 @@ class FeeAssessorTest {
 		assertEquals(CUSTOM_FEE_CHARGING_EXCEEDED_MAX_ACCOUNT_AMOUNTS, result);
 	}
 
+	@Test
+	void assessesFixedFeesInScheduleOrder() {
+		// setup:
+		final var inOrder = inOrder(hbarFeeAssessor, htsFeeAssessor);
+		givenFees(fungibleTokenId.asEntityId(), List.of(htsFee, fractionalFee, hbarFee));
+		given(fractionalFeeAssessor.assessAllFractional(
+				fungibleTrigger, List.of(fractionalFee), balanceChangeManager, accumulator)).willReturn(OK);
+
+		// when:
+		final var result =
+				subject.assess(fungibleTrigger, customSchedulesManager, balanceChangeManager, accumulator, props);
+
+		// then:
+		inOrder.verify(htsFeeAssessor).assess(payer, htsFee, balanceChangeManager, accumulator);
+		inOrder.verify(hbarFeeAssessor).assess(payer, hbarFee, balanceChangeManager, accumulator);
+		assertEquals(OK, result);
+	}
+
 	private void givenFees(EntityId token, List<FcCustomFee> customFees) {
-		given(customSchedulesManager.managedSchedulesFor(token)).willReturn(customFees);
+		given(customSchedulesManager.managedPlanFor(token)).willReturn(CustomFeePlan.compile(customFees));
 	}
 
 	private final long amountOfFungibleDebit = 1_000L;
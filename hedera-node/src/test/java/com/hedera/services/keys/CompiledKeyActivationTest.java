@@ -0,0 +1,247 @@
+package com.hedera.services.keys;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JContractIDKey;
+import com.hedera.services.legacy.core.jproto.JEd25519Key;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.legacy.core.jproto.JThresholdKey;
+import com.swirlds.common.crypto.TransactionSignature;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static com.hedera.services.keys.CompiledKeyActivation.LEAF;
+import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+import static com.hedera.services.keys.HederaKeyActivation.INVALID_MISSING_SIG;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledKeyActivationTest {
+	JKey a = ed25519("a");
+	JKey b = ed25519("b");
+	JKey c = ed25519("c");
+
+	@Test
+	void compilesToPostOrderProgram() {
+		// given:
+		var key = threshold(1, a, list(b, c));
+
+		// when:
+		var subject = CompiledKeyActivation.compile(key);
+
+		// then:
+		assertArrayEquals(new int[] {
+				LEAF, 0,
+				LEAF, 1,
+				LEAF, 2,
+				2, 2,
+				2, 1
+		}, subject.program());
+		assertEquals(3, subject.numLeaves());
+	}
+
+	@Test
+	void cachesCompiledFormOnKey() {
+		// given:
+		var key = list(a, b);
+
+		// when:
+		var first = CompiledKeyActivation.compiledFor(key);
+
+		// then:
+		assertSame(first, key.getCompiledActivation());
+		assertSame(first, CompiledKeyActivation.compiledFor(key));
+	}
+
+	@Test
+	void evaluatesGivenBitmap() {
+		// given:
+		var subject = CompiledKeyActivation.compile(threshold(2, a, list(b, c), a));
+
+		// expect:
+		assertFalse(subject.isActive(new long[] { 0b0001 }, DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertTrue(subject.isActive(new long[] { 0b1001 }, DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isActive(new long[] { 0b0011 }, DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertTrue(subject.isActive(new long[] { 0b0111 }, DEFAULT_ACTIVATION_CHARACTERISTICS));
+	}
+
+	@Test
+	void emptyListsAndZeroThresholdsAreActive() {
+		// expect:
+		assertTrue(CompiledKeyActivation.compile(list()).isActive(new long[1], DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertTrue(CompiledKeyActivation.compile(list(list(), threshold(0, a)))
+				.isActive(new long[1], DEFAULT_ACTIVATION_CHARACTERISTICS));
+	}
+
+	@Test
+	void testsEveryLeafInDfsOrder() {
+		// setup:
+		var contractKey = new JContractIDKey(0, 0, 1234);
+		var tested = new ArrayList<JKey>();
+		var requested = new ArrayList<byte[]>();
+
+		// given:
+		var key = list(a, threshold(1, contractKey, b), a);
+
+		// when:
+		HederaKeyActivation.isActive(
+				key,
+				pk -> {
+					requested.add(pk);
+					return INVALID_MISSING_SIG;
+				},
+				(k, sig) -> tested.add(k));
+
+		// then:
+		assertEquals(List.of(a, contractKey, b, a), tested);
+		assertEquals(4, requested.size());
+		assertSame(null, requested.get(1));
+	}
+
+	@Test
+	void agreesWithRecursiveEvaluationOnRandomTrees() {
+		// setup:
+		var r = new Random(39);
+		var pool = new ArrayList<JKey>();
+		for (int i = 0; i < 10; i++) {
+			pool.add(ed25519("k" + i));
+		}
+		pool.add(new JContractIDKey(0, 0, 1234));
+
+		for (int trial = 0; trial < 2_000; trial++) {
+			// given:
+			var key = randomKey(r, pool, 1 + r.nextInt(5));
+			var subject = CompiledKeyActivation.compile(key);
+			Set<JKey> verified = new HashSet<>();
+			for (var candidate : pool) {
+				if (r.nextInt(3) > 0) {
+					verified.add(candidate);
+				}
+			}
+			BiPredicate<JKey, TransactionSignature> tests = (k, sig) -> verified.contains(k);
+			Function<byte[], TransactionSignature> sigsFn = ignore -> INVALID_MISSING_SIG;
+			var characteristics = key.hasKeyList()
+					? RevocationServiceCharacteristics.forTopLevelFile((JKeyList) key)
+					: DEFAULT_ACTIVATION_CHARACTERISTICS;
+
+			// expect:
+			assertEquals(
+					recursivelyActive(key, sigsFn, tests, DEFAULT_ACTIVATION_CHARACTERISTICS),
+					subject.isActive(sigsFn, tests, DEFAULT_ACTIVATION_CHARACTERISTICS));
+			assertEquals(
+					recursivelyActive(key, sigsFn, tests, characteristics),
+					subject.isActive(sigsFn, tests, characteristics));
+		}
+	}
+
+	@Test
+	void agreesWithRecursiveEvaluationOnWideTrees() {
+		// setup:
+		var r = new Random(390);
+		var pool = new ArrayList<JKey>();
+		for (int i = 0; i < 200; i++) {
+			pool.add(ed25519("k" + i));
+		}
+
+		for (int trial = 0; trial < 200; trial++) {
+			// given:
+			var children = new JKey[65 + r.nextInt(100)];
+			for (int i = 0; i < children.length; i++) {
+				children[i] = r.nextBoolean()
+						? pool.get(r.nextInt(pool.size()))
+						: threshold(1, pool.get(r.nextInt(pool.size())), pool.get(r.nextInt(pool.size())));
+			}
+			var key = threshold(r.nextInt(children.length + 1), children);
+			var subject = CompiledKeyActivation.compile(key);
+			Set<JKey> verified = new HashSet<>();
+			for (var candidate : pool) {
+				if (r.nextBoolean()) {
+					verified.add(candidate);
+				}
+			}
+			BiPredicate<JKey, TransactionSignature> tests = (k, sig) -> verified.contains(k);
+
+			// expect:
+			assertEquals(
+					recursivelyActive(key, ignore -> INVALID_MISSING_SIG, tests, DEFAULT_ACTIVATION_CHARACTERISTICS),
+					subject.isActive(ignore -> INVALID_MISSING_SIG, tests, DEFAULT_ACTIVATION_CHARACTERISTICS));
+		}
+	}
+
+	/* The recursive evaluator that compiled programs replace */
+	private static boolean recursivelyActive(
+			JKey key,
+			Function<byte[], TransactionSignature> sigsFn,
+			BiPredicate<JKey, TransactionSignature> tests,
+			KeyActivationCharacteristics characteristics
+	) {
+		if (!key.hasKeyList() && !key.hasThresholdKey()) {
+			return tests.test(key, sigsFn.apply(key.getEd25519()));
+		}
+		final List<JKey> children = key.hasKeyList()
+				? key.getKeyList().getKeysList()
+				: key.getThresholdKey().getKeys().getKeysList();
+		final int m = key.hasKeyList()
+				? characteristics.sigsNeededForList((JKeyList) key)
+				: characteristics.sigsNeededForThreshold((JThresholdKey) key);
+		var n = 0;
+		for (var child : children) {
+			if (recursivelyActive(child, sigsFn, tests, DEFAULT_ACTIVATION_CHARACTERISTICS)) {
+				n++;
+			}
+		}
+		return n >= m;
+	}
+
+	private JKey randomKey(Random r, List<JKey> pool, int depth) {
+		if (depth == 0 || r.nextInt(4) == 0) {
+			return pool.get(r.nextInt(pool.size()));
+		}
+		var children = new JKey[r.nextInt(5)];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = randomKey(r, pool, depth - 1);
+		}
+		return r.nextBoolean() ? list(children) : threshold(r.nextInt(children.length + 1), children);
+	}
+
+	private static JKey ed25519(String name) {
+		return new JEd25519Key(name.getBytes());
+	}
+
+	private static JKeyList list(JKey... keys) {
+		return new JKeyList(List.of(keys));
+	}
+
+	private static JThresholdKey threshold(int m, JKey... keys) {
+		return new JThresholdKey(list(keys), m);
+	}
+}
@@ -24,6 +24,7 @@ import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.services.utils.RationalizedSigMeta;
+import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.crypto.TransactionSignature;
@@ -38,7 +39,9 @@ import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
@@ -175,11 +178,111 @@ class InHandleActivationHelperTest {
 		verify(visitor).accept(scheduled, sig);
 	}
 
+	@Test
+	void tracksScheduledPartiesAcrossSignatories() {
+		// setup:
+		var signatories = new ArrayList<byte[]>();
+		var id = IdUtils.asSchedule("0.0.12345");
+
+		// expect:
+		assertFalse(subject.areScheduledPartiesActive(id, nonFileDelete(), signatories));
+		// and when:
+		signatories.add(other.getEd25519());
+		// then:
+		assertFalse(subject.areScheduledPartiesActive(id, nonFileDelete(), signatories));
+		// and when:
+		signatories.add(scheduled.getEd25519());
+		// then:
+		assertTrue(subject.areScheduledPartiesActive(id, nonFileDelete(), signatories));
+		// and:
+		verify(activation, never()).test(any(), any(), any(), any());
+	}
+
+	@Test
+	void reusesTrackerForSameKeyInstancesAcrossAccessors() {
+		// setup:
+		var id = IdUtils.asSchedule("0.0.12345");
+
+		// given:
+		assertFalse(subject.areScheduledPartiesActive(id, nonFileDelete(), List.of(other.getEd25519())));
+		var tracker = subject.trackerFor(id);
+		// and:
+		accessor = mock(PlatformTxnAccessor.class);
+		given(accessor.getSigMeta()).willReturn(sigMeta);
+
+		// when:
+		var isActive = subject.areScheduledPartiesActive(
+				id, nonFileDelete(), List.of(other.getEd25519(), scheduled.getEd25519()));
+
+		// then:
+		assertTrue(isActive);
+		assertSame(tracker, subject.trackerFor(id));
+		assertEquals(2, tracker.numWitnessed());
+	}
+
+	@Test
+	void reusesTrackerForDuplicatedKeysAcrossScheduleSigns() {
+		// setup:
+		var id = IdUtils.asSchedule("0.0.12345");
+		var firstSign = duplicatesOf(required);
+		var secondSign = duplicatesOf(required);
+
+		// given:
+		given(sigMeta.othersReqSigs()).willReturn(firstSign);
+		assertFalse(subject.areScheduledPartiesActive(id, nonFileDelete(), List.of(other.getEd25519())));
+		var tracker = subject.trackerFor(id);
+		// and:
+		given(sigMeta.othersReqSigs()).willReturn(secondSign);
+		accessor = mock(PlatformTxnAccessor.class);
+		given(accessor.getSigMeta()).willReturn(sigMeta);
+
+		// when:
+		var isActive = subject.areScheduledPartiesActive(
+				id, nonFileDelete(), List.of(other.getEd25519(), scheduled.getEd25519()));
+
+		// then:
+		assertTrue(isActive);
+		assertSame(tracker, subject.trackerFor(id));
+		assertEquals(2, tracker.numWitnessed());
+	}
+
+	@Test
+	void rebuildsTrackerWhenScheduledPartiesChange() {
+		// setup:
+		var id = IdUtils.asSchedule("0.0.12345");
+		List<byte[]> signatories = List.of(scheduled.getEd25519());
+		// and:
+		var rotated = new JEd25519Key("rotated".getBytes());
+		rotated.setForScheduledTxn(true);
+
+		// given:
+		assertTrue(subject.areScheduledPartiesActive(id, nonFileDelete(), signatories));
+		// and:
+		given(sigMeta.othersReqSigs()).willReturn(List.of(other, rotated));
+		accessor = mock(PlatformTxnAccessor.class);
+		given(accessor.getSigMeta()).willReturn(sigMeta);
+
+		// expect:
+		assertFalse(subject.areScheduledPartiesActive(id, nonFileDelete(), signatories));
+		assertTrue(subject.areScheduledPartiesActive(
+				id, nonFileDelete(), List.of(scheduled.getEd25519(), rotated.getEd25519())));
+	}
+
 	@AfterEach
 	void cleanup() {
 		InHandleActivationHelper.activation = HederaKeyActivation::isActive;
 	}
 
+	private List<JKey> duplicatesOf(List<JKey> keys) {
+		var dups = new ArrayList<JKey>();
+		for (var key : keys) {
+			var dup = key.duplicate();
+			dup.setForScheduledTxn(key.isForScheduledTxn());
+			dups.add(dup);
+		}
+		return dups;
+	}
+
 	private TransactionBody nonFileDelete() {
 		return TransactionBody.newBuilder()
 				.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
@@ -0,0 +1,240 @@
+package com.hedera.services.keys;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JContractIDKey;
+import com.hedera.services.legacy.core.jproto.JEd25519Key;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.legacy.core.jproto.JThresholdKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+import static com.hedera.services.keys.HederaKeyActivation.INVALID_MISSING_SIG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyActivationTrackerTest {
+	JKey a = ed25519("a");
+	JKey b = ed25519("b");
+	JKey c = ed25519("c");
+	JKey d = ed25519("d");
+
+	@Test
+	void activatesThresholdsIncrementally() {
+		// given:
+		var subject = new KeyActivationTracker(
+				List.of(a, threshold(2, b, list(c, d), b)),
+				DEFAULT_ACTIVATION_CHARACTERISTICS);
+
+		// when:
+		subject.witness(a.getEd25519());
+		// then:
+		assertFalse(subject.isActive());
+
+		// and when:
+		subject.witness(b.getEd25519());
+		// then:
+		assertTrue(subject.isActive());
+		assertEquals(2, subject.numWitnessed());
+	}
+
+	@Test
+	void emptyListsAndZeroThresholdsAreActiveImmediately() {
+		// given:
+		var subject = new KeyActivationTracker(
+				List.of(list(), threshold(0, a), list(list())),
+				DEFAULT_ACTIVATION_CHARACTERISTICS);
+
+		// expect:
+		assertTrue(subject.isActive());
+	}
+
+	@Test
+	void nonEd25519KeysAreNeverWitnessed() {
+		// given:
+		var subject = new KeyActivationTracker(
+				List.of(threshold(1, new JContractIDKey(0, 0, 1234), a)),
+				DEFAULT_ACTIVATION_CHARACTERISTICS);
+
+		// when:
+		subject.witness("nothing".getBytes());
+		// then:
+		assertFalse(subject.isActive());
+
+		// and when:
+		subject.witness(a.getEd25519());
+		// then:
+		assertTrue(subject.isActive());
+	}
+
+	@Test
+	void appliesCharacteristicsOnlyAtTopLevel() {
+		// setup:
+		var onlyOneNeeded = new KeyActivationCharacteristics() {
+			@Override
+			public int sigsNeededForList(JKeyList l) {
+				return 1;
+			}
+
+			@Override
+			public int sigsNeededForThreshold(JThresholdKey t) {
+				return t.getThreshold();
+			}
+		};
+		var keys = List.<JKey>of(list(list(a, b), c));
+
+		// given:
+		var subject = new KeyActivationTracker(keys, onlyOneNeeded);
+
+		// when:
+		subject.witness(a.getEd25519());
+		// then:
+		assertFalse(subject.isActive());
+
+		// and when:
+		subject.witness(b.getEd25519());
+		// then:
+		assertTrue(subject.isActive());
+		// and:
+		assertTrue(subject.isFor(keys, onlyOneNeeded));
+		assertFalse(subject.isFor(keys, DEFAULT_ACTIVATION_CHARACTERISTICS));
+	}
+
+	@Test
+	void recognizesStructurallyEqualKeys() {
+		// setup:
+		var bOrC = threshold(1, b, c);
+
+		// given:
+		var subject = new KeyActivationTracker(List.of(a, bOrC), DEFAULT_ACTIVATION_CHARACTERISTICS);
+
+		// expect:
+		assertTrue(subject.isFor(List.of(a, bOrC), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertTrue(subject.isFor(List.of(a.duplicate(), bOrC.duplicate()), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertTrue(subject.isFor(List.of(ed25519("a"), threshold(1, ed25519("b"), ed25519("c"))),
+				DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(ed25519("a"), threshold(1, ed25519("b"), ed25519("d"))),
+				DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(ed25519("a"), threshold(1, ed25519("b"), ed25519("c"), ed25519("d"))),
+				DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(ed25519("a"), threshold(1, ed25519("b"))),
+				DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(a), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(a, threshold(2, b, c)), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(a, threshold(1, b, d)), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(a, threshold(1, b, list(c))), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(a, threshold(1, b)), DEFAULT_ACTIVATION_CHARACTERISTICS));
+		assertFalse(subject.isFor(List.of(threshold(1, b, c), a), DEFAULT_ACTIVATION_CHARACTERISTICS));
+	}
+
+	@Test
+	void catchesUpOnlyWithExtendingSignatories() {
+		// given:
+		var subject = new KeyActivationTracker(List.of(list(a, b, c)), DEFAULT_ACTIVATION_CHARACTERISTICS);
+		var signatories = new ArrayList<byte[]>();
+		signatories.add(a.getEd25519());
+
+		// when:
+		assertTrue(subject.catchUp(signatories));
+		signatories.add(b.getEd25519());
+		signatories.add(c.getEd25519());
+		assertTrue(subject.catchUp(signatories));
+
+		// then:
+		assertTrue(subject.isActive());
+		assertEquals(3, subject.numWitnessed());
+		// and:
+		assertFalse(subject.catchUp(List.of(a.getEd25519())));
+		assertFalse(subject.catchUp(List.of(a.getEd25519(), b.getEd25519(), d.getEd25519())));
+		assertTrue(subject.catchUp(List.of(a.getEd25519(), b.getEd25519(), c.getEd25519())));
+	}
+
+	@Test
+	void agreesWithFullActivationOnRandomTrees() {
+		// setup:
+		var r = new Random(33);
+		var pool = new ArrayList<JKey>();
+		for (int i = 0; i < 12; i++) {
+			pool.add(ed25519("k" + i));
+		}
+
+		for (int trial = 0; trial < 200; trial++) {
+			// given:
+			var keys = new ArrayList<JKey>();
+			int n = 1 + r.nextInt(3);
+			for (int i = 0; i < n; i++) {
+				keys.add(randomKey(r, pool, 3));
+			}
+			var subject = new KeyActivationTracker(keys, DEFAULT_ACTIVATION_CHARACTERISTICS);
+			var order = new ArrayList<>(pool);
+			Collections.shuffle(order, r);
+			Set<String> witnessed = new HashSet<>();
+
+			for (var next : order) {
+				// when:
+				subject.witness(next.getEd25519());
+				witnessed.add(new String(next.getEd25519()));
+
+				// then:
+				boolean expected = true;
+				for (var key : keys) {
+					expected &= HederaKeyActivation.isActive(
+							key,
+							ignore -> INVALID_MISSING_SIG,
+							(k, sig) -> witnessed.contains(new String(k.getEd25519())));
+				}
+				assertEquals(expected, subject.isActive());
+			}
+		}
+	}
+
+	private JKey randomKey(Random r, List<JKey> pool, int depth) {
+		if (depth == 0 || r.nextInt(3) == 0) {
+			return pool.get(r.nextInt(pool.size()));
+		}
+		var children = new JKey[1 + r.nextInt(4)];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = randomKey(r, pool, depth - 1);
+		}
+		return r.nextBoolean() ? list(children) : threshold(1 + r.nextInt(children.length), children);
+	}
+
+	private static JKey ed25519(String name) {
+		return new JEd25519Key(name.getBytes());
+	}
+
+	private static JKeyList list(JKey... keys) {
+		return new JKeyList(List.of(keys));
+	}
+
+	private static JThresholdKey threshold(int m, JKey... keys) {
+		return new JThresholdKey(list(keys), m);
+	}
+}
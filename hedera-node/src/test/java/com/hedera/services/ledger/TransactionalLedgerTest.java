@@ -31,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.LongStream;
 
@@ -50,6 +51,7 @@ import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.times;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
 import static org.mockito.BDDMockito.verifyNoMoreInteractions;
 import static org.mockito.BDDMockito.willThrow;
 
@@ -111,6 +113,81 @@ class TransactionalLedgerTest {
 		verify(backingAccounts).getRef(1L);
 	}
 
+	@Test
+	void notifiesCommitObserverOfChangesAsTheyAreFlushed() {
+		// setup:
+		LedgerCommitObserver<Long, TestAccountProperty, TestAccount> observer = mock(LedgerCommitObserver.class);
+		InOrder inOrder = inOrder(observer, backingAccounts);
+		TestAccount account3 = new TestAccount(3L, things[3], false, 3L);
+		given(backingAccounts.contains(3L)).willReturn(true);
+		given(backingAccounts.getImmutableRef(3L)).willReturn(account3);
+		// and:
+		subject.setCommitObserver(observer);
+
+		// given:
+		subject.begin();
+		subject.set(1L, LONG, 2L);
+		subject.create(2L);
+		subject.set(2L, LONG, 5L);
+		subject.create(4L);
+		subject.destroy(4L);
+		subject.destroy(3L);
+
+		// when:
+		subject.commit();
+
+		// then:
+		inOrder.verify(observer).changing(1L, account1, Map.of(LONG, 2L));
+		inOrder.verify(backingAccounts).put(argThat(l -> l == 1L), any());
+		inOrder.verify(observer).changing(2L, null, Map.of(LONG, 5L));
+		inOrder.verify(backingAccounts).put(argThat(l -> l == 2L), any());
+		inOrder.verify(observer).removing(3L, account3);
+		inOrder.verify(backingAccounts).remove(3L);
+		inOrder.verify(observer).committed();
+		// and:
+		verify(observer, never()).changing(argThat(l -> l == 4L), any(), any());
+		verify(observer, never()).removing(argThat(l -> l == 4L), any());
+		verify(observer, never()).abandoned();
+		verify(backingAccounts, never()).getImmutableRef(1L);
+	}
+
+	@Test
+	void notifiesCommitObserverOfAbandonedFlush() {
+		// setup:
+		LedgerCommitObserver<Long, TestAccountProperty, TestAccount> observer = mock(LedgerCommitObserver.class);
+		subject.setCommitObserver(observer);
+		willThrow(IllegalStateException.class).given(backingAccounts).put(any(), any());
+
+		// given:
+		subject.begin();
+		subject.set(1L, LONG, 2L);
+
+		// when:
+		assertThrows(IllegalStateException.class, () -> subject.commit());
+
+		// then:
+		verify(observer).changing(1L, account1, Map.of(LONG, 2L));
+		verify(observer).abandoned();
+		verify(observer, never()).committed();
+	}
+
+	@Test
+	void doesNotNotifyCommitObserverOnRollback() {
+		// setup:
+		LedgerCommitObserver<Long, TestAccountProperty, TestAccount> observer = mock(LedgerCommitObserver.class);
+		subject.setCommitObserver(observer);
+
+		// given:
+		subject.begin();
+		subject.set(1L, LONG, 2L);
+
+		// when:
+		subject.rollback();
+
+		// then:
+		verifyNoInteractions(observer);
+	}
+
 	@Test
 	void putsInOrderOfChanges() {
 		// setup:
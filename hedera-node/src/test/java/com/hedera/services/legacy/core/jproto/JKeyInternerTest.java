@@ -0,0 +1,181 @@
+package com.hedera.services.legacy.core.jproto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JKeyInternerTest {
+	private final JKey aKey = new JKeyList(List.of(
+			new JEd25519Key("abcdefghijklmnopqrstuvwxyz012345".getBytes()),
+			new JThresholdKey(new JKeyList(List.of(
+					new JECDSA_384Key("abcdefghijklmnopqrstuvwxyz0123456789ABCDEFGHIJKL".getBytes()),
+					new JContractIDKey(0, 0, 1234))), 1)));
+
+	private JKeyInterner subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new JKeyInterner();
+	}
+
+	@Test
+	void sharesKeysWithSameSerializedForm() throws IOException {
+		// given:
+		final var repr = aKey.serialize();
+
+		// when:
+		final var first = subject.read(streamOf(repr));
+		final var second = subject.read(streamOf(repr));
+
+		// then:
+		assertNotSame(aKey, first);
+		assertSame(first, second);
+		assertEquals(2, subject.numRead());
+		assertEquals(1, subject.numShared());
+		assertEquals(1, subject.poolSize());
+		assertEquals(JKeyInterner.footprintOf(first), subject.heapSaved());
+	}
+
+	@Test
+	void readsConsecutiveKeysFromSameStream() throws IOException {
+		// given:
+		final var other = new JEd25519Key("ABCDEFGHIJKLMNOPQRSTUVWXYZ012345".getBytes());
+		final var baos = new ByteArrayOutputStream();
+		baos.write(aKey.serialize());
+		baos.write(other.serialize());
+		baos.write(aKey.serialize());
+		final var in = streamOf(baos.toByteArray());
+
+		// when:
+		final var first = subject.read(in);
+		final var second = subject.read(in);
+		final var third = subject.read(in);
+
+		// then:
+		assertArrayEquals(aKey.serialize(), first.serialize());
+		assertArrayEquals(other.getEd25519(), second.getEd25519());
+		assertSame(first, third);
+		assertEquals(2, subject.poolSize());
+	}
+
+	@Test
+	void cachesCanonicalFormOfPooledKeys() throws IOException {
+		// given:
+		final var repr = aKey.serialize();
+
+		// when:
+		final var pooled = subject.read(streamOf(repr));
+
+		// then:
+		assertArrayEquals(repr, subject.canonicalBytes(pooled));
+		assertSame(subject.canonicalBytes(pooled), subject.canonicalBytes(pooled));
+		// and:
+		assertNull(aKey.getInternedForm());
+		assertArrayEquals(repr, subject.canonicalBytes(aKey));
+	}
+
+	@Test
+	void doesNotPoolKeysWithNonCanonicalForm() throws IOException {
+		// given:
+		final var repr = aKey.serialize();
+		final var baos = new ByteArrayOutputStream();
+		final var out = new DataOutputStream(baos);
+		/* A legal key list whose declared length includes a trailing byte never re-serialized */
+		out.writeLong(2);
+		out.writeLong(JObjectType.JKeyList.longValue());
+		out.writeLong(Integer.BYTES + repr.length + 1);
+		out.writeInt(1);
+		out.write(repr);
+		out.write(0);
+		final var nonCanonical = baos.toByteArray();
+
+		// when:
+		final var first = subject.read(streamOf(nonCanonical));
+		final var second = subject.read(streamOf(nonCanonical));
+
+		// then:
+		assertNotSame(first, second);
+		assertNull(first.getInternedForm());
+		assertEquals(0, subject.poolSize());
+	}
+
+	@Test
+	void delegatesUnrecognizedVersions() throws IOException {
+		// given:
+		final var baos = new ByteArrayOutputStream();
+		final var out = new DataOutputStream(baos);
+		out.writeLong(3);
+		out.writeLong(JObjectType.JEd25519Key.longValue());
+		out.writeLong(32);
+		out.write(new byte[32]);
+
+		// when:
+		final var key = subject.read(streamOf(baos.toByteArray()));
+
+		// then:
+		assertArrayEquals(new byte[32], key.getEd25519());
+		assertEquals(0, subject.numRead());
+		assertEquals(0, subject.poolSize());
+	}
+
+	@Test
+	void summarizesSharing() throws IOException {
+		// given:
+		final var repr = aKey.serialize();
+
+		// when:
+		subject.read(streamOf(repr));
+		subject.read(streamOf(repr));
+
+		// then:
+		final var summary = subject.summary();
+		assertTrue(summary.startsWith("2 keys read from state, 1 distinct pooled; 50.00% shared"));
+	}
+
+	@Test
+	void estimatesFootprints() {
+		// expect:
+		assertEquals(16 + 48, JKeyInterner.footprintOf(new JEd25519Key(new byte[32])));
+		assertEquals(40, JKeyInterner.footprintOf(new JContractIDKey(0, 0, 1)));
+		assertEquals(
+				16 + 24 + 24 + 16 + 48,
+				JKeyInterner.footprintOf(new JKeyList(List.of(new JEd25519Key(new byte[32])))));
+	}
+
+	private static DataInputStream streamOf(byte[] repr) {
+		return new DataInputStream(new ByteArrayInputStream(repr));
+	}
+}
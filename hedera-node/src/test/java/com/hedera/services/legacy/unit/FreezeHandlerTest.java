@@ -23,6 +23,7 @@ package com.hedera.services.legacy.unit;
 
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.files.HederaFs;
+import com.hedera.services.files.interceptors.UpdateArchiveStager;
 import com.hedera.services.legacy.handler.FreezeHandler;
 import com.hedera.services.legacy.proto.utils.CommonUtils;
 import com.hedera.test.extensions.LogCaptor;
@@ -60,6 +61,7 @@ import static java.lang.Thread.sleep;
 import static java.util.Calendar.HOUR_OF_DAY;
 import static java.util.Calendar.MINUTE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -68,6 +70,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(LogCaptureExtension.class)
@@ -203,6 +206,63 @@ class FreezeHandlerTest {
 		file3.delete();
 	}
 
+	@Test
+	void usesStagedUpdateAssetsIfPromoted() throws Exception {
+		// setup:
+		final var stager = mock(UpdateArchiveStager.class);
+		final byte[] hash = CommonUtils.noThrowSha384HashOf("NOT A REAL ZIP".getBytes());
+		final var fileID = FileID.newBuilder().setFileNum(150L).build();
+		// and:
+		subject = new FreezeHandler(hfs, platform, exchange, () -> dualState, stager);
+
+		given(stager.promoteStagedTo(fileID, hash, Paths.get("./temp"))).willReturn(true);
+
+		// when:
+		final var txBody = CommonUtils.extractTransactionBody(
+				FreezeTestHelper.createFreezeTransaction(true, true, fileID, hash));
+		subject.freeze(txBody, consensusTime);
+		// and:
+		subject.handleUpdateFeature();
+
+		// then:
+		verify(stager).stage(fileID, hash);
+		verify(hfs, never()).cat(any());
+		assertThat(
+				logCaptor.infoLogs(),
+				hasItem(Matchers.containsString("using update assets staged in ./temp before the freeze")));
+	}
+
+	@Test
+	void fallsBackToUnzippingIfNothingStaged() throws Exception {
+		// setup:
+		final var stager = mock(UpdateArchiveStager.class);
+		final var data = Files.readAllBytes(Paths.get("src/test/resources/testfiles/updateFeature/update.zip"));
+		final var hash = CommonUtils.noThrowSha384HashOf(data);
+		final var fileID = FileID.newBuilder().setFileNum(150L).build();
+		// and:
+		subject = new FreezeHandler(hfs, platform, exchange, () -> dualState, stager);
+
+		given(hfs.exists(fileID)).willReturn(true);
+		given(hfs.cat(fileID)).willReturn(data);
+
+		// when:
+		final var txBody = CommonUtils.extractTransactionBody(
+				FreezeTestHelper.createFreezeTransaction(true, true, fileID, hash));
+		subject.freeze(txBody, consensusTime);
+		// and:
+		subject.handleUpdateFeature();
+		// and:
+		sleep(2000);
+
+		// then:
+		verify(stager).promoteStagedTo(fileID, hash, Paths.get("./temp"));
+		verify(hfs).cat(fileID);
+		// and:
+		final var file3 = new File("new3.txt");
+		assertTrue(file3.exists());
+		file3.delete();
+	}
+
 	@Test
 	void freezeOnlyNoUpdateFeature() throws Exception {
 		Transaction transaction = FreezeTestHelper.createFreezeTransaction(true, true, null);
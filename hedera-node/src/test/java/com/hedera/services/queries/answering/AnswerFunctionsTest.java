@@ -22,11 +22,13 @@ package com.hedera.services.queries.answering;
 
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.records.GrpcRecordCache;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.test.factories.accounts.MerkleAccountFactory;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountRecordsQuery;
 import com.hederahashgraph.api.proto.java.Query;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.TransactionGetRecordQuery;
@@ -37,6 +39,7 @@ import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.hedera.services.state.serdes.DomainSerdesTest.recordOne;
@@ -45,6 +48,7 @@ import static com.hedera.test.utils.TxnUtils.withAdjustments;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_REPEATED_IN_ACCOUNT_AMOUNTS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
@@ -87,7 +91,7 @@ class AnswerFunctionsTest {
 
 		recordCache = mock(RecordCache.class);
 
-		subject = new AnswerFunctions();
+		subject = new AnswerFunctions(new GrpcRecordCache());
 	}
 
 	@Test
@@ -118,6 +122,79 @@ class AnswerFunctionsTest {
 		assertEquals(cachedTargetRecord.asGrpc(), record.get());
 	}
 
+	@Test
+	public void indexesImmutablePayerRecords() {
+		// setup:
+		Query validQuery = getRecordQuery(targetTxnId);
+		Query otherQuery = getRecordQuery(recordOne().getTxnId().toGrpc());
+		given(accounts.get(MerkleEntityId.fromAccountId(recordOne().getTxnId().toGrpc().getAccountID())))
+				.willReturn(payerAccount);
+
+		given(recordCache.getPriorityRecord(any())).willReturn(null);
+		// and:
+		payerAccount.records().copy();
+
+		// when:
+		Optional<TransactionRecord> record = subject.txnRecord(recordCache, view, validQuery);
+		Optional<TransactionRecord> otherRecord = subject.txnRecord(recordCache, view, otherQuery);
+
+		// then:
+		assertEquals(cachedTargetRecord.asGrpc(), record.get());
+		assertEquals(recordOne().asGrpc(), otherRecord.get());
+		assertEquals(1, subject.numIndexedPayers());
+	}
+
+	@Test
+	public void doesNotIndexMutablePayerRecords() {
+		// setup:
+		Query validQuery = getRecordQuery(targetTxnId);
+
+		given(recordCache.getPriorityRecord(targetTxnId)).willReturn(null);
+
+		// when:
+		Optional<TransactionRecord> record = subject.txnRecord(recordCache, view, validQuery);
+
+		// then:
+		assertEquals(cachedTargetRecord.asGrpc(), record.get());
+		assertEquals(0, subject.numIndexedPayers());
+	}
+
+	@Test
+	public void convertsAllAccountRecords() {
+		// setup:
+		Query query = Query.newBuilder()
+				.setCryptoGetAccountRecords(CryptoGetAccountRecordsQuery.newBuilder()
+						.setAccountID(asAccount(target)))
+				.build();
+
+		// when:
+		List<TransactionRecord> records = subject.accountRecords(view, query);
+
+		// then:
+		assertEquals(2, records.size());
+		assertEquals(cachedTargetRecord.asGrpc(), records.get(1));
+	}
+
+	@Test
+	public void reusesGrpcRecordsAcrossQueries() {
+		// setup:
+		Query recordsQuery = Query.newBuilder()
+				.setCryptoGetAccountRecords(CryptoGetAccountRecordsQuery.newBuilder()
+						.setAccountID(asAccount(target)))
+				.build();
+		Query validQuery = getRecordQuery(targetTxnId);
+
+		given(recordCache.getPriorityRecord(targetTxnId)).willReturn(cachedTargetRecord);
+
+		// when:
+		List<TransactionRecord> records = subject.accountRecords(view, recordsQuery);
+		Optional<TransactionRecord> record = subject.txnRecord(recordCache, view, validQuery);
+
+		// then:
+		assertSame(records.get(1), record.get());
+		assertSame(records.get(0), subject.accountRecords(view, recordsQuery).get(0));
+	}
+
 	@Test
 	public void usesCacheIfPresentThere() {
 		// setup:
@@ -23,6 +23,7 @@ package com.hedera.services.queries.crypto;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.queries.answering.AnswerFunctions;
+import com.hedera.services.records.GrpcRecordCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
@@ -97,7 +98,7 @@ class GetAccountRecordsAnswerTest {
 
 		optionValidator = mock(OptionValidator.class);
 
-		subject = new GetAccountRecordsAnswer(new AnswerFunctions(), optionValidator);
+		subject = new GetAccountRecordsAnswer(new AnswerFunctions(new GrpcRecordCache()), optionValidator);
 	}
 
 	@Test
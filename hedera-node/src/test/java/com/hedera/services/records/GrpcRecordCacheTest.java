@@ -0,0 +1,80 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.state.serdes.DomainSerdesTest.recordOne;
+import static com.hedera.services.state.serdes.DomainSerdesTest.recordTwo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.spy;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class GrpcRecordCacheTest {
+	@Test
+	void buildsEachGrpcRecordOnlyOnce() {
+		// setup:
+		ExpirableTxnRecord record = spy(recordOne());
+
+		// given:
+		var subject = new GrpcRecordCache();
+
+		// when:
+		var first = subject.asGrpc(record);
+		var second = subject.asGrpc(record);
+
+		// then:
+		assertEquals(recordOne().asGrpc(), first);
+		assertSame(first, second);
+		verify(record, times(1)).asGrpc();
+	}
+
+	@Test
+	void comparesRecordsByIdentity() {
+		// given:
+		var subject = new GrpcRecordCache();
+
+		// when:
+		var first = subject.asGrpc(recordOne());
+		var second = subject.asGrpc(recordOne());
+
+		// then:
+		assertEquals(first, second);
+		assertNotSame(first, second);
+	}
+
+	@Test
+	void isBounded() {
+		// given:
+		var subject = new GrpcRecordCache(1);
+
+		// when:
+		subject.asGrpc(recordOne());
+		subject.asGrpc(recordTwo());
+
+		// then:
+		assertEquals(1, subject.numMemoized());
+	}
+}
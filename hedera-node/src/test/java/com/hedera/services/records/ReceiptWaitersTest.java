@@ -0,0 +1,114 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.TxnReceipt;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class ReceiptWaitersTest {
+	private final TransactionID txnIdA = TransactionID.newBuilder()
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(12_345L))
+			.setAccountID(asAccount("0.0.2"))
+			.build();
+	private final TransactionID txnIdB = txnIdA.toBuilder()
+			.setAccountID(asAccount("0.0.3"))
+			.build();
+	private final TxnReceipt receipt = TxnReceipt.newBuilder().setStatus(SUCCESS.name()).build();
+
+	private ReceiptWaiters.Waiter aWaiter;
+	private ReceiptWaiters.Waiter bWaiter;
+
+	private ReceiptWaiters subject;
+
+	@BeforeEach
+	void setUp() {
+		aWaiter = mock(ReceiptWaiters.Waiter.class);
+		bWaiter = mock(ReceiptWaiters.Waiter.class);
+
+		subject = new ReceiptWaiters();
+	}
+
+	@Test
+	void notifiesAllWaitersForIdOnce() {
+		// given:
+		subject.register(txnIdA, aWaiter);
+		subject.register(txnIdA, bWaiter);
+		subject.register(txnIdB, bWaiter);
+
+		// when:
+		subject.notifyWaiters(txnIdA, receipt);
+		subject.notifyWaiters(txnIdA, receipt);
+
+		// then:
+		verify(aWaiter).receiptAvailable(txnIdA, receipt);
+		verify(bWaiter).receiptAvailable(txnIdA, receipt);
+		verify(bWaiter, never()).receiptAvailable(txnIdB, receipt);
+		assertEquals(1, subject.numWaiting());
+	}
+
+	@Test
+	void deregisteredWaitersAreNotNotified() {
+		// given:
+		subject.register(txnIdA, aWaiter);
+		subject.register(txnIdA, aWaiter);
+		subject.register(txnIdA, bWaiter);
+
+		// when:
+		subject.deregister(txnIdA, aWaiter);
+		subject.deregister(txnIdA, aWaiter);
+		subject.deregister(txnIdB, aWaiter);
+		subject.notifyWaiters(txnIdA, receipt);
+
+		// then:
+		verify(aWaiter, never()).receiptAvailable(any(), any());
+		verify(bWaiter).receiptAvailable(txnIdA, receipt);
+	}
+
+	@Test
+	void tracksWhetherAnyWaiting() {
+		// expect:
+		assertFalse(subject.isAnyWaiting());
+
+		// when:
+		subject.register(txnIdA, aWaiter);
+		// then:
+		assertTrue(subject.isAnyWaiting());
+
+		// and when:
+		subject.deregister(txnIdA, aWaiter);
+		// then:
+		assertFalse(subject.isAnyWaiting());
+		assertEquals(0, subject.numWaiting());
+	}
+}
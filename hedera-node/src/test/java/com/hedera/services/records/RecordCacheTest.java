@@ -65,12 +65,14 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.anyLong;
 import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.verify;
 
 class RecordCacheTest {
@@ -113,6 +115,7 @@ class RecordCacheTest {
 	private ServicesContext ctx;
 	private Cache<TransactionID, Boolean> receiptCache;
 	private Map<TransactionID, TxnIdRecentHistory> histories;
+	private ReceiptWaiters receiptWaiters;
 
 	private RecordCache subject;
 
@@ -123,7 +126,8 @@ class RecordCacheTest {
 		given(ctx.creator()).willReturn(creator);
 		histories = (Map<TransactionID, TxnIdRecentHistory>)mock(Map.class);
 		receiptCache = (Cache<TransactionID, Boolean>)mock(Cache.class);
-		subject = new RecordCache(ctx, receiptCache, histories);
+		receiptWaiters = mock(ReceiptWaiters.class);
+		subject = new RecordCache(ctx, receiptCache, histories, receiptWaiters, new GrpcRecordCache());
 	}
 
 	@Test
@@ -140,7 +144,7 @@ class RecordCacheTest {
 	@Test
 	public void expiresOtherForgottenHistory() {
 		// setup:
-		subject = new RecordCache(ctx, receiptCache, new HashMap<>());
+		subject = new RecordCache(ctx, receiptCache, new HashMap<>(), receiptWaiters, new GrpcRecordCache());
 
 		// given:
 		aRecord.setExpiry(someExpiry);
@@ -191,9 +195,11 @@ class RecordCacheTest {
 
 		// when:
 		var actual = subject.getDuplicateRecords(txnIdA);
+		var again = subject.getDuplicateRecords(txnIdA);
 
 		// expect:
 		assertEquals(List.of(aRecord.asGrpc()), actual);
+		assertSame(actual.get(0), again.get(0));
 	}
 
 	@Test
@@ -306,6 +312,38 @@ class RecordCacheTest {
 				aRecord);
 		// then:
 		verify(history).observe(aRecord, ResponseCodeEnum.valueOf(aRecord.getReceipt().getStatus()));
+		verify(receiptWaiters, never()).notifyWaiters(any(), any());
+	}
+
+	@Test
+	public void notifiesWaitersOfPriorityReceiptPostConsensus() {
+		// setup:
+		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
+
+		given(histories.computeIfAbsent(argThat(txnIdA::equals), any())).willReturn(history);
+		given(history.priorityRecord()).willReturn(aRecord);
+		given(receiptWaiters.isAnyWaiting()).willReturn(true);
+
+		// when:
+		subject.setPostConsensus(txnIdA, SUCCESS, aRecord);
+
+		// then:
+		verify(receiptWaiters).notifyWaiters(txnIdA, knownReceipt);
+	}
+
+	@Test
+	public void doesNotNotifyWaitersWithoutPriorityReceipt() {
+		// setup:
+		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
+
+		given(histories.computeIfAbsent(argThat(txnIdA::equals), any())).willReturn(history);
+		given(receiptWaiters.isAnyWaiting()).willReturn(true);
+
+		// when:
+		subject.setPostConsensus(txnIdA, SUCCESS, aRecord);
+
+		// then:
+		verify(receiptWaiters, never()).notifyWaiters(any(), any());
 	}
 
 	@Test
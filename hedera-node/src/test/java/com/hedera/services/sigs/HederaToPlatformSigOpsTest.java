@@ -26,15 +26,21 @@ import com.hedera.services.legacy.crypto.SignatureStatusCode;
 import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
 import com.hedera.services.sigs.factories.BodySigningSigFactory;
 import com.hedera.services.sigs.factories.PlatformSigFactory;
+import com.hedera.services.sigs.metadata.AccountSigningMetadata;
+import com.hedera.services.sigs.metadata.RecordingSigMetadataLookup;
+import com.hedera.services.sigs.metadata.SigMetadataLookup;
+import com.hedera.services.sigs.metadata.lookups.SafeLookupResult;
 import com.hedera.services.sigs.order.HederaSigningOrder;
 import com.hedera.services.sigs.order.SigStatusOrderResultFactory;
 import com.hedera.services.sigs.order.SigningOrderResult;
+import com.hedera.services.sigs.order.SigningRequirements;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.sigs.verification.SyncVerifier;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.test.factories.keys.KeyTree;
 import com.hedera.test.factories.txns.PlatformTxnFactory;
 import com.hedera.test.factories.txns.SignedTxnFactory;
+import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
@@ -55,10 +61,14 @@ import static com.hedera.test.factories.sigs.SyncVerifiers.ALWAYS_VALID;
 import static com.hedera.test.factories.txns.SystemDeleteFactory.newSignedSystemDelete;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
 
 class HederaToPlatformSigOpsTest {
 	static List<JKey> payerKey;
@@ -86,6 +96,7 @@ class HederaToPlatformSigOpsTest {
 	private void setup() throws Throwable {
 		allSigBytes = mock(PubKeyToSigBytes.class);
 		keyOrdering = mock(HederaSigningOrder.class);
+		given(keyOrdering.withLookup(any())).willReturn(keyOrdering);
 		platformTxn = new PlatformTxnAccessor(PlatformTxnFactory.from(newSignedSystemDelete().get()));
 		successStatus = new SignatureStatus(
 				SignatureStatusCode.SUCCESS, ResponseCodeEnum.OK,
@@ -144,6 +155,11 @@ class HederaToPlatformSigOpsTest {
 		// then:
 		assertEquals(successStatus.toString(), status.toString());
 		assertEquals(expectedSigsWithNoErrors(), platformTxn.getPlatformTxn().getSignatures());
+		// and:
+		final var requirements = platformTxn.getSigningRequirements();
+		assertSame(payerKey.get(0), requirements.getPayerKey());
+		assertEquals(otherKeys, requirements.getOtherPartyKeys());
+		assertEquals(3, requirements.getNumExpandedSigs());
 	}
 
 	@Test
@@ -176,6 +192,73 @@ class HederaToPlatformSigOpsTest {
 		// then:
 		assertEquals(successStatus.toString(), status.toString());
 		assertEquals(expectedSigsWithOtherPartiesCreationError(), platformTxn.getPlatformTxn().getSignatures());
+		assertNull(platformTxn.getSigningRequirements());
+	}
+
+	@Test
+	void reusesExpandedRequirementsIfStillValid() throws Exception {
+		// setup:
+		final var sigMetaLookup = mock(SigMetadataLookup.class);
+		given(keyOrdering.getSigMetaLookup()).willReturn(sigMetaLookup);
+		// and:
+		SyncVerifier syncVerifier = l -> {
+			throw new AssertionError("All sigs were verified async!");
+		};
+
+		// given:
+		wellBehavedOrdersAndSigSourcesPreHandle();
+		expandIn(platformTxn, keyOrdering, allSigBytes);
+		platformTxn.getPlatformTxn().getSignatures().forEach(sig -> sig.setSignatureStatus(VerificationStatus.VALID));
+
+		// when:
+		SignatureStatus status = rationalizeIn(
+				platformTxn,
+				syncVerifier,
+				keyOrdering,
+				allSigBytes,
+				new BodySigningSigFactory(platformTxn));
+
+		// then:
+		assertEquals(asyncSuccessStatus.toString(), status.toString());
+		assertEquals(expectedSigsWithNoErrors(), platformTxn.getSigMeta().verifiedSigs());
+		assertSame(payerKey.get(0), platformTxn.getSigMeta().payerKey());
+		assertEquals(otherKeys, platformTxn.getSigMeta().othersReqSigs());
+		verify(keyOrdering, never()).keysForPayer(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY);
+	}
+
+	@Test
+	void reResolvesRequirementsIfKeysChanged() throws Exception {
+		// setup:
+		final var payer = IdUtils.asAccount("0.0.2");
+		final var expandedLookup = mock(SigMetadataLookup.class);
+		final var handleLookup = mock(SigMetadataLookup.class);
+		given(expandedLookup.accountSigningMetaFor(payer))
+				.willReturn(new SafeLookupResult<>(new AccountSigningMetadata(payerKey.get(0), false)));
+		given(handleLookup.accountSigningMetaFor(payer))
+				.willReturn(new SafeLookupResult<>(new AccountSigningMetadata(otherKeys.get(0), false)));
+		given(keyOrdering.getSigMetaLookup()).willReturn(handleLookup);
+		// and:
+		final var derivation = new RecordingSigMetadataLookup(expandedLookup);
+		derivation.accountSigningMetaFor(payer);
+		platformTxn.setSigningRequirements(new SigningRequirements(payerKey.get(0), otherKeys, 3, derivation));
+		platformTxn.getPlatformTxn().addAll(
+				asValid(expectedSigsWithNoErrors()).toArray(new TransactionSignature[0]));
+
+		// given:
+		wellBehavedOrdersAndSigSourcesInHandle();
+
+		// when:
+		SignatureStatus status = rationalizeIn(
+				platformTxn,
+				ALWAYS_VALID,
+				keyOrdering,
+				allSigBytes,
+				new BodySigningSigFactory(platformTxn));
+
+		// then:
+		assertEquals(asyncSuccessStatus.toString(), status.toString());
+		verify(keyOrdering).keysForPayer(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY);
+		verify(keyOrdering).keysForOtherParties(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY);
 	}
 
 	@Test
@@ -0,0 +1,201 @@
+package com.hedera.services.sigs.metadata;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JEd25519Key;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.sigs.metadata.lookups.SafeLookupResult;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ContractID;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.ScheduleID;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.hedera.services.sigs.order.KeyOrderingFailure.MISSING_ACCOUNT;
+import static com.hedera.services.sigs.order.KeyOrderingFailure.MISSING_AUTORENEW_ACCOUNT;
+import static com.hedera.services.sigs.order.KeyOrderingFailure.MISSING_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class RecordingSigMetadataLookupTest {
+	private final JKey aKey = new JEd25519Key("not-a-real-a-key".getBytes());
+	private final JKey bKey = new JEd25519Key("not-a-real-b-key".getBytes());
+	private final JKey equalToAKey = new JEd25519Key("not-a-real-a-key".getBytes());
+	private final AccountID account = IdUtils.asAccount("0.0.1234");
+	private final ContractID contract = IdUtils.asContract("0.0.2345");
+	private final FileID file = IdUtils.asFile("0.0.3456");
+	private final TopicID topic = IdUtils.asTopic("0.0.4567");
+	private final TokenID token = IdUtils.asToken("0.0.5678");
+	private final ScheduleID schedule = IdUtils.asSchedule("0.0.6789");
+
+	private SigMetadataLookup expanded;
+	private SigMetadataLookup current;
+
+	private RecordingSigMetadataLookup subject;
+
+	@BeforeEach
+	void setup() {
+		expanded = mock(SigMetadataLookup.class);
+		current = mock(SigMetadataLookup.class);
+
+		subject = new RecordingSigMetadataLookup(expanded);
+	}
+
+	@Test
+	void delegatesAndRecordsLookups() {
+		given(expanded.accountSigningMetaFor(account)).willReturn(accountMeta(aKey, false));
+		given(expanded.fileSigningMetaFor(file)).willReturn(SafeLookupResult.failure(MISSING_FILE));
+
+		// when:
+		final var accountResult = subject.accountSigningMetaFor(account);
+		final var fileResult = subject.fileSigningMetaFor(file);
+
+		// then:
+		assertSame(aKey, accountResult.metadata().getKey());
+		assertEquals(MISSING_FILE, fileResult.failureIfAny());
+		assertEquals(2, subject.numRecorded());
+	}
+
+	@Test
+	void unchangedIfNothingRecorded() {
+		// expect:
+		assertTrue(subject.isUnchangedIn(current));
+	}
+
+	@Test
+	void comparesAccountKeysByIdentity() {
+		given(expanded.accountSigningMetaFor(account)).willReturn(accountMeta(aKey, false));
+		subject.accountSigningMetaFor(account);
+
+		given(current.accountSigningMetaFor(account)).willReturn(accountMeta(aKey, false));
+		// expect:
+		assertTrue(subject.isUnchangedIn(current));
+
+		given(current.accountSigningMetaFor(account)).willReturn(accountMeta(equalToAKey, false));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+
+		given(current.accountSigningMetaFor(account)).willReturn(accountMeta(aKey, true));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+	}
+
+	@Test
+	void comparesFailures() {
+		given(expanded.accountSigningMetaFor(account)).willReturn(SafeLookupResult.failure(MISSING_ACCOUNT));
+		subject.accountSigningMetaFor(account);
+
+		given(current.accountSigningMetaFor(account)).willReturn(SafeLookupResult.failure(MISSING_ACCOUNT));
+		// expect:
+		assertTrue(subject.isUnchangedIn(current));
+
+		given(current.accountSigningMetaFor(account)).willReturn(SafeLookupResult.failure(MISSING_AUTORENEW_ACCOUNT));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+
+		given(current.accountSigningMetaFor(account)).willReturn(accountMeta(aKey, false));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+	}
+
+	@Test
+	void comparesContractFileAndTopicKeysByIdentity() {
+		given(expanded.contractSigningMetaFor(contract))
+				.willReturn(new SafeLookupResult<>(new ContractSigningMetadata(aKey, false)));
+		given(expanded.fileSigningMetaFor(file))
+				.willReturn(new SafeLookupResult<>(new FileSigningMetadata(aKey)));
+		given(expanded.topicSigningMetaFor(topic))
+				.willReturn(new SafeLookupResult<>(new TopicSigningMetadata(aKey, bKey)));
+		subject.contractSigningMetaFor(contract);
+		subject.fileSigningMetaFor(file);
+		subject.topicSigningMetaFor(topic);
+		// and:
+		given(current.contractSigningMetaFor(contract))
+				.willReturn(new SafeLookupResult<>(new ContractSigningMetadata(aKey, false)));
+		given(current.fileSigningMetaFor(file))
+				.willReturn(new SafeLookupResult<>(new FileSigningMetadata(aKey)));
+		given(current.topicSigningMetaFor(topic))
+				.willReturn(new SafeLookupResult<>(new TopicSigningMetadata(aKey, bKey)));
+
+		// expect:
+		assertTrue(subject.isUnchangedIn(current));
+
+		given(current.topicSigningMetaFor(topic))
+				.willReturn(new SafeLookupResult<>(new TopicSigningMetadata(aKey, null)));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+	}
+
+	@Test
+	void comparesAllTokenKeysByIdentity() {
+		final var expandedToken = tokenWith(aKey, bKey);
+		given(expanded.tokenSigningMetaFor(token))
+				.willReturn(new SafeLookupResult<>(TokenSigningMetadata.from(expandedToken)));
+		subject.tokenSigningMetaFor(token);
+
+		given(current.tokenSigningMetaFor(token))
+				.willReturn(new SafeLookupResult<>(TokenSigningMetadata.from(expandedToken.copy())));
+		// expect:
+		assertTrue(subject.isUnchangedIn(current));
+
+		given(current.tokenSigningMetaFor(token))
+				.willReturn(new SafeLookupResult<>(TokenSigningMetadata.from(tokenWith(aKey, aKey))));
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+	}
+
+	@Test
+	void neverTreatsScheduleLookupsAsUnchanged() {
+		final var meta = new SafeLookupResult<>(new ScheduleSigningMetadata(
+				Optional.of(aKey), TransactionBody.getDefaultInstance(), Optional.empty()));
+		given(expanded.scheduleSigningMetaFor(schedule)).willReturn(meta);
+		subject.scheduleSigningMetaFor(schedule);
+
+		given(current.scheduleSigningMetaFor(schedule)).willReturn(meta);
+		// expect:
+		assertFalse(subject.isUnchangedIn(current));
+	}
+
+	private SafeLookupResult<AccountSigningMetadata> accountMeta(JKey key, boolean receiverSigRequired) {
+		return new SafeLookupResult<>(new AccountSigningMetadata(key, receiverSigRequired));
+	}
+
+	private MerkleToken tokenWith(JKey adminKey, JKey supplyKey) {
+		final var merkleToken = new MerkleToken(
+				Long.MAX_VALUE, 1_000_000, 2, "NotAnHbar", "TokenName", false, true, new EntityId(0, 0, 2));
+		merkleToken.setAdminKey(adminKey);
+		merkleToken.setSupplyKey(supplyKey);
+		return merkleToken;
+	}
+}
@@ -30,6 +30,7 @@ import com.hedera.services.sigs.metadata.AccountSigningMetadata;
 import com.hedera.services.sigs.metadata.ContractSigningMetadata;
 import com.hedera.services.sigs.metadata.DelegatingSigMetadataLookup;
 import com.hedera.services.sigs.metadata.FileSigningMetadata;
+import com.hedera.services.sigs.metadata.RecordingSigMetadataLookup;
 import com.hedera.services.sigs.metadata.SigMetadataLookup;
 import com.hedera.services.sigs.metadata.TopicSigningMetadata;
 import com.hedera.services.sigs.metadata.lookups.AccountSigMetaLookup;
@@ -415,6 +416,24 @@ class HederaSigningOrderTest {
 		assertThat(sanityRestored(nonPayerSummary.getOrderedKeys()), contains(DEFAULT_PAYER_KT.asKey()));
 	}
 
+	@Test
+	void sameOrderWithRecordingLookupIsUnchangedInOriginal() throws Throwable {
+		// given:
+		setupFor(CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO);
+		final var recording = new RecordingSigMetadataLookup(subject.getSigMetaLookup());
+
+		// when:
+		SigningOrderResult<SignatureStatus> summary =
+				subject.withLookup(recording).keysForOtherParties(txn, summaryFactory);
+
+		// then:
+		assertThat(
+				sanityRestored(summary.getOrderedKeys()),
+				contains(DEFAULT_PAYER_KT.asKey(), RECEIVER_SIG_KT.asKey()));
+		assertEquals(2, recording.numRecorded());
+		assertTrue(recording.isUnchangedIn(subject.getSigMetaLookup()));
+	}
+
 	@Test
 	void getsCryptoTransferReceiverSigReq() throws Throwable {
 		// given:
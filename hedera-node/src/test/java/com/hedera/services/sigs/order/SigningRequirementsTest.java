@@ -0,0 +1,82 @@
+package com.hedera.services.sigs.order;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.JEd25519Key;
+import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.sigs.metadata.RecordingSigMetadataLookup;
+import com.hedera.services.sigs.metadata.SigMetadataLookup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class SigningRequirementsTest {
+	private final JKey payerKey = new JEd25519Key("not-a-real-payer-key".getBytes());
+	private final List<JKey> otherPartyKeys = List.of(new JEd25519Key("not-a-real-other-key".getBytes()));
+
+	private SigMetadataLookup current;
+	private RecordingSigMetadataLookup derivation;
+
+	private SigningRequirements subject;
+
+	@BeforeEach
+	void setup() {
+		current = mock(SigMetadataLookup.class);
+		derivation = mock(RecordingSigMetadataLookup.class);
+
+		subject = new SigningRequirements(payerKey, otherPartyKeys, 2, derivation);
+	}
+
+	@Test
+	void gettersWork() {
+		// expect:
+		assertSame(payerKey, subject.getPayerKey());
+		assertSame(otherPartyKeys, subject.getOtherPartyKeys());
+		assertEquals(2, subject.getNumExpandedSigs());
+	}
+
+	@Test
+	void validityDependsOnDerivation() {
+		given(derivation.isUnchangedIn(current)).willReturn(true).willReturn(false);
+
+		// expect:
+		assertTrue(subject.isStillValidGiven(current));
+		assertFalse(subject.isStillValidGiven(current));
+	}
+
+	@Test
+	void toStringWorks() {
+		given(derivation.numRecorded()).willReturn(3);
+
+		// expect:
+		assertEquals(
+				"SigningRequirements{numOtherPartyKeys=1, numExpandedSigs=2, numLookups=3}",
+				subject.toString());
+	}
+}
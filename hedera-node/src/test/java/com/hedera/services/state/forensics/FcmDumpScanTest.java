@@ -0,0 +1,253 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleBlobMeta;
+import com.hedera.services.state.merkle.MerkleEntityAssociation;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleOptionalBlob;
+import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.state.merkle.internals.BlobKey;
+import com.hederahashgraph.api.proto.java.TokenID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hedera.services.state.forensics.FcmRows.ACCOUNTS_SCHEMA;
+import static com.hedera.services.state.forensics.FcmRows.STORAGE_SCHEMA;
+import static com.hedera.services.state.forensics.FcmRows.TOKEN_ASSOCIATIONS_SCHEMA;
+import static com.hedera.services.state.forensics.FcmRows.TOPICS_SCHEMA;
+import static com.hedera.test.factories.accounts.MerkleAccountFactory.newAccount;
+import static com.hedera.test.utils.IdUtils.asToken;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class FcmDumpScanTest {
+	private static final int NUM_ACCOUNTS = 1_000;
+
+	@TempDir
+	Path dumpDir;
+
+	private FcmDumpScan subject;
+
+	@BeforeEach
+	void setup() throws IOException {
+		subject = new FcmDumpScan(3);
+
+		writeDump("accounts-round1.rows", ACCOUNTS_SCHEMA, out -> {
+			for (int i = 1; i <= NUM_ACCOUNTS; i++) {
+				FcmRows.writeAccount(new MerkleEntityId(0, 0, i), accountWith(i), out);
+				out.endRow();
+			}
+		});
+		writeDump("storage-round1.rows", STORAGE_SCHEMA, out -> {
+			FcmRows.writeBlob(
+					new MerkleBlobMeta(new BlobKey(BlobKey.BlobType.FILE_DATA, 0, 111)), blobOf(0), out);
+			out.endRow();
+			FcmRows.writeBlob(
+					new MerkleBlobMeta(new BlobKey(BlobKey.BlobType.FILE_DATA, 0, 112)), blobOf(5), out);
+			out.endRow();
+			FcmRows.writeBlob(
+					new MerkleBlobMeta(new BlobKey(BlobKey.BlobType.CONTRACT_BYTECODE, 0, 113)), blobOf(6), out);
+			out.endRow();
+			FcmRows.writeBlob(new MerkleBlobMeta(), blobOf(1_024), out);
+			out.endRow();
+		});
+		writeDump("tokenAssociations-round1.rows", TOKEN_ASSOCIATIONS_SCHEMA, out -> {
+			FcmRows.writeRel(new MerkleEntityAssociation(0, 0, 1, 0, 0, 1001),
+					new MerkleTokenRelStatus(0, true, false), out);
+			out.endRow();
+			FcmRows.writeRel(new MerkleEntityAssociation(0, 0, 2, 0, 0, 1001),
+					new MerkleTokenRelStatus(10, false, true), out);
+			out.endRow();
+		});
+		writeDump("topics-round1.rows", TOPICS_SCHEMA, out -> { });
+		Files.writeString(dumpDir.resolve("README.txt"), "Not a dump");
+	}
+
+	@Test
+	void findsDumpsInDirectories() {
+		// when:
+		final var dumps = FcmDumpScan.dumpsAt(List.of(dumpDir, dumpDir.resolve("extra.rows")));
+
+		// then:
+		assertEquals(List.of(
+						"accounts-round1.rows",
+						"storage-round1.rows",
+						"tokenAssociations-round1.rows",
+						"topics-round1.rows",
+						"extra.rows"),
+				dumps.stream().map(p -> p.getFileName().toString()).collect(Collectors.toList()));
+	}
+
+	@Test
+	void summarizesAccounts() throws IOException {
+		// when:
+		subject.scan(dumpDir.resolve("accounts-round1.rows"));
+
+		// then:
+		final var top = subject.topBalances();
+		assertEquals(3, top.size());
+		assertArrayEquals(new long[] { 0, 0, NUM_ACCOUNTS, balanceOf(NUM_ACCOUNTS) }, top.get(0));
+		assertArrayEquals(new long[] { 0, 0, NUM_ACCOUNTS - 1, balanceOf(NUM_ACCOUNTS - 1) }, top.get(1));
+		assertArrayEquals(new long[] { 0, 0, NUM_ACCOUNTS - 2, balanceOf(NUM_ACCOUNTS - 2) }, top.get(2));
+		// and:
+		final var associations = subject.associationsPerAccount();
+		assertEquals(NUM_ACCOUNTS, associations.count());
+		assertEquals(NUM_ACCOUNTS / 4, associations.countInBucket(0));
+		assertEquals(NUM_ACCOUNTS / 4, associations.countInBucket(1));
+		assertEquals(NUM_ACCOUNTS / 2, associations.countInBucket(2));
+		assertEquals(3, associations.max());
+		assertEquals(Map.of("accounts", (long) NUM_ACCOUNTS), subject.rowCounts());
+	}
+
+	@Test
+	void summarizesStorageByType() throws IOException {
+		// when:
+		subject.scan(dumpDir.resolve("storage-round1.rows"));
+
+		// then:
+		final var sizes = subject.blobSizesByType();
+		assertEquals(List.of("CONTRACT_BYTECODE", "FILE_DATA", "UNKNOWN"), List.copyOf(sizes.keySet()));
+		// and:
+		final var fileSizes = sizes.get("FILE_DATA");
+		assertEquals(2, fileSizes.count());
+		assertEquals(5, fileSizes.sum());
+		assertEquals(1, fileSizes.countInBucket(0));
+		assertEquals(1, fileSizes.countInBucket(3));
+		// and:
+		assertEquals(1, sizes.get("CONTRACT_BYTECODE").countInBucket(3));
+		assertEquals(1, sizes.get("UNKNOWN").countInBucket(11));
+	}
+
+	@Test
+	void reportsEverythingScanned() throws IOException {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+
+		// given:
+		for (var dump : FcmDumpScan.dumpsAt(List.of(dumpDir))) {
+			subject.scan(dump);
+		}
+
+		// when:
+		subject.report(new PrintStream(baos));
+
+		// then:
+		final var report = baos.toString();
+		assertThat(report, containsString("topics                             0"));
+		assertThat(report, containsString("Accounts: 1,000 (100 deleted, 0 contracts) holding 500,500,000 tinybars"));
+		assertThat(report, containsString("    1. 0.0.1000                         1,000,000"));
+		assertThat(report, containsString("    2-3                                   500"));
+		assertThat(report, containsString("FILE_DATA: 2 blobs, 5 bytes, largest 5"));
+		assertThat(report, containsString("    1024-2047                               1"));
+		assertThat(report, containsString(
+				"Token relationships: 2 (1 frozen, 1 KYC granted, 1 with zero balance)"));
+	}
+
+	@Test
+	void mainScansDirectoryAndSkipsBadDumps() {
+		// setup:
+		final var stdout = System.out;
+		final var stderr = System.err;
+		final var out = new ByteArrayOutputStream();
+		final var err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out));
+		System.setErr(new PrintStream(err));
+
+		try {
+			// when:
+			FcmDumpScan.main("--top", "1", dumpDir.toString(), dumpDir.resolve("README.txt").toString());
+			FcmDumpScan.main();
+		} finally {
+			System.setOut(stdout);
+			System.setErr(stderr);
+		}
+
+		// then:
+		assertThat(out.toString(), containsString("Top 1 balances:"));
+		assertThat(err.toString(), containsString("Could not scan " + dumpDir.resolve("README.txt")));
+		assertThat(err.toString(), containsString(FcmDumpScan.USAGE));
+	}
+
+	@Test
+	void histogramClampsNegativeValues() {
+		// given:
+		final var histogram = new FcmDumpScan.Log2Histogram();
+
+		// when:
+		histogram.add(-1);
+		histogram.add(Long.MAX_VALUE);
+
+		// then:
+		assertEquals(1, histogram.countInBucket(0));
+		assertEquals(1, histogram.countInBucket(63));
+		assertEquals(Long.MAX_VALUE, histogram.max());
+	}
+
+	@FunctionalInterface
+	private interface RowsWriter {
+		void writeTo(RowDumpWriter out) throws IOException;
+	}
+
+	private void writeDump(String name, RowDumpSchema schema, RowsWriter rows) throws IOException {
+		try (var out = new RowDumpWriter(Files.newOutputStream(dumpDir.resolve(name)), schema)) {
+			rows.writeTo(out);
+		}
+	}
+
+	private static MerkleAccount accountWith(int i) {
+		final var tokens = IntStream.range(0, i % 4)
+				.mapToObj(j -> asToken("0.0." + (1001 + j)))
+				.toArray(TokenID[]::new);
+		return newAccount()
+				.balance(balanceOf(i))
+				.deleted(i % 10 == 0)
+				.tokens(tokens)
+				.get();
+	}
+
+	private static long balanceOf(int i) {
+		return i * 1_000L;
+	}
+
+	private static MerkleOptionalBlob blobOf(int size) {
+		final var blob = mock(MerkleOptionalBlob.class);
+		given(blob.getData()).willReturn(new byte[size]);
+		return blob;
+	}
+}
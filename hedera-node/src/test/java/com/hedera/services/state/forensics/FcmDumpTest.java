@@ -36,19 +36,31 @@ import com.hedera.test.extensions.LoggingSubject;
 import com.swirlds.common.NodeId;
 import com.swirlds.common.merkle.io.MerkleDataOutputStream;
 import com.swirlds.fcmap.FCMap;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.times;
@@ -144,6 +156,95 @@ class FcmDumpTest {
 				String.format(FcmDump.DUMP_IO_WARNING, "scheduleTxs")));
 	}
 
+	@Test
+	void dumpsAllFcmsAsRows(@TempDir Path dumpDir) throws IOException {
+		// setup:
+		final var origRowsOutFn = FcmDump.rowsOutFn;
+		FcmDump.rowsOutFn = loc -> {
+			try {
+				return Files.newOutputStream(dumpDir.resolve(Path.of(loc).getFileName()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+		// and:
+		final var account = new MerkleAccount();
+		account.setBalanceUnchecked(1_234L);
+		final var rel = new MerkleEntityAssociation(0, 0, 2, 0, 0, 1001);
+
+		given(state.accounts()).willReturn(accounts);
+		given(state.storage()).willReturn(storage);
+		given(state.topics()).willReturn(topics);
+		given(state.tokens()).willReturn(tokens);
+		given(state.tokenAssociations()).willReturn(tokenAssociations);
+		given(state.scheduleTxs()).willReturn(scheduleTxs);
+		given(accounts.entrySet()).willReturn(Set.of(new SimpleEntry<>(new MerkleEntityId(0, 0, 2), account)));
+		given(tokenAssociations.entrySet())
+				.willReturn(Set.of(new SimpleEntry<>(rel, new MerkleTokenRelStatus(5, true, false))));
+
+		try {
+			// when:
+			subject.dumpRowsFrom(state, self, round);
+		} finally {
+			FcmDump.rowsOutFn = origRowsOutFn;
+		}
+
+		// then:
+		for (var name : List.of("accounts", "storage", "topics", "tokens", "tokenAssociations", "scheduleTxs")) {
+			try (var in = new RowDumpReader(Files.newInputStream(dumpDir.resolve(name + "-round" + round + ".rows")))) {
+				assertEquals(name, in.schema().name());
+				if (name.equals("accounts")) {
+					assertTrue(in.next());
+					assertEquals(2, in.getLong(in.schema().indexOf("num")));
+					assertEquals(1_234L, in.getLong(in.schema().indexOf("balance")));
+				} else if (name.equals("tokenAssociations")) {
+					assertTrue(in.next());
+					assertEquals(1001, in.getLong(in.schema().indexOf("tokenNum")));
+					assertTrue(in.getBoolean(in.schema().indexOf("frozen")));
+				}
+				assertFalse(in.next());
+			}
+		}
+	}
+
+	@Test
+	void keepsDumpingOtherFcmsAsRowsIfOneFails(@TempDir Path dumpDir) {
+		// setup:
+		final var origRowsOutFn = FcmDump.rowsOutFn;
+		FcmDump.rowsOutFn = loc -> {
+			try {
+				return loc.contains("accounts") ? null : Files.newOutputStream(dumpDir.resolve(Path.of(loc).getFileName()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+
+		given(state.storage()).willReturn(storage);
+		given(state.topics()).willReturn(topics);
+		given(state.tokens()).willReturn(tokens);
+		given(state.tokenAssociations()).willReturn(tokenAssociations);
+		given(state.scheduleTxs()).willThrow(IllegalStateException.class);
+
+		try {
+			// when:
+			subject.dumpRowsFrom(state, self, round);
+		} finally {
+			FcmDump.rowsOutFn = origRowsOutFn;
+		}
+
+		// then:
+		assertThat(logCaptor.warnLogs(), contains(
+				Matchers.startsWith(String.format(FcmDump.ROWS_DUMP_WARNING, "scheduleTxs"))));
+		assertFalse(Files.exists(dumpDir.resolve("accounts-round" + round + ".rows")));
+		assertTrue(Files.exists(dumpDir.resolve("topics-round" + round + ".rows")));
+	}
+
+	@Test
+	public void rowsSupplierFnDoesntBlowUp() {
+		// expect:
+		assertNull(FcmDump.rowsOutFn.apply("src/test/resources/bootstrap/standard.properties/accounts.rows"));
+	}
+
 	@Test
 	public void merkleSupplierWorks() {
 		// given:
@@ -121,6 +121,22 @@ class IssListenerTest {
 		verify(state).logSummary();
 	}
 
+	@Test
+	void dumpsRowsIfConfigured() {
+		given(info.shouldDumpThisRound()).willReturn(true);
+		given(nodeLocalProperties.shouldDumpFcmsOnIss()).willReturn(true);
+		given(nodeLocalProperties.shouldDumpFcmsAsRows()).willReturn(true);
+
+		// when:
+		subject.notifyError(
+				platform, book, state, new Event[0], self, other, round, consensusTime, numConsEvents, sig, hash);
+
+		// then:
+		verify(fcmDump).dumpRowsFrom(state, self, round);
+		verify(fcmDump, never()).dumpFrom(state, self, round);
+		verify(state).logSummary();
+	}
+
 	@Test
 	void onlyLogsIfConfiguredInfo() {
 		given(info.shouldDumpThisRound()).willReturn(true);
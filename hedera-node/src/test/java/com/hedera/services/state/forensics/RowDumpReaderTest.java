@@ -0,0 +1,190 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hedera.services.state.forensics.RowDumpWriter.MAGIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowDumpReaderTest {
+	private final RowDumpSchema schema = new RowDumpSchema("things")
+			.withLong("num")
+			.withBoolean("deleted")
+			.withString("memo");
+
+	private byte[] dump;
+	private int headerLen;
+
+	@BeforeEach
+	void setup() throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		try (var out = new RowDumpWriter(baos, schema)) {
+			for (int i = 0; i < 100; i++) {
+				out.putLong(i).putBoolean(i % 2 == 0).putString("memo" + i);
+				out.endRow();
+			}
+		}
+		dump = baos.toByteArray();
+		/* The magic, the version, and the schema */
+		headerLen = 4 + 2 + headerLenOf(schema);
+	}
+
+	@Test
+	void exposesSchema() throws IOException {
+		// given:
+		final var subject = new RowDumpReader(new ByteArrayInputStream(dump));
+
+		// expect:
+		assertEquals(schema.toString(), subject.schema().toString());
+	}
+
+	@Test
+	void rejectsGetsOfWrongType() throws IOException {
+		// given:
+		final var subject = new RowDumpReader(new ByteArrayInputStream(dump));
+
+		// when:
+		assertTrue(subject.next());
+
+		// then:
+		assertEquals(0, subject.getLong(0));
+		assertTrue(subject.getBoolean(1));
+		assertEquals("memo0", subject.getString(2));
+		// and:
+		assertThrows(IllegalArgumentException.class, () -> subject.getLong(1));
+		assertThrows(IllegalArgumentException.class, () -> subject.getBoolean(2));
+		assertThrows(IllegalArgumentException.class, () -> subject.getString(0));
+	}
+
+	@Test
+	void rejectsWrongMagicOrVersion() {
+		// given:
+		final var wrongMagic = dump.clone();
+		wrongMagic[0] ^= 1;
+		final var wrongVersion = dump.clone();
+		wrongVersion[5] += 1;
+
+		// expect:
+		assertThrows(IOException.class, () -> new RowDumpReader(new ByteArrayInputStream(wrongMagic)));
+		assertThrows(IOException.class, () -> new RowDumpReader(new ByteArrayInputStream(wrongVersion)));
+	}
+
+	@Test
+	void rejectsTruncatedDump() throws IOException {
+		// given:
+		final var subject = new RowDumpReader(new ByteArrayInputStream(Arrays.copyOf(dump, dump.length - 10)));
+
+		// expect:
+		assertThrows(EOFException.class, subject::next);
+	}
+
+	@Test
+	void rejectsCorruptBlockHeader() throws IOException {
+		// given:
+		final var corrupt = dump.clone();
+		/* Claim a raw length far beyond the largest allowed block */
+		corrupt[headerLen + 4] = 0x7f;
+		final var subject = new RowDumpReader(new ByteArrayInputStream(corrupt));
+
+		// expect:
+		assertThrows(IOException.class, subject::next);
+	}
+
+	@Test
+	void rejectsBlockWithMissingRows() throws IOException {
+		// given:
+		final var corrupt = dump.clone();
+		/* Claim one more row than the block holds */
+		corrupt[headerLen + 3] += 1;
+		final var subject = new RowDumpReader(new ByteArrayInputStream(corrupt));
+
+		// when:
+		for (int i = 0; i < 100; i++) {
+			assertTrue(subject.next());
+		}
+
+		// then:
+		assertThrows(IOException.class, subject::next);
+	}
+
+	@Test
+	void rejectsBlockWithTrailingBytes() throws IOException {
+		// given:
+		final var corrupt = dump.clone();
+		/* Claim one less row than the block holds */
+		corrupt[headerLen + 3] -= 1;
+		final var subject = new RowDumpReader(new ByteArrayInputStream(corrupt));
+
+		// when:
+		for (int i = 0; i < 98; i++) {
+			assertTrue(subject.next());
+		}
+
+		// then:
+		assertThrows(IOException.class, subject::next);
+	}
+
+	@Test
+	void rejectsCorruptCompressedBytes() throws IOException {
+		// given:
+		final var corrupt = dump.clone();
+		for (int i = headerLen + 12; i < corrupt.length - 4; i++) {
+			corrupt[i] = (byte) 0xff;
+		}
+		final var subject = new RowDumpReader(new ByteArrayInputStream(corrupt));
+
+		// expect:
+		assertThrows(IOException.class, subject::next);
+	}
+
+	@Test
+	void readsEndMarkerOnlyOnce() throws IOException {
+		// given:
+		final var subject = new RowDumpReader(new ByteArrayInputStream(dump));
+
+		// when:
+		while (subject.next()) {
+			/* Skip to the end */
+		}
+
+		// then:
+		assertFalse(subject.next());
+		assertEquals(100, subject.rowsRead());
+	}
+
+	private static int headerLenOf(RowDumpSchema schema) throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		schema.writeTo(new DataOutputStream(baos));
+		return baos.size();
+	}
+}
@@ -0,0 +1,94 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.BOOLEAN;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.LONG;
+import static com.hedera.services.state.forensics.RowDumpSchema.ColumnType.STRING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RowDumpSchemaTest {
+	private RowDumpSchema subject = new RowDumpSchema("things")
+			.withLong("num")
+			.withBoolean("deleted")
+			.withString("memo");
+
+	@Test
+	void describesColumns() {
+		// expect:
+		assertEquals("things", subject.name());
+		assertEquals(3, subject.numColumns());
+		assertEquals("deleted", subject.column(1));
+		assertEquals(LONG, subject.type(0));
+		assertEquals(BOOLEAN, subject.type(1));
+		assertEquals(STRING, subject.type(2));
+		assertEquals(2, subject.indexOf("memo"));
+		assertEquals("things(num LONG, deleted BOOLEAN, memo STRING)", subject.toString());
+	}
+
+	@Test
+	void rejectsDuplicateAndMissingColumns() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.withLong("memo"));
+		assertThrows(IllegalArgumentException.class, () -> subject.indexOf("balance"));
+	}
+
+	@Test
+	void roundTripsThroughHeader() throws IOException {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+
+		// given:
+		subject.writeTo(new DataOutputStream(baos));
+
+		// when:
+		final var read = RowDumpSchema.readFrom(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
+
+		// then:
+		assertEquals(subject.toString(), read.toString());
+	}
+
+	@Test
+	void rejectsUnknownColumnType() throws IOException {
+		// setup:
+		final var baos = new ByteArrayOutputStream();
+		final var out = new DataOutputStream(baos);
+
+		// given:
+		out.writeUTF("things");
+		out.writeShort(1);
+		out.writeUTF("num");
+		out.writeByte(RowDumpSchema.ColumnType.values().length);
+		final var in = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+		// expect:
+		assertThrows(IOException.class, () -> RowDumpSchema.readFrom(in));
+	}
+}
@@ -0,0 +1,179 @@
+package com.hedera.services.state.forensics;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import static com.hedera.services.state.forensics.RowDumpWriter.END_OF_BLOCKS;
+import static com.hedera.services.state.forensics.RowDumpWriter.MAGIC;
+import static com.hedera.services.state.forensics.RowDumpWriter.VERSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowDumpWriterTest {
+	private static final long[] EDGE_LONGS = {
+			0, 1, -1, 63, -64, 64, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE
+	};
+
+	private final RowDumpSchema schema = new RowDumpSchema("things")
+			.withLong("num")
+			.withBoolean("deleted")
+			.withString("memo");
+	private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+	@Test
+	void writesHeaderAndEndMarkerForEmptyDump() throws IOException {
+		// given:
+		final var subject = new RowDumpWriter(baos, schema);
+
+		// when:
+		subject.close();
+
+		// then:
+		final var in = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+		assertEquals(MAGIC, in.readInt());
+		assertEquals(VERSION, in.readShort());
+		assertEquals(schema.toString(), RowDumpSchema.readFrom(in).toString());
+		assertEquals(END_OF_BLOCKS, in.readInt());
+		assertEquals(-1, in.read());
+		// and:
+		try (var reader = new RowDumpReader(new ByteArrayInputStream(baos.toByteArray()))) {
+			assertFalse(reader.next());
+			assertFalse(reader.next());
+		}
+	}
+
+	@Test
+	void roundTripsEdgeValuesAcrossManyBlocks() throws IOException {
+		// setup:
+		final int numRows = 10_000;
+
+		// given:
+		try (var subject = new RowDumpWriter(baos, schema, 256)) {
+			for (int i = 0; i < numRows; i++) {
+				subject.putLong(EDGE_LONGS[i % EDGE_LONGS.length])
+						.putBoolean(i % 3 == 0)
+						.putString(memoFor(i));
+				subject.endRow();
+			}
+			assertEquals(numRows, subject.rowsWritten());
+		}
+
+		// when:
+		try (var reader = new RowDumpReader(new ByteArrayInputStream(baos.toByteArray()))) {
+			for (int i = 0; i < numRows; i++) {
+				assertTrue(reader.next());
+				// then:
+				assertEquals(EDGE_LONGS[i % EDGE_LONGS.length], reader.getLong(0));
+				assertEquals(i % 3 == 0, reader.getBoolean(1));
+				assertEquals(memoFor(i), reader.getString(2));
+			}
+			assertFalse(reader.next());
+			assertEquals(numRows, reader.rowsRead());
+		}
+	}
+
+	@Test
+	void compressesRepetitiveRows() throws IOException {
+		// given:
+		try (var subject = new RowDumpWriter(baos, schema)) {
+			for (int i = 0; i < 100_000; i++) {
+				subject.putLong(i).putBoolean(false).putString("Same memo as every other row");
+				subject.endRow();
+			}
+		}
+
+		// expect:
+		assertTrue(baos.size() < 1_000_000, "Dump should be well under its raw 3MB size, was " + baos.size());
+	}
+
+	@Test
+	void allowsRowsLargerThanBlockSize() throws IOException {
+		// setup:
+		final var longMemo = "x".repeat(10_000);
+
+		// given:
+		try (var subject = new RowDumpWriter(baos, schema, 1_000)) {
+			subject.putLong(1).putBoolean(true).putString(longMemo);
+			subject.endRow();
+			subject.putLong(2).putBoolean(false).putString(null);
+			subject.endRow();
+		}
+
+		// when:
+		try (var reader = new RowDumpReader(new ByteArrayInputStream(baos.toByteArray()))) {
+			// then:
+			assertTrue(reader.next());
+			assertEquals(longMemo, reader.getString(2));
+			assertTrue(reader.next());
+			assertNull(reader.getString(2));
+			assertFalse(reader.next());
+		}
+	}
+
+	@Test
+	void rejectsColumnsOfWrongTypeOrCount() throws IOException {
+		// given:
+		final var subject = new RowDumpWriter(baos, schema);
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.putBoolean(true));
+		subject.putLong(1).putBoolean(true).putString("");
+		assertThrows(IllegalStateException.class, () -> subject.putLong(1));
+		// and:
+		subject.endRow();
+		subject.putLong(2);
+		assertThrows(IllegalStateException.class, subject::endRow);
+		assertThrows(IllegalStateException.class, subject::close);
+	}
+
+	@Test
+	void encodesUtf8Strings() throws IOException {
+		// setup:
+		final var memo = "Ünïcödé ✓";
+
+		// given:
+		try (var subject = new RowDumpWriter(baos, schema)) {
+			subject.putLong(0).putBoolean(false).putString(memo);
+			subject.endRow();
+		}
+
+		// when:
+		try (var reader = new RowDumpReader(new ByteArrayInputStream(baos.toByteArray()))) {
+			reader.next();
+
+			// then:
+			assertEquals(memo, reader.getString(2));
+		}
+	}
+
+	private static String memoFor(int i) {
+		return (i % 7 == 0) ? null : "memo" + i;
+	}
+}
@@ -20,6 +20,7 @@ package com.hedera.services.state.merkle;
  * ‍
  */
 
+import com.hedera.services.state.merkle.internals.BlobKey;
 import com.swirlds.common.io.SerializableDataInputStream;
 import com.swirlds.common.io.SerializableDataOutputStream;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,9 +29,12 @@ import org.mockito.InOrder;
 
 import java.io.IOException;
 
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_STORAGE;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
@@ -38,6 +42,8 @@ import static org.mockito.Mockito.inOrder;
 
 class MerkleBlobMetaTest {
 	String path = "/a/b/c123";
+	String legacyPath = "/2/d3";
+	BlobKey key = new BlobKey(CONTRACT_STORAGE, 2, 3);
 
 	MerkleBlobMeta subject;
 
@@ -55,7 +61,37 @@ class MerkleBlobMetaTest {
 	}
 
 	@Test
-	public void deserializeWorks() throws IOException {
+	public void legacyPathsAreTyped() {
+		// given:
+		var typed = new MerkleBlobMeta(legacyPath);
+
+		// expect:
+		assertEquals(key, typed.getKey());
+		assertEquals(legacyPath, typed.getPath());
+		assertEquals(new MerkleBlobMeta(key), typed);
+		// and:
+		assertNull(subject.getKey());
+		assertEquals(path, subject.getPath());
+	}
+
+	@Test
+	public void deserializeMigratesLegacyPath() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var defaultSubject = new MerkleBlobMeta();
+
+		given(in.readNormalisedString(MerkleBlobMeta.MAX_PATH_LEN)).willReturn(legacyPath);
+
+		// when:
+		defaultSubject.deserialize(in, MerkleBlobMeta.RELEASE_0150_VERSION);
+
+		// then:
+		assertEquals(new MerkleBlobMeta(key), defaultSubject);
+	}
+
+	@Test
+	public void deserializeKeepsUnparseableLegacyPath() throws IOException {
 		// setup:
 		var in = mock(SerializableDataInputStream.class);
 		// and:
@@ -63,6 +99,40 @@ class MerkleBlobMetaTest {
 
 		given(in.readNormalisedString(MerkleBlobMeta.MAX_PATH_LEN)).willReturn(path);
 
+		// when:
+		defaultSubject.deserialize(in, MerkleBlobMeta.RELEASE_0150_VERSION);
+
+		// then:
+		assertEquals(subject, defaultSubject);
+	}
+
+	@Test
+	public void deserializeWorksForTyped() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var defaultSubject = new MerkleBlobMeta();
+
+		given(in.readByte()).willReturn((byte) 'd');
+		given(in.readLong()).willReturn(2L).willReturn(3L);
+
+		// when:
+		defaultSubject.deserialize(in, MerkleBlobMeta.MERKLE_VERSION);
+
+		// then:
+		assertEquals(new MerkleBlobMeta(key), defaultSubject);
+	}
+
+	@Test
+	public void deserializeWorksForUntyped() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var defaultSubject = new MerkleBlobMeta();
+
+		given(in.readByte()).willReturn(MerkleBlobMeta.UNTYPED_CODE);
+		given(in.readNormalisedString(MerkleBlobMeta.MAX_PATH_LEN)).willReturn(path);
+
 		// when:
 		defaultSubject.deserialize(in, MerkleBlobMeta.MERKLE_VERSION);
 
@@ -71,7 +141,34 @@ class MerkleBlobMetaTest {
 	}
 
 	@Test
-	public void serializeWorks() throws IOException {
+	public void deserializeRejectsUnknownCode() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+
+		given(in.readByte()).willReturn((byte) 'z');
+
+		// expect:
+		assertThrows(IOException.class, () -> new MerkleBlobMeta().deserialize(in, MerkleBlobMeta.MERKLE_VERSION));
+	}
+
+	@Test
+	public void serializeWorksForTyped() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+		// and:
+		InOrder inOrder = inOrder(out);
+
+		// when:
+		new MerkleBlobMeta(key).serialize(out);
+
+		// then:
+		inOrder.verify(out).writeByte('d');
+		inOrder.verify(out).writeLong(2L);
+		inOrder.verify(out).writeLong(3L);
+	}
+
+	@Test
+	public void serializeWorksForUntyped() throws IOException {
 		// setup:
 		var out = mock(SerializableDataOutputStream.class);
 		// and:
@@ -81,6 +178,7 @@ class MerkleBlobMetaTest {
 		subject.serialize(out);
 
 		// then:
+		inOrder.verify(out).writeByte(MerkleBlobMeta.UNTYPED_CODE);
 		inOrder.verify(out).writeNormalisedString(path);
 	}
 
@@ -107,7 +205,7 @@ class MerkleBlobMetaTest {
 	public void toStringWorks() {
 		// expect:
 		assertEquals(
-				"MerkleBlobMeta{path=" + path + "}",
+				"MerkleBlobMeta{key=null, path=" + path + "}",
 				subject.toString());
 	}
 
@@ -119,6 +217,7 @@ class MerkleBlobMetaTest {
 		// then:
 		assertTrue(subjectCopy != subject);
 		assertEquals(subject, subjectCopy);
+		assertEquals(new MerkleBlobMeta(key), new MerkleBlobMeta(key).copy());
 	}
 
 	@Test
@@ -124,6 +124,27 @@ class MerkleDiskFsTest {
 		}
 	}
 
+	@Test
+	void streamsContentsFromDisk() throws IOException {
+		// setup:
+		final var scratchFile = asFile("0.0.987654");
+		final var scratchLoc = subject.pathToContentsOf(scratchFile);
+		// and:
+		new MerkleDiskFs().getWriteHelper().allBytesTo(scratchLoc, newContents);
+
+		// when:
+		byte[] streamed;
+		try (var in = subject.contentsStreamOf(scratchFile)) {
+			streamed = in.readAllBytes();
+		}
+
+		// then:
+		assertArrayEquals(newContents, streamed);
+
+		// cleanup:
+		Files.delete(scratchLoc);
+	}
+
 	@Test
 	void migratesPre0130DiskFs() throws IOException {
 		// setup:
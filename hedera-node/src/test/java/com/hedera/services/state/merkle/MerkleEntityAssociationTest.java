@@ -62,6 +62,13 @@ class MerkleEntityAssociationTest {
 		assertEquals("13.25.7 <-> 31.52.0", subject.toAbbrevString());
 	}
 
+	@Test
+	public void gettersWork() {
+		// expect:
+		assertEquals(fromNum, subject.getFromNum());
+		assertEquals(toNum, subject.getToNum());
+	}
+
 	@Test
 	public void objectContractMet() {
 		// given:
@@ -0,0 +1,120 @@
+package com.hedera.services.state.merkle;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.CommonUtils;
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+class MerkleNftMetadataDigestTest {
+	private byte[] digest = "D".repeat(MerkleNftMetadataDigest.DIGEST_BYTES).getBytes();
+	private byte[] otherDigest = "E".repeat(MerkleNftMetadataDigest.DIGEST_BYTES).getBytes();
+
+	private MerkleNftMetadataDigest subject;
+
+	@BeforeEach
+	void setup() {
+		subject = new MerkleNftMetadataDigest(digest);
+	}
+
+	@Test
+	void merkleMethodsWork() {
+		// expect:
+		assertEquals(MerkleNftMetadataDigest.MERKLE_VERSION, subject.getVersion());
+		assertEquals(MerkleNftMetadataDigest.RUNTIME_CONSTRUCTABLE_ID, subject.getClassId());
+		assertTrue(subject.isLeaf());
+	}
+
+	@Test
+	void equalityIsByContent() {
+		// given:
+		var identical = new MerkleNftMetadataDigest(digest.clone());
+		var other = new MerkleNftMetadataDigest(otherDigest);
+
+		// expect:
+		assertEquals(subject, subject);
+		assertEquals(subject, identical);
+		assertEquals(subject.hashCode(), identical.hashCode());
+		assertNotEquals(subject, other);
+		assertNotEquals(subject, null);
+		assertNotEquals(subject, new Object());
+	}
+
+	@Test
+	void serializeWorks() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+
+		// when:
+		subject.serialize(out);
+
+		// then:
+		verify(out).writeByteArray(digest);
+	}
+
+	@Test
+	void deserializeWorks() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var read = new MerkleNftMetadataDigest();
+
+		given(in.readByteArray(MerkleNftMetadataDigest.DIGEST_BYTES)).willReturn(digest);
+
+		// when:
+		read.deserialize(in, MerkleNftMetadataDigest.MERKLE_VERSION);
+
+		// then:
+		assertEquals(subject, read);
+	}
+
+	@Test
+	void copyWorks() {
+		// when:
+		var copy = subject.copy();
+
+		// then:
+		assertNotSame(subject, copy);
+		assertEquals(subject, copy);
+		assertSame(digest, copy.getDigest());
+	}
+
+	@Test
+	void toStringWorks() {
+		// expect:
+		assertEquals(
+				"MerkleNftMetadataDigest{digest=" + CommonUtils.hex(digest) + "}",
+				subject.toString());
+	}
+}
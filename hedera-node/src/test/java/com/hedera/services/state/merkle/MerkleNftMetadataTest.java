@@ -0,0 +1,136 @@
+package com.hedera.services.state.merkle;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.Mockito.inOrder;
+
+class MerkleNftMetadataTest {
+	private long refCount = 3L;
+	private byte[] metadata = "Some NFT metadata".getBytes();
+
+	private MerkleNftMetadata subject;
+
+	@BeforeEach
+	void setup() {
+		subject = new MerkleNftMetadata(metadata, refCount);
+	}
+
+	@Test
+	void merkleMethodsWork() {
+		// expect:
+		assertEquals(MerkleNftMetadata.MERKLE_VERSION, subject.getVersion());
+		assertEquals(MerkleNftMetadata.RUNTIME_CONSTRUCTABLE_ID, subject.getClassId());
+		assertTrue(subject.isLeaf());
+	}
+
+	@Test
+	void equalsContractWorks() {
+		// given:
+		var identical = new MerkleNftMetadata(metadata.clone(), refCount);
+		var otherCount = new MerkleNftMetadata(metadata, refCount + 1);
+		var otherMetadata = new MerkleNftMetadata("Other NFT metadata".getBytes(), refCount);
+
+		// expect:
+		assertEquals(subject, subject);
+		assertEquals(subject, identical);
+		assertEquals(subject.hashCode(), identical.hashCode());
+		assertNotEquals(subject, otherCount);
+		assertNotEquals(subject, otherMetadata);
+		assertNotEquals(subject, null);
+		assertNotEquals(subject, new Object());
+	}
+
+	@Test
+	void serializeWorks() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+		// and:
+		InOrder inOrder = inOrder(out);
+
+		// when:
+		subject.serialize(out);
+
+		// then:
+		inOrder.verify(out).writeLong(refCount);
+		inOrder.verify(out).writeByteArray(metadata);
+	}
+
+	@Test
+	void deserializeWorks() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var read = new MerkleNftMetadata();
+
+		given(in.readLong()).willReturn(refCount);
+		given(in.readByteArray(MerkleUniqueToken.UPPER_BOUND_METADATA_BYTES)).willReturn(metadata);
+
+		// when:
+		read.deserialize(in, MerkleNftMetadata.MERKLE_VERSION);
+
+		// then:
+		assertEquals(subject, read);
+	}
+
+	@Test
+	void copyWorks() {
+		// when:
+		var copy = subject.copy();
+
+		// then:
+		assertNotSame(subject, copy);
+		assertEquals(subject, copy);
+		assertSame(metadata, copy.getMetadata());
+	}
+
+	@Test
+	void setsRefCount() {
+		// when:
+		subject.setRefCount(refCount + 1);
+
+		// then:
+		assertEquals(refCount + 1, subject.getRefCount());
+	}
+
+	@Test
+	void toStringWorks() {
+		// expect:
+		assertEquals(
+				"MerkleNftMetadata{refCount=" + refCount + ", metadata=" + Arrays.toString(metadata) + "}",
+				subject.toString());
+	}
+}
@@ -39,13 +39,17 @@ import java.time.Instant;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 class MerkleUniqueTokenTest {
 	private MerkleUniqueToken subject;
@@ -54,6 +58,7 @@ class MerkleUniqueTokenTest {
 	private EntityId otherOwner;
 	private byte[] metadata;
 	private byte[] otherMetadata;
+	private byte[] digest;
 	private RichInstant timestamp;
 	private RichInstant otherTimestamp;
 
@@ -65,6 +70,7 @@ class MerkleUniqueTokenTest {
 		otherOwner = new EntityId(1, 2, 4);
 		metadata = "Test NFT".getBytes();
 		otherMetadata = "Test NFT2".getBytes();
+		digest = "D".repeat(MerkleNftMetadataDigest.DIGEST_BYTES).getBytes();
 		timestamp = RichInstant.fromJava(Instant.ofEpochSecond(timestampL));
 		otherTimestamp = RichInstant.fromJava(Instant.ofEpochSecond(1_234_568L));
 
@@ -137,8 +143,30 @@ class MerkleUniqueTokenTest {
 		inOrder.verify(out).writeSerializable(owner, true);
 		inOrder.verify(out).writeLong(timestamp.getSeconds());
 		inOrder.verify(out).writeInt(timestamp.getNanos());
+		inOrder.verify(out).writeBoolean(false);
 		inOrder.verify(out).writeByteArray(metadata);
+	}
+
+	@Test
+	void serializesOnlyDigestOfPooledMetadata() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+		// and:
+		InOrder inOrder = inOrder(out);
+
+		// given:
+		subject = new MerkleUniqueToken(owner, metadata, digest, timestamp);
+
+		// when:
+		subject.serialize(out);
 
+		// then:
+		inOrder.verify(out).writeSerializable(owner, true);
+		inOrder.verify(out).writeLong(timestamp.getSeconds());
+		inOrder.verify(out).writeInt(timestamp.getNanos());
+		inOrder.verify(out).writeBoolean(true);
+		inOrder.verify(out).writeByteArray(digest);
+		verify(out, never()).writeByteArray(metadata);
 	}
 
 	@Test
@@ -161,6 +189,54 @@ class MerkleUniqueTokenTest {
 		assertEquals(subject, read);
 	}
 
+	@Test
+	void deserializesRelease0160VersionWithInlineMetadata() throws IOException {
+		// setup:
+		SerializableDataInputStream in = mock(SerializableDataInputStream.class);
+
+		given(in.readSerializable()).willReturn(owner);
+		given(in.readByteArray(anyInt())).willReturn(metadata);
+		given(in.readLong()).willReturn(timestampL);
+		given(in.readInt()).willReturn(0);
+
+		// and:
+		var read = new MerkleUniqueToken();
+
+		// when:
+		read.deserialize(in, MerkleUniqueToken.RELEASE_0160_VERSION);
+
+		// then:
+		assertEquals(subject, read);
+		verify(in, never()).readBoolean();
+	}
+
+	@Test
+	void deserializesUnresolvedPooledMetadata() throws IOException {
+		// setup:
+		SerializableDataInputStream in = mock(SerializableDataInputStream.class);
+
+		given(in.readSerializable()).willReturn(owner);
+		given(in.readBoolean()).willReturn(true);
+		given(in.readByteArray(MerkleNftMetadataDigest.DIGEST_BYTES)).willReturn(digest);
+		given(in.readLong()).willReturn(timestampL);
+		given(in.readInt()).willReturn(0);
+
+		// and:
+		var read = new MerkleUniqueToken();
+
+		// when:
+		read.deserialize(in, MerkleUniqueToken.MERKLE_VERSION);
+
+		// then:
+		assertTrue(read.isMetadataPooled());
+		assertFalse(read.isMetadataResolved());
+		assertEquals(new MerkleUniqueToken(owner, metadata, digest, timestamp), read);
+		// and when:
+		read.setPooledMetadata(metadata, digest);
+		// then:
+		assertSame(metadata, read.getMetadata());
+	}
+
 	@Test
 	void liveFireSerdeWorks() throws IOException, ConstructableRegistryException {
 		// setup:
@@ -181,12 +257,54 @@ class MerkleUniqueTokenTest {
 
 		// when:
 		final var newSubject = new MerkleUniqueToken();
-		newSubject.deserialize(din, MerkleToken.MERKLE_VERSION);
+		newSubject.deserialize(din, MerkleUniqueToken.MERKLE_VERSION);
 
 		// then:
 		assertEquals(subject, newSubject);
 	}
 
+	@Test
+	void pooledEqualityDependsOnlyOnDigest() {
+		// given:
+		var pooled = new MerkleUniqueToken(owner, metadata, digest, timestamp);
+		var unresolved = new MerkleUniqueToken(owner, null, digest, timestamp);
+		var otherDigest = new MerkleUniqueToken(owner, metadata, "0".repeat(48).getBytes(), timestamp);
+
+		// expect:
+		assertEquals(pooled, unresolved);
+		assertEquals(pooled.hashCode(), unresolved.hashCode());
+		assertNotEquals(pooled, otherDigest);
+		assertNotEquals(pooled, subject);
+	}
+
+	@Test
+	void pooledToStringIncludesDigest() {
+		// given:
+		subject = new MerkleUniqueToken(owner, metadata, digest, timestamp);
+
+		// expect:
+		assertEquals("MerkleUniqueToken{" +
+						"owner=" + owner + ", " +
+						"creationTime=" + timestamp + ", " +
+						"metadata=" + Arrays.toString(metadata) + ", " +
+						"metadataDigest=" + Arrays.toString(digest) + "}",
+				subject.toString());
+	}
+
+	@Test
+	void copyKeepsPooledMetadata() {
+		// given:
+		subject = new MerkleUniqueToken(owner, metadata, digest, timestamp);
+
+		// when:
+		var copyNft = subject.copy();
+
+		// then:
+		assertEquals(subject, copyNft);
+		assertSame(metadata, copyNft.getMetadata());
+		assertSame(digest, copyNft.getMetadataDigest());
+	}
+
 	@Test
 	void merkleMethodsWork() {
 		// expect;
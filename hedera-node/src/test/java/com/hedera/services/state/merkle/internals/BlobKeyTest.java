@@ -0,0 +1,103 @@
+package com.hedera.services.state.merkle.internals;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_BYTECODE;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.CONTRACT_STORAGE;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_DATA;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.FILE_METADATA;
+import static com.hedera.services.state.merkle.internals.BlobKey.BlobType.SYSTEM_DELETED_ENTITY_EXPIRY;
+import static com.hedera.services.state.merkle.internals.BlobKey.fromLegacyPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlobKeyTest {
+	@Test
+	void parsesEveryLegacyType() {
+		// expect:
+		assertEquals(new BlobKey(FILE_DATA, 0, 150), fromLegacyPath("/0/f150"));
+		assertEquals(new BlobKey(FILE_METADATA, 0, 150), fromLegacyPath("/0/k150"));
+		assertEquals(new BlobKey(CONTRACT_BYTECODE, 1, 1001), fromLegacyPath("/1/s1001"));
+		assertEquals(new BlobKey(CONTRACT_STORAGE, 1, 1001), fromLegacyPath("/1/d1001"));
+		assertEquals(new BlobKey(SYSTEM_DELETED_ENTITY_EXPIRY, 666, 888), fromLegacyPath("/666/e888"));
+		assertEquals(
+				new BlobKey(FILE_DATA, 999_999_999_999_999_999L, 999_999_999_999_999_999L),
+				fromLegacyPath("/999999999999999999/f999999999999999999"));
+	}
+
+	@Test
+	void rejectsNonLegacyPaths() {
+		// expect:
+		assertNull(fromLegacyPath(""));
+		assertNull(fromLegacyPath("/0/f"));
+		assertNull(fromLegacyPath("0/f1"));
+		assertNull(fromLegacyPath("//f1"));
+		assertNull(fromLegacyPath("/a/b/c123"));
+		assertNull(fromLegacyPath("/0/x1"));
+		assertNull(fromLegacyPath("/0/f1a"));
+		assertNull(fromLegacyPath("/0-f1"));
+		assertNull(fromLegacyPath("/00/f1"));
+		assertNull(fromLegacyPath("/0/f01"));
+		assertNull(fromLegacyPath("/0/f1234567890123456789"));
+	}
+
+	@Test
+	void legacyPathRoundTrips() {
+		// given:
+		var path = "/2/k3";
+
+		// expect:
+		assertEquals(path, fromLegacyPath(path).legacyPath());
+		assertEquals("/0/e0", new BlobKey(SYSTEM_DELETED_ENTITY_EXPIRY, 0, 0).legacyPath());
+	}
+
+	@Test
+	void legacyCodesRoundTrip() {
+		for (var type : BlobKey.BlobType.values()) {
+			// expect:
+			assertEquals(type, BlobKey.BlobType.fromLegacyCode(type.legacyCode()));
+		}
+		assertNull(BlobKey.BlobType.fromLegacyCode('z'));
+	}
+
+	@Test
+	void objectContractMet() {
+		// given:
+		var one = new BlobKey(FILE_DATA, 0, 1);
+		var two = new BlobKey(FILE_DATA, 0, 1);
+		var three = new BlobKey(FILE_METADATA, 0, 1);
+
+		// expect:
+		assertEquals(one, one);
+		assertEquals(one, two);
+		assertEquals(one.hashCode(), two.hashCode());
+		assertNotEquals(one, three);
+		assertNotEquals(one, new BlobKey(FILE_DATA, 1, 1));
+		assertNotEquals(one, new BlobKey(FILE_DATA, 0, 2));
+		assertNotEquals(one, null);
+		assertNotEquals(one, "/0/f1");
+		// and:
+		assertEquals("BlobKey{type=FILE_DATA, realm=0, entityNum=1}", one.toString());
+	}
+}
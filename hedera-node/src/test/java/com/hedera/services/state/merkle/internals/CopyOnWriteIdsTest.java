@@ -21,15 +21,21 @@ package com.hedera.services.state.merkle.internals;
  */
 
 import com.hedera.services.store.models.Id;
+import com.hedera.test.utils.IdUtils;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Random;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CopyOnWriteIdsTest {
@@ -53,7 +59,7 @@ class CopyOnWriteIdsTest {
 		final var aCopyRepr = "[0.0.2, 1.2.3, 1.2.3, 1.2.4, 1.2.5, 0.0.98]";
 
 		// when:
-		a.remove(listHas(someMoreIds));
+		a.removeNative(packed(someMoreIds));
 		aCopy.add(someMoreIds);
 
 		// then:
@@ -98,14 +104,125 @@ class CopyOnWriteIdsTest {
 		assertEquals(desired, a.toString());
 	}
 
-	private Predicate<long[]> listHas(List<long[]> l) {
-		return nativeId -> {
-			for (int i = 0, n = l.size(); i < n; i++) {
-				if (Arrays.equals(nativeId, l.get(i))) {
-					return true;
+	@Test
+	void mergesBatchesOfAnySizeLikeASortedMultiset() {
+		// setup:
+		final var r = new Random(44);
+
+		for (int trial = 0; trial < 200; trial++) {
+			// given:
+			final var subject = new CopyOnWriteIds();
+			final List<long[]> expected = new ArrayList<>();
+
+			for (int round = 0, rounds = 1 + r.nextInt(5); round < rounds; round++) {
+				final var batch = randomIds(r, r.nextInt(3) == 0 ? r.nextInt(100) : r.nextInt(10));
+				final var copy = subject.copy();
+				final var priorIds = copy.getNativeIds().clone();
+
+				// when:
+				subject.add(batch);
+				expected.addAll(batch);
+
+				// then:
+				assertArrayEquals(packed(sortedCopy(expected)), subject.getNativeIds());
+				assertArrayEquals(priorIds, copy.getNativeIds());
+			}
+		}
+	}
+
+	@Test
+	void removesAllAppearancesLikeASortedMultiset() {
+		// setup:
+		final var r = new Random(440);
+
+		for (int trial = 0; trial < 200; trial++) {
+			// given:
+			final var initial = randomIds(r, r.nextInt(200));
+			final var subject = new CopyOnWriteIds();
+			subject.add(initial);
+			final var copy = subject.copy();
+			final var priorIds = subject.getNativeIds();
+			// and:
+			final Set<Id> doomed = new HashSet<>();
+			for (int i = 0, n = r.nextInt(40); i < n; i++) {
+				final var id = (r.nextBoolean() && !initial.isEmpty())
+						? initial.get(r.nextInt(initial.size()))
+						: randomIds(r, 1).get(0);
+				doomed.add(new Id(id[2], id[1], id[0]));
+			}
+			final List<long[]> expected = new ArrayList<>();
+			for (var id : initial) {
+				if (!doomed.contains(new Id(id[2], id[1], id[0]))) {
+					expected.add(id);
 				}
 			}
-			return false;
-		};
+
+			// when:
+			subject.removeAllIds(doomed);
+
+			// then:
+			assertArrayEquals(packed(sortedCopy(expected)), subject.getNativeIds());
+			assertSame(priorIds, copy.getNativeIds());
+			if (expected.size() == initial.size()) {
+				assertSame(priorIds, subject.getNativeIds());
+			}
+		}
+	}
+
+	@Test
+	void sortsPackedIdsOfAnyBatchSize() {
+		// setup:
+		final var r = new Random(4400);
+
+		for (int k : new int[] { 0, 1, 2, 16, 17, 33, 1000 }) {
+			// given:
+			final var ids = randomIds(r, k);
+			final var packedIds = packed(ids);
+
+			// when:
+			CopyOnWriteIds.sort(packedIds, k);
+
+			// then:
+			assertArrayEquals(packed(sortedCopy(ids)), packedIds);
+		}
+	}
+
+	@Test
+	void addsGrpcAndModelIds() {
+		// given:
+		final var subject = new CopyOnWriteIds();
+
+		// when:
+		subject.addAll(Set.of(IdUtils.asToken("1.2.5"), IdUtils.asToken("0.0.7")));
+		subject.addAllIds(Set.of(new Id(1, 2, 3)));
+
+		// then:
+		assertEquals("[1.2.3, 1.2.5, 0.0.7]", subject.toReadableIdList());
+		assertEquals(List.of(IdUtils.asToken("1.2.3"), IdUtils.asToken("1.2.5"), IdUtils.asToken("0.0.7")),
+				subject.getAsIds());
+	}
+
+	private List<long[]> randomIds(Random r, int n) {
+		final List<long[]> ids = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			ids.add(new long[] { r.nextInt(50), r.nextInt(2), r.nextInt(2) });
+		}
+		return ids;
+	}
+
+	private List<long[]> sortedCopy(List<long[]> ids) {
+		final List<long[]> sorted = new ArrayList<>(ids);
+		sorted.sort(Comparator.comparingLong((long[] l) -> l[0])
+				.thenComparingLong(l -> l[1])
+				.thenComparingLong(l -> l[2]));
+		return sorted;
+	}
+
+	private long[] packed(List<long[]> ids) {
+		final var packedIds = new long[ids.size() * 3];
+		for (int i = 0; i < ids.size(); i++) {
+			System.arraycopy(ids.get(i), 0, packedIds, i * 3, 3);
+		}
+		return packedIds;
 	}
 }
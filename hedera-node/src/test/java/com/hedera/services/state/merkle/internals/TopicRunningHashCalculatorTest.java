@@ -0,0 +1,227 @@
+package com.hedera.services.state.merkle.internals;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
+import static com.swirlds.common.CommonUtils.hex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopicRunningHashCalculatorTest {
+	private static final int NUM_RANDOM_VECTORS = 1_000;
+
+	private TopicRunningHashCalculator subject = new TopicRunningHashCalculator();
+
+	@Test
+	void layoutMatchesObjectOutputStreamEncoding() throws IOException {
+		// given:
+		final var prev = new byte[48];
+		final var message = "Hello world!".getBytes();
+
+		// when:
+		final var input = legacyInput(prev, 1, 2, 3, 4, 5, 6, 7, 8, 9, message);
+
+		// then:
+		assertEquals(TopicRunningHashCalculator.INPUT_LEN, input.length);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"zeros, 0, 0, 2, 0, 0, 1001, 1600000000, 123456789, 1, Hello world!, " +
+					"9142addf18ba1df1fbd7992aef715840c706aa2d6df7ad2450bc5194da90f1cfc299071765dd52e0f70f0bb253d01997",
+			"pattern, 1, 2, 3, 4, 5, 6, 9223372036854775807, 999999999, 9223372036854775807, , " +
+					"739f8b63a6d6c219a59e07dd63375fd308214f4ea9d0e611517450c666cd1dc10603b7c447bad3a22d94de3e67e64450",
+	})
+	void matchesGoldenVectors(
+			String prevType,
+			long payerShard, long payerRealm, long payerNum,
+			long topicShard, long topicRealm, long topicNum,
+			long secs, int nanos,
+			long seqNo,
+			String message,
+			String expected
+	) {
+		// given:
+		final var prev = "zeros".equals(prevType) ? new byte[48] : patternHash();
+		final var messageBytes = (message == null) ? new byte[0] : message.getBytes();
+
+		// when:
+		final var actual = subject.nextRunningHash(
+				prev,
+				payerShard, payerRealm, payerNum,
+				topicShard, topicRealm, topicNum,
+				secs, nanos,
+				seqNo,
+				messageBytes);
+
+		// then:
+		assertEquals(expected, hex(actual));
+	}
+
+	@Test
+	void matchesGoldenVectorWithNegativeFieldsAndLargeMessage() {
+		// setup:
+		final var message = new byte[1024];
+		for (int i = 0; i < message.length; i++) {
+			message[i] = (byte) i;
+		}
+
+		// when:
+		final var actual = subject.nextRunningHash(
+				patternHash(),
+				0, 0, Long.MIN_VALUE,
+				0, 0, -1,
+				-1, -1,
+				42,
+				message);
+
+		// then:
+		assertEquals(
+				"d38b3ffb2580cd948a616fee78f95a92b7dfebfb8825361ebf75ba53ed717ac306c9a99b5791278717a3851f37d3d6cc",
+				hex(actual));
+	}
+
+	@Test
+	void nullPrevHashIsTreatedAsZeros() {
+		// given:
+		final var message = "Hello world!".getBytes();
+
+		// when:
+		final var fromZeros = subject.nextRunningHash(
+				new byte[48], 0, 0, 2, 0, 0, 1001, 1, 2, 3, message);
+		final var fromNull = subject.nextRunningHash(
+				null, 0, 0, 2, 0, 0, 1001, 1, 2, 3, message);
+
+		// then:
+		assertArrayEquals(fromZeros, fromNull);
+	}
+
+	@Test
+	void agreesWithObjectOutputStreamEncodingOnRandomInputs() throws IOException {
+		// setup:
+		final var r = new SplittableRandom(1_234_567L);
+		var prev = new byte[48];
+
+		for (int i = 0; i < NUM_RANDOM_VECTORS; i++) {
+			// given:
+			final var longs = new long[8];
+			for (int j = 0; j < longs.length; j++) {
+				longs[j] = (i % 3 == 0) ? r.nextLong() : r.nextLong(0, 1_000_000);
+			}
+			final var nanos = (i % 3 == 0) ? r.nextInt() : r.nextInt(1_000_000_000);
+			final var message = new byte[r.nextInt(0, 6 * 1024)];
+			r.nextBytes(message);
+
+			// when:
+			final var expected = noThrowSha384HashOf(legacyInput(
+					prev,
+					longs[0], longs[1], longs[2],
+					longs[3], longs[4], longs[5],
+					longs[6], nanos,
+					longs[7],
+					message));
+			final var actual = subject.nextRunningHash(
+					prev,
+					longs[0], longs[1], longs[2],
+					longs[3], longs[4], longs[5],
+					longs[6], nanos,
+					longs[7],
+					message);
+
+			// then:
+			assertArrayEquals(expected, actual);
+			prev = actual;
+		}
+	}
+
+	@Test
+	void rejectsNonStandardPrevHashLength() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.nextRunningHash(
+				new byte[2], 0, 0, 2, 0, 0, 1001, 1, 2, 3, new byte[0]));
+	}
+
+	@Test
+	void calculatorsAreThreadConfined() throws InterruptedException {
+		// setup:
+		final var other = new AtomicReference<TopicRunningHashCalculator>();
+
+		// given:
+		final var mine = TopicRunningHashCalculator.forCurrentThread();
+		final var thread = new Thread(() -> other.set(TopicRunningHashCalculator.forCurrentThread()));
+
+		// when:
+		thread.start();
+		thread.join();
+
+		// then:
+		assertSame(mine, TopicRunningHashCalculator.forCurrentThread());
+		assertNotSame(mine, other.get());
+	}
+
+	private static byte[] patternHash() {
+		final var hash = new byte[48];
+		for (int i = 0; i < hash.length; i++) {
+			hash[i] = (byte) (i * 7 - 100);
+		}
+		return hash;
+	}
+
+	private static byte[] legacyInput(
+			byte[] prev,
+			long payerShard, long payerRealm, long payerNum,
+			long topicShard, long topicRealm, long topicNum,
+			long secs, int nanos,
+			long seqNo,
+			byte[] message
+	) throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		try (var out = new ObjectOutputStream(baos)) {
+			out.writeObject(prev);
+			out.writeLong(3L);
+			out.writeLong(payerShard);
+			out.writeLong(payerRealm);
+			out.writeLong(payerNum);
+			out.writeLong(topicShard);
+			out.writeLong(topicRealm);
+			out.writeLong(topicNum);
+			out.writeLong(secs);
+			out.writeInt(nanos);
+			out.writeLong(seqNo);
+			out.writeObject(noThrowSha384HashOf(message));
+			out.flush();
+		}
+		return baos.toByteArray();
+	}
+}
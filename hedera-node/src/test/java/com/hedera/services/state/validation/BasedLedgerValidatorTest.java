@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.hedera.services.state.submerkle.EntityId.MISSING_ENTITY_ID;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,6 +50,7 @@ class BasedLedgerValidatorTest {
 	HederaNumbers hederaNums;
 	PropertySource properties;
 	GlobalDynamicProperties dynamicProperties = new MockGlobalDynamicProps();
+	HbarFloatTracker floatTracker = new HbarFloatTracker();
 
 	BasedLedgerValidator subject;
 
@@ -61,7 +63,7 @@ class BasedLedgerValidatorTest {
 		properties = mock(PropertySource.class);
 		given(properties.getLongProperty("ledger.totalTinyBarFloat")).willReturn(100L);
 
-		subject = new BasedLedgerValidator(hederaNums, properties, dynamicProperties);
+		subject = new BasedLedgerValidator(hederaNums, properties, dynamicProperties, floatTracker);
 	}
 
 	@Test
@@ -70,6 +72,21 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
 		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(50L));
 
+		// expect:
+		assertTrue(subject.hasExpectedTotalBalance(accounts));
+		// and:
+		assertTrue(floatTracker.isInitialized());
+		assertEquals(100L, floatTracker.runningFloat());
+	}
+
+	@Test
+	public void usesRunningFloatOnceSeeded() throws NegativeAccountBalanceException {
+		// given:
+		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(100L));
+		floatTracker.initFrom(accounts);
+		// and:
+		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(1L));
+
 		// expect:
 		assertTrue(subject.hasExpectedTotalBalance(accounts));
 	}
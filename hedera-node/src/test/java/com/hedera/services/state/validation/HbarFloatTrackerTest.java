@@ -0,0 +1,132 @@
+package com.hedera.services.state.validation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.exceptions.NegativeAccountBalanceException;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.test.utils.IdUtils;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+import static com.hedera.services.ledger.properties.AccountProperty.MEMO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HbarFloatTrackerTest {
+	HbarFloatTracker subject = new HbarFloatTracker();
+
+	@Test
+	void initializesFromAllBalances() throws NegativeAccountBalanceException {
+		// setup:
+		FCMap<MerkleEntityId, MerkleAccount> accounts = new FCMap<>();
+		accounts.put(new MerkleEntityId(0, 0, 2), withBalance(70L));
+		accounts.put(new MerkleEntityId(0, 0, 3), withBalance(30L));
+
+		// expect:
+		assertFalse(subject.isInitialized());
+		assertEquals(100L, subject.initFrom(accounts));
+		assertTrue(subject.isInitialized());
+		assertEquals(100L, subject.runningFloat());
+	}
+
+	@Test
+	void zeroSumCommitsLeaveFloatUnchanged() throws NegativeAccountBalanceException {
+		// setup:
+		givenInitialFloat(100L);
+
+		// when:
+		subject.changing(IdUtils.asAccount("0.0.2"), withBalance(70L), Map.of(BALANCE, 60L));
+		subject.changing(IdUtils.asAccount("0.0.3"), withBalance(30L), Map.of(BALANCE, 35L));
+		subject.changing(IdUtils.asAccount("0.0.4"), null, Map.of(BALANCE, 5L));
+		subject.changing(IdUtils.asAccount("0.0.5"), withBalance(1L), new EnumMap<>(Map.of(MEMO, "Irrelevant")));
+		subject.committed();
+
+		// then:
+		assertEquals(100L, subject.runningFloat());
+	}
+
+	@Test
+	void tracksNonZeroSumCommits() throws NegativeAccountBalanceException {
+		// setup:
+		givenInitialFloat(100L);
+
+		// when:
+		subject.changing(IdUtils.asAccount("0.0.2"), withBalance(70L), Map.of(BALANCE, 71L));
+		subject.removing(IdUtils.asAccount("0.0.3"), withBalance(30L));
+		subject.committed();
+
+		// then:
+		assertEquals(71L, subject.runningFloat());
+
+		// and when:
+		subject.committed();
+
+		// then:
+		assertEquals(71L, subject.runningFloat());
+	}
+
+	@Test
+	void discardsAbandonedChanges() throws NegativeAccountBalanceException {
+		// setup:
+		givenInitialFloat(100L);
+
+		// when:
+		subject.changing(IdUtils.asAccount("0.0.2"), withBalance(100L), Map.of(BALANCE, 150L));
+		subject.abandoned();
+		subject.committed();
+
+		// then:
+		assertEquals(0L, subject.getPendingDelta());
+		assertEquals(100L, subject.runningFloat());
+	}
+
+	@Test
+	void reseedingDiscardsPendingChanges() throws NegativeAccountBalanceException {
+		// setup:
+		givenInitialFloat(100L);
+
+		// when:
+		subject.changing(IdUtils.asAccount("0.0.2"), withBalance(100L), Map.of(BALANCE, 150L));
+		givenInitialFloat(200L);
+		subject.committed();
+
+		// then:
+		assertEquals(200L, subject.runningFloat());
+	}
+
+	private void givenInitialFloat(long amount) throws NegativeAccountBalanceException {
+		FCMap<MerkleEntityId, MerkleAccount> accounts = new FCMap<>();
+		accounts.put(new MerkleEntityId(0, 0, 2), withBalance(amount));
+		subject.initFrom(accounts);
+	}
+
+	private MerkleAccount withBalance(long amount) throws NegativeAccountBalanceException {
+		var account = new MerkleAccount();
+		account.setBalance(amount);
+		return account;
+	}
+}
@@ -59,6 +59,13 @@ class MiscRunningAvgsTest {
 		StatEntry waitMs = mock(StatEntry.class);
 		StatEntry queueSizes = mock(StatEntry.class);
 		StatEntry submitSizes = mock(StatEntry.class);
+		StatEntry hitRatio = mock(StatEntry.class);
+		StatEntry cachedBytes = mock(StatEntry.class);
+		StatEntry pendingReceipts = mock(StatEntry.class);
+		StatEntry topicSubscribers = mock(StatEntry.class);
+		StatEntry topicLag = mock(StatEntry.class);
+		StatEntry topTps = mock(StatEntry.class);
+		StatEntry throttledPayers = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscRunningAvgs.Names.ACCOUNT_LOOKUP_RETRIES::equals),
@@ -76,6 +83,34 @@ class MiscRunningAvgsTest {
 				argThat(MiscRunningAvgs.Names.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(MiscRunningAvgs.Descriptions.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(subject.handledSubmitMessageSize::equals))).willReturn(submitSizes);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(subject.bytecodeCacheHitRatio::equals))).willReturn(hitRatio);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_BYTES::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_BYTES::equals),
+				argThat(subject.bytecodeCacheBytes::equals))).willReturn(cachedBytes);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.PENDING_RECEIPT_SUBSCRIPTIONS::equals),
+				argThat(MiscRunningAvgs.Descriptions.PENDING_RECEIPT_SUBSCRIPTIONS::equals),
+				argThat(subject.pendingReceiptSubscriptions::equals))).willReturn(pendingReceipts);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.TOPIC_STREAM_SUBSCRIBERS::equals),
+				argThat(MiscRunningAvgs.Descriptions.TOPIC_STREAM_SUBSCRIBERS::equals),
+				argThat(subject.topicStreamSubscribers::equals))).willReturn(topicSubscribers);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.TOPIC_STREAM_SUBSCRIBER_LAG::equals),
+				argThat(MiscRunningAvgs.Descriptions.TOPIC_STREAM_SUBSCRIBER_LAG::equals),
+				argThat(subject.topicStreamSubscriberLag::equals))).willReturn(topicLag);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.PAYER_FAIR_SHARE_TOP_TPS::equals),
+				argThat(MiscRunningAvgs.Descriptions.PAYER_FAIR_SHARE_TOP_TPS::equals),
+				argThat(subject.payerFairShareTopTps::equals))).willReturn(topTps);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.PAYER_FAIR_SHARE_THROTTLED_PAYERS::equals),
+				argThat(MiscRunningAvgs.Descriptions.PAYER_FAIR_SHARE_THROTTLED_PAYERS::equals),
+				argThat(subject.payerFairShareThrottledPayers::equals))).willReturn(throttledPayers);
 
 		// when:
 		subject.registerWith(platform);
@@ -85,6 +120,13 @@ class MiscRunningAvgsTest {
 		verify(platform).addAppStatEntry(waitMs);
 		verify(platform).addAppStatEntry(queueSizes);
 		verify(platform).addAppStatEntry(submitSizes);
+		verify(platform).addAppStatEntry(hitRatio);
+		verify(platform).addAppStatEntry(cachedBytes);
+		verify(platform).addAppStatEntry(pendingReceipts);
+		verify(platform).addAppStatEntry(topicSubscribers);
+		verify(platform).addAppStatEntry(topicLag);
+		verify(platform).addAppStatEntry(topTps);
+		verify(platform).addAppStatEntry(throttledPayers);
 	}
 
 	@Test
@@ -95,12 +137,26 @@ class MiscRunningAvgsTest {
 		StatsRunningAverage queueSize = mock(StatsRunningAverage.class);
 		StatsRunningAverage submitSizes = mock(StatsRunningAverage.class);
 		StatsRunningAverage hashS = mock(StatsRunningAverage.class);
+		StatsRunningAverage hitRatio = mock(StatsRunningAverage.class);
+		StatsRunningAverage cachedBytes = mock(StatsRunningAverage.class);
+		StatsRunningAverage pendingReceipts = mock(StatsRunningAverage.class);
+		StatsRunningAverage topicSubscribers = mock(StatsRunningAverage.class);
+		StatsRunningAverage topicLag = mock(StatsRunningAverage.class);
+		StatsRunningAverage topTps = mock(StatsRunningAverage.class);
+		StatsRunningAverage throttledPayers = mock(StatsRunningAverage.class);
 		// and:
 		subject.accountLookupRetries = retries;
 		subject.accountRetryWaitMs = waitMs;
 		subject.handledSubmitMessageSize = submitSizes;
 		subject.writeQueueSizeRecordStream = queueSize;
 		subject.hashQueueSizeRecordStream = hashS;
+		subject.bytecodeCacheHitRatio = hitRatio;
+		subject.bytecodeCacheBytes = cachedBytes;
+		subject.pendingReceiptSubscriptions = pendingReceipts;
+		subject.topicStreamSubscribers = topicSubscribers;
+		subject.topicStreamSubscriberLag = topicLag;
+		subject.payerFairShareTopTps = topTps;
+		subject.payerFairShareThrottledPayers = throttledPayers;
 
 		// when:
 		subject.recordAccountLookupRetries(1);
@@ -108,6 +164,14 @@ class MiscRunningAvgsTest {
 		subject.recordHandledSubmitMessageSize(3);
 		subject.writeQueueSizeRecordStream(4);
 		subject.hashQueueSizeRecordStream(5);
+		subject.recordBytecodeCacheLookup(true);
+		subject.recordBytecodeCacheLookup(false);
+		subject.recordBytecodeCacheBytes(6L);
+		subject.recordPendingReceiptSubscriptions(7);
+		subject.recordTopicStreamSubscribers(8);
+		subject.recordTopicStreamSubscriberLag(9L);
+		subject.recordPayerFairShareTopTps(10.0);
+		subject.recordPayerFairShareThrottledPayers(11);
 
 		// then:
 		verify(retries).recordValue(1.0);
@@ -115,5 +179,13 @@ class MiscRunningAvgsTest {
 		verify(submitSizes).recordValue(3.0);
 		verify(queueSize).recordValue(4.0);
 		verify(hashS).recordValue(5);
+		verify(hitRatio).recordValue(1.0);
+		verify(hitRatio).recordValue(0.0);
+		verify(cachedBytes).recordValue(6.0);
+		verify(pendingReceipts).recordValue(7.0);
+		verify(topicSubscribers).recordValue(8.0);
+		verify(topicLag).recordValue(9.0);
+		verify(topTps).recordValue(10.0);
+		verify(throttledPayers).recordValue(11.0);
 	}
 }
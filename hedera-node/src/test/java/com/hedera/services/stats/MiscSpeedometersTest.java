@@ -60,6 +60,11 @@ class MiscSpeedometersTest {
 		StatEntry async = mock(StatEntry.class);
 		StatEntry retries = mock(StatEntry.class);
 		StatEntry rejections = mock(StatEntry.class);
+		StatEntry fairShareRejections = mock(StatEntry.class);
+		StatEntry receiptsPushed = mock(StatEntry.class);
+		StatEntry receiptSubRejections = mock(StatEntry.class);
+		StatEntry topicMsgsPushed = mock(StatEntry.class);
+		StatEntry topicSubsDropped = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscSpeedometers.Names.SYNC_VERIFICATIONS::equals),
@@ -77,6 +82,26 @@ class MiscSpeedometersTest {
 				argThat(MiscSpeedometers.Names.PLATFORM_TXN_REJECTIONS::equals),
 				argThat(MiscSpeedometers.Descriptions.PLATFORM_TXN_REJECTIONS::equals),
 				any())).willReturn(rejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.PAYER_FAIR_SHARE_REJECTIONS::equals),
+				argThat(MiscSpeedometers.Descriptions.PAYER_FAIR_SHARE_REJECTIONS::equals),
+				any())).willReturn(fairShareRejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.RECEIPTS_PUSHED::equals),
+				argThat(MiscSpeedometers.Descriptions.RECEIPTS_PUSHED::equals),
+				any())).willReturn(receiptsPushed);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.RECEIPT_SUBSCRIPTION_REJECTIONS::equals),
+				argThat(MiscSpeedometers.Descriptions.RECEIPT_SUBSCRIPTION_REJECTIONS::equals),
+				any())).willReturn(receiptSubRejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.TOPIC_MESSAGES_PUSHED::equals),
+				argThat(MiscSpeedometers.Descriptions.TOPIC_MESSAGES_PUSHED::equals),
+				any())).willReturn(topicMsgsPushed);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.TOPIC_SUBSCRIPTIONS_DROPPED::equals),
+				argThat(MiscSpeedometers.Descriptions.TOPIC_SUBSCRIPTIONS_DROPPED::equals),
+				any())).willReturn(topicSubsDropped);
 
 		// when:
 		subject.registerWith(platform);
@@ -86,6 +111,11 @@ class MiscSpeedometersTest {
 		verify(platform).addAppStatEntry(sync);
 		verify(platform).addAppStatEntry(async);
 		verify(platform).addAppStatEntry(rejections);
+		verify(platform).addAppStatEntry(fairShareRejections);
+		verify(platform).addAppStatEntry(receiptsPushed);
+		verify(platform).addAppStatEntry(receiptSubRejections);
+		verify(platform).addAppStatEntry(topicMsgsPushed);
+		verify(platform).addAppStatEntry(topicSubsDropped);
 	}
 
 	@Test
@@ -95,22 +125,42 @@ class MiscSpeedometersTest {
 		StatsSpeedometer sync = mock(StatsSpeedometer.class);
 		StatsSpeedometer async = mock(StatsSpeedometer.class);
 		StatsSpeedometer rejections = mock(StatsSpeedometer.class);
+		StatsSpeedometer fairShareRejections = mock(StatsSpeedometer.class);
+		StatsSpeedometer receiptsPushed = mock(StatsSpeedometer.class);
+		StatsSpeedometer receiptSubRejections = mock(StatsSpeedometer.class);
+		StatsSpeedometer topicMsgsPushed = mock(StatsSpeedometer.class);
+		StatsSpeedometer topicSubsDropped = mock(StatsSpeedometer.class);
 		// and:
 		subject.accountLookupRetries = retries;
 		subject.syncVerifications = sync;
 		subject.platformTxnRejections = rejections;
 		subject.asyncVerifications = async;
+		subject.payerFairShareRejections = fairShareRejections;
+		subject.receiptsPushed = receiptsPushed;
+		subject.receiptSubscriptionRejections = receiptSubRejections;
+		subject.topicMessagesPushed = topicMsgsPushed;
+		subject.topicSubscriptionsDropped = topicSubsDropped;
 
 		// when:
 		subject.cycleAccountLookupRetries();
 		subject.cycleAsyncVerifications();
 		subject.cycleSyncVerifications();
 		subject.cyclePlatformTxnRejections();
+		subject.cyclePayerFairShareRejections();
+		subject.cycleReceiptsPushed();
+		subject.cycleReceiptSubscriptionRejections();
+		subject.cycleTopicMessagesPushed();
+		subject.cycleTopicSubscriptionsDropped();
 
 		// then:
 		verify(retries).update(1.0);
 		verify(rejections).update(1.0);
 		verify(sync).update(1.0);
 		verify(async).update(1.0);
+		verify(fairShareRejections).update(1.0);
+		verify(receiptsPushed).update(1.0);
+		verify(receiptSubRejections).update(1.0);
+		verify(topicMsgsPushed).update(1.0);
+		verify(topicSubsDropped).update(1.0);
 	}
 }
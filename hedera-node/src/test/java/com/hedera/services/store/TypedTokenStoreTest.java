@@ -38,6 +38,7 @@ import com.hedera.services.store.models.OwnershipTracker;
 import com.hedera.services.store.models.Token;
 import com.hedera.services.store.models.TokenRelationship;
 import com.hedera.services.store.models.UniqueToken;
+import com.hedera.services.store.tokens.NftMetadataPool;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.swirlds.fchashmap.FCOneToManyRelation;
@@ -45,6 +46,7 @@ import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -56,12 +58,14 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOKEN_
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TOKEN_NOT_ASSOCIATED_TO_ACCOUNT;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TOKEN_WAS_DELETED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -81,6 +85,8 @@ class TypedTokenStoreTest {
 	@Mock
 	private FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenRels;
 	@Mock
+	private NftMetadataPool nftMetadataPool;
+	@Mock
 	private BackingTokenRels backingTokenRels;
 
 	private TypedTokenStore subject;
@@ -98,6 +104,7 @@ class TypedTokenStoreTest {
 				() -> uniqueTokenOwnerships,
 				() -> uniqueTokenAssociations,
 				() -> tokenRels,
+				nftMetadataPool,
 				backingTokenRels);
 	}
 
@@ -294,8 +301,11 @@ class TypedTokenStoreTest {
 		final var expectedNewUniqTokenId = new MerkleUniqueTokenId(tokenEntityId, mintedSerialNo);
 		final var expectedNewUniqToken = new MerkleUniqueToken(treasuryId, nftMeta, creationTime);
 		final var expectedPastUniqTokenId = new MerkleUniqueTokenId(tokenEntityId, burnedSerialNo);
+		final var pastUniqToken = new MerkleUniqueToken(treasuryId, nftMeta, creationTime);
 
 		givenToken(merkleTokenId, merkleToken);
+		given(nftMetadataPool.newUniqueToken(treasuryId, nftMeta, creationTime)).willReturn(expectedNewUniqToken);
+		given(uniqueTokens.remove(expectedPastUniqTokenId)).willReturn(pastUniqToken);
 		givenModifiableToken(merkleTokenId, merkleToken);
 
 		// when:
@@ -319,12 +329,74 @@ class TypedTokenStoreTest {
 		verify(transactionRecordService).includeChangesToToken(modelToken);
 		verify(uniqueTokens).put(expectedNewUniqTokenId, expectedNewUniqToken);
 		verify(uniqueTokens).remove(expectedPastUniqTokenId);
+		verify(nftMetadataPool).release(pastUniqToken);
 		verify(uniqueTokenAssociations).associate(new EntityId(modelToken.getId()), expectedNewUniqTokenId);
 		verify(uniqueTokenAssociations).disassociate(new EntityId(modelToken.getId()), expectedPastUniqTokenId);
 		verify(uniqueTokenOwnerships).associate(treasuryId, expectedNewUniqTokenId);
 		verify(uniqueTokenOwnerships).disassociate(treasuryId, expectedPastUniqTokenId);
 	}
 
+	@Test
+	void persistsNftBatchWithSharedEntityIds() {
+		// setup:
+		final var creationTime = new RichInstant(1_234_567L, 8);
+		final var tokenEntityId = new EntityId(0, 0, tokenNum);
+		final var treasuryId = new EntityId(0, 0, treasuryAccountNum);
+		final var modelTreasuryId = new Id(0, 0, treasuryAccountNum);
+		final var first = new UniqueToken(tokenId, 1L, creationTime, modelTreasuryId, "abc".getBytes());
+		final var second = new UniqueToken(tokenId, 2L, creationTime, modelTreasuryId, "def".getBytes());
+		final var firstId = new MerkleUniqueTokenId(tokenEntityId, 1L);
+		final var secondId = new MerkleUniqueTokenId(tokenEntityId, 2L);
+		final var firstNft = new MerkleUniqueToken(treasuryId, "abc".getBytes(), creationTime);
+		final var secondNft = new MerkleUniqueToken(treasuryId, "def".getBytes(), creationTime);
+		// and:
+		final var ownerCaptor = ArgumentCaptor.forClass(EntityId.class);
+
+		given(nftMetadataPool.newUniqueToken(treasuryId, first.getMetadata(), creationTime)).willReturn(firstNft);
+		given(nftMetadataPool.newUniqueToken(treasuryId, second.getMetadata(), creationTime)).willReturn(secondNft);
+
+		// when:
+		subject.persistNfts(List.of(first, second));
+
+		// then:
+		verify(uniqueTokens).put(firstId, firstNft);
+		verify(uniqueTokens).put(secondId, secondNft);
+		verify(uniqueTokenAssociations).associate(tokenEntityId, firstId);
+		verify(uniqueTokenAssociations).associate(tokenEntityId, secondId);
+		verify(uniqueTokenOwnerships, times(2)).associate(ownerCaptor.capture(), any());
+		// and:
+		assertEquals(treasuryId, ownerCaptor.getValue());
+		assertSame(ownerCaptor.getAllValues().get(0), ownerCaptor.getAllValues().get(1));
+	}
+
+	@Test
+	void removesNftBatchAcrossOwners() {
+		// setup:
+		final var tokenEntityId = new EntityId(0, 0, tokenNum);
+		final var treasuryId = new EntityId(0, 0, treasuryAccountNum);
+		final var miscEntityId = new EntityId(0, 0, miscAccountNum);
+		final var burned = new UniqueToken(tokenId, 1L, new Id(0, 0, treasuryAccountNum));
+		final var wiped = new UniqueToken(tokenId, 2L, miscId);
+		final var burnedId = new MerkleUniqueTokenId(tokenEntityId, 1L);
+		final var wipedId = new MerkleUniqueTokenId(tokenEntityId, 2L);
+		final var burnedNft = new MerkleUniqueToken(treasuryId, "abc".getBytes(), new RichInstant(1L, 2));
+		final var wipedNft = new MerkleUniqueToken(miscEntityId, "def".getBytes(), new RichInstant(1L, 2));
+
+		given(uniqueTokens.remove(burnedId)).willReturn(burnedNft);
+		given(uniqueTokens.remove(wipedId)).willReturn(wipedNft);
+
+		// when:
+		subject.removeNfts(List.of(burned, wiped));
+
+		// then:
+		verify(nftMetadataPool).release(burnedNft);
+		verify(nftMetadataPool).release(wipedNft);
+		verify(uniqueTokenAssociations).disassociate(tokenEntityId, burnedId);
+		verify(uniqueTokenAssociations).disassociate(tokenEntityId, wipedId);
+		verify(uniqueTokenOwnerships).disassociate(treasuryId, burnedId);
+		verify(uniqueTokenOwnerships).disassociate(miscEntityId, wipedId);
+	}
+
 	private void givenRelationship(MerkleEntityAssociation anAssoc, MerkleTokenRelStatus aRelationship) {
 		given(tokenRels.get(anAssoc)).willReturn(aRelationship);
 	}
@@ -0,0 +1,184 @@
+package com.hedera.services.store.tokens;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleNftMetadata;
+import com.hedera.services.state.merkle.MerkleNftMetadataDigest;
+import com.hedera.services.state.merkle.MerkleUniqueToken;
+import com.hedera.services.state.merkle.MerkleUniqueTokenId;
+import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.services.state.submerkle.RichInstant;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.fcmap.FCMap;
+import com.swirlds.fcmap.internal.FCMLeaf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
+import static com.hedera.services.store.tokens.NftMetadataPool.MIN_POOLED_METADATA_BYTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NftMetadataPoolTest {
+	private final EntityId owner = new EntityId(0, 0, 2);
+	private final EntityId tokenId = new EntityId(0, 0, 1001);
+	private final RichInstant creationTime = new RichInstant(1_234_567L, 8);
+	private final byte[] shortMetadata = "A".repeat(MIN_POOLED_METADATA_BYTES - 1).getBytes();
+	private final byte[] longMetadata = "B".repeat(MIN_POOLED_METADATA_BYTES).getBytes();
+	private final byte[] longDigest = noThrowSha384HashOf(longMetadata);
+
+	private FCMap<MerkleNftMetadataDigest, MerkleNftMetadata> pool;
+
+	private NftMetadataPool subject;
+
+	@BeforeEach
+	void setUp() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(new ClassConstructorPair(FCMLeaf.class, FCMLeaf::new));
+
+		pool = new FCMap<>();
+
+		subject = new NftMetadataPool(() -> pool);
+	}
+
+	@Test
+	void keepsShortMetadataInline() {
+		// when:
+		final var uniqueToken = subject.newUniqueToken(owner, shortMetadata, creationTime);
+
+		// then:
+		assertEquals(new MerkleUniqueToken(owner, shortMetadata, creationTime), uniqueToken);
+		assertFalse(uniqueToken.isMetadataPooled());
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	void sharesPooledMetadataAcrossUniqueTokens() {
+		// when:
+		final var first = subject.newUniqueToken(owner, longMetadata, creationTime);
+		final var second = subject.newUniqueToken(owner, longMetadata.clone(), creationTime);
+
+		// then:
+		assertTrue(first.isMetadataPooled());
+		assertArrayEquals(longDigest, first.getMetadataDigest());
+		assertSame(first.getMetadata(), second.getMetadata());
+		// and:
+		assertEquals(1, pool.size());
+		assertEquals(new MerkleNftMetadata(longMetadata, 2), pool.get(new MerkleNftMetadataDigest(longDigest)));
+	}
+
+	@Test
+	void removesPooledMetadataWithLastReference() {
+		// setup:
+		final var key = new MerkleNftMetadataDigest(longDigest);
+		final var first = subject.newUniqueToken(owner, longMetadata, creationTime);
+		final var second = subject.newUniqueToken(owner, longMetadata, creationTime);
+
+		// when:
+		subject.release(first);
+
+		// then:
+		assertEquals(1, pool.get(key).getRefCount());
+
+		// and when:
+		subject.release(second);
+
+		// then:
+		assertNull(pool.get(key));
+	}
+
+	@Test
+	void releaseIgnoresMissingAndInlineUniqueTokens() {
+		// setup:
+		final var inline = new MerkleUniqueToken(owner, longMetadata, creationTime);
+		final var dangling = new MerkleUniqueToken(owner, longMetadata, longDigest, creationTime);
+
+		// expect:
+		assertDoesNotThrow(() -> subject.release(null));
+		assertDoesNotThrow(() -> subject.release(inline));
+		assertDoesNotThrow(() -> subject.release(dangling));
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	void resolvesUnresolvedPooledMetadata() {
+		// setup:
+		final var uniqueTokens = new FCMap<MerkleUniqueTokenId, MerkleUniqueToken>();
+		uniqueTokens.put(
+				new MerkleUniqueTokenId(tokenId, 1),
+				new MerkleUniqueToken(owner, null, longDigest, creationTime));
+		uniqueTokens.put(
+				new MerkleUniqueTokenId(tokenId, 2),
+				new MerkleUniqueToken(owner, null, noThrowSha384HashOf(shortMetadata), creationTime));
+		uniqueTokens.put(
+				new MerkleUniqueTokenId(tokenId, 3),
+				new MerkleUniqueToken(owner, shortMetadata, creationTime));
+		pool.put(new MerkleNftMetadataDigest(longDigest), new MerkleNftMetadata(longMetadata, 1));
+
+		// when:
+		subject.resolveAll(uniqueTokens);
+
+		// then:
+		assertSame(longMetadata, uniqueTokens.get(new MerkleUniqueTokenId(tokenId, 1)).getMetadata());
+		assertFalse(uniqueTokens.get(new MerkleUniqueTokenId(tokenId, 2)).isMetadataResolved());
+		assertSame(shortMetadata, uniqueTokens.get(new MerkleUniqueTokenId(tokenId, 3)).getMetadata());
+	}
+
+	@Test
+	void poolsOnlyLongInlineMetadata() {
+		// setup:
+		final var uniqueTokens = new FCMap<MerkleUniqueTokenId, MerkleUniqueToken>();
+		final List<MerkleUniqueTokenId> ids = new ArrayList<>();
+		for (long serialNo = 3; serialNo >= 1; serialNo--) {
+			final var id = new MerkleUniqueTokenId(tokenId, serialNo);
+			uniqueTokens.put(id, new MerkleUniqueToken(owner, longMetadata.clone(), creationTime));
+			ids.add(id);
+		}
+		uniqueTokens.put(
+				new MerkleUniqueTokenId(tokenId, 4),
+				new MerkleUniqueToken(owner, shortMetadata, creationTime));
+		uniqueTokens.put(
+				new MerkleUniqueTokenId(tokenId, 5),
+				subject.newUniqueToken(owner, longMetadata, creationTime));
+
+		// when:
+		final var numPooled = subject.poolInlineMetadata(uniqueTokens);
+
+		// then:
+		assertEquals(3, numPooled);
+		assertEquals(new MerkleNftMetadata(longMetadata, 4), pool.get(new MerkleNftMetadataDigest(longDigest)));
+		for (var id : ids) {
+			final var uniqueToken = uniqueTokens.get(id);
+			assertTrue(uniqueToken.isMetadataPooled());
+			assertSame(uniqueTokens.get(new MerkleUniqueTokenId(tokenId, 5)).getMetadata(), uniqueToken.getMetadata());
+		}
+		assertFalse(uniqueTokens.get(new MerkleUniqueTokenId(tokenId, 4)).isMetadataPooled());
+	}
+}
@@ -21,6 +21,7 @@ package com.hedera.services.stream;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.txns.consensus.TopicMessageBuffers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -42,6 +43,8 @@ class NonBlockingHandoffTest {
 	@Mock
 	private RecordStreamManager recordStreamManager;
 	@Mock
+	private TopicMessageBuffers topicBuffers;
+	@Mock
 	private NodeLocalProperties nodeLocalProperties;
 
 	private NonBlockingHandoff subject;
@@ -50,7 +53,7 @@ class NonBlockingHandoffTest {
 	void handoffWorksAsExpected() {
 		given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
 		// and:
-		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+		subject = new NonBlockingHandoff(recordStreamManager, topicBuffers, nodeLocalProperties);
 
 		// when:
 		assertTrue(subject.offer(rso));
@@ -60,6 +63,7 @@ class NonBlockingHandoffTest {
 
 		// then:
 		try {
+			verify(topicBuffers).appendFrom(rso);
 			verify(recordStreamManager).addRecordStreamObject(rso);
 		} catch (NullPointerException ignore) {
 			/* In CI apparently Mockito can have problems here? */
@@ -70,7 +74,7 @@ class NonBlockingHandoffTest {
 	void shutdownHookWorksAsExpected() {
 		given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
 		// and:
-		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+		subject = new NonBlockingHandoff(recordStreamManager, topicBuffers, nodeLocalProperties);
 		// and:
 		subject.setExecutor(executorService);
 
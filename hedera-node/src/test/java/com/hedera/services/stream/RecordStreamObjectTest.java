@@ -20,6 +20,7 @@ package com.hedera.services.stream;
  * ‍
  */
 
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.utils.MiscUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.SignedTransaction;
@@ -43,6 +44,9 @@ import java.time.Instant;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -112,6 +116,24 @@ public class RecordStreamObjectTest {
 		assertNotEquals(recordStreamObject, new RecordStreamObject(realObject.getTransactionRecord(), transaction, consensusTimestamp));
 	}
 
+	@Test
+	public void buildsGrpcRecordOnlyOnce() {
+		// setup:
+		final var fcRecord = mock(ExpirableTxnRecord.class);
+		final var grpcRecord = TransactionRecord.newBuilder().setMemo("once").build();
+		when(fcRecord.asGrpc()).thenReturn(grpcRecord);
+		final var subject = new RecordStreamObject(fcRecord, transaction, consensusTimestamp);
+
+		// when:
+		final var first = subject.getTransactionRecord();
+		final var second = subject.getTransactionRecord();
+
+		// then:
+		assertSame(grpcRecord, first);
+		assertSame(first, second);
+		verify(fcRecord, times(1)).asGrpc();
+	}
+
 	@Test
 	public void serializationDeserializationTest() throws IOException {
 		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
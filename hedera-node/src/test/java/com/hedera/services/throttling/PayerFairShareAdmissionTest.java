@@ -0,0 +1,292 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.throttles.DeterministicThrottle;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PayerFairShareAdmissionTest {
+	private final long nowMs = 1_234_567L;
+	private final AccountID whale = asAccount("0.0.1234");
+	private final AccountID minnow = asAccount("0.0.5678");
+	private final AccountID systemPayer = asAccount("0.0.2");
+
+	@Mock
+	private NodeLocalProperties properties;
+	@Mock
+	private MiscSpeedometers speedometers;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+	@Mock
+	private FunctionalityThrottling networkThrottling;
+
+	private PayerFairShareAdmission subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new PayerFairShareAdmission(properties, speedometers, runningAvgs, networkThrottling, () -> 2);
+	}
+
+	@Test
+	void admitsEverythingWhenDisabled() {
+		// expect:
+		assertTrue(subject.admits(Transaction.getDefaultInstance()));
+	}
+
+	@Test
+	void admitsSystemPayersAndUnreadablePayers() {
+		given(properties.isPayerFairShareEnabled()).willReturn(true);
+
+		// expect:
+		assertTrue(subject.admits(signedTxnFrom(systemPayer)));
+		assertTrue(subject.admits(Transaction.getDefaultInstance()));
+		assertTrue(subject.admits(Transaction.newBuilder()
+				.setSignedTransactionBytes(ByteString.copyFromUtf8("NONSENSE"))
+				.build()));
+	}
+
+	@Test
+	void throttlesPayerAboveFloorWithoutKnownCapacity() {
+		givenLimits(25, 10);
+
+		// when:
+		for (int i = 0; i < 10; i++) {
+			assertTrue(offer(whale, nowMs));
+		}
+
+		// then:
+		assertFalse(subject.admits(whale, nowMs));
+		assertTrue(subject.admits(minnow, nowMs));
+	}
+
+	@Test
+	void onlyChargedSubmissionsCountAgainstPayer() {
+		givenLimits(25, 10);
+
+		// when:
+		for (int i = 0; i < 100; i++) {
+			assertTrue(subject.admits(whale, nowMs));
+		}
+
+		// then:
+		assertEquals(List.of(), subject.topTalkers());
+		assertTrue(subject.admits(whale, nowMs));
+	}
+
+	@Test
+	void chargesNothingWhenDisabledOrExempt() {
+		given(properties.isPayerFairShareEnabled()).willReturn(false).willReturn(true);
+
+		// when:
+		subject.charge(whale);
+		subject.charge(systemPayer);
+		subject.admits(minnow, nowMs + PayerFairShareAdmission.WINDOW_MS);
+
+		// then:
+		assertEquals(List.of(), subject.topTalkers());
+	}
+
+	@Test
+	void computesNodeShareOfLargestBucket() {
+		givenNodeCapacityTps(100);
+
+		// expect:
+		assertEquals(100.0, subject.nodeCapacityTps());
+	}
+
+	@Test
+	void lonePayerMayUseSpareCapacity() {
+		givenLimits(25, 10);
+		givenNodeCapacityTps(100);
+
+		// when:
+		int admitted = 0;
+		for (int i = 0; i < 100; i++) {
+			if (offer(whale, nowMs)) {
+				admitted++;
+			}
+		}
+
+		// then: the whale is only held back once less than its fair share of 25 is spare
+		assertEquals(75, admitted);
+	}
+
+	@Test
+	void busyNodeHoldsPayerToFairShare() {
+		givenLimits(25, 10);
+		givenNodeCapacityTps(100);
+
+		// given:
+		for (int i = 0; i < 60; i++) {
+			offer(asAccount("0.0." + (1_000 + i)), nowMs);
+		}
+
+		// when:
+		int admitted = 0;
+		for (int i = 0; i < 100; i++) {
+			if (offer(whale, nowMs)) {
+				admitted++;
+			}
+		}
+
+		// then:
+		assertEquals(25, admitted);
+	}
+
+	@Test
+	void reportsTopTalkersFromLastWindow() {
+		givenLimits(25, 3);
+
+		// given:
+		for (int i = 0; i < 5; i++) {
+			offer(whale, nowMs);
+		}
+		offer(minnow, nowMs);
+
+		// when:
+		subject.admits(minnow, nowMs + PayerFairShareAdmission.WINDOW_MS);
+		final var talkers = subject.topTalkers();
+
+		// then:
+		assertEquals(2, talkers.size());
+		assertEquals(whale, talkers.get(0).getPayer());
+		assertEquals(3.0, talkers.get(0).getEstimatedTps());
+		assertEquals(2, talkers.get(0).getRejections());
+		assertEquals(minnow, talkers.get(1).getPayer());
+		assertEquals(0, talkers.get(1).getRejections());
+		assertTrue(talkers.get(0).toString().contains("payer=0.0.1234"));
+		// and:
+		verify(runningAvgs).recordPayerFairShareTopTps(3.0);
+		verify(runningAvgs).recordPayerFairShareThrottledPayers(1);
+	}
+
+	@Test
+	void topTalkersKeepHeaviestPayers() {
+		givenLimits(100, 1_000);
+
+		// given:
+		for (int p = 0; p < 2 * PayerFairShareAdmission.NUM_TOP_TALKERS; p++) {
+			for (int i = 0; i <= p; i++) {
+				offer(asAccount("0.0." + (1_000 + p)), nowMs);
+			}
+		}
+
+		// when:
+		subject.admits(whale, nowMs + PayerFairShareAdmission.WINDOW_MS);
+		final var talkers = subject.topTalkers();
+
+		// then:
+		assertEquals(PayerFairShareAdmission.NUM_TOP_TALKERS, talkers.size());
+		assertEquals(asAccount("0.0.1019"), talkers.get(0).getPayer());
+		assertEquals(20.0, talkers.get(0).getEstimatedTps());
+	}
+
+	@Test
+	void cyclesSpeedometerOnRejection() {
+		given(properties.isPayerFairShareEnabled()).willReturn(true);
+		givenLimits(25, 1);
+		final var txn = signedTxnFrom(whale);
+
+		// when:
+		assertTrue(subject.admits(txn));
+		subject.charge(whale);
+		assertFalse(subject.admits(txn));
+
+		// then:
+		verify(speedometers).cyclePayerFairShareRejections();
+	}
+
+	@Test
+	void peeksPayerFromEitherBodyEncoding() {
+		// given:
+		final var bodyBytes = bodyFrom(whale).toByteString();
+		final var legacyTxn = Transaction.newBuilder().setBodyBytes(bodyBytes).build();
+
+		// expect:
+		assertEquals(whale, PayerFairShareAdmission.payerOf(signedTxnFrom(whale)));
+		assertEquals(whale, PayerFairShareAdmission.payerOf(legacyTxn));
+		assertNull(PayerFairShareAdmission.payerOf(Transaction.newBuilder()
+				.setBodyBytes(TransactionBody.newBuilder()
+						.setTransactionID(TransactionID.getDefaultInstance())
+						.setMemo("No payer")
+						.build().toByteString())
+				.build()));
+	}
+
+	private boolean offer(AccountID payer, long nowMs) {
+		if (subject.admits(payer, nowMs)) {
+			subject.charge(payer, nowMs);
+			return true;
+		}
+		return false;
+	}
+
+	private void givenLimits(int maxSharePercent, int minTps) {
+		given(properties.payerFairShareMaxSharePercent()).willReturn(maxSharePercent);
+		given(properties.payerFairShareMinTps()).willReturn(minTps);
+	}
+
+	private void givenNodeCapacityTps(int tps) {
+		given(networkThrottling.allActiveThrottles()).willReturn(List.of(
+				DeterministicThrottle.withTps(2 * tps),
+				DeterministicThrottle.withTps(tps)));
+	}
+
+	private Transaction signedTxnFrom(AccountID payer) {
+		return Transaction.newBuilder()
+				.setSignedTransactionBytes(SignedTransaction.newBuilder()
+						.setBodyBytes(bodyFrom(payer).toByteString())
+						.build().toByteString())
+				.build();
+	}
+
+	private TransactionBody bodyFrom(AccountID payer) {
+		return TransactionBody.newBuilder()
+				.setMemo("Hi!")
+				.setTransactionID(TransactionID.newBuilder().setAccountID(payer))
+				.setTransactionFee(1_234L)
+				.build();
+	}
+}
@@ -0,0 +1,163 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayerRateSketchTest {
+	private final long windowMs = 1_000L;
+	private final long startMs = 1_234_567L;
+
+	private PayerRateSketch subject = new PayerRateSketch(64, windowMs);
+
+	@Test
+	void rejectsNonPowerOfTwoWidth() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> new PayerRateSketch(100, windowMs));
+	}
+
+	@Test
+	void countsWithinWindow() {
+		// given:
+		subject.advanceTo(startMs);
+
+		// when:
+		for (int i = 0; i < 10; i++) {
+			subject.increment(1L);
+		}
+		subject.increment(2L);
+
+		// then:
+		assertEquals(10.0, subject.estimate(1L, startMs));
+		assertEquals(1.0, subject.estimate(2L, startMs));
+		assertEquals(0.0, subject.estimate(3L, startMs));
+		assertEquals(11.0, subject.totalRate(startMs));
+	}
+
+	@Test
+	void neverUnderestimatesWithManyKeys() {
+		// given:
+		subject.advanceTo(startMs);
+
+		// when:
+		for (long key = 0; key < 1_000; key++) {
+			for (int i = 0; i <= key % 5; i++) {
+				subject.increment(key);
+			}
+		}
+
+		// then:
+		for (long key = 0; key < 1_000; key++) {
+			assertTrue(subject.estimate(key, startMs) >= 1 + key % 5);
+		}
+	}
+
+	@Test
+	void weightsPreviousWindowByRemainingOverlap() {
+		// given:
+		subject.advanceTo(startMs);
+		for (int i = 0; i < 100; i++) {
+			subject.increment(1L);
+		}
+
+		// when:
+		final var rolled = subject.advanceTo(startMs + windowMs);
+		subject.increment(1L);
+
+		// then:
+		assertTrue(rolled);
+		assertEquals(101.0, subject.estimate(1L, startMs + windowMs));
+		assertEquals(76.0, subject.estimate(1L, startMs + windowMs + windowMs / 4));
+		assertEquals(76.0, subject.totalRate(startMs + windowMs + windowMs / 4));
+	}
+
+	@Test
+	void forgetsEverythingAfterTwoIdleWindows() {
+		// given:
+		subject.advanceTo(startMs);
+		subject.increment(1L);
+
+		// when:
+		final var rolled = subject.advanceTo(startMs + 2 * windowMs + 1);
+
+		// then:
+		assertTrue(rolled);
+		assertEquals(0.0, subject.estimate(1L, startMs + 2 * windowMs + 1));
+		assertEquals(0.0, subject.totalRate(startMs + 2 * windowMs + 1));
+	}
+
+	@Test
+	void countsConcurrentIncrementsExactly() throws InterruptedException {
+		// setup:
+		final int numThreads = 4;
+		final int perThread = 10_000;
+		final var threads = new ArrayList<Thread>();
+
+		// given:
+		subject.advanceTo(startMs);
+		for (int t = 0; t < numThreads; t++) {
+			final long key = t;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					subject.increment(key);
+				}
+			}));
+		}
+
+		// when:
+		threads.forEach(Thread::start);
+		for (var thread : threads) {
+			thread.join();
+		}
+
+		// then:
+		assertEquals((double) numThreads * perThread, subject.totalRate(startMs));
+		for (long key = 0; key < numThreads; key++) {
+			assertTrue(subject.estimate(key, startMs) >= perThread);
+		}
+	}
+
+	@Test
+	void rollsOnlyOncePerWindow() {
+		// given:
+		subject.advanceTo(startMs);
+
+		// expect:
+		assertTrue(subject.advanceTo(startMs + windowMs));
+		assertFalse(subject.advanceTo(startMs + windowMs));
+	}
+
+	@Test
+	void doesNotRollWithinWindow() {
+		// given:
+		subject.advanceTo(startMs);
+
+		// expect:
+		assertFalse(subject.advanceTo(startMs + windowMs - 1));
+	}
+}
@@ -0,0 +1,265 @@
+package com.hedera.services.txns.consensus;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stream.RecordStreamObject;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static com.hedera.services.txns.consensus.TopicMessageRing.SLOT_HEADER_BYTES;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOPIC_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class TopicMessageBuffersTest {
+	private final int maxMessageBytes = 32;
+	private final int bytesPerTopic = 4 * (SLOT_HEADER_BYTES + maxMessageBytes);
+	private final byte[] runningHash = new byte[48];
+	private final Instant consensusTime = Instant.ofEpochSecond(1_234_567L, 890);
+	private final ByteString message = ByteString.copyFromUtf8("Hello");
+	private final TopicID a = TopicID.newBuilder().setTopicNum(1_001).build();
+	private final TopicID b = TopicID.newBuilder().setTopicNum(1_002).build();
+	private final TopicID c = TopicID.newBuilder().setTopicNum(1_003).build();
+
+	private NodeLocalProperties properties;
+	private GlobalDynamicProperties dynamicProperties;
+	private TopicMessageBuffers.Listener listener;
+	private TopicMessageBuffers.Listener otherListener;
+
+	private TopicMessageBuffers subject;
+
+	@BeforeEach
+	void setUp() {
+		properties = mock(NodeLocalProperties.class);
+		given(properties.topicStreamMaxBufferedTopics()).willReturn(2);
+		given(properties.topicStreamBufferBytesPerTopic()).willReturn(bytesPerTopic);
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.messageMaxBytesAllowed()).willReturn(maxMessageBytes);
+		listener = mock(TopicMessageBuffers.Listener.class);
+		otherListener = mock(TopicMessageBuffers.Listener.class);
+
+		subject = new TopicMessageBuffers(properties, dynamicProperties);
+	}
+
+	@Test
+	void ignoresUnfollowedTopics() {
+		// given:
+		subject.watch(a, listener);
+
+		// when:
+		subject.append(b, 1, runningHash, consensusTime, message);
+
+		// then:
+		verify(listener, never()).messagesAvailable();
+	}
+
+	@Test
+	void buffersAndNotifiesFollowedTopic() {
+		// given:
+		final var ring = subject.watch(a, listener);
+
+		// when:
+		subject.append(a, 1, runningHash, consensusTime, message);
+
+		// then:
+		verify(listener).messagesAvailable();
+		assertEquals(message, ring.read(1).getMessage());
+		assertEquals(1_234_567L, ring.read(1).getConsensusTimestamp().getSeconds());
+		assertEquals(890, ring.read(1).getConsensusTimestamp().getNanos());
+		// and:
+		assertEquals(4, ring.numSlots());
+		assertEquals(1, subject.numBufferedTopics());
+		assertEquals(bytesPerTopic, subject.bufferedBytes());
+	}
+
+	@Test
+	void buffersCommittedMessagesFromStreamedRecords() {
+		// given:
+		final var ring = subject.watch(a, listener);
+
+		// when:
+		subject.appendFrom(submitRso(a, SUCCESS, 7));
+
+		// then:
+		verify(listener).messagesAvailable();
+		final var buffered = ring.read(7);
+		assertEquals(message, buffered.getMessage());
+		assertEquals(ByteString.copyFrom(runningHash), buffered.getRunningHash());
+		assertEquals(1_234_567L, buffered.getConsensusTimestamp().getSeconds());
+	}
+
+	@Test
+	void ignoresStreamedRecordsWithoutCommittedFollowedMessages() {
+		// given:
+		final var otherTxn = Transaction.newBuilder()
+				.setBodyBytes(TransactionBody.newBuilder()
+						.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
+						.build().toByteString())
+				.build();
+		final var ring = subject.watch(a, listener);
+
+		// when:
+		subject.appendFrom(submitRso(a, INVALID_TOPIC_ID, 0));
+		subject.appendFrom(submitRso(b, SUCCESS, 1));
+		subject.appendFrom(new RecordStreamObject(TransactionRecord.getDefaultInstance(), otherTxn, consensusTime));
+		subject.appendFrom(new RecordStreamObject(
+				TransactionRecord.getDefaultInstance(),
+				Transaction.newBuilder().setBodyBytes(ByteString.copyFromUtf8("NONSENSE")).build(),
+				consensusTime));
+
+		// then:
+		verify(listener, never()).messagesAvailable();
+		assertEquals(0, ring.lastSeqNo());
+	}
+
+	@Test
+	void doesNothingWithStreamedRecordsWhenNothingFollowed() {
+		// given:
+		final var rso = mock(RecordStreamObject.class);
+
+		// when:
+		subject.appendFrom(rso);
+
+		// then:
+		verify(rso, never()).getTransaction();
+	}
+
+	@Test
+	void sharesRingAndKeepsItAfterLastListenerLeaves() {
+		// given:
+		final var ring = subject.watch(a, listener);
+		subject.append(a, 1, runningHash, consensusTime, message);
+
+		// when:
+		subject.unwatch(a, listener);
+		final var sameRing = subject.watch(a, otherListener);
+
+		// then:
+		assertSame(ring, sameRing);
+		assertNotNull(sameRing.read(1));
+	}
+
+	@Test
+	void releasesLongestIdleRingWhenFull() {
+		// given:
+		subject.watch(a, listener);
+		subject.watch(b, otherListener);
+		subject.unwatch(a, listener);
+
+		// when:
+		final var ringC = subject.watch(c, listener);
+
+		// then:
+		assertNotNull(ringC);
+		assertEquals(2, subject.numBufferedTopics());
+		// and, since b and c both have listeners, a cannot come back:
+		assertNull(subject.watch(a, otherListener));
+	}
+
+	@Test
+	void neverReleasesWatchedRingEvenIfOldest() {
+		// given:
+		final var ringA = subject.watch(a, listener);
+		subject.watch(b, otherListener);
+		subject.unwatch(b, otherListener);
+
+		// when:
+		subject.watch(c, otherListener);
+
+		// then:
+		assertSame(ringA, subject.watch(a, otherListener));
+		assertNotNull(ringA);
+		assertEquals(2, subject.numBufferedTopics());
+	}
+
+	@Test
+	void refusesNewTopicWhenAllRingsInUse() {
+		// given:
+		subject.watch(a, listener);
+		subject.watch(b, otherListener);
+
+		// expect:
+		assertNull(subject.watch(c, listener));
+		assertEquals(2, subject.numBufferedTopics());
+	}
+
+	@Test
+	void growsRingInPlaceWhenMaxMessageSizeIsRaised() {
+		// given:
+		final var ring = subject.watch(a, listener);
+		final var bigger = ByteString.copyFrom(new byte[maxMessageBytes + 1]);
+		subject.append(a, 1, runningHash, consensusTime, message);
+
+		// when:
+		subject.append(a, 2, runningHash, consensusTime, bigger);
+
+		// then:
+		assertSame(ring, subject.watch(a, otherListener));
+		assertEquals(message, ring.read(1).getMessage());
+		assertEquals(bigger, ring.read(2).getMessage());
+	}
+
+	@Test
+	void unwatchOfUnknownIsNoop() {
+		// when:
+		subject.unwatch(c, listener);
+
+		// then:
+		assertEquals(0, subject.numBufferedTopics());
+	}
+
+	private RecordStreamObject submitRso(TopicID topic, ResponseCodeEnum status, long seqNo) {
+		final var txn = Transaction.newBuilder()
+				.setBodyBytes(TransactionBody.newBuilder()
+						.setConsensusSubmitMessage(ConsensusSubmitMessageTransactionBody.newBuilder()
+								.setTopicID(topic)
+								.setMessage(message))
+						.build().toByteString())
+				.build();
+		final var record = TransactionRecord.newBuilder()
+				.setReceipt(TransactionReceipt.newBuilder()
+						.setStatus(status)
+						.setTopicSequenceNumber(seqNo)
+						.setTopicRunningHash(ByteString.copyFrom(runningHash)))
+				.build();
+		return new RecordStreamObject(record, txn, consensusTime);
+	}
+}
@@ -0,0 +1,169 @@
+package com.hedera.services.txns.consensus;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+import static com.hedera.services.txns.consensus.TopicMessageRing.SLOT_HEADER_BYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TopicMessageRingTest {
+	private final int maxMessageBytes = 16;
+	private final int numSlots = 3;
+
+	private TopicMessageRing subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new TopicMessageRing(numSlots * (SLOT_HEADER_BYTES + maxMessageBytes) + 1, maxMessageBytes);
+	}
+
+	@Test
+	void sizesSlotsFromCapacity() {
+		// expect:
+		assertEquals(numSlots, subject.numSlots());
+		assertEquals(numSlots * (SLOT_HEADER_BYTES + maxMessageBytes), subject.capacityBytes());
+		assertEquals(1, new TopicMessageRing(0, maxMessageBytes).numSlots());
+	}
+
+	@Test
+	void startsEmpty() {
+		// expect:
+		assertEquals(0, subject.lastSeqNo());
+		assertEquals(1, subject.firstSeqNo());
+		assertEquals(0, subject.firstAppendedSeqNo());
+		assertNull(subject.read(1));
+	}
+
+	@Test
+	void readsBackAppendedMessages() {
+		// when:
+		append(5, "five");
+		append(6, "six");
+
+		// then:
+		assertEquals(5, subject.firstSeqNo());
+		assertEquals(6, subject.lastSeqNo());
+		assertNull(subject.read(4));
+		assertNull(subject.read(7));
+		// and:
+		final var six = subject.read(6);
+		assertEquals(6, six.getSequenceNumber());
+		assertEquals(ByteString.copyFromUtf8("six"), six.getMessage());
+		assertEquals(ByteString.copyFrom(hashFor(6)), six.getRunningHash());
+		assertEquals(Timestamp.newBuilder().setSeconds(1_000 + 6).setNanos(6).build(), six.getConsensusTimestamp());
+		assertEquals(RUNNING_HASH_VERSION, six.getRunningHashVersion());
+	}
+
+	@Test
+	void overwritesOldestWhenFull() {
+		// when:
+		for (int seqNo = 1; seqNo <= 5; seqNo++) {
+			append(seqNo, "m" + seqNo);
+		}
+
+		// then:
+		assertEquals(1, subject.firstAppendedSeqNo());
+		assertEquals(3, subject.firstSeqNo());
+		assertEquals(5, subject.lastSeqNo());
+		assertNull(subject.read(2));
+		assertEquals(ByteString.copyFromUtf8("m3"), subject.read(3).getMessage());
+		assertEquals(ByteString.copyFromUtf8("m5"), subject.read(5).getMessage());
+	}
+
+	@Test
+	void holdsMaxSizeMessage() {
+		// given:
+		final var biggest = "0123456789abcdef";
+
+		// when:
+		append(1, biggest);
+
+		// then:
+		assertEquals(ByteString.copyFromUtf8(biggest), subject.read(1).getMessage());
+	}
+
+	@Test
+	void oversizeMessageGrowsSlotsKeepingNewest() {
+		// given:
+		append(1, "one");
+		append(2, "two");
+		append(3, "three");
+
+		// when:
+		append(4, "0123456789abcdefg");
+
+		// then:
+		assertEquals(2, subject.numSlots());
+		assertEquals(3, subject.firstSeqNo());
+		assertEquals(4, subject.lastSeqNo());
+		assertNull(subject.read(2));
+		assertEquals(ByteString.copyFromUtf8("three"), subject.read(3).getMessage());
+		assertEquals(ByteString.copyFrom(hashFor(3)), subject.read(3).getRunningHash());
+		assertEquals(ByteString.copyFromUtf8("0123456789abcdefg"), subject.read(4).getMessage());
+
+		// and when:
+		append(5, "five");
+
+		// then:
+		assertEquals(4, subject.firstSeqNo());
+		assertEquals(ByteString.copyFromUtf8("five"), subject.read(5).getMessage());
+	}
+
+	@Test
+	void growingEmptyRingJustResizes() {
+		// when:
+		append(1, "0123456789abcdefg");
+
+		// then:
+		assertEquals(1, subject.firstSeqNo());
+		assertEquals(ByteString.copyFromUtf8("0123456789abcdefg"), subject.read(1).getMessage());
+	}
+
+	@Test
+	void discontinuityRestartsWindow() {
+		// given:
+		append(1, "one");
+
+		// when:
+		append(7, "seven");
+
+		// then:
+		assertEquals(7, subject.firstSeqNo());
+		assertNull(subject.read(1));
+	}
+
+	private void append(long seqNo, String message) {
+		subject.append(seqNo, hashFor(seqNo), 1_000 + seqNo, (int) seqNo, ByteString.copyFromUtf8(message));
+	}
+
+	private byte[] hashFor(long seqNo) {
+		final var hash = new byte[48];
+		hash[0] = (byte) seqNo;
+		hash[47] = (byte) -seqNo;
+		return hash;
+	}
+}
@@ -0,0 +1,86 @@
+package com.hedera.services.txns.customfees;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.services.state.submerkle.FcCustomFee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.hedera.services.txns.customfees.CustomFeePlan.NO_CUSTOM_FEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomFeePlanTest {
+	private final EntityId feeCollector = new EntityId(0, 0, 3);
+	private final EntityId feeDenom = new EntityId(0, 0, 4);
+	private final FcCustomFee hbarFee = FcCustomFee.fixedFee(100L, null, feeCollector);
+	private final FcCustomFee htsFee = FcCustomFee.fixedFee(10L, feeDenom, feeCollector);
+	private final FcCustomFee fractionalFee = FcCustomFee.fractionalFee(1L, 10L, 1L, 100L, feeCollector);
+	private final FcCustomFee otherFractionalFee = FcCustomFee.fractionalFee(1L, 20L, 0L, 0L, feeCollector);
+
+	@Test
+	void emptyScheduleCompilesToNoFees() {
+		// expect:
+		assertSame(NO_CUSTOM_FEES, CustomFeePlan.compile(List.of()));
+		assertTrue(NO_CUSTOM_FEES.hasNoFees());
+	}
+
+	@Test
+	void partitionsFeesPreservingOrder() {
+		// given:
+		final var schedule = List.of(htsFee, fractionalFee, hbarFee, otherFractionalFee);
+
+		// when:
+		final var plan = CustomFeePlan.compile(schedule);
+
+		// then:
+		assertFalse(plan.hasNoFees());
+		assertSame(schedule, plan.getSchedule());
+		assertEquals(List.of(htsFee, hbarFee), plan.getFixedFees());
+		assertEquals(List.of(fractionalFee, otherFractionalFee), plan.getFractionalFees());
+	}
+
+	@Test
+	void legsAreImmutable() {
+		// given:
+		final var plan = CustomFeePlan.compile(List.of(hbarFee));
+
+		// expect:
+		assertTrue(plan.getFractionalFees().isEmpty());
+		assertThrows(UnsupportedOperationException.class, () -> plan.getFixedFees().add(htsFee));
+		assertThrows(UnsupportedOperationException.class, () -> plan.getFractionalFees().add(fractionalFee));
+	}
+
+	@Test
+	void toStringWorks() {
+		// given:
+		final var plan = CustomFeePlan.compile(List.of(hbarFee, fractionalFee));
+		final var desired = "CustomFeePlan{fixedFees=[" + hbarFee + "], fractionalFees=[" + fractionalFee + "]}";
+
+		// expect:
+		assertEquals(desired, plan.toString());
+	}
+}
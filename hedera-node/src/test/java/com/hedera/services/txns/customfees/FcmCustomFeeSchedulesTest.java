@@ -34,7 +34,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.hedera.services.txns.customfees.CustomFeePlan.NO_CUSTOM_FEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @ExtendWith(MockitoExtension.class)
 class FcmCustomFeeSchedulesTest {
@@ -74,6 +78,55 @@ class FcmCustomFeeSchedulesTest {
 		Assertions.assertEquals(new ArrayList<>(), missingTokenFees);
 	}
 
+	@Test
+	void compilesAndReusesPlans() {
+		// when:
+		final var firstPlan = subject.lookupPlanFor(tokenA);
+		final var secondPlan = subject.lookupPlanFor(tokenA);
+
+		// then:
+		assertSame(currentTokenA().customFeeSchedule(), firstPlan.getSchedule());
+		assertEquals(currentTokenA().customFeeSchedule(), firstPlan.getFixedFees());
+		assertSame(firstPlan, secondPlan);
+		// and:
+		assertSame(NO_CUSTOM_FEES, subject.lookupPlanFor(missingToken));
+	}
+
+	@Test
+	void recompilesInvalidatedPlans() {
+		// given:
+		final var stalePlan = subject.lookupPlanFor(tokenA);
+
+		// when:
+		subject.invalidate(tokenA);
+		final var freshPlan = subject.lookupPlanFor(tokenA);
+
+		// then:
+		assertNotSame(stalePlan, freshPlan);
+		assertEquals(stalePlan.getSchedule(), freshPlan.getSchedule());
+	}
+
+	@Test
+	void recompilesPlanIfScheduleChangedWithoutInvalidation() {
+		// given:
+		final var stalePlan = subject.lookupPlanFor(tokenA);
+		final var newFees = List.of(
+				FcCustomFee.fractionalFee(1L, 10L, 1L, 100L, feeCollector).asGrpc());
+
+		// when:
+		currentTokenA().setFeeScheduleFrom(newFees, null);
+		final var freshPlan = subject.lookupPlanFor(tokenA);
+
+		// then:
+		assertNotSame(stalePlan, freshPlan);
+		assertSame(currentTokenA().customFeeSchedule(), freshPlan.getSchedule());
+		assertEquals(currentTokenA().customFeeSchedule(), freshPlan.getFractionalFees());
+	}
+
+	private MerkleToken currentTokenA() {
+		return tokenFCMap.get(tokenA.asMerkle());
+	}
+
 	@Test
 	void getterWorks() {
 		Assertions.assertEquals(tokenFCMap, subject.getTokens().get());
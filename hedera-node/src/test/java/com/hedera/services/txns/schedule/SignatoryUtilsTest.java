@@ -69,7 +69,7 @@ class SignatoryUtilsTest {
 	void respondsToNoAttemptsCorrectly() {
 		given(store.get(id)).willReturn(schedule);
 		given(schedule.ordinaryViewOfScheduledTxn()).willReturn(scheduledTxn);
-		given(activationHelper.areScheduledPartiesActive(any(), any())).willReturn(false);
+		given(activationHelper.areScheduledPartiesActive(eq(id), any(), any())).willReturn(false);
 
 		// when:
 		var outcome = SignatoryUtils.witnessScoped(id, store, noValidNoInvalid, activationHelper);
@@ -82,7 +82,7 @@ class SignatoryUtilsTest {
 	void respondsToNoAttemptsButNowActiveCorrectly() {
 		given(store.get(id)).willReturn(schedule);
 		given(schedule.ordinaryViewOfScheduledTxn()).willReturn(scheduledTxn);
-		given(activationHelper.areScheduledPartiesActive(any(), any())).willReturn(true);
+		given(activationHelper.areScheduledPartiesActive(eq(id), any(), any())).willReturn(true);
 
 		// when:
 		var outcome = SignatoryUtils.witnessScoped(id, store, noValidNoInvalid, activationHelper);
@@ -106,7 +106,7 @@ class SignatoryUtilsTest {
 	void respondsToRepeatedCorrectlyIfNotActive() {
 		given(store.get(id)).willReturn(schedule);
 		given(schedule.ordinaryViewOfScheduledTxn()).willReturn(scheduledTxn);
-		given(activationHelper.areScheduledPartiesActive(any(), any())).willReturn(false);
+		given(activationHelper.areScheduledPartiesActive(eq(id), any(), any())).willReturn(false);
 		// and:
 		given(schedule.witnessValidEd25519Signature(eq(goodKey.getEd25519()))).willReturn(false);
 		willAnswer(inv -> {
@@ -126,7 +126,7 @@ class SignatoryUtilsTest {
 	void respondsToRepeatedCorrectlyIfActive() {
 		given(store.get(id)).willReturn(schedule);
 		given(schedule.ordinaryViewOfScheduledTxn()).willReturn(scheduledTxn);
-		given(activationHelper.areScheduledPartiesActive(any(), any())).willReturn(true);
+		given(activationHelper.areScheduledPartiesActive(eq(id), any(), any())).willReturn(true);
 		// and:
 		given(schedule.witnessValidEd25519Signature(eq(goodKey.getEd25519()))).willReturn(false);
 		willAnswer(inv -> {
@@ -146,7 +146,7 @@ class SignatoryUtilsTest {
 	void respondsToActivatingCorrectly() {
 		given(store.get(id)).willReturn(schedule);
 		given(schedule.ordinaryViewOfScheduledTxn()).willReturn(scheduledTxn);
-		given(activationHelper.areScheduledPartiesActive(any(), any())).willReturn(true);
+		given(activationHelper.areScheduledPartiesActive(eq(id), any(), any())).willReturn(true);
 		// and:
 		given(schedule.witnessValidEd25519Signature(eq(goodKey.getEd25519()))).willReturn(true);
 		willAnswer(inv -> {
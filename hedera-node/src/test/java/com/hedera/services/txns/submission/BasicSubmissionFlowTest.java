@@ -21,6 +21,7 @@ package com.hedera.services.txns.submission;
  */
 
 import com.hedera.services.context.domain.process.TxnValidityAndFeeReq;
+import com.hedera.services.throttling.PayerFairShareAdmission;
 import com.hedera.services.utils.SignedTxnAccessor;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionResponse;
@@ -34,6 +35,7 @@ import java.util.Optional;
 
 import static com.hedera.services.context.ServicesNodeType.STAKED_NODE;
 import static com.hedera.services.context.ServicesNodeType.ZERO_STAKE_NODE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_TX_FEE;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_NODE_ACCOUNT;
@@ -59,6 +61,8 @@ class BasicSubmissionFlowTest {
 	private TransactionPrecheck precheck;
 	@Mock
 	private PlatformSubmissionManager submissionManager;
+	@Mock
+	private PayerFairShareAdmission payerAdmission;
 
 	private BasicSubmissionFlow subject;
 
@@ -73,9 +77,23 @@ class BasicSubmissionFlowTest {
 		assertEquals(INVALID_NODE_ACCOUNT, response.getNodeTransactionPrecheckCode());
 	}
 
+	@Test
+	void rejectsPayersOverFairShareBeforePrecheck() {
+		setupStakedNode();
+		given(payerAdmission.admits(someTxn)).willReturn(false);
+
+		// when:
+		var response = subject.submit(someTxn);
+
+		// then:
+		assertEquals(BUSY, response.getNodeTransactionPrecheckCode());
+		verify(precheck, never()).performForTopLevel(any());
+	}
+
 	@Test
 	void rejectsPrecheckFailures() {
 		setupStakedNode();
+		givenAdmittedPayer();
 
 		given(precheck.performForTopLevel(someTxn)).willReturn(Pair.of(someFailure, Optional.empty()));
 
@@ -85,11 +103,13 @@ class BasicSubmissionFlowTest {
 		// then:
 		assertEquals(INSUFFICIENT_TX_FEE, response.getNodeTransactionPrecheckCode());
 		assertEquals(someReqFee, response.getCost());
+		verify(payerAdmission, never()).charge(any());
 	}
 
 	@Test
 	void translatesPlatformCreateFailure() {
 		setupStakedNode();
+		givenAdmittedPayer();
 		givenValidPrecheck();
 		given(submissionManager.trySubmission(any())).willReturn(PLATFORM_TRANSACTION_NOT_CREATED);
 
@@ -103,6 +123,7 @@ class BasicSubmissionFlowTest {
 	@Test
 	void rejectsInvalidAccessor() {
 		setupStakedNode();
+		givenAdmittedPayer();
 		given(precheck.performForTopLevel(someTxn)).willReturn(Pair.of(someSuccess, Optional.empty()));
 
 		// when:
@@ -116,6 +137,7 @@ class BasicSubmissionFlowTest {
 	@Test
 	void followsHappyPathToOk() {
 		setupStakedNode();
+		givenAdmittedPayer();
 		givenValidPrecheck();
 		givenOkSubmission();
 
@@ -124,6 +146,11 @@ class BasicSubmissionFlowTest {
 
 		// then:
 		assertEquals(OK, response.getNodeTransactionPrecheckCode());
+		verify(payerAdmission).charge(someAccessor.getPayer());
+	}
+
+	private void givenAdmittedPayer() {
+		given(payerAdmission.admits(someTxn)).willReturn(true);
 	}
 
 	private void givenOkSubmission() {
@@ -135,10 +162,10 @@ class BasicSubmissionFlowTest {
 	}
 
 	private void setupStakedNode() {
-		subject = new BasicSubmissionFlow(STAKED_NODE, precheck, submissionManager);
+		subject = new BasicSubmissionFlow(STAKED_NODE, precheck, submissionManager, payerAdmission);
 	}
 
 	private void setupZeroStakeNode() {
-		subject = new BasicSubmissionFlow(ZERO_STAKE_NODE, precheck, submissionManager);
+		subject = new BasicSubmissionFlow(ZERO_STAKE_NODE, precheck, submissionManager, payerAdmission);
 	}
 }
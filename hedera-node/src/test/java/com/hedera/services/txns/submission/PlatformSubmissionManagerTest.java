@@ -77,6 +77,7 @@ class PlatformSubmissionManagerTest {
 	Platform platform;
 	RecordCache recordCache;
 	MiscSpeedometers speedometers;
+	SubmissionCapture capture;
 
 	PlatformSubmissionManager subject;
 
@@ -85,12 +86,13 @@ class PlatformSubmissionManagerTest {
 		platform = mock(Platform.class);
 		recordCache = mock(RecordCache.class);
 		speedometers = mock(MiscSpeedometers.class);
+		capture = mock(SubmissionCapture.class);
 
 		accessor = new SignedTxnAccessor(signedTxn);
 		uncheckedAccessor = new SignedTxnAccessor(uncheckedSubTxn);
 		invalidUncheckedAccessor = new SignedTxnAccessor(invalidUncheckedSubTxn);
 
-		subject = new PlatformSubmissionManager(platform, recordCache, speedometers);
+		subject = new PlatformSubmissionManager(platform, recordCache, speedometers, capture);
 	}
 
 	@Test
@@ -109,6 +111,7 @@ class PlatformSubmissionManagerTest {
 		assertEquals(OK, result);
 		// and:
 		verify(recordCache).addPreConsensus(accessor.getTxnId());
+		verify(capture).offer(signedTxn.toByteArray());
 	}
 
 	@Test
@@ -122,6 +125,7 @@ class PlatformSubmissionManagerTest {
 		assertEquals(PLATFORM_TRANSACTION_NOT_CREATED, result);
 		// and:
 		verify(recordCache, never()).addPreConsensus(any());
+		verify(capture, never()).offer(any());
 		verify(speedometers).cyclePlatformTxnRejections();
 	}
 
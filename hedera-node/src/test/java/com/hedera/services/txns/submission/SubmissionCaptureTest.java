@@ -0,0 +1,116 @@
+package com.hedera.services.txns.submission;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.capture.CapturedTxnReader;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class SubmissionCaptureTest {
+	@TempDir
+	Path tmpDir;
+
+	NodeLocalProperties properties;
+
+	SubmissionCapture subject;
+
+	@BeforeEach
+	private void setup() {
+		properties = mock(NodeLocalProperties.class);
+	}
+
+	@Test
+	void doesNothingWhenDisabled() {
+		// given:
+		subject = new SubmissionCapture(properties);
+
+		// when:
+		subject.offer("NOPE".getBytes());
+
+		// then:
+		assertEquals(0, subject.numDropped());
+	}
+
+	@Test
+	void writesOfferedTxnsInOrderUntilShutdown() throws IOException {
+		// setup:
+		var loc = tmpDir.resolve("nested").resolve("capture.hcap");
+		byte[] a = "FIRST".getBytes(), b = "SECOND".getBytes();
+
+		given(properties.isTxnCaptureEnabled()).willReturn(true);
+		given(properties.txnCaptureLogPath()).willReturn(loc.toString());
+		given(properties.txnCaptureQueueCapacity()).willReturn(16);
+		// and:
+		subject = new SubmissionCapture(properties);
+
+		// when:
+		subject.offer(a);
+		subject.offer(b);
+		// and:
+		subject.getShutdownHook().run();
+
+		// then:
+		assertTrue(subject.getExecutor().isTerminated());
+		assertTrue(Files.exists(loc));
+		try (var reader = new CapturedTxnReader(Files.newInputStream(loc))) {
+			var first = reader.next();
+			var second = reader.next();
+			assertArrayEquals(a, first.getSignedTxnBytes());
+			assertArrayEquals(b, second.getSignedTxnBytes());
+			assertFalse(second.getArrivalEpochNanos() < first.getArrivalEpochNanos());
+			assertNull(reader.next());
+		}
+		// and:
+		assertEquals(0, subject.numDropped());
+	}
+
+	@Test
+	void failsFastIfLogCannotBeOpened() throws IOException {
+		// setup:
+		var blocker = tmpDir.resolve("blocker");
+		Files.write(blocker, new byte[0]);
+
+		given(properties.isTxnCaptureEnabled()).willReturn(true);
+		given(properties.txnCaptureLogPath()).willReturn(blocker.resolve("capture.hcap").toString());
+		given(properties.txnCaptureQueueCapacity()).willReturn(16);
+
+		// expect:
+		assertThrows(
+				IllegalStateException.class,
+				() -> new SubmissionCapture(properties));
+	}
+}
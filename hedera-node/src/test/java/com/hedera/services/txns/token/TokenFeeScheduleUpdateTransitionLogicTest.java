@@ -24,7 +24,9 @@ import com.hedera.services.context.TransactionContext;
 import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.store.tokens.TokenStore;
+import com.hedera.services.txns.customfees.CustomFeeSchedules;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
@@ -58,6 +60,7 @@ import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(LogCaptureExtension.class)
 class TokenFeeScheduleUpdateTransitionLogicTest {
@@ -72,6 +75,7 @@ class TokenFeeScheduleUpdateTransitionLogicTest {
 	private TokenStore store;
 	private TransactionContext txnCtx;
 	private PlatformTxnAccessor accessor;
+	private CustomFeeSchedules customFeeSchedules;
 
 	@Inject
 	private LogCaptor logCaptor;
@@ -84,13 +88,14 @@ class TokenFeeScheduleUpdateTransitionLogicTest {
 		store = mock(TokenStore.class);
 		accessor = mock(PlatformTxnAccessor.class);
 		txnCtx = mock(TransactionContext.class);
+		customFeeSchedules = mock(CustomFeeSchedules.class);
 
 		token = mock(MerkleToken.class);
 		given(token.adminKey()).willReturn(Optional.of(adminKey));
 		given(store.resolve(target)).willReturn(target);
 		given(store.get(target)).willReturn(token);
 
-		subject = new TokenFeeScheduleUpdateTransitionLogic(store, txnCtx);
+		subject = new TokenFeeScheduleUpdateTransitionLogic(store, txnCtx, customFeeSchedules);
 	}
 
 	@Test
@@ -101,6 +106,7 @@ class TokenFeeScheduleUpdateTransitionLogicTest {
 
 		subject.doStateTransition();
 
+		verify(customFeeSchedules).invalidate(EntityId.fromGrpcTokenId(target));
 		verify(txnCtx).setStatus(SUCCESS);
 	}
 
@@ -144,6 +150,7 @@ class TokenFeeScheduleUpdateTransitionLogicTest {
 		subject.doStateTransition();
 
 		verify(txnCtx).setStatus(CUSTOM_FEES_LIST_TOO_LONG);
+		verifyNoInteractions(customFeeSchedules);
 	}
 
 	private void givenValidTxnCtx() {
@@ -63,6 +63,7 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -275,6 +276,43 @@ class SignedTxnAccessorTest {
 		assertEquals(memo, accessor.getMemo());
 	}
 
+	@Test
+	void byteAndWrapperConstructionAgreeAndReuseDigestSafely() throws Exception {
+		// setup:
+		final var zeroByteXfer = RequestBuilder.getCryptoTransferRequest(
+				1234l, 0l, 0l,
+				3l, 0l, 0l,
+				100_000_000l,
+				Timestamp.getDefaultInstance(),
+				Duration.getDefaultInstance(),
+				false,
+				zeroByteMemo,
+				5678l, -70000l,
+				5679l, 70000l);
+		final var signedTransaction = signedTransactionFrom(
+				CommonUtils.extractTransactionBody(zeroByteXfer), expectedMap);
+		final var newTransaction = buildTransactionFrom(signedTransaction.toByteString());
+
+		// given:
+		final var fromWrapper = new SignedTxnAccessor(newTransaction);
+		final var fromBytes = new SignedTxnAccessor(newTransaction.toByteArray());
+		final var fromLegacyBytes = new SignedTxnAccessor(zeroByteXfer.toByteArray());
+
+		// expect:
+		assertArrayEquals(fromWrapper.getHash(), fromBytes.getHash());
+		assertArrayEquals(CommonUtils.noThrowSha384HashOf(signedTransaction.toByteArray()), fromBytes.getHash());
+		assertArrayEquals(CommonUtils.noThrowSha384HashOf(zeroByteXfer.toByteArray()), fromLegacyBytes.getHash());
+		assertEquals(fromWrapper.getSignedTxnWrapper(), fromBytes.getSignedTxnWrapper());
+		assertEquals(fromWrapper.getTxn(), fromBytes.getTxn());
+		assertArrayEquals(fromWrapper.getTxnBytes(), fromBytes.getTxnBytes());
+		assertSame(fromBytes.getTxnBytes(), fromBytes.getTxnBytes());
+		// and:
+		assertArrayEquals(zeroByteMemoUtf8Bytes, fromBytes.getMemoUtf8Bytes());
+		assertTrue(fromBytes.memoHasZeroByte());
+		assertEquals(zeroByteMemoUtf8Bytes.length, fromBytes.baseUsageMeta().getMemoUtf8Bytes());
+		assertEquals(2, fromBytes.baseUsageMeta().getNumExplicitTransfers());
+	}
+
 	@Test
 	void registersNoneOnMalformedCreation() throws Exception {
 		// setup:
@@ -23,6 +23,7 @@ package com.hedera.services.utils;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.Constructor;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -96,6 +98,42 @@ class UnzipUtilityTest {
 		file3.delete();
 	}
 
+	@Test
+	void abortsBeforeNextEntryOnceInterrupted() throws Exception {
+		final String zipFile = "src/test/resources/testfiles/updateFeature/update.zip";
+		final byte[] data = Files.readAllBytes(Paths.get(zipFile));
+		final String dstDir = "./temp-interrupted";
+
+		Thread.currentThread().interrupt();
+		try {
+			assertThrows(InterruptedIOException.class, () -> UnzipUtility.unzip(data, dstDir));
+			Assertions.assertFalse(new File("./temp-interrupted/sdk/new3.txt").exists());
+		} finally {
+			Thread.interrupted();
+			FileUtils.deleteDirectory(new File(dstDir));
+		}
+	}
+
+	@Test
+	void stopsCopyingEntryOnceInterrupted() throws IOException {
+		// setup:
+		final var tmpFile = "shortLived.txt";
+
+		given(zipIn.read(any())).willAnswer(invocation -> {
+			Thread.currentThread().interrupt();
+			return 1;
+		});
+
+		try {
+			// expect:
+			Assertions.assertFalse(UnzipUtility.extractSingleFile(zipIn, tmpFile));
+			assertEquals(0, new File(tmpFile).length());
+		} finally {
+			Thread.interrupted();
+			new File(tmpFile).delete();
+		}
+	}
+
 	@Test
 	void logsAtErrorWhenUnableToExtractFile() throws IOException {
 		// setup:
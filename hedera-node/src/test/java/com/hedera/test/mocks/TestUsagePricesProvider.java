@@ -22,6 +22,7 @@ package com.hedera.test.mocks;
 
 import com.google.common.io.Files;
 import com.hedera.services.fees.bootstrap.JsonToProtoSerdeTest;
+import com.hedera.services.fees.calculation.UsagePriceTable;
 import com.hedera.services.fees.calculation.UsagePricesProvider;
 import com.hedera.services.utils.MiscUtils;
 import com.hederahashgraph.api.proto.java.CurrentAndNextFeeSchedule;
@@ -54,6 +55,9 @@ public enum TestUsagePricesProvider implements UsagePricesProvider {
 	Map<HederaFunctionality, Map<SubType, FeeData>> currFunctionUsagePrices;
 	Map<HederaFunctionality, Map<SubType, FeeData>> nextFunctionUsagePrices;
 
+	UsagePriceTable currPriceTable;
+	UsagePriceTable nextPriceTable;
+
 	TestUsagePricesProvider() {
 		loadPriceSchedules();
 	}
@@ -73,6 +77,16 @@ public enum TestUsagePricesProvider implements UsagePricesProvider {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public UsagePriceTable activePriceTable() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public UsagePriceTable priceTableGiven(Timestamp at) {
+		return onlyNextScheduleApplies(at) ? nextPriceTable : currPriceTable;
+	}
+
 	@Override
 	public FeeData defaultActivePrices() {
 		throw new UnsupportedOperationException();
@@ -123,6 +137,9 @@ public enum TestUsagePricesProvider implements UsagePricesProvider {
 
 		nextFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
 		nextFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getNextFeeSchedule().getExpiryTime());
+
+		currPriceTable = UsagePriceTable.from(currFunctionUsagePrices);
+		nextPriceTable = UsagePriceTable.from(nextFunctionUsagePrices);
 	}
 
 	private Timestamp asTimestamp(TimestampSeconds ts) {
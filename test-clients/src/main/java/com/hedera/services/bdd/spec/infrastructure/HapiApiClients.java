@@ -192,6 +192,10 @@ public class HapiApiClients {
 		return schedSvcStubs.get(stubId(nodeId, useTls));
 	}
 
+	public ManagedChannel getChannel(AccountID nodeId, boolean useTls) {
+		return channels.get(stubId(nodeId, useTls));
+	}
+
 	private String stubId(AccountID nodeId, boolean useTls) {
 		return useTls ? tlsStubIds.get(nodeId) : stubIds.get(nodeId);
 	}
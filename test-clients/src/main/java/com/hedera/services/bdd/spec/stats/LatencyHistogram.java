@@ -0,0 +1,107 @@
+package com.hedera.services.bdd.spec.stats;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock-free histogram of non-negative latencies with log-linear buckets in the style of
+ * HdrHistogram; that is, each power-of-two range of values is split into
+ * {@code 2^(SUB_BUCKET_BITS - 1)} equal sub-buckets, so any recorded value is reported with
+ * a relative error under {@code 1 / 2^(SUB_BUCKET_BITS - 1)} (about 0.8%), at any magnitude.
+ *
+ * Values below {@code 2^SUB_BUCKET_BITS} are counted exactly.
+ */
+public class LatencyHistogram {
+	static final int SUB_BUCKET_BITS = 8;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+	static final int NUM_BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+	private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+	/**
+	 * Counts the given value; negative values are counted as zero.
+	 *
+	 * @param value the value to count
+	 */
+	public void record(long value) {
+		final var nonNegative = Math.max(0, value);
+		counts.incrementAndGet(indexOf(nonNegative));
+		max.accumulate(nonNegative);
+		count.incrementAndGet();
+	}
+
+	public long count() {
+		return count.get();
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the largest value equivalent (to within the histogram's precision) to the value
+	 * at the given percentile of the recorded values; or zero, if no values have been recorded.
+	 *
+	 * @param percentile the percentile of interest, in {@code [0.0, 100.0]}
+	 * @return the value at that percentile
+	 */
+	public long valueAtPercentile(double percentile) {
+		final var n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		final var rank = Math.max(1L, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * n));
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestEquivalent(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int msb = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int shift = msb - SUB_BUCKET_BITS + 1;
+		final int subBucket = (int) (value >>> shift);
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+	}
+
+	static long highestEquivalent(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int offset = index - SUB_BUCKETS;
+		final int shift = offset / HALF_SUB_BUCKETS + 1;
+		final long subBucket = HALF_SUB_BUCKETS + (offset % HALF_SUB_BUCKETS);
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,131 @@
+package com.hedera.services.bdd.spec.stats;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the outcomes of an open-loop load run, per {@link HederaFunctionality}. Every
+ * latency is measured from the <i>intended</i> start of a submission (as fixed by the arrival
+ * schedule) rather than its actual start, so time a transaction spent queued behind slow
+ * predecessors is counted against it instead of being silently omitted.
+ */
+public class OpenLoopStats {
+	private static final double[] REPORTED_PERCENTILES = { 50.0, 99.0, 99.9 };
+
+	private final ConcurrentMap<HederaFunctionality, FunctionStats> byFunction = new ConcurrentHashMap<>();
+
+	public void recordSubmission(HederaFunctionality function, long latencyMicros, ResponseCodeEnum precheck) {
+		final var stats = statsFor(function);
+		stats.submission.record(latencyMicros);
+		stats.prechecks.computeIfAbsent(precheck, ignore -> new AtomicLong()).incrementAndGet();
+	}
+
+	public void recordConsensus(HederaFunctionality function, long latencyMicros, ResponseCodeEnum status) {
+		final var stats = statsFor(function);
+		stats.consensus.record(latencyMicros);
+		stats.statuses.computeIfAbsent(status, ignore -> new AtomicLong()).incrementAndGet();
+	}
+
+	public void recordDropped(HederaFunctionality function) {
+		statsFor(function).dropped.incrementAndGet();
+	}
+
+	public void recordFailed(HederaFunctionality function) {
+		statsFor(function).failed.incrementAndGet();
+	}
+
+	public void recordUnconfirmed(HederaFunctionality function) {
+		statsFor(function).unconfirmed.incrementAndGet();
+	}
+
+	public LatencyHistogram submissionLatencies(HederaFunctionality function) {
+		return statsFor(function).submission;
+	}
+
+	public LatencyHistogram consensusLatencies(HederaFunctionality function) {
+		return statsFor(function).consensus;
+	}
+
+	/**
+	 * Summarizes the run as a table with one row per functionality, giving latencies in
+	 * milliseconds for the {@code p50}, {@code p99}, and {@code p999} percentiles.
+	 *
+	 * @param elapsedSecs how long the run lasted
+	 * @return the report
+	 */
+	public String report(double elapsedSecs) {
+		final var sb = new StringBuilder();
+		sb.append(String.format("%-24s %8s %8s %8s %8s  %-33s  %-33s%n",
+				"Functionality", "Sent", "Dropped", "Failed", "NoRcpt",
+				"Submission ms (p50/p99/p999/max)", "Consensus ms (p50/p99/p999/max)"));
+		byFunction.entrySet().stream()
+				.sorted(Map.Entry.comparingByKey())
+				.forEach(entry -> {
+					final var stats = entry.getValue();
+					sb.append(String.format("%-24s %8d %8d %8d %8d  %-33s  %-33s%n",
+							entry.getKey(),
+							stats.submission.count(),
+							stats.dropped.get(),
+							stats.failed.get(),
+							stats.unconfirmed.get(),
+							percentilesOf(stats.submission),
+							percentilesOf(stats.consensus)));
+					sb.append(String.format("  prechecks %s; statuses %s; %.1f TPS submitted%n",
+							stats.prechecks,
+							stats.statuses,
+							stats.submission.count() / Math.max(elapsedSecs, 1e-9)));
+				});
+		return sb.toString();
+	}
+
+	static String percentilesOf(LatencyHistogram histogram) {
+		final var sb = new StringBuilder();
+		for (double percentile : REPORTED_PERCENTILES) {
+			sb.append(asMillis(histogram.valueAtPercentile(percentile))).append('/');
+		}
+		return sb.append(asMillis(histogram.max())).toString();
+	}
+
+	private static String asMillis(long micros) {
+		return String.format("%.1f", micros / 1_000.0);
+	}
+
+	private FunctionStats statsFor(HederaFunctionality function) {
+		return byFunction.computeIfAbsent(function, ignore -> new FunctionStats());
+	}
+
+	private static final class FunctionStats {
+		private final LatencyHistogram submission = new LatencyHistogram();
+		private final LatencyHistogram consensus = new LatencyHistogram();
+		private final AtomicLong dropped = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final AtomicLong unconfirmed = new AtomicLong();
+		private final Map<ResponseCodeEnum, AtomicLong> prechecks = new ConcurrentHashMap<>();
+		private final Map<ResponseCodeEnum, AtomicLong> statuses = new ConcurrentHashMap<>();
+	}
+}
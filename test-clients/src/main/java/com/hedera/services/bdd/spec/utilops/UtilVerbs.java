@@ -46,9 +46,11 @@ import com.hedera.services.bdd.spec.utilops.inventory.SpecKeyFromMnemonic;
 import com.hedera.services.bdd.spec.utilops.inventory.SpecKeyFromMutation;
 import com.hedera.services.bdd.spec.utilops.inventory.SpecKeyFromPem;
 import com.hedera.services.bdd.spec.utilops.inventory.UsableTxnId;
+import com.hedera.services.bdd.spec.utilops.loadgen.OpenLoopLoad;
 import com.hedera.services.bdd.spec.utilops.pauses.HapiSpecSleep;
 import com.hedera.services.bdd.spec.utilops.pauses.HapiSpecWaitUntil;
 import com.hedera.services.bdd.spec.utilops.pauses.NodeLivenessTimeout;
+import com.hedera.services.bdd.spec.utilops.replay.ReplayCapturedTxns;
 import com.hedera.services.bdd.spec.utilops.streams.RecordStreamVerification;
 import com.hedera.services.bdd.spec.utilops.throughput.FinishThroughputObs;
 import com.hedera.services.bdd.spec.utilops.throughput.StartThroughputObs;
@@ -147,6 +149,14 @@ public class UtilVerbs {
 		return new SourcedOp(source);
 	}
 
+	public static ReplayCapturedTxns replayCapturedTxns(String capturePath) {
+		return new ReplayCapturedTxns(capturePath);
+	}
+
+	public static OpenLoopLoad openLoopLoad() {
+		return new OpenLoopLoad();
+	}
+
 	public static HapiSpecSleep sleepFor(long timeMs) {
 		return new HapiSpecSleep(timeMs);
 	}
@@ -0,0 +1,416 @@
+package com.hedera.services.bdd.spec.utilops.loadgen;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.ByteString;
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.stats.OpenLoopStats;
+import com.hedera.services.bdd.spec.utilops.UtilOp;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Response;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.service.proto.java.ConsensusServiceGrpc;
+import com.hederahashgraph.service.proto.java.CryptoServiceGrpc;
+import com.hederahashgraph.service.proto.java.FileServiceGrpc;
+import com.hederahashgraph.service.proto.java.ScheduleServiceGrpc;
+import com.hederahashgraph.service.proto.java.SmartContractServiceGrpc;
+import com.hederahashgraph.service.proto.java.TokenServiceGrpc;
+import io.grpc.ManagedChannel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static com.hedera.services.bdd.spec.queries.QueryUtils.txnReceiptQueryFor;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
+
+/**
+ * Drives an open-loop load against the target node; that is, submits transactions at a fixed
+ * target arrival rate regardless of how quickly the node responds, so a slow node sees its
+ * queue grow (as it would with real independent clients) instead of quietly throttling the
+ * load generator.
+ *
+ * Each transaction has an intended start time of {@code start + i / tps}. A single scheduler
+ * thread waits only for that time, never for a response; signing happens on a pool, and
+ * submission and receipt polling use the asynchronous gRPC future stubs. Both the submission
+ * latency (until the precheck response) and the consensus latency (until a receipt query
+ * first shows a final status) are measured from the intended start, which avoids the
+ * coordinated omission of closed-loop drivers like {@link com.hedera.services.bdd.spec.utilops.RunLoadTest}.
+ *
+ * If more than {@code maxInFlight} transactions are outstanding when one is due, it is
+ * dropped and counted rather than delaying the schedule.
+ */
+public class OpenLoopLoad extends UtilOp {
+	private static final Logger log = LogManager.getLogger(OpenLoopLoad.class);
+
+	private static final long DRAIN_POLL_MS = 100;
+
+	/**
+	 * Fills in the type-specific part of a transaction body; the load generator sets its
+	 * transaction id, node, fee, and valid duration.
+	 */
+	@FunctionalInterface
+	public interface BodyFactory {
+		void fill(HapiApiSpec spec, TransactionBody.Builder body);
+	}
+
+	private double tps = 100.0;
+	private long duration = 60;
+	private TimeUnit unit = TimeUnit.SECONDS;
+	private int signingThreads = 4;
+	private int maxInFlight = 50_000;
+	private long drainTimeoutSecs = 60;
+	private long firstReceiptPollMs = 1_000;
+	private long receiptPollMs = 250;
+	private long receiptTimeoutSecs = 180;
+	private long seed = 42;
+	private String payer = null;
+
+	private final List<Mix> mixes = new ArrayList<>();
+	private final OpenLoopStats stats = new OpenLoopStats();
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+
+	public OpenLoopLoad tps(double tps) {
+		if (tps <= 0.0) {
+			throw new IllegalArgumentException("Target TPS must be positive, not " + tps);
+		}
+		this.tps = tps;
+		return this;
+	}
+
+	public OpenLoopLoad lasting(long duration, TimeUnit unit) {
+		this.duration = duration;
+		this.unit = unit;
+		return this;
+	}
+
+	public OpenLoopLoad withMix(HederaFunctionality function, int weight, BodyFactory factory) {
+		if (weight <= 0) {
+			throw new IllegalArgumentException("Mix weight must be positive, not " + weight);
+		}
+		mixes.add(new Mix(function, weight, factory));
+		return this;
+	}
+
+	public OpenLoopLoad signingThreads(int signingThreads) {
+		this.signingThreads = signingThreads;
+		return this;
+	}
+
+	public OpenLoopLoad maxInFlight(int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	public OpenLoopLoad drainingFor(long drainTimeoutSecs) {
+		this.drainTimeoutSecs = drainTimeoutSecs;
+		return this;
+	}
+
+	public OpenLoopLoad pollingReceiptsEvery(long firstReceiptPollMs, long receiptPollMs) {
+		this.firstReceiptPollMs = firstReceiptPollMs;
+		this.receiptPollMs = receiptPollMs;
+		return this;
+	}
+
+	public OpenLoopLoad seededWith(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	public OpenLoopLoad payingWith(String payer) {
+		this.payer = payer;
+		return this;
+	}
+
+	public OpenLoopStats stats() {
+		return stats;
+	}
+
+	public static BodyFactory cryptoTransfers(String from, String to) {
+		return (spec, body) -> body.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+				.setTransfers(TransferList.newBuilder()
+						.addAccountAmounts(AccountAmount.newBuilder()
+								.setAccountID(spec.registry().getAccountID(from))
+								.setAmount(-1L))
+						.addAccountAmounts(AccountAmount.newBuilder()
+								.setAccountID(spec.registry().getAccountID(to))
+								.setAmount(+1L))));
+	}
+
+	public static BodyFactory submitMessages(String topic, int messageSize) {
+		final var message = ByteString.copyFrom(new byte[messageSize]);
+		return (spec, body) -> body.setConsensusSubmitMessage(ConsensusSubmitMessageTransactionBody.newBuilder()
+				.setTopicID(spec.registry().getTopicID(topic))
+				.setMessage(message));
+	}
+
+	@Override
+	protected boolean submitOp(HapiApiSpec spec) throws Throwable {
+		if (mixes.isEmpty()) {
+			throw new IllegalStateException("No transaction mix given for open-loop load");
+		}
+		final var channel = spec.clients().getChannel(spec.setup().defaultNode(), spec.setup().getConfigTLS());
+		final var receiptStub = CryptoServiceGrpc.newFutureStub(channel);
+		final List<Function<Transaction, ListenableFuture<TransactionResponse>>> submitFns = new ArrayList<>();
+		final var cumulativeWeights = new int[mixes.size()];
+		for (int i = 0, sum = 0; i < mixes.size(); i++) {
+			submitFns.add(submitFnFor(mixes.get(i).function, channel));
+			cumulativeWeights[i] = (sum += mixes.get(i).weight);
+		}
+		final var totalWeight = cumulativeWeights[mixes.size() - 1];
+
+		final ExecutorService signers = Executors.newFixedThreadPool(signingThreads);
+		final ScheduledExecutorService pollers = Executors.newScheduledThreadPool(2);
+		final var random = new SplittableRandom(seed);
+		final var n = (long) (tps * unit.toNanos(duration) / 1e9);
+		final var intervalNanos = 1e9 / tps;
+		final var start = System.nanoTime();
+		try {
+			for (long i = 0; i < n; i++) {
+				final long intended = start + (long) (i * intervalNanos);
+				long waitNanos;
+				while ((waitNanos = intended - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(waitNanos);
+				}
+				final var choice = indexOf(random.nextInt(totalWeight), cumulativeWeights);
+				final var mix = mixes.get(choice);
+				if (inFlight.get() >= maxInFlight) {
+					stats.recordDropped(mix.function);
+					continue;
+				}
+				inFlight.incrementAndGet();
+				final var submitFn = submitFns.get(choice);
+				signers.execute(() -> submit(spec, mix, submitFn, receiptStub, pollers, intended));
+			}
+			final var scheduleSecs = (System.nanoTime() - start) / 1e9;
+			awaitDrain();
+			log.info("Open-loop load at {} TPS for {}s ({} still in flight after draining):\n{}",
+					tps, String.format("%.3f", scheduleSecs), inFlight.get(), stats.report(scheduleSecs));
+		} finally {
+			signers.shutdownNow();
+			pollers.shutdownNow();
+		}
+		return false;
+	}
+
+	private void submit(
+			HapiApiSpec spec,
+			Mix mix,
+			Function<Transaction, ListenableFuture<TransactionResponse>> submitFn,
+			CryptoServiceGrpc.CryptoServiceFutureStub receiptStub,
+			ScheduledExecutorService pollers,
+			long intended
+	) {
+		final Transaction txn;
+		final TransactionID txnId;
+		try {
+			final var payerToUse = (payer == null) ? spec.setup().defaultPayerName() : payer;
+			final var body = TransactionBody.newBuilder();
+			spec.txns().defaultBodySpec().accept(body);
+			txnId = body.getTransactionID().toBuilder()
+					.setAccountID(spec.registry().getAccountID(payerToUse))
+					.build();
+			mix.factory.fill(spec, body.setTransactionID(txnId));
+			txn = spec.keys().sign(
+					Transaction.newBuilder().setBodyBytes(body.build().toByteString()),
+					List.of(spec.registry().getKey(payerToUse)),
+					Collections.emptyMap());
+		} catch (Throwable t) {
+			log.warn("Could not create {} transaction", mix.function, t);
+			stats.recordFailed(mix.function);
+			inFlight.decrementAndGet();
+			return;
+		}
+		Futures.addCallback(submitFn.apply(txn), new FutureCallback<>() {
+			@Override
+			public void onSuccess(TransactionResponse response) {
+				final var precheck = response.getNodeTransactionPrecheckCode();
+				stats.recordSubmission(mix.function, microsSince(intended), precheck);
+				if (precheck == OK) {
+					pollers.schedule(
+							() -> pollReceipt(mix.function, txnId, receiptStub, pollers, intended),
+							firstReceiptPollMs, TimeUnit.MILLISECONDS);
+				} else {
+					inFlight.decrementAndGet();
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				log.debug("Could not submit {} transaction", mix.function, t);
+				stats.recordFailed(mix.function);
+				inFlight.decrementAndGet();
+			}
+		}, MoreExecutors.directExecutor());
+	}
+
+	private void pollReceipt(
+			HederaFunctionality function,
+			TransactionID txnId,
+			CryptoServiceGrpc.CryptoServiceFutureStub receiptStub,
+			ScheduledExecutorService pollers,
+			long intended
+	) {
+		Futures.addCallback(receiptStub.getTransactionReceipts(txnReceiptQueryFor(txnId)), new FutureCallback<>() {
+			@Override
+			public void onSuccess(Response response) {
+				final var answer = response.getTransactionGetReceipt();
+				final var precheck = answer.getHeader().getNodeTransactionPrecheckCode();
+				final var status = answer.getReceipt().getStatus();
+				if (precheck == OK && status != UNKNOWN) {
+					stats.recordConsensus(function, microsSince(intended), status);
+					inFlight.decrementAndGet();
+				} else if (precheck == OK || precheck == BUSY) {
+					retry();
+				} else {
+					stats.recordUnconfirmed(function);
+					inFlight.decrementAndGet();
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				retry();
+			}
+
+			private void retry() {
+				if (microsSince(intended) > TimeUnit.SECONDS.toMicros(receiptTimeoutSecs)) {
+					stats.recordUnconfirmed(function);
+					inFlight.decrementAndGet();
+				} else {
+					pollers.schedule(
+							() -> pollReceipt(function, txnId, receiptStub, pollers, intended),
+							receiptPollMs, TimeUnit.MILLISECONDS);
+				}
+			}
+		}, MoreExecutors.directExecutor());
+	}
+
+	private void awaitDrain() throws InterruptedException {
+		final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSecs);
+		while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MS);
+		}
+	}
+
+	static int indexOf(int draw, int[] cumulativeWeights) {
+		int i = 0;
+		while (draw >= cumulativeWeights[i]) {
+			i++;
+		}
+		return i;
+	}
+
+	private static long microsSince(long nanoTime) {
+		return (System.nanoTime() - nanoTime) / 1_000L;
+	}
+
+	private static Function<Transaction, ListenableFuture<TransactionResponse>> submitFnFor(
+			HederaFunctionality function,
+			ManagedChannel channel
+	) {
+		switch (function) {
+			case CryptoCreate:
+				return CryptoServiceGrpc.newFutureStub(channel)::createAccount;
+			case CryptoTransfer:
+				return CryptoServiceGrpc.newFutureStub(channel)::cryptoTransfer;
+			case CryptoUpdate:
+				return CryptoServiceGrpc.newFutureStub(channel)::updateAccount;
+			case FileCreate:
+				return FileServiceGrpc.newFutureStub(channel)::createFile;
+			case FileAppend:
+				return FileServiceGrpc.newFutureStub(channel)::appendContent;
+			case FileUpdate:
+				return FileServiceGrpc.newFutureStub(channel)::updateFile;
+			case ContractCall:
+				return SmartContractServiceGrpc.newFutureStub(channel)::contractCallMethod;
+			case ConsensusCreateTopic:
+				return ConsensusServiceGrpc.newFutureStub(channel)::createTopic;
+			case ConsensusSubmitMessage:
+				return ConsensusServiceGrpc.newFutureStub(channel)::submitMessage;
+			case TokenCreate:
+				return TokenServiceGrpc.newFutureStub(channel)::createToken;
+			case TokenMint:
+				return TokenServiceGrpc.newFutureStub(channel)::mintToken;
+			case TokenBurn:
+				return TokenServiceGrpc.newFutureStub(channel)::burnToken;
+			case TokenAssociateToAccount:
+				return TokenServiceGrpc.newFutureStub(channel)::associateTokens;
+			case ScheduleCreate:
+				return ScheduleServiceGrpc.newFutureStub(channel)::createSchedule;
+			case ScheduleSign:
+				return ScheduleServiceGrpc.newFutureStub(channel)::signSchedule;
+			default:
+				throw new IllegalArgumentException("Open-loop load does not support " + function);
+		}
+	}
+
+	@Override
+	protected MoreObjects.ToStringHelper toStringHelper() {
+		return super.toStringHelper()
+				.add("tps", tps)
+				.add("duration", duration + " " + unit)
+				.add("mixes", mixes);
+	}
+
+	private static final class Mix {
+		private final HederaFunctionality function;
+		private final int weight;
+		private final BodyFactory factory;
+
+		private Mix(HederaFunctionality function, int weight, BodyFactory factory) {
+			this.function = function;
+			this.weight = weight;
+			this.factory = factory;
+		}
+
+		@Override
+		public String toString() {
+			return function + "x" + weight;
+		}
+	}
+}
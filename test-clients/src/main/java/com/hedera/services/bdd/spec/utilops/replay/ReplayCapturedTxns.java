@@ -0,0 +1,535 @@
+package com.hedera.services.bdd.spec.utilops.replay;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.utilops.UtilOp;
+import com.hedera.services.capture.CapturedTxn;
+import com.hedera.services.capture.CapturedTxnReader;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Key;
+import com.hederahashgraph.api.proto.java.NftTransfer;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.api.proto.java.UncheckedSubmitBody;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static com.hedera.services.bdd.spec.HapiPropertySource.asAccount;
+import static com.hedera.services.legacy.proto.utils.CommonUtils.extractTransactionBody;
+
+/**
+ * Replays a transaction log captured by a node with {@code hedera.txnCapture.isEnabled=true}
+ * against the target network, preserving the captured inter-arrival times (optionally
+ * compressed or stretched by a rate multiplier).
+ *
+ * In {@link Mode#RESIGN} mode each captured body is re-issued with a fresh transaction id
+ * and re-signed, so the replay passes precheck on a network with different keys. The captured
+ * payer is replaced by its remapped account (see {@link #remappingAccount(String, String)}),
+ * or else by the given payer; and accounts referenced by the body that must sign are replaced
+ * by their remapped accounts, whose keys are added to the signatures. Since the replay can only
+ * sign with keys it knows, it only replays transaction types whose signing requirements are
+ * visible in the body (crypto transfers and creates, contract calls and creates, topic creates
+ * and messages, token creates and (dis)associations, and schedule creates and signs); and even
+ * then, rejects up front any transaction that needs an admin key or an un-remapped account's
+ * signature. Rejected transactions are counted by type in the summary. (Keys that only the
+ * target network knows, such as a topic's submit key, are not visible and cannot be checked.)
+ *
+ * In {@link Mode#UNCHECKED} mode the original signed bytes are wrapped in an
+ * {@code UncheckedSubmit} from the genesis account, which skips precheck and signature
+ * verification on the receiving node; so every captured transaction can be replayed.
+ *
+ * Latencies are measured from each transaction's scheduled send time, not from when a worker
+ * got around to sending it; so a backlog of sends inflates the reported latencies instead of
+ * hiding them.
+ */
+public class ReplayCapturedTxns extends UtilOp {
+	private static final Logger log = LogManager.getLogger(ReplayCapturedTxns.class);
+
+	private static final long TERMINATION_WAIT_MINUTES = 1;
+
+	public enum Mode {
+		RESIGN, UNCHECKED
+	}
+
+	private final String capturePath;
+
+	private int numThreads = 8;
+	private Mode mode = Mode.RESIGN;
+	private double rateMultiplier = 1.0;
+	private String payer = null;
+
+	private final Map<AccountID, String> remaps = new HashMap<>();
+	private final AtomicInteger numSubmitted = new AtomicInteger(0);
+	private final Map<ResponseCodeEnum, AtomicInteger> precheckCounts = new EnumMap<>(ResponseCodeEnum.class);
+	private final Map<TransactionBody.DataCase, AtomicInteger> rejectedCounts =
+			new EnumMap<>(TransactionBody.DataCase.class);
+	private final List<Long> latenciesMicros = Collections.synchronizedList(new ArrayList<>());
+
+	public ReplayCapturedTxns(String capturePath) {
+		this.capturePath = capturePath;
+	}
+
+	public ReplayCapturedTxns inMode(Mode mode) {
+		this.mode = mode;
+		return this;
+	}
+
+	public ReplayCapturedTxns withRateMultiplier(double rateMultiplier) {
+		if (rateMultiplier <= 0.0) {
+			throw new IllegalArgumentException("Rate multiplier must be positive, not " + rateMultiplier);
+		}
+		this.rateMultiplier = rateMultiplier;
+		return this;
+	}
+
+	public ReplayCapturedTxns payingWith(String payer) {
+		this.payer = payer;
+		return this;
+	}
+
+	/**
+	 * In {@link Mode#RESIGN} mode, replaces the captured account (e.g. {@code "0.0.1001"}) with
+	 * the named spec account wherever it appears as the payer or as a required signer.
+	 *
+	 * @param capturedAccount the literal id of the account in the captured network
+	 * @param specAccount the name of the account in the spec registry to use instead
+	 * @return this op
+	 */
+	public ReplayCapturedTxns remappingAccount(String capturedAccount, String specAccount) {
+		remaps.put(asAccount(capturedAccount), specAccount);
+		return this;
+	}
+
+	public ReplayCapturedTxns withThreads(int numThreads) {
+		this.numThreads = numThreads;
+		return this;
+	}
+
+	@Override
+	protected boolean submitOp(HapiApiSpec spec) throws Throwable {
+		final ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		final long replayStart = System.nanoTime();
+		boolean finished = false;
+		try (var reader = new CapturedTxnReader(
+				new BufferedInputStream(Files.newInputStream(Paths.get(capturePath))))) {
+			long firstArrival = -1;
+			for (CapturedTxn captured = reader.next(); captured != null; captured = reader.next()) {
+				if (firstArrival < 0) {
+					firstArrival = captured.getArrivalEpochNanos();
+				}
+				final long dueNanos = replayStart +
+						(long) ((captured.getArrivalEpochNanos() - firstArrival) / rateMultiplier);
+				final var toSubmit = prepared(spec, Transaction.parseFrom(captured.getSignedTxnBytes()));
+				if (toSubmit == null) {
+					continue;
+				}
+				long waitNanos;
+				while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(waitNanos);
+				}
+				pool.execute(() -> submit(spec, toSubmit, dueNanos));
+			}
+		} finally {
+			pool.shutdown();
+			finished = pool.awaitTermination(TERMINATION_WAIT_MINUTES, TimeUnit.MINUTES);
+			if (!finished) {
+				pool.shutdownNow();
+			}
+		}
+		if (!finished) {
+			throw new IllegalStateException(String.format(
+					"Replay of '%s' did not finish within %d minute(s) of its last send; only %d submissions " +
+							"completed, so no summary is reported",
+					capturePath, TERMINATION_WAIT_MINUTES, numSubmitted.get()));
+		}
+		logSummary(System.nanoTime() - replayStart);
+		return false;
+	}
+
+	private Transaction prepared(HapiApiSpec spec, Transaction captured) throws Throwable {
+		if (mode == Mode.UNCHECKED) {
+			final var wrapper = bodyFor(spec, spec.setup().genesisAccountName())
+					.setUncheckedSubmit(UncheckedSubmitBody.newBuilder()
+							.setTransactionBytes(captured.toByteString()))
+					.build();
+			return signed(spec, wrapper, List.of(spec.setup().genesisAccountName()));
+		} else {
+			final var capturedBody = extractTransactionBody(captured);
+			final var capturedPayer = capturedBody.getTransactionID().getAccountID();
+			final var payerToUse = remaps.getOrDefault(
+					capturedPayer,
+					(payer == null) ? spec.setup().defaultPayerName() : payer);
+			final var resigning = new Resigning(spec, capturedPayer, payerToUse);
+			final var remapped = resigning.remap(capturedBody);
+			if (remapped == null) {
+				rejectedCounts.computeIfAbsent(capturedBody.getDataCase(), ignore -> new AtomicInteger(0))
+						.incrementAndGet();
+				return null;
+			}
+			final var fresh = bodyFor(spec, payerToUse);
+			final var body = remapped
+					.setTransactionID(fresh.getTransactionID())
+					.setNodeAccountID(fresh.getNodeAccountID())
+					.build();
+			return signed(spec, body, resigning.signers);
+		}
+	}
+
+	/**
+	 * Rewrites a captured body so that every account that must sign it is one whose key the
+	 * spec knows; or, if that is impossible, says so by returning null.
+	 */
+	private class Resigning {
+		private final String payerName;
+		private final HapiApiSpec spec;
+		private final AccountID capturedPayer;
+		private final Set<String> signers = new LinkedHashSet<>();
+
+		Resigning(HapiApiSpec spec, AccountID capturedPayer, String payerName) {
+			this.spec = spec;
+			this.payerName = payerName;
+			this.capturedPayer = capturedPayer;
+			signers.add(payerName);
+		}
+
+		TransactionBody.Builder remap(TransactionBody captured) {
+			final var body = captured.toBuilder();
+			switch (captured.getDataCase()) {
+				case CRYPTOTRANSFER:
+					final var op = body.getCryptoTransferBuilder();
+					final var hbarAdjusts = remapped(op.getTransfers().getAccountAmountsList());
+					if (hbarAdjusts == null) {
+						return null;
+					}
+					op.setTransfers(TransferList.newBuilder().addAllAccountAmounts(hbarAdjusts));
+					for (var tokenTransfers : op.getTokenTransfersBuilderList()) {
+						if (!remapInPlace(tokenTransfers)) {
+							return null;
+						}
+					}
+					return body;
+				case CRYPTOCREATEACCOUNT:
+					return captured.getCryptoCreateAccount().getReceiverSigRequired() ? null : body;
+				case CONTRACTCREATEINSTANCE:
+					return captured.getContractCreateInstance().hasAdminKey() ? null : body;
+				case CONSENSUSCREATETOPIC:
+					final var topicCreate = captured.getConsensusCreateTopic();
+					if (topicCreate.hasAdminKey()) {
+						return null;
+					}
+					if (topicCreate.hasAutoRenewAccount()) {
+						final var autoRenew = signerFor(topicCreate.getAutoRenewAccount());
+						if (autoRenew == null) {
+							return null;
+						}
+						body.getConsensusCreateTopicBuilder().setAutoRenewAccount(autoRenew);
+					}
+					return body;
+				case TOKENCREATION:
+					final var tokenCreate = captured.getTokenCreation();
+					if (tokenCreate.hasAdminKey() || tokenCreate.getCustomFeesCount() > 0) {
+						return null;
+					}
+					final var treasury = signerFor(tokenCreate.getTreasury());
+					if (treasury == null) {
+						return null;
+					}
+					body.getTokenCreationBuilder().setTreasury(treasury);
+					if (tokenCreate.hasAutoRenewAccount()) {
+						final var autoRenew = signerFor(tokenCreate.getAutoRenewAccount());
+						if (autoRenew == null) {
+							return null;
+						}
+						body.getTokenCreationBuilder().setAutoRenewAccount(autoRenew);
+					}
+					return body;
+				case TOKENASSOCIATE:
+					final var associator = signerFor(captured.getTokenAssociate().getAccount());
+					if (associator == null) {
+						return null;
+					}
+					body.getTokenAssociateBuilder().setAccount(associator);
+					return body;
+				case TOKENDISSOCIATE:
+					final var dissociator = signerFor(captured.getTokenDissociate().getAccount());
+					if (dissociator == null) {
+						return null;
+					}
+					body.getTokenDissociateBuilder().setAccount(dissociator);
+					return body;
+				case SCHEDULECREATE:
+					return captured.getScheduleCreate().hasAdminKey() ? null : body;
+				case CONTRACTCALL:
+				case CONSENSUSSUBMITMESSAGE:
+				case SCHEDULESIGN:
+					return body;
+				default:
+					return null;
+			}
+		}
+
+		private List<AccountAmount> remapped(List<AccountAmount> adjusts) {
+			final List<AccountAmount> remapped = new ArrayList<>(adjusts.size());
+			for (var adjust : adjusts) {
+				final var account = (adjust.getAmount() < 0)
+						? signerFor(adjust.getAccountID())
+						: referenceTo(adjust.getAccountID());
+				if (account == null) {
+					return null;
+				}
+				remapped.add(adjust.toBuilder().setAccountID(account).build());
+			}
+			return remapped;
+		}
+
+		private boolean remapInPlace(TokenTransferList.Builder tokenTransfers) {
+			final var fungibleAdjusts = remapped(tokenTransfers.getTransfersList());
+			if (fungibleAdjusts == null) {
+				return false;
+			}
+			tokenTransfers.clearTransfers().addAllTransfers(fungibleAdjusts);
+			final List<NftTransfer> nftExchanges = new ArrayList<>(tokenTransfers.getNftTransfersCount());
+			for (var exchange : tokenTransfers.getNftTransfersList()) {
+				final var sender = signerFor(exchange.getSenderAccountID());
+				if (sender == null) {
+					return false;
+				}
+				nftExchanges.add(exchange.toBuilder()
+						.setSenderAccountID(sender)
+						.setReceiverAccountID(referenceTo(exchange.getReceiverAccountID()))
+						.build());
+			}
+			tokenTransfers.clearNftTransfers().addAllNftTransfers(nftExchanges);
+			return true;
+		}
+
+		/* Returns the replay's stand-in for an account that must sign; or null if there is none */
+		private AccountID signerFor(AccountID captured) {
+			final var name = nameFor(captured);
+			if (name == null) {
+				return null;
+			}
+			signers.add(name);
+			return spec.registry().getAccountID(name);
+		}
+
+		/* Returns the replay's stand-in for an account that need not sign; which may be itself */
+		private AccountID referenceTo(AccountID captured) {
+			final var name = nameFor(captured);
+			return (name == null) ? captured : spec.registry().getAccountID(name);
+		}
+
+		private String nameFor(AccountID captured) {
+			if (captured.equals(capturedPayer)) {
+				return payerName;
+			}
+			return remaps.get(captured);
+		}
+	}
+
+	private TransactionBody.Builder bodyFor(HapiApiSpec spec, String payerName) {
+		final var txnId = spec.txns().defaultTransactionID().toBuilder()
+				.setAccountID(spec.registry().getAccountID(payerName));
+		return TransactionBody.newBuilder()
+				.setTransactionID(txnId)
+				.setNodeAccountID(spec.setup().defaultNode());
+	}
+
+	private Transaction signed(HapiApiSpec spec, TransactionBody body, Iterable<String> signers) throws Throwable {
+		final var builder = Transaction.newBuilder().setBodyBytes(ByteString.copyFrom(body.toByteArray()));
+		final var keys = new ArrayList<Key>();
+		for (var signer : signers) {
+			keys.add(spec.registry().getKey(signer));
+		}
+		return spec.keys().sign(builder, keys, Collections.emptyMap());
+	}
+
+	private void submit(HapiApiSpec spec, Transaction txn, long dueNanos) {
+		try {
+			final var response = stubFor(spec, txn).apply(txn);
+			latenciesMicros.add((System.nanoTime() - dueNanos) / 1_000L);
+			countPrecheck(response.getNodeTransactionPrecheckCode());
+		} catch (Exception e) {
+			log.warn("Replayed transaction could not be submitted", e);
+			countPrecheck(ResponseCodeEnum.UNKNOWN);
+		}
+		numSubmitted.incrementAndGet();
+	}
+
+	private void countPrecheck(ResponseCodeEnum code) {
+		synchronized (precheckCounts) {
+			precheckCounts.computeIfAbsent(code, ignore -> new AtomicInteger(0)).incrementAndGet();
+		}
+	}
+
+	private Function<Transaction, TransactionResponse> stubFor(HapiApiSpec spec, Transaction txn) throws Exception {
+		final AccountID node = spec.setup().defaultNode();
+		final boolean useTls = spec.setup().getConfigTLS();
+		final var clients = spec.clients();
+		final var body = extractTransactionBody(txn);
+		switch (body.getDataCase()) {
+			case CRYPTOCREATEACCOUNT:
+				return clients.getCryptoSvcStub(node, useTls)::createAccount;
+			case CRYPTOTRANSFER:
+				return clients.getCryptoSvcStub(node, useTls)::cryptoTransfer;
+			case CRYPTOUPDATEACCOUNT:
+				return clients.getCryptoSvcStub(node, useTls)::updateAccount;
+			case CRYPTODELETE:
+				return clients.getCryptoSvcStub(node, useTls)::cryptoDelete;
+			case CRYPTOADDLIVEHASH:
+				return clients.getCryptoSvcStub(node, useTls)::addLiveHash;
+			case CRYPTODELETELIVEHASH:
+				return clients.getCryptoSvcStub(node, useTls)::deleteLiveHash;
+			case FILECREATE:
+				return clients.getFileSvcStub(node, useTls)::createFile;
+			case FILEAPPEND:
+				return clients.getFileSvcStub(node, useTls)::appendContent;
+			case FILEUPDATE:
+				return clients.getFileSvcStub(node, useTls)::updateFile;
+			case FILEDELETE:
+				return clients.getFileSvcStub(node, useTls)::deleteFile;
+			case CONTRACTCREATEINSTANCE:
+				return clients.getScSvcStub(node, useTls)::createContract;
+			case CONTRACTCALL:
+				return clients.getScSvcStub(node, useTls)::contractCallMethod;
+			case CONTRACTUPDATEINSTANCE:
+				return clients.getScSvcStub(node, useTls)::updateContract;
+			case CONTRACTDELETEINSTANCE:
+				return clients.getScSvcStub(node, useTls)::deleteContract;
+			case SYSTEMDELETE:
+				return body.getSystemDelete().hasContractID()
+						? clients.getScSvcStub(node, useTls)::systemDelete
+						: clients.getFileSvcStub(node, useTls)::systemDelete;
+			case SYSTEMUNDELETE:
+				return body.getSystemUndelete().hasContractID()
+						? clients.getScSvcStub(node, useTls)::systemUndelete
+						: clients.getFileSvcStub(node, useTls)::systemUndelete;
+			case CONSENSUSCREATETOPIC:
+				return clients.getConsSvcStub(node, useTls)::createTopic;
+			case CONSENSUSUPDATETOPIC:
+				return clients.getConsSvcStub(node, useTls)::updateTopic;
+			case CONSENSUSDELETETOPIC:
+				return clients.getConsSvcStub(node, useTls)::deleteTopic;
+			case CONSENSUSSUBMITMESSAGE:
+				return clients.getConsSvcStub(node, useTls)::submitMessage;
+			case TOKENCREATION:
+				return clients.getTokenSvcStub(node, useTls)::createToken;
+			case TOKENUPDATE:
+				return clients.getTokenSvcStub(node, useTls)::updateToken;
+			case TOKENMINT:
+				return clients.getTokenSvcStub(node, useTls)::mintToken;
+			case TOKENBURN:
+				return clients.getTokenSvcStub(node, useTls)::burnToken;
+			case TOKENDELETION:
+				return clients.getTokenSvcStub(node, useTls)::deleteToken;
+			case TOKENWIPE:
+				return clients.getTokenSvcStub(node, useTls)::wipeTokenAccount;
+			case TOKENFREEZE:
+				return clients.getTokenSvcStub(node, useTls)::freezeTokenAccount;
+			case TOKENUNFREEZE:
+				return clients.getTokenSvcStub(node, useTls)::unfreezeTokenAccount;
+			case TOKENGRANTKYC:
+				return clients.getTokenSvcStub(node, useTls)::grantKycToTokenAccount;
+			case TOKENREVOKEKYC:
+				return clients.getTokenSvcStub(node, useTls)::revokeKycFromTokenAccount;
+			case TOKENASSOCIATE:
+				return clients.getTokenSvcStub(node, useTls)::associateTokens;
+			case TOKENDISSOCIATE:
+				return clients.getTokenSvcStub(node, useTls)::dissociateTokens;
+			case TOKEN_FEE_SCHEDULE_UPDATE:
+				return clients.getTokenSvcStub(node, useTls)::updateTokenFeeSchedule;
+			case SCHEDULECREATE:
+				return clients.getScheduleSvcStub(node, useTls)::createSchedule;
+			case SCHEDULESIGN:
+				return clients.getScheduleSvcStub(node, useTls)::signSchedule;
+			case SCHEDULEDELETE:
+				return clients.getScheduleSvcStub(node, useTls)::deleteSchedule;
+			case FREEZE:
+				return clients.getFreezeSvcStub(node, useTls)::freeze;
+			case UNCHECKEDSUBMIT:
+				return clients.getNetworkSvcStub(node, useTls)::uncheckedSubmit;
+			default:
+				throw new IllegalArgumentException("Cannot replay " + body.getDataCase());
+		}
+	}
+
+	private void logSummary(long elapsedNanos) {
+		final var n = numSubmitted.get();
+		final var secs = elapsedNanos / 1e9;
+		final List<Long> sorted;
+		synchronized (latenciesMicros) {
+			sorted = new ArrayList<>(latenciesMicros);
+		}
+		Collections.sort(sorted);
+		log.info("Replayed {} transactions in {}s ({} TPS); prechecks {}; rejected before sending {}; " +
+						"latency (from scheduled send) p50={}us, p99={}us",
+				n,
+				String.format("%.3f", secs),
+				String.format("%.1f", n / Math.max(secs, 1e-9)),
+				precheckCounts,
+				rejectedCounts,
+				percentile(sorted, 0.50),
+				percentile(sorted, 0.99));
+	}
+
+	private static long percentile(List<Long> sorted, double p) {
+		if (sorted.isEmpty()) {
+			return 0L;
+		}
+		return sorted.get(Math.min(sorted.size() - 1, (int) (p * sorted.size())));
+	}
+
+	@Override
+	protected MoreObjects.ToStringHelper toStringHelper() {
+		return super.toStringHelper()
+				.add("capturePath", capturePath)
+				.add("mode", mode)
+				.add("rateMultiplier", rateMultiplier)
+				.add("remaps", remaps);
+	}
+}
@@ -0,0 +1,102 @@
+package com.hedera.services.bdd.suites.perf;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.suites.HapiApiSuite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hedera.services.bdd.spec.HapiApiSpec.defaultHapiSpec;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.createTopic;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoCreate;
+import static com.hedera.services.bdd.spec.utilops.CustomSpecAssert.allRunFor;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.openLoopLoad;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.withOpContext;
+import static com.hedera.services.bdd.spec.utilops.loadgen.OpenLoopLoad.cryptoTransfers;
+import static com.hedera.services.bdd.spec.utilops.loadgen.OpenLoopLoad.submitMessages;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+
+/**
+ * Runs an open-loop mix of crypto transfers and topic messages against the default node and
+ * reports the p50/p99/p999 submission and consensus latencies per functionality. Configured
+ * from the CI properties {@code tps}, {@code durationSecs}, {@code transferWeight},
+ * {@code messageWeight}, {@code messageSize}, {@code signingThreads}, and {@code maxInFlight}.
+ */
+public class OpenLoopLoadSuite extends HapiApiSuite {
+	private static final Logger log = LogManager.getLogger(OpenLoopLoadSuite.class);
+
+	private static final String SENDER = "sender";
+	private static final String RECEIVER = "receiver";
+	private static final String TOPIC = "loadTopic";
+
+	public static void main(String... args) {
+		new OpenLoopLoadSuite().runSuiteSync();
+	}
+
+	@Override
+	protected List<HapiApiSpec> getSpecsInSuite() {
+		return List.of(
+				runOpenLoopMix()
+		);
+	}
+
+	private HapiApiSpec runOpenLoopMix() {
+		return defaultHapiSpec("RunOpenLoopMix")
+				.given(
+						cryptoCreate(SENDER).balance(ONE_MILLION_HBARS),
+						cryptoCreate(RECEIVER),
+						createTopic(TOPIC)
+				).when().then(
+						withOpContext((spec, opLog) -> {
+							var ciProps = spec.setup().ciPropertiesMap();
+							var load = openLoopLoad()
+									.payingWith(SENDER)
+									.tps(ciProps.has("tps") ? ciProps.getDouble("tps") : 100.0)
+									.lasting(ciProps.has("durationSecs") ? ciProps.getLong("durationSecs") : 60,
+											TimeUnit.SECONDS)
+									.withMix(CryptoTransfer,
+											ciProps.has("transferWeight") ? ciProps.getInteger("transferWeight") : 3,
+											cryptoTransfers(SENDER, RECEIVER))
+									.withMix(ConsensusSubmitMessage,
+											ciProps.has("messageWeight") ? ciProps.getInteger("messageWeight") : 1,
+											submitMessages(TOPIC,
+													ciProps.has("messageSize") ? ciProps.getInteger("messageSize") : 256));
+							if (ciProps.has("signingThreads")) {
+								load.signingThreads(ciProps.getInteger("signingThreads"));
+							}
+							if (ciProps.has("maxInFlight")) {
+								load.maxInFlight(ciProps.getInteger("maxInFlight"));
+							}
+							allRunFor(spec, load);
+						})
+				);
+	}
+
+	@Override
+	protected Logger getResultsLogger() {
+		return log;
+	}
+}
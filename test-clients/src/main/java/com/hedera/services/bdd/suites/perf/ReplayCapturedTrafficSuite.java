@@ -0,0 +1,92 @@
+package com.hedera.services.bdd.suites.perf;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.utilops.replay.ReplayCapturedTxns;
+import com.hedera.services.bdd.suites.HapiApiSuite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+import static com.hedera.services.bdd.spec.HapiApiSpec.defaultHapiSpec;
+import static com.hedera.services.bdd.spec.utilops.CustomSpecAssert.allRunFor;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.replayCapturedTxns;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.withOpContext;
+
+/**
+ * Replays a transaction log captured from a node (see {@code hedera.txnCapture.isEnabled}) against
+ * the target network. Configured from the CI properties {@code capturePath}, {@code replayMode}
+ * ({@code RESIGN} or {@code UNCHECKED}), {@code rateMultiplier}, {@code threads}, and
+ * {@code remappedAccounts} (e.g. {@code 0.0.1001=civilian,0.0.1002=treasury}, to sign for
+ * captured accounts in {@code RESIGN} mode with the keys of registered spec accounts).
+ */
+public class ReplayCapturedTrafficSuite extends HapiApiSuite {
+	private static final Logger log = LogManager.getLogger(ReplayCapturedTrafficSuite.class);
+
+	private static final String DEFAULT_CAPTURE_PATH = "data/capture/submittedTxns.hcap";
+
+	public static void main(String... args) {
+		new ReplayCapturedTrafficSuite().runSuiteSync();
+	}
+
+	@Override
+	protected List<HapiApiSpec> getSpecsInSuite() {
+		return List.of(
+				replayCapturedTraffic()
+		);
+	}
+
+	private HapiApiSpec replayCapturedTraffic() {
+		return defaultHapiSpec("ReplayCapturedTraffic")
+				.given().when().then(
+						withOpContext((spec, opLog) -> {
+							var ciProps = spec.setup().ciPropertiesMap();
+							var replay = replayCapturedTxns(ciProps.has("capturePath")
+									? ciProps.get("capturePath")
+									: DEFAULT_CAPTURE_PATH);
+							if (ciProps.has("replayMode")) {
+								replay.inMode(ReplayCapturedTxns.Mode.valueOf(ciProps.get("replayMode")));
+							}
+							if (ciProps.has("rateMultiplier")) {
+								replay.withRateMultiplier(ciProps.getDouble("rateMultiplier"));
+							}
+							if (ciProps.has("threads")) {
+								replay.withThreads(ciProps.getInteger("threads"));
+							}
+							if (ciProps.has("remappedAccounts")) {
+								for (var remap : ciProps.get("remappedAccounts").split(",")) {
+									final var parts = remap.split("=");
+									replay.remappingAccount(parts[0].trim(), parts[1].trim());
+								}
+							}
+							allRunFor(spec, replay);
+						})
+				);
+	}
+
+	@Override
+	protected Logger getResultsLogger() {
+		return log;
+	}
+}
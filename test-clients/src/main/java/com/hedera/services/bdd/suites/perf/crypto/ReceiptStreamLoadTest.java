@@ -0,0 +1,173 @@
+package com.hedera.services.bdd.suites.perf.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.HapiSpecOperation;
+import com.hedera.services.bdd.suites.HapiApiSuite;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import io.grpc.CallOptions;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hedera.services.bdd.spec.queries.QueryUtils.txnReceiptQueryFor;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoCreate;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoTransfer;
+import static com.hedera.services.bdd.spec.transactions.crypto.HapiCryptoTransfer.tinyBarsFromTo;
+import static com.hedera.services.bdd.spec.utilops.CustomSpecAssert.allRunFor;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.withOpContext;
+import static com.hedera.services.grpc.ReceiptStreamMethods.SUBSCRIBE_METHOD;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the number of gRPC calls a client needs to learn the receipts of a batch of
+ * transfers, first by polling with {@code TransactionGetReceipt} queries and then by
+ * subscribing to the node's receipt stream. The target node must run with
+ * {@code grpc.receiptStream.enabled=true}.
+ */
+public class ReceiptStreamLoadTest extends HapiApiSuite {
+	private static final Logger log = LogManager.getLogger(ReceiptStreamLoadTest.class);
+
+	private static final String SENDER = "sender";
+	private static final String RECEIVER = "receiver";
+
+	private AtomicInteger numTxns = new AtomicInteger(1_000);
+	private AtomicLong pollIntervalMs = new AtomicLong(200);
+	private AtomicLong maxStreamWaitSecs = new AtomicLong(180);
+
+	public static void main(String... args) {
+		new ReceiptStreamLoadTest().runSuiteSync();
+	}
+
+	@Override
+	protected List<HapiApiSpec> getSpecsInSuite() {
+		return List.of(
+				new HapiApiSpec[] {
+						compareReceiptPollingWithStreaming(),
+				}
+		);
+	}
+
+	private HapiApiSpec compareReceiptPollingWithStreaming() {
+		return HapiApiSpec.defaultHapiSpec("CompareReceiptPollingWithStreaming")
+				.given(
+						cryptoCreate(SENDER).balance(ONE_HUNDRED_HBARS),
+						cryptoCreate(RECEIVER)
+				).when().then(
+						withOpContext((spec, opLog) -> {
+							final var polledIds = submitTransfers(spec, "polled");
+							final var numQueries = pollForReceipts(spec, polledIds);
+
+							final var streamedIds = submitTransfers(spec, "streamed");
+							final var numPushed = streamReceipts(spec, streamedIds);
+
+							opLog.info("Polling needed {} receipt queries for {} transfers ({} per transfer); " +
+											"streaming needed 1 call and pushed {} receipts",
+									numQueries,
+									polledIds.size(),
+									String.format("%.2f", (double) numQueries / polledIds.size()),
+									numPushed);
+						})
+				);
+	}
+
+	private List<TransactionID> submitTransfers(HapiApiSpec spec, String prefix) {
+		final var n = numTxns.get();
+		allRunFor(spec, IntStream.range(0, n)
+				.mapToObj(i -> cryptoTransfer(tinyBarsFromTo(SENDER, RECEIVER, 1))
+						.via(prefix + i)
+						.deferStatusResolution()
+						.noLogging())
+				.toArray(HapiSpecOperation[]::new));
+		return IntStream.range(0, n)
+				.mapToObj(i -> spec.registry().getTxnId(prefix + i))
+				.collect(Collectors.toList());
+	}
+
+	private int pollForReceipts(HapiApiSpec spec, List<TransactionID> txnIds) throws InterruptedException {
+		final var stub = spec.clients().getCryptoSvcStub(spec.setup().defaultNode(), false);
+		int numQueries = 0;
+		for (var txnId : txnIds) {
+			while (true) {
+				numQueries++;
+				final var response = stub.getTransactionReceipts(txnReceiptQueryFor(txnId));
+				final var status = response.getTransactionGetReceipt().getReceipt().getStatus();
+				if (status != UNKNOWN) {
+					break;
+				}
+				Thread.sleep(pollIntervalMs.get());
+			}
+		}
+		return numQueries;
+	}
+
+	private int streamReceipts(HapiApiSpec spec, List<TransactionID> txnIds) throws InterruptedException {
+		final var channel = spec.clients().getChannel(spec.setup().defaultNode(), false);
+		final var numPushed = new AtomicInteger();
+		final var allPushed = new CountDownLatch(txnIds.size());
+		final var requests = ClientCalls.asyncBidiStreamingCall(
+				channel.newCall(SUBSCRIBE_METHOD, CallOptions.DEFAULT),
+				new StreamObserver<TransactionRecord>() {
+					@Override
+					public void onNext(TransactionRecord record) {
+						if (record.getReceipt().getStatus() != UNKNOWN) {
+							numPushed.incrementAndGet();
+						}
+						allPushed.countDown();
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						log.warn("Receipt stream failed", t);
+						while (allPushed.getCount() > 0) {
+							allPushed.countDown();
+						}
+					}
+
+					@Override
+					public void onCompleted() {
+						/* No-op */
+					}
+				});
+		txnIds.forEach(requests::onNext);
+		if (!allPushed.await(maxStreamWaitSecs.get(), SECONDS)) {
+			log.warn("Only {} of {} receipts were pushed in time", numPushed.get(), txnIds.size());
+		}
+		requests.onCompleted();
+		return numPushed.get();
+	}
+
+	@Override
+	protected Logger getResultsLogger() {
+		return log;
+	}
+}